@@ -0,0 +1,47 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import de.uka.ilkd.key.pp.LogicPrinter;
+import de.uka.ilkd.key.proof.io.ProblemLoaderException;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Prints the sequent of a goal with the {@link LogicPrinter} as done by the sequent view.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class LogicPrinterBenchmark {
+    @Param(ProofFixture.DEFAULT_PROBLEM)
+    public String problem;
+
+    @Param({ "true", "false" })
+    public boolean pretty;
+
+    private ProofFixture fixture;
+
+    @Setup
+    public void setUp() throws ProblemLoaderException {
+        fixture = ProofFixture.load(problem, ProofFixture.DEFAULT_STEPS);
+    }
+
+    @TearDown
+    public void tearDown() {
+        fixture.dispose();
+    }
+
+    @Benchmark
+    public String printSequent() {
+        final LogicPrinter printer = LogicPrinter.quickPrinter(fixture.getServices(), pretty, true);
+        printer.printSequent(fixture.getSequent());
+        return printer.result();
+    }
+}
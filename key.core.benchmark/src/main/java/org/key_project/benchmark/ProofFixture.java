@@ -0,0 +1,160 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.benchmark;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.java.Services;
+import de.uka.ilkd.key.logic.PosInOccurrence;
+import de.uka.ilkd.key.logic.PosInTerm;
+import de.uka.ilkd.key.logic.Semisequent;
+import de.uka.ilkd.key.logic.Sequent;
+import de.uka.ilkd.key.logic.SequentFormula;
+import de.uka.ilkd.key.logic.Term;
+import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.proof.io.ProblemLoaderException;
+
+/**
+ * A proof state used as input by the benchmarks. The fixture loads a problem from
+ * {@code key.ui/examples}, runs the automatic strategy for a fixed number of steps, and provides
+ * the open goal with the largest sequent together with all positions and subterms of that sequent.
+ * <p>
+ * The examples directory is taken from the system property {@value #EXAMPLES_DIR_PROPERTY}, which
+ * is set by the {@code jmh} Gradle task, and defaults to {@code ../key.ui/examples}.
+ */
+public final class ProofFixture {
+    /** the system property pointing to the examples directory */
+    public static final String EXAMPLES_DIR_PROPERTY = "EXAMPLES_DIR";
+
+    /** the default problem of the benchmarks */
+    public static final String DEFAULT_PROBLEM = "standard_key/java_dl/arrayMax.key";
+
+    /** the default number of rule applications performed before the measurement */
+    public static final int DEFAULT_STEPS = 300;
+
+    private final KeYEnvironment<?> env;
+    private final Proof proof;
+    private final Goal goal;
+    private final List<PosInOccurrence> positions = new ArrayList<>();
+    private final List<PosInOccurrence> topLevelPositions = new ArrayList<>();
+    private final List<Term> terms = new ArrayList<>();
+
+    private ProofFixture(KeYEnvironment<?> env, Proof proof, Goal goal) {
+        this.env = env;
+        this.proof = proof;
+        this.goal = goal;
+        collectPositions(goal.sequent().antecedent(), true);
+        collectPositions(goal.sequent().succedent(), false);
+    }
+
+    /**
+     * @param path a path relative to the examples directory
+     * @return the file of the example
+     */
+    public static File example(String path) {
+        final File dir = new File(System.getProperty(EXAMPLES_DIR_PROPERTY, "../key.ui/examples"));
+        final File file = new File(dir, path);
+        if (!file.exists()) {
+            throw new IllegalArgumentException("Example not found: " + file.getAbsolutePath());
+        }
+        return file;
+    }
+
+    /**
+     * loads a problem and applies up to <code>steps</code> rules automatically
+     *
+     * @param path the problem file, relative to the examples directory
+     * @param steps the maximal number of rule applications
+     * @return the fixture
+     * @throws ProblemLoaderException if the problem cannot be loaded
+     */
+    public static ProofFixture load(String path, int steps) throws ProblemLoaderException {
+        final KeYEnvironment<?> env = KeYEnvironment.load(example(path));
+        final Proof proof = env.getLoadedProof();
+        if (proof == null) {
+            env.dispose();
+            throw new IllegalArgumentException("The example does not contain a problem: " + path);
+        }
+        if (steps > 0) {
+            proof.getSettings().getStrategySettings().setMaxSteps(steps);
+            env.getProofControl().startAndWaitForAutoMode(proof);
+        }
+        Goal largest = null;
+        for (Goal g : proof.openGoals()) {
+            if (largest == null || g.sequent().size() > largest.sequent().size()) {
+                largest = g;
+            }
+        }
+        if (largest == null) {
+            env.dispose();
+            throw new IllegalArgumentException(
+                "The proof was closed within " + steps + " steps: " + path);
+        }
+        return new ProofFixture(env, proof, largest);
+    }
+
+    private void collectPositions(Semisequent semisequent, boolean antec) {
+        for (SequentFormula sf : semisequent) {
+            final PosInOccurrence pos = new PosInOccurrence(sf, PosInTerm.getTopLevel(), antec);
+            topLevelPositions.add(pos);
+            collectPositions(pos);
+        }
+    }
+
+    private void collectPositions(PosInOccurrence pos) {
+        positions.add(pos);
+        terms.add(pos.subTerm());
+        for (int i = 0; i < pos.subTerm().arity(); i++) {
+            collectPositions(pos.down(i));
+        }
+    }
+
+    public Proof getProof() {
+        return proof;
+    }
+
+    public Services getServices() {
+        return proof.getServices();
+    }
+
+    /**
+     * @return the open goal with the largest sequent
+     */
+    public Goal getGoal() {
+        return goal;
+    }
+
+    public Sequent getSequent() {
+        return goal.sequent();
+    }
+
+    /**
+     * @return all positions of the sequent of {@link #getGoal()}, in pre-order
+     */
+    public List<PosInOccurrence> getPositions() {
+        return positions;
+    }
+
+    /**
+     * @return the positions of the formulas of the sequent of {@link #getGoal()}
+     */
+    public List<PosInOccurrence> getTopLevelPositions() {
+        return topLevelPositions;
+    }
+
+    /**
+     * @return all subterms of the sequent of {@link #getGoal()}, in pre-order
+     */
+    public List<Term> getTerms() {
+        return terms;
+    }
+
+    public void dispose() {
+        env.dispose();
+    }
+}
@@ -0,0 +1,55 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.nparser.KeyAst;
+import de.uka.ilkd.key.nparser.ParsingFacade;
+import de.uka.ilkd.key.proof.io.ProblemLoaderException;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Parses {@code .proof} files and loads them including the replay of the proof tree. Loading
+ * includes reading the rule base and the Java sources, {@link #parse()} isolates the parser.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ProofLoadingBenchmark {
+    @Param({ "standard_key/java_dl/list_reversal/reversal.proof", "heap/permutedSum/perm.proof" })
+    public String proofFile;
+
+    private File file;
+
+    @Setup
+    public void setUp() {
+        file = ProofFixture.example(proofFile);
+    }
+
+    @Benchmark
+    public KeyAst.File parse() throws IOException {
+        return ParsingFacade.parseFile(file);
+    }
+
+    @Benchmark
+    public int loadAndReplay() throws ProblemLoaderException {
+        final KeYEnvironment<?> env = KeYEnvironment.load(file);
+        try {
+            if (env.getLoadedProof() == null) {
+                throw new IllegalStateException("No proof loaded from " + proofFile);
+            }
+            return env.getLoadedProof().countNodes();
+        } finally {
+            env.dispose();
+        }
+    }
+}
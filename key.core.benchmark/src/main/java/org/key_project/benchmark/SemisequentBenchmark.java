@@ -0,0 +1,83 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import de.uka.ilkd.key.logic.Semisequent;
+import de.uka.ilkd.key.logic.SequentFormula;
+import de.uka.ilkd.key.proof.io.ProblemLoaderException;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Inserts and replaces formulas in the semisequents of a sequent. {@link Semisequent} checks new
+ * formulas for redundancy, so the cost grows with the size of the semisequent.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SemisequentBenchmark {
+    @Param(ProofFixture.DEFAULT_PROBLEM)
+    public String problem;
+
+    private ProofFixture fixture;
+    private Semisequent antecedent;
+    private Semisequent succedent;
+
+    @Setup
+    public void setUp() throws ProblemLoaderException {
+        fixture = ProofFixture.load(problem, ProofFixture.DEFAULT_STEPS);
+        antecedent = fixture.getSequent().antecedent();
+        succedent = fixture.getSequent().succedent();
+        if (antecedent.isEmpty() || succedent.isEmpty()) {
+            throw new IllegalStateException("Both semisequents must contain formulas");
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        fixture.dispose();
+    }
+
+    /**
+     * inserts the formulas of the succedent into the antecedent
+     */
+    @Benchmark
+    public Semisequent insertLast() {
+        Semisequent result = antecedent;
+        for (SequentFormula sf : succedent) {
+            result = result.insertLast(sf).semisequent();
+        }
+        return result;
+    }
+
+    /**
+     * inserts the formulas of the succedent in front of the antecedent
+     */
+    @Benchmark
+    public Semisequent insertFirst() {
+        Semisequent result = antecedent;
+        for (SequentFormula sf : succedent) {
+            result = result.insertFirst(sf).semisequent();
+        }
+        return result;
+    }
+
+    /**
+     * replaces the formula in the middle of the antecedent by each formula of the succedent
+     */
+    @Benchmark
+    public Semisequent replace() {
+        final int idx = antecedent.size() / 2;
+        Semisequent result = antecedent;
+        for (SequentFormula sf : succedent) {
+            result = antecedent.replace(idx, sf).semisequent();
+        }
+        return result;
+    }
+}
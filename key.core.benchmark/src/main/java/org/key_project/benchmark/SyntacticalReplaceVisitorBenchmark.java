@@ -0,0 +1,57 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import de.uka.ilkd.key.java.Services;
+import de.uka.ilkd.key.logic.PosInOccurrence;
+import de.uka.ilkd.key.logic.label.TermLabelState;
+import de.uka.ilkd.key.proof.io.ProblemLoaderException;
+import de.uka.ilkd.key.rule.SyntacticalReplaceVisitor;
+import de.uka.ilkd.key.rule.inst.SVInstantiations;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Runs the {@link SyntacticalReplaceVisitor} with empty instantiations over the formulas of a
+ * sequent. This measures the traversal and term reconstruction which every taclet application
+ * performs for its replacement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SyntacticalReplaceVisitorBenchmark {
+    @Param(ProofFixture.DEFAULT_PROBLEM)
+    public String problem;
+
+    private ProofFixture fixture;
+    private Services services;
+
+    @Setup
+    public void setUp() throws ProblemLoaderException {
+        fixture = ProofFixture.load(problem, ProofFixture.DEFAULT_STEPS);
+        services = fixture.getServices();
+    }
+
+    @TearDown
+    public void tearDown() {
+        fixture.dispose();
+    }
+
+    @Benchmark
+    public void replace(Blackhole bh) {
+        for (PosInOccurrence pos : fixture.getTopLevelPositions()) {
+            final SyntacticalReplaceVisitor visitor =
+                new SyntacticalReplaceVisitor(new TermLabelState(), null, null,
+                    SVInstantiations.EMPTY_SVINSTANTIATIONS, null, null, null, services);
+            pos.subTerm().execPostOrder(visitor);
+            bh.consume(visitor.getTerm());
+        }
+    }
+}
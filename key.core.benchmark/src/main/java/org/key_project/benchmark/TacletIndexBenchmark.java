@@ -0,0 +1,69 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import de.uka.ilkd.key.java.Services;
+import de.uka.ilkd.key.logic.PosInOccurrence;
+import de.uka.ilkd.key.proof.TacletIndex;
+import de.uka.ilkd.key.proof.io.ProblemLoaderException;
+import de.uka.ilkd.key.proof.rulefilter.TacletFilter;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Looks up the taclets applicable at every position of a sequent in the {@link TacletIndex} of
+ * the goal. The lookup includes matching the candidate taclets.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TacletIndexBenchmark {
+    @Param(ProofFixture.DEFAULT_PROBLEM)
+    public String problem;
+
+    private ProofFixture fixture;
+    private TacletIndex index;
+    private Services services;
+
+    @Setup
+    public void setUp() throws ProblemLoaderException {
+        fixture = ProofFixture.load(problem, ProofFixture.DEFAULT_STEPS);
+        index = fixture.getGoal().indexOfTaclets();
+        services = fixture.getServices();
+    }
+
+    @TearDown
+    public void tearDown() {
+        fixture.dispose();
+    }
+
+    @Benchmark
+    public void rewriteTaclets(Blackhole bh) {
+        for (PosInOccurrence pos : fixture.getPositions()) {
+            bh.consume(index.getRewriteTaclet(pos, TacletFilter.TRUE, services));
+        }
+    }
+
+    @Benchmark
+    public void topLevelTaclets(Blackhole bh) {
+        for (PosInOccurrence pos : fixture.getTopLevelPositions()) {
+            if (pos.isInAntec()) {
+                bh.consume(index.getAntecedentTaclet(pos, TacletFilter.TRUE, services));
+            } else {
+                bh.consume(index.getSuccedentTaclet(pos, TacletFilter.TRUE, services));
+            }
+        }
+    }
+
+    @Benchmark
+    public void noFindTaclets(Blackhole bh) {
+        bh.consume(index.getNoFindTaclet(TacletFilter.TRUE, services));
+    }
+}
@@ -0,0 +1,73 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import de.uka.ilkd.key.java.Services;
+import de.uka.ilkd.key.logic.Term;
+import de.uka.ilkd.key.proof.io.ProblemLoaderException;
+import de.uka.ilkd.key.rule.FindTaclet;
+import de.uka.ilkd.key.rule.MatchConditions;
+import de.uka.ilkd.key.rule.NoPosTacletApp;
+import de.uka.ilkd.key.rule.match.vm.VMTacletMatcher;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Matches the find expressions of taclets against the subterms of a sequent using the
+ * {@link VMTacletMatcher}. Only pairs of taclets and terms with the same top level operator are
+ * matched, which roughly corresponds to the candidates the taclet index hands to the matcher.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TacletMatcherBenchmark {
+    @Param(ProofFixture.DEFAULT_PROBLEM)
+    public String problem;
+
+    private ProofFixture fixture;
+    private Services services;
+    private final List<FindTaclet> taclets = new ArrayList<>();
+    private final List<Term> terms = new ArrayList<>();
+
+    @Setup
+    public void setUp() throws ProblemLoaderException {
+        fixture = ProofFixture.load(problem, ProofFixture.DEFAULT_STEPS);
+        services = fixture.getServices();
+        final List<FindTaclet> findTaclets = new ArrayList<>();
+        for (NoPosTacletApp app : fixture.getGoal().indexOfTaclets().allNoPosTacletApps()) {
+            if (app.taclet() instanceof FindTaclet findTaclet) {
+                findTaclets.add(findTaclet);
+            }
+        }
+        for (Term term : fixture.getTerms()) {
+            for (FindTaclet taclet : findTaclets) {
+                if (taclet.find().op() == term.op()) {
+                    taclets.add(taclet);
+                    terms.add(term);
+                }
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        fixture.dispose();
+    }
+
+    @Benchmark
+    public void matchFind(Blackhole bh) {
+        for (int i = 0; i < taclets.size(); i++) {
+            bh.consume(taclets.get(i).getMatcher().matchFind(terms.get(i),
+                MatchConditions.EMPTY_MATCHCONDITIONS, services));
+        }
+    }
+}
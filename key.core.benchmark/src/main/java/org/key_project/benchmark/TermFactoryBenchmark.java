@@ -0,0 +1,79 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import de.uka.ilkd.key.logic.PosInOccurrence;
+import de.uka.ilkd.key.logic.Term;
+import de.uka.ilkd.key.logic.TermFactory;
+import de.uka.ilkd.key.proof.io.ProblemLoaderException;
+
+import org.key_project.util.cache.CachePolicy;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Rebuilds the formulas of a sequent bottom-up with a {@link TermFactory}, either without a term
+ * cache, with the (warm) cache of the proof, or with a cold cache of the given policy.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TermFactoryBenchmark {
+    @Param(ProofFixture.DEFAULT_PROBLEM)
+    public String problem;
+
+    @Param({ "LRU", "TINY_LFU" })
+    public CachePolicy policy;
+
+    private ProofFixture fixture;
+    private TermFactory uncached;
+    private TermFactory proofCache;
+
+    @Setup
+    public void setUp() throws ProblemLoaderException {
+        fixture = ProofFixture.load(problem, ProofFixture.DEFAULT_STEPS);
+        uncached = new TermFactory();
+        proofCache = new TermFactory(fixture.getServices().getCaches().getTermFactoryCache());
+    }
+
+    @TearDown
+    public void tearDown() {
+        fixture.dispose();
+    }
+
+    private static Term rebuild(TermFactory tf, Term t) {
+        final Term[] subs = new Term[t.arity()];
+        for (int i = 0; i < subs.length; i++) {
+            subs[i] = rebuild(tf, t.sub(i));
+        }
+        return tf.createTerm(t.op(), subs, t.boundVars(), t.getLabels());
+    }
+
+    private void rebuildAll(TermFactory tf, Blackhole bh) {
+        for (PosInOccurrence pos : fixture.getTopLevelPositions()) {
+            bh.consume(rebuild(tf, pos.subTerm()));
+        }
+    }
+
+    @Benchmark
+    public void uncached(Blackhole bh) {
+        rebuildAll(uncached, bh);
+    }
+
+    @Benchmark
+    public void warmCache(Blackhole bh) {
+        rebuildAll(proofCache, bh);
+    }
+
+    @Benchmark
+    public void coldCache(Blackhole bh) {
+        rebuildAll(new TermFactory(policy.create(20000)), bh);
+    }
+}
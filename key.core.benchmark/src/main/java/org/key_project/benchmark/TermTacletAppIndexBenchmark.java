@@ -0,0 +1,91 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import de.uka.ilkd.key.java.Services;
+import de.uka.ilkd.key.logic.PosInOccurrence;
+import de.uka.ilkd.key.logic.SequentChangeInfo;
+import de.uka.ilkd.key.logic.SequentFormula;
+import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.proof.NullNewRuleListener;
+import de.uka.ilkd.key.proof.TacletAppIndex;
+import de.uka.ilkd.key.proof.TacletIndex;
+import de.uka.ilkd.key.proof.TermTacletAppIndex;
+import de.uka.ilkd.key.proof.TermTacletAppIndexCacheSet;
+import de.uka.ilkd.key.proof.io.ProblemLoaderException;
+import de.uka.ilkd.key.proof.rulefilter.TacletFilter;
+
+import org.key_project.util.cache.ConcurrentLRUCache;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Builds and updates the taclet app indexes of a sequent:
+ * <ul>
+ * <li>{@link #create(Blackhole)} creates a {@link TermTacletAppIndex} for every formula with an
+ * empty index cache,</li>
+ * <li>{@link #update()} replaces one formula of a fully built {@link TacletAppIndex}, which
+ * updates the indexes of the changed formula only.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TermTacletAppIndexBenchmark {
+    @Param(ProofFixture.DEFAULT_PROBLEM)
+    public String problem;
+
+    private ProofFixture fixture;
+    private Services services;
+    private Goal goal;
+    private TacletIndex tacletIndex;
+    private TacletAppIndex appIndex;
+    private PosInOccurrence changedPos;
+    private SequentFormula replacement;
+
+    @Setup(Level.Trial)
+    public void setUp() throws ProblemLoaderException {
+        fixture = ProofFixture.load(problem, ProofFixture.DEFAULT_STEPS);
+        services = fixture.getServices();
+        goal = fixture.getGoal();
+        tacletIndex = goal.indexOfTaclets();
+        changedPos = fixture.getTopLevelPositions().get(0);
+        replacement =
+            new SequentFormula(services.getTermBuilder().not(changedPos.subTerm()));
+    }
+
+    @Setup(Level.Invocation)
+    public void buildAppIndex() {
+        appIndex = new TacletAppIndex(tacletIndex, goal, services);
+        appIndex.fillCache();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.dispose();
+    }
+
+    @Benchmark
+    public void create(Blackhole bh) {
+        final TermTacletAppIndexCacheSet caches =
+            new TermTacletAppIndexCacheSet(new ConcurrentLRUCache<>(5000));
+        for (PosInOccurrence pos : fixture.getTopLevelPositions()) {
+            bh.consume(TermTacletAppIndex.create(pos, services, tacletIndex,
+                NullNewRuleListener.INSTANCE, TacletFilter.TRUE, caches));
+        }
+    }
+
+    @Benchmark
+    public TacletAppIndex update() {
+        final SequentChangeInfo sci = goal.sequent().changeFormula(replacement, changedPos);
+        appIndex.sequentChanged(sci);
+        return appIndex;
+    }
+}
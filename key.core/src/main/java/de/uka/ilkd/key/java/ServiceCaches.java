@@ -3,8 +3,12 @@
  * SPDX-License-Identifier: GPL-2.0-only */
 package de.uka.ilkd.key.java;
 
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.WeakHashMap;
+import java.util.function.ToIntFunction;
 
 import de.uka.ilkd.key.logic.PosInOccurrence;
 import de.uka.ilkd.key.logic.Term;
@@ -17,16 +21,22 @@ import de.uka.ilkd.key.proof.TermTacletAppIndexCacheSet;
 import de.uka.ilkd.key.rule.IfFormulaInstantiationCache;
 import de.uka.ilkd.key.rule.metaconstruct.arith.Monomial;
 import de.uka.ilkd.key.rule.metaconstruct.arith.Polynomial;
+import de.uka.ilkd.key.settings.CacheSettings;
+import de.uka.ilkd.key.settings.ProofIndependentSettings;
+import de.uka.ilkd.key.smt.newsmt2.SExpr;
 import de.uka.ilkd.key.strategy.IfInstantiationCachePool;
 import de.uka.ilkd.key.strategy.RuleAppCost;
 import de.uka.ilkd.key.strategy.feature.AbstractBetaFeature.TermInfo;
 import de.uka.ilkd.key.strategy.feature.AppliedRuleAppsNameCache;
+import de.uka.ilkd.key.strategy.feature.CachedFeature;
 import de.uka.ilkd.key.strategy.quantifierHeuristics.ClausesGraph;
 import de.uka.ilkd.key.strategy.quantifierHeuristics.Metavariable;
 import de.uka.ilkd.key.strategy.quantifierHeuristics.TriggersSet;
 
 import org.key_project.logic.sort.Sort;
-import org.key_project.util.LRUCache;
+import org.key_project.util.cache.Cache;
+import org.key_project.util.cache.CachePolicy;
+import org.key_project.util.cache.CacheStatistics;
 import org.key_project.util.collection.ImmutableSet;
 import org.key_project.util.collection.Pair;
 
@@ -66,6 +76,12 @@ import org.key_project.util.collection.Pair;
  * proofs.</li>
  * </ul>
  * </p>
+ * <p>
+ * The bounded caches are thread-safe {@link Cache}s, so they can be accessed by several threads
+ * without external synchronization. Their eviction policy and capacities are taken from the
+ * {@link CacheSettings} of {@link ProofIndependentSettings#DEFAULT_INSTANCE} when the caches are
+ * created. The statistics of all bounded caches are available via {@link #getStatistics()}.
+ * </p>
  *
  * @author Martin Hentschel
  */
@@ -75,11 +91,22 @@ public class ServiceCaches {
      */
     public static final int MAX_TERM_TACLET_APP_INDEX_ENTRIES = 5000;
 
+    /**
+     * The settings the bounded caches are created from.
+     */
+    private final CacheSettings settings =
+        ProofIndependentSettings.DEFAULT_INSTANCE.getCacheSettings();
+
+    /**
+     * The bounded caches indexed by their names, used to collect statistics.
+     */
+    private final Map<String, Cache<?, ?>> boundedCaches = new LinkedHashMap<>();
+
     /**
      * The cache used by {@link TermTacletAppIndexCacheSet} instances.
      */
-    private final Map<CacheKey, TermTacletAppIndex> termTacletAppIndexCache =
-        new LRUCache<>(MAX_TERM_TACLET_APP_INDEX_ENTRIES);
+    private final Cache<CacheKey, TermTacletAppIndex> termTacletAppIndexCache =
+        createCache(CacheSettings.TERM_TACLET_APP_INDEX);
 
     /*
      * Table of formulas which could be splitted using the beta rule This is the cache the method
@@ -87,33 +114,41 @@ public class ServiceCaches {
      *
      * keys: Term values: TermInfo
      */
-    private final LRUCache<Term, TermInfo> betaCandidates = new LRUCache<>(1000);
+    private final Cache<Term, TermInfo> betaCandidates =
+        createCache(CacheSettings.BETA_CANDIDATES);
 
-    private final LRUCache<PosInOccurrence, RuleAppCost> ifThenElseMalusCache =
-        new LRUCache<>(1000);
+    private final Cache<PosInOccurrence, RuleAppCost> ifThenElseMalusCache =
+        createCache(CacheSettings.IF_THEN_ELSE_MALUS);
 
-    private final LRUCache<Operator, Integer> introductionTimeCache =
-        new LRUCache<>(10000);
+    /**
+     * Cache of the costs of rule apps which do not depend on the goal, shared by all goals of the
+     * proof (see {@link CachedFeature})
+     */
+    private final Cache<CachedFeature.CostKey, RuleAppCost> ruleAppCostCache =
+        createCache(CacheSettings.RULE_APP_COST);
 
-    private final LRUCache<Term, Monomial> monomialCache = new LRUCache<>(2000);
+    private final Cache<Operator, Integer> introductionTimeCache =
+        createCache(CacheSettings.INTRODUCTION_TIME);
 
-    private final LRUCache<Term, Polynomial> polynomialCache = new LRUCache<>(2000);
+    private final Cache<Term, Monomial> monomialCache = createCache(CacheSettings.MONOMIAL);
+
+    private final Cache<Term, Polynomial> polynomialCache = createCache(CacheSettings.POLYNOMIAL);
 
     /**
-     * a <code>HashMap</code> from <code>Term</code> to <code>TriggersSet</code> uses to cache all
-     * created TriggersSets
+     * a cache from <code>Term</code> to <code>TriggersSet</code> uses to cache all created
+     * TriggersSets
      */
-    private final Map<Term, TriggersSet> triggerSetCache = new LRUCache<>(1000);
+    private final Cache<Term, TriggersSet> triggerSetCache = createCache(CacheSettings.TRIGGER_SET);
 
     /**
      * Map from <code>Term</code>(allTerm) to <code>ClausesGraph</code>
      */
-    private final Map<Term, ClausesGraph> graphCache = new LRUCache<>(1000);
+    private final Cache<Term, ClausesGraph> graphCache = createCache(CacheSettings.CLAUSES_GRAPH);
 
     /**
      * Cache used by the TermFactory to avoid unnecessary creation of terms
      */
-    private final Map<Term, Term> termCache = new LRUCache<>(20000);
+    private final Cache<Term, Term> termCache = createCache(CacheSettings.TERM_FACTORY);
 
     /**
      * Cache used by TypeComparisonCondition
@@ -124,22 +159,25 @@ public class ServiceCaches {
     /**
      * Cache used by HandleArith for caching formatted terms
      */
-    private final LRUCache<Term, Term> formattedTermCache = new LRUCache<>(5000);
+    private final Cache<Term, Term> formattedTermCache =
+        createCache(CacheSettings.FORMATTED_TERM);
 
     /**
      * Caches used bu HandleArith to cache proof results
      */
-    private final LRUCache<Term, Term> provedByArithFstCache = new LRUCache<>(5000);
+    private final Cache<Term, Term> provedByArithFstCache =
+        createCache(CacheSettings.PROVED_BY_ARITH_FST);
 
-    private final LRUCache<Pair<Term, Term>, Term> provedByArithSndCache =
-        new LRUCache<>(5000);
+    private final Cache<Pair<Term, Term>, Term> provedByArithSndCache =
+        createCache(CacheSettings.PROVED_BY_ARITH_SND);
 
     /** Cache used by the exhaustive macro */
     private final Map<Node, PosInOccurrence> exhaustiveMacroCache =
         new WeakHashMap<>();
 
-    /** Cache used by the ifinstantiator */
-    private final IfInstantiationCachePool ifInstantiationCache = new IfInstantiationCachePool();
+    /** Cache used by the ifinstantiator, weighed by the number of cached formulas */
+    private final IfInstantiationCachePool ifInstantiationCache = new IfInstantiationCachePool(
+        createCache(CacheSettings.IF_INSTANTIATION, IfInstantiationCachePool::weight));
 
     /** Cache used IfFormulaInstSeq */
     private final IfFormulaInstantiationCache ifFormulaInstantiationCache =
@@ -150,47 +188,100 @@ public class ServiceCaches {
         new AppliedRuleAppsNameCache();
 
     /** Cache used by EqualityConstraint to speed up meta variable search */
-    private final LRUCache<Term, ImmutableSet<Metavariable>> mvCache = new LRUCache<>(2000);
+    private final Cache<Term, ImmutableSet<Metavariable>> mvCache =
+        createCache(CacheSettings.METAVARIABLES);
 
+    /**
+     * Cache used by the SMT translation for the axioms of defined symbols, which are parsed from DL
+     * snippets or translated from taclets. They only depend on the rule base and are the same for
+     * all SMT problems of a proof.
+     */
+    private final Cache<String, Term> smtAxiomCache = createCache(CacheSettings.SMT_AXIOMS);
+
+    /**
+     * Cache used by the SMT translation for the type hierarchy axioms of a set of sorts
+     */
+    private final Cache<Set<Sort>, List<SExpr>> smtTypeHierarchyCache =
+        createCache(CacheSettings.SMT_TYPE_HIERARCHY);
+
+    /**
+     * creates a bounded cache with the policy and capacity configured in the settings
+     *
+     * @param name the name of the cache in the {@link CacheSettings}
+     * @return the created cache
+     */
+    private <K, V> Cache<K, V> createCache(String name) {
+        return createCache(name, v -> 1);
+    }
+
+    /**
+     * creates a bounded cache with the policy configured in the settings, whose entries are
+     * weighed by the given function; the capacity in the settings is the maximal total weight
+     *
+     * @param name the name of the cache in the {@link CacheSettings}
+     * @param weigher computes the (positive) weight of a value
+     * @return the created cache
+     */
+    private <K, V> Cache<K, V> createCache(String name, ToIntFunction<? super V> weigher) {
+        final CachePolicy policy = settings.getPolicy();
+        final Cache<K, V> cache = policy.create(settings.getSize(name), weigher);
+        boundedCaches.put(name, cache);
+        return cache;
+    }
+
+    /**
+     * Returns the statistics (hits, misses, evictions, size) of all bounded caches.
+     *
+     * @return the statistics indexed by the names of the caches in the {@link CacheSettings}
+     */
+    public Map<String, CacheStatistics> getStatistics() {
+        final Map<String, CacheStatistics> result = new LinkedHashMap<>();
+        boundedCaches.forEach((name, cache) -> result.put(name, cache.getStatistics()));
+        return result;
+    }
 
     /**
      * Returns the cache used by {@link TermTacletAppIndexCacheSet} instances.
      *
      * @return The cache used by {@link TermTacletAppIndexCacheSet} instances.
      */
-    public final Map<CacheKey, TermTacletAppIndex> getTermTacletAppIndexCache() {
+    public final Cache<CacheKey, TermTacletAppIndex> getTermTacletAppIndexCache() {
         return termTacletAppIndexCache;
     }
 
-    public final LRUCache<Term, TermInfo> getBetaCandidates() {
+    public final Cache<Term, TermInfo> getBetaCandidates() {
         return betaCandidates;
     }
 
-    public final LRUCache<PosInOccurrence, RuleAppCost> getIfThenElseMalusCache() {
+    public final Cache<PosInOccurrence, RuleAppCost> getIfThenElseMalusCache() {
         return ifThenElseMalusCache;
     }
 
-    public final LRUCache<Operator, Integer> getIntroductionTimeCache() {
+    public final Cache<CachedFeature.CostKey, RuleAppCost> getRuleAppCostCache() {
+        return ruleAppCostCache;
+    }
+
+    public final Cache<Operator, Integer> getIntroductionTimeCache() {
         return introductionTimeCache;
     }
 
-    public final LRUCache<Term, Monomial> getMonomialCache() {
+    public final Cache<Term, Monomial> getMonomialCache() {
         return monomialCache;
     }
 
-    public final LRUCache<Term, Polynomial> getPolynomialCache() {
+    public final Cache<Term, Polynomial> getPolynomialCache() {
         return polynomialCache;
     }
 
-    public final Map<Term, TriggersSet> getTriggerSetCache() {
+    public final Cache<Term, TriggersSet> getTriggerSetCache() {
         return triggerSetCache;
     }
 
-    public final Map<Term, ClausesGraph> getGraphCache() {
+    public final Cache<Term, ClausesGraph> getGraphCache() {
         return graphCache;
     }
 
-    public final Map<Term, Term> getTermFactoryCache() {
+    public final Cache<Term, Term> getTermFactoryCache() {
         return termCache;
     }
 
@@ -198,15 +289,15 @@ public class ServiceCaches {
         return disjointnessCache;
     }
 
-    public final LRUCache<Term, Term> getFormattedTermCache() {
+    public final Cache<Term, Term> getFormattedTermCache() {
         return formattedTermCache;
     }
 
-    public final LRUCache<Term, Term> getProvedByArithFstCache() {
+    public final Cache<Term, Term> getProvedByArithFstCache() {
         return provedByArithFstCache;
     }
 
-    public final LRUCache<Pair<Term, Term>, Term> getProvedByArithSndCache() {
+    public final Cache<Pair<Term, Term>, Term> getProvedByArithSndCache() {
         return provedByArithSndCache;
     }
 
@@ -226,8 +317,16 @@ public class ServiceCaches {
         return appliedRuleAppsNameCache;
     }
 
-    public LRUCache<Term, ImmutableSet<Metavariable>> getMVCache() {
+    public Cache<Term, ImmutableSet<Metavariable>> getMVCache() {
         return mvCache;
     }
 
+    public Cache<String, Term> getSMTAxiomCache() {
+        return smtAxiomCache;
+    }
+
+    public Cache<Set<Sort>, List<SExpr>> getSMTTypeHierarchyCache() {
+        return smtTypeHierarchyCache;
+    }
+
 }
@@ -0,0 +1,239 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import de.uka.ilkd.key.logic.Semisequent;
+import de.uka.ilkd.key.logic.Sequent;
+import de.uka.ilkd.key.logic.SequentFormula;
+
+/**
+ * Reduces the memory footprint of closed subtrees of a proof.
+ * <p>
+ * The sequents of the nodes in a closed subtree are released, except for the root of the subtree
+ * and for every {@value #CHECKPOINT_INTERVAL}th level of the tree. Instead, each compacted node
+ * stores a {@link Delta}: which formulas of the parent sequent it keeps and which formulas it
+ * adds. {@link Node#sequent()} rebuilds the sequent of a compacted node on demand by applying the
+ * deltas from the nearest ancestor with a stored sequent. The last rebuilt sequent is cached, such
+ * that walking down a branch does not start from the ancestor again for every node.
+ * <p>
+ * Additionally, the sequent change infos of the compacted nodes are dropped (they are only needed
+ * to highlight the changes in the GUI), and the lists of the nodes are trimmed. The applied rule
+ * apps are kept, since saving and pruning the proof need them.
+ * <p>
+ * Compaction is enabled by {@link de.uka.ilkd.key.settings.GeneralSettings#compactClosedSubtrees}
+ * and is done whenever a subtree is closed. If the proof is pruned inside a compacted subtree (or a
+ * goal in it is reopened), the sequent of the new goal is restored.
+ */
+final class ClosedSubtreeCompactor {
+    /** the distance between two levels of the proof tree at which sequents are kept */
+    static final int CHECKPOINT_INTERVAL = 32;
+
+    /**
+     * The difference between the sequent of a compacted node and the sequent of its parent.
+     * <p>
+     * A semisequent is encoded as a sequence of instructions: a non-negative number {@code i}
+     * followed by a length {@code n} copies the formulas {@code i, ..., i + n - 1} of the
+     * parent semisequent, a negative number {@code -j - 1} inserts {@code added[j]}. A
+     * semisequent equal to the one of the parent is encoded as null.
+     *
+     * @param antecedent the encoded antecedent
+     * @param succedent the encoded succedent
+     * @param added the formulas which are not contained in the parent sequent
+     */
+    record Delta(int[] antecedent, int[] succedent, SequentFormula[] added) {
+        static Delta of(Sequent parent, Sequent child) {
+            List<SequentFormula> added = new ArrayList<>();
+            int[] ante = encode(parent.antecedent(), child.antecedent(), added);
+            int[] succ = encode(parent.succedent(), child.succedent(), added);
+            return new Delta(ante, succ, added.toArray(new SequentFormula[0]));
+        }
+
+        Sequent apply(Sequent parent) {
+            Semisequent ante = decode(parent.antecedent(), antecedent, added);
+            Semisequent succ = decode(parent.succedent(), succedent, added);
+            return Sequent.createSequent(ante, succ);
+        }
+
+        private static int[] encode(Semisequent parent, Semisequent child,
+                List<SequentFormula> added) {
+            if (parent == child) {
+                return null;
+            }
+            // formulas which are not changed by a rule application are shared with the parent
+            Map<SequentFormula, Integer> index = new IdentityHashMap<>();
+            int i = 0;
+            for (SequentFormula sf : parent) {
+                index.put(sf, i++);
+            }
+            int[] code = new int[8];
+            int size = 0;
+            int runStart = -1;
+            int runLength = 0;
+            for (SequentFormula sf : child) {
+                Integer pos = index.get(sf);
+                if (pos != null && runStart >= 0 && runStart + runLength == pos) {
+                    runLength++;
+                    continue;
+                }
+                if (size + 2 > code.length) {
+                    code = Arrays.copyOf(code, 2 * code.length);
+                }
+                if (runStart >= 0) {
+                    code[size++] = runStart;
+                    code[size++] = runLength;
+                    runStart = -1;
+                }
+                if (pos != null) {
+                    runStart = pos;
+                    runLength = 1;
+                } else {
+                    code[size++] = -added.size() - 1;
+                    added.add(sf);
+                }
+            }
+            if (runStart >= 0) {
+                if (size + 2 > code.length) {
+                    code = Arrays.copyOf(code, size + 2);
+                }
+                code[size++] = runStart;
+                code[size++] = runLength;
+            }
+            return Arrays.copyOf(code, size);
+        }
+
+        private static Semisequent decode(Semisequent parent, int[] code,
+                SequentFormula[] added) {
+            if (code == null) {
+                return parent;
+            }
+            List<SequentFormula> formulas = new ArrayList<>(parent.size());
+            for (SequentFormula sf : parent) {
+                formulas.add(sf);
+            }
+            List<SequentFormula> result = new ArrayList<>();
+            for (int i = 0; i < code.length; i++) {
+                if (code[i] >= 0) {
+                    result.addAll(formulas.subList(code[i], code[i] + code[i + 1]));
+                    i++;
+                } else {
+                    result.add(added[-code[i] - 1]);
+                }
+            }
+            return Semisequent.create(result);
+        }
+    }
+
+    /** a node together with its (rebuilt) sequent */
+    private record Rebuilt(Node node, Sequent sequent) {
+    }
+
+    /** an entry of the work list of {@link #compact(Node)} */
+    private record Item(Node node, Sequent parentSequent, int depth) {
+    }
+
+    /**
+     * the roots of the compacted subtrees (their subtrees do not have to be visited again when a
+     * larger subtree is closed)
+     */
+    private final Set<Node> compactedRoots = Collections.newSetFromMap(new WeakHashMap<>());
+
+    /** the sequent rebuilt last */
+    private Rebuilt last;
+
+    /**
+     * Compacts the given closed subtree. The sequent of its root is kept.
+     *
+     * @param root the root of a closed subtree
+     */
+    synchronized void compact(Node root) {
+        if (!root.isClosed() || compactedRoots.contains(root)) {
+            return;
+        }
+        int rootDepth = 0;
+        for (Node n = root.parent(); n != null; n = n.parent()) {
+            rootDepth++;
+        }
+        ArrayDeque<Item> todo = new ArrayDeque<>();
+        Sequent rootSequent = root.sequent();
+        for (Node child : root.children()) {
+            todo.push(new Item(child, rootSequent, rootDepth + 1));
+        }
+        while (!todo.isEmpty()) {
+            Item item = todo.pop();
+            Node node = item.node();
+            boolean visited = compactedRoots.remove(node);
+            Sequent sequent = node.storedSequent();
+            if (sequent != null && item.depth() % CHECKPOINT_INTERVAL != 0) {
+                node.compact(Delta.of(item.parentSequent(), sequent));
+            }
+            node.trim();
+            if (!visited) {
+                Sequent current = sequent != null ? sequent : rebuild(node);
+                for (Node child : node.children()) {
+                    todo.push(new Item(child, current, item.depth() + 1));
+                }
+            }
+        }
+        root.trim();
+        compactedRoots.add(root);
+    }
+
+    /**
+     * Rebuilds the sequent of a compacted node.
+     *
+     * @param node the node
+     * @return the sequent of the node
+     */
+    synchronized Sequent rebuild(Node node) {
+        Sequent sequent = node.storedSequent();
+        if (sequent != null) {
+            return sequent;
+        }
+        Rebuilt cached = last;
+        if (cached != null && cached.node() == node) {
+            return cached.sequent();
+        }
+        ArrayDeque<Node> path = new ArrayDeque<>();
+        Node n = node;
+        while ((sequent = n.storedSequent()) == null) {
+            if (cached != null && cached.node() == n) {
+                sequent = cached.sequent();
+                break;
+            }
+            path.push(n);
+            n = n.parent();
+        }
+        while (!path.isEmpty()) {
+            sequent = path.pop().delta().apply(sequent);
+        }
+        last = new Rebuilt(node, sequent);
+        return sequent;
+    }
+
+    /**
+     * Stores the sequent of the given node again, e.g., because it becomes a goal, and makes sure
+     * that its subtree is compacted again when it is closed.
+     *
+     * @param node the node
+     */
+    synchronized void restore(Node node) {
+        if (node.storedSequent() == null) {
+            node.setSequent(rebuild(node));
+        }
+        for (Node n = node; n != null; n = n.parent()) {
+            compactedRoots.remove(n);
+        }
+        last = null;
+    }
+}
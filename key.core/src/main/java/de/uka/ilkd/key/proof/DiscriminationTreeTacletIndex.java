@@ -0,0 +1,190 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+import de.uka.ilkd.key.java.Services;
+import de.uka.ilkd.key.logic.PosInOccurrence;
+import de.uka.ilkd.key.logic.Term;
+import de.uka.ilkd.key.proof.rulefilter.RuleFilter;
+import de.uka.ilkd.key.rule.NoPosTacletApp;
+import de.uka.ilkd.key.rule.Taclet;
+
+import org.key_project.util.collection.ImmutableList;
+import org.key_project.util.collection.ImmutableSLList;
+
+/**
+ * A taclet index which additionally indexes the find expressions of the taclets below their top
+ * level operator in {@link TacletDiscriminationTree}s. When the taclets for a term are looked up,
+ * only those taclets whose find expression can actually match the term are passed to the matcher.
+ * Taclets which would be rejected by the matcher somewhere below the top level operator (e.g.,
+ * because of a different function symbol at depth two or three) are never tried.
+ * <p>
+ * The discrimination trees are immutable and shared between copies of the index. A tree is built
+ * lazily, when its list is looked up for the first time. When a list of the index is changed, its
+ * tree is only discarded, such that adding or removing several taclets of a list (e.g., when
+ * taclets are introduced by a rule application) costs at most one rebuild.
+ * <p>
+ * Do not create this index directly. Use the {@link TacletIndexKit#createTacletIndex()} resp.
+ * {@link TacletIndexKit#createTacletIndex(Iterable)}.
+ *
+ * @see TacletIndex
+ * @see TacletIndexKit
+ */
+final class DiscriminationTreeTacletIndex extends TacletIndex {
+    /** the trees of the lists of {@link #rwList} */
+    private HashMap<Object, LazyTree> rwTrees;
+    /** the trees of the lists of {@link #antecList} */
+    private HashMap<Object, LazyTree> antecTrees;
+    /** the trees of the lists of {@link #succList} */
+    private HashMap<Object, LazyTree> succTrees;
+
+    /**
+     * The tree of a list, built on first use. Instances are shared between copies of the index
+     * as long as the list is not changed.
+     */
+    private static final class LazyTree {
+        /** the list the tree is built for */
+        private final ImmutableList<NoPosTacletApp> apps;
+        /** the tree, null if not built yet */
+        private TacletDiscriminationTree tree;
+
+        private LazyTree(ImmutableList<NoPosTacletApp> apps) {
+            this.apps = apps;
+        }
+
+        private synchronized TacletDiscriminationTree get() {
+            if (tree == null) {
+                tree = TacletDiscriminationTree.build(apps);
+            }
+            return tree;
+        }
+    }
+
+    DiscriminationTreeTacletIndex() {
+        super();
+        rwTrees = new HashMap<>();
+        antecTrees = new HashMap<>();
+        succTrees = new HashMap<>();
+    }
+
+    DiscriminationTreeTacletIndex(Iterable<Taclet> tacletSet) {
+        // the trees are created once all taclets have been added
+        super(tacletSet);
+        rwTrees = buildTrees(rwList);
+        antecTrees = buildTrees(antecList);
+        succTrees = buildTrees(succList);
+    }
+
+    private DiscriminationTreeTacletIndex(DiscriminationTreeTacletIndex original,
+            HashMap<Object, ImmutableList<NoPosTacletApp>> rwList,
+            HashMap<Object, ImmutableList<NoPosTacletApp>> antecList,
+            HashMap<Object, ImmutableList<NoPosTacletApp>> succList,
+            ImmutableList<NoPosTacletApp> noFindList,
+            HashSet<NoPosTacletApp> partialInstantiatedRuleApps) {
+        super(rwList, antecList, succList, noFindList, partialInstantiatedRuleApps);
+        rwTrees = new HashMap<>(original.rwTrees);
+        antecTrees = new HashMap<>(original.antecTrees);
+        succTrees = new HashMap<>(original.succTrees);
+    }
+
+    private static HashMap<Object, LazyTree> buildTrees(
+            HashMap<Object, ImmutableList<NoPosTacletApp>> map) {
+        HashMap<Object, LazyTree> trees = new HashMap<>();
+        for (Map.Entry<Object, ImmutableList<NoPosTacletApp>> entry : map.entrySet()) {
+            if (worthATree(entry.getValue())) {
+                trees.put(entry.getKey(), new LazyTree(entry.getValue()));
+            }
+        }
+        return trees;
+    }
+
+    private static boolean worthATree(ImmutableList<NoPosTacletApp> apps) {
+        return apps != null && apps.size() >= TacletDiscriminationTree.MIN_SIZE;
+    }
+
+    private HashMap<Object, LazyTree> treesOf(
+            HashMap<Object, ImmutableList<NoPosTacletApp>> map) {
+        if (map == rwList) {
+            return rwTrees;
+        } else if (map == antecList) {
+            return antecTrees;
+        } else {
+            assert map == succList;
+            return succTrees;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public TacletIndex copy() {
+        return new DiscriminationTreeTacletIndex(this,
+            (HashMap<Object, ImmutableList<NoPosTacletApp>>) rwList.clone(),
+            (HashMap<Object, ImmutableList<NoPosTacletApp>>) antecList.clone(),
+            (HashMap<Object, ImmutableList<NoPosTacletApp>>) succList.clone(), noFindList,
+            (HashSet<NoPosTacletApp>) partialInstantiatedRuleApps.clone());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void bucketChanged(HashMap<Object, ImmutableList<NoPosTacletApp>> map, Object key) {
+        if (rwTrees == null) {
+            // still in the constructor
+            return;
+        }
+        HashMap<Object, LazyTree> trees = treesOf(map);
+        ImmutableList<NoPosTacletApp> apps = map.get(key);
+        if (worthATree(apps)) {
+            trees.put(key, new LazyTree(apps));
+        } else {
+            trees.remove(key);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected ImmutableList<NoPosTacletApp> selectCandidates(
+            HashMap<Object, ImmutableList<NoPosTacletApp>> map, Object key,
+            ImmutableList<NoPosTacletApp> apps, Term term) {
+        LazyTree tree = treesOf(map).get(key);
+        if (tree == null || tree.apps != apps) {
+            return apps;
+        }
+        return tree.get().select(apps, term);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected ImmutableList<NoPosTacletApp> matchTaclets(ImmutableList<NoPosTacletApp> tacletApps,
+            RuleFilter p_filter, PosInOccurrence pos, Services services) {
+        ImmutableList<NoPosTacletApp> result = ImmutableSLList.nil();
+        if (tacletApps == null) {
+            return result;
+        }
+
+        for (final NoPosTacletApp tacletApp : tacletApps) {
+            if (!p_filter.filter(tacletApp.taclet())) {
+                continue;
+            }
+            final NoPosTacletApp newTacletApp = tacletApp.matchFind(pos, services);
+            if (newTacletApp != null) {
+                result = result.prepend(newTacletApp);
+            }
+        }
+
+        return result;
+    }
+}
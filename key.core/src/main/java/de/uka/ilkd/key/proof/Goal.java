@@ -7,7 +7,6 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicLong;
 
 import de.uka.ilkd.key.java.Services;
 import de.uka.ilkd.key.logic.*;
@@ -19,6 +18,10 @@ import de.uka.ilkd.key.pp.NotationInfo;
 import de.uka.ilkd.key.proof.proofevent.NodeChangeJournal;
 import de.uka.ilkd.key.proof.proofevent.RuleAppInfo;
 import de.uka.ilkd.key.proof.rulefilter.TacletFilter;
+import de.uka.ilkd.key.prover.metrics.GoalMetrics;
+import de.uka.ilkd.key.prover.metrics.ProverMetrics;
+import de.uka.ilkd.key.prover.metrics.RuleApplicationEvent;
+import de.uka.ilkd.key.prover.metrics.Timer;
 import de.uka.ilkd.key.rule.*;
 import de.uka.ilkd.key.rule.inst.SVInstantiations;
 import de.uka.ilkd.key.rule.merge.MergeRule;
@@ -49,11 +52,13 @@ import org.jspecify.annotations.NonNull;
  */
 public final class Goal {
 
-    public static final AtomicLong PERF_APP_EXECUTE = new AtomicLong();
-    public static final AtomicLong PERF_SET_SEQUENT = new AtomicLong();
-    public static final AtomicLong PERF_UPDATE_TAG_MANAGER = new AtomicLong();
-    public static final AtomicLong PERF_UPDATE_RULE_APP_INDEX = new AtomicLong();
-    public static final AtomicLong PERF_UPDATE_LISTENERS = new AtomicLong();
+    public static final Timer PERF_APP_EXECUTE = ProverMetrics.timer("RuleApp execute");
+    public static final Timer PERF_SET_SEQUENT = ProverMetrics.timer("Goal setSequent");
+    public static final Timer PERF_UPDATE_TAG_MANAGER =
+        ProverMetrics.timer("Goal update tag manager");
+    public static final Timer PERF_UPDATE_RULE_APP_INDEX =
+        ProverMetrics.timer("Goal update rule app index");
+    public static final Timer PERF_UPDATE_LISTENERS = ProverMetrics.timer("Goal update listeners");
 
     /**
      * If an application of a rule added some information for the strategy, then this information is
@@ -97,6 +102,10 @@ public final class Goal {
      * The namespaces local to this goal. This may evolve over time.
      */
     private NamespaceSet localNamespaces;
+    /**
+     * the performance counters of this goal, created on demand if {@link ProverMetrics} are enabled
+     */
+    private GoalMetrics metrics = null;
 
     /**
      * copy constructor
@@ -130,6 +139,18 @@ public final class Goal {
             node.proof().getServices().getNamespaces().copyWithParent().copyWithParent();
     }
 
+    /**
+     * returns the performance counters of this goal, creating them on first access
+     *
+     * @return the counters of this goal
+     */
+    public synchronized GoalMetrics getMetrics() {
+        if (metrics == null) {
+            metrics = ProverMetrics.createGoalMetrics(this);
+        }
+        return metrics;
+    }
+
     /**
      * Checks if the {@link Goal} has applicable rules.
      *
@@ -226,14 +247,14 @@ public final class Goal {
         var time = System.nanoTime();
         getFormulaTagManager().sequentChanged(this, sci);
         var time1 = System.nanoTime();
-        PERF_UPDATE_TAG_MANAGER.getAndAdd(time1 - time);
+        PERF_UPDATE_TAG_MANAGER.record(time1 - time);
         ruleAppIndex.sequentChanged(sci);
         var time2 = System.nanoTime();
-        PERF_UPDATE_RULE_APP_INDEX.getAndAdd(time2 - time1);
+        PERF_UPDATE_RULE_APP_INDEX.record(time2 - time1);
         for (GoalListener listener : listeners) {
             listener.sequentChanged(this, sci);
         }
-        PERF_UPDATE_LISTENERS.getAndAdd(System.nanoTime() - time2);
+        PERF_UPDATE_LISTENERS.record(System.nanoTime() - time2);
     }
 
     private void fireGoalReplaced(Goal goal, Node parent, ImmutableList<Goal> newGoals) {
@@ -372,7 +393,7 @@ public final class Goal {
         var time = System.nanoTime();
         // updates the index
         fireSequentChanged(sci);
-        PERF_SET_SEQUENT.getAndAdd(System.nanoTime() - time);
+        PERF_SET_SEQUENT.record(System.nanoTime() - time);
     }
 
     /**
@@ -609,11 +630,18 @@ public final class Goal {
         NamespaceSet originalNamespaces = getLocalNamespaces();
         Services overlayServices = proof.getServices().getOverlay(originalNamespaces);
         final ImmutableList<Goal> goalList;
+        final RuleApplicationEvent event = new RuleApplicationEvent();
+        event.begin();
         var time = System.nanoTime();
         try {
             goalList = ruleApp.execute(this, overlayServices);
         } finally {
-            PERF_APP_EXECUTE.getAndAdd(System.nanoTime() - time);
+            final long duration = System.nanoTime() - time;
+            PERF_APP_EXECUTE.record(duration);
+            if (ProverMetrics.isEnabled()) {
+                ProverMetrics.ruleApplied(this, ruleApp, duration);
+            }
+            event.commit(ruleApp, n);
         }
         // can be null when the taclet failed to apply (RuleAbortException)
         if (goalList == null) {
@@ -59,8 +59,15 @@ public class Node implements Iterable<Node> {
      */
     private BranchLocation branchLocation = null;
 
+    /** the sequent of this node, null if the node has been compacted */
     private Sequent seq = Sequent.EMPTY_SEQUENT;
 
+    /**
+     * if the node has been compacted: the difference to the sequent of the parent (see
+     * {@link ClosedSubtreeCompactor})
+     */
+    private ClosedSubtreeCompactor.Delta delta = null;
+
     private final ArrayList<Node> children = new ArrayList<>(1);
 
     private RuleApp appliedRuleApp;
@@ -123,7 +130,7 @@ public class Node implements Iterable<Node> {
     /**
      * Holds the undo methods for the information added by rules to the {@code Goal.strategyInfos}.
      */
-    private final List<StrategyInfoUndoMethod> undoInfoForStrategyInfo = new ArrayList<>();
+    private final ArrayList<StrategyInfoUndoMethod> undoInfoForStrategyInfo = new ArrayList<>();
 
 
     /**
@@ -159,13 +166,48 @@ public class Node implements Iterable<Node> {
      */
     public void setSequent(Sequent seq) {
         this.seq = seq;
+        this.delta = null;
     }
 
     /** returns the sequent of this node */
     public Sequent sequent() {
+        Sequent s = seq;
+        return s != null ? s : proof.getCompactor().rebuild(this);
+    }
+
+    /**
+     * @return the sequent stored at this node, null if it has been compacted
+     */
+    Sequent storedSequent() {
         return seq;
     }
 
+    /**
+     * @return the difference to the sequent of the parent, if the node has been compacted
+     */
+    ClosedSubtreeCompactor.Delta delta() {
+        return delta;
+    }
+
+    /**
+     * Releases the sequent of this node.
+     *
+     * @param delta the difference to the sequent of the parent, used to rebuild the sequent
+     */
+    void compact(ClosedSubtreeCompactor.Delta delta) {
+        this.delta = delta;
+        this.seq = null;
+    }
+
+    /**
+     * Releases data which is not needed anymore after the subtree of this node has been closed.
+     */
+    void trim() {
+        nodeInfo.setSequentChangeInfo(null);
+        children.trimToSize();
+        undoInfoForStrategyInfo.trimToSize();
+    }
+
     /**
      * the node information object encapsulates non-logical information of the node, e.g.
      *
@@ -3,11 +3,10 @@
  * SPDX-License-Identifier: GPL-2.0-only */
 package de.uka.ilkd.key.proof;
 
-import java.util.Map;
-
 import de.uka.ilkd.key.logic.Term;
 import de.uka.ilkd.key.logic.op.QuantifiableVariable;
 
+import org.key_project.util.cache.Cache;
 import org.key_project.util.collection.ImmutableList;
 
 import org.slf4j.Logger;
@@ -15,11 +14,11 @@ import org.slf4j.LoggerFactory;
 
 /**
  * The abstract superclass of caches for taclet app indexes that are implemented using a common
- * backend <code>LRUCache</code> (the backend is stored in <code>TermTacletAppIndexCacheSet</code>).
+ * backend {@link Cache} (the backend is stored in <code>TermTacletAppIndexCacheSet</code>).
  * The backend is accessed in a way that guarantees that two distinct instances of this class never
  * interfere, by choosing cache keys that are specific for a particular instance of
  * <code>PrefixTermTacletAppIndexCacheImpl</code> and cannot be created by other instances. This
- * ensures that it is safe to use one instance of <code>LRUCache</code> for many instances of
+ * ensures that it is safe to use one instance of {@link Cache} for many instances of
  * <code>PrefixTermTacletAppIndexCacheImpl</code> (different proofs, different proof branches,
  * different locations).
  */
@@ -27,16 +26,16 @@ public abstract class PrefixTermTacletAppIndexCacheImpl extends PrefixTermTaclet
     private static final Logger LOGGER =
         LoggerFactory.getLogger(PrefixTermTacletAppIndexCacheImpl.class);
 
-    private final Map<CacheKey, TermTacletAppIndex> cache;
+    private final Cache<CacheKey, TermTacletAppIndex> cache;
 
     protected PrefixTermTacletAppIndexCacheImpl(ImmutableList<QuantifiableVariable> prefix,
-            Map<CacheKey, TermTacletAppIndex> cache) {
+            Cache<CacheKey, TermTacletAppIndex> cache) {
         super(prefix);
         this.cache = cache;
     }
 
     public TermTacletAppIndex getIndexForTerm(Term t) {
-        return cache.get(getQueryKey(t));
+        return cache.get(getNewKey(t));
     }
 
     private int hits = 0;
@@ -65,27 +64,16 @@ public abstract class PrefixTermTacletAppIndexCacheImpl extends PrefixTermTaclet
 
     /**
      * @return a freshly created key for the term <code>t</code> that can be stored in the
-     *         <code>cache</code>
+     *         <code>cache</code>; keys are never reused for queries, since the backend is shared by
+     *         the goals of a proof which may be worked on concurrently
      */
     private CacheKey getNewKey(Term t) {
         return new CacheKey(this, t);
     }
 
-    /**
-     * @return a key for the term <code>t</code> that can be used for cache queries. Calling this
-     *         method twice will return the same object (with different attribute values), i.e., the
-     *         result is not supposed to be stored anywhere
-     */
-    private CacheKey getQueryKey(Term t) {
-        queryCacheKey.analysedTerm = t;
-        return queryCacheKey;
-    }
-
-    private final CacheKey queryCacheKey = new CacheKey(this, null);
-
     public static final class CacheKey {
         private final PrefixTermTacletAppIndexCacheImpl parent;
-        public Term analysedTerm;
+        private final Term analysedTerm;
 
         public CacheKey(PrefixTermTacletAppIndexCacheImpl parent, Term analysedTerm) {
             this.parent = parent;
@@ -139,6 +139,9 @@ public class Proof implements Named {
      */
     private boolean disposed = false;
 
+    /** compacts closed subtrees (if enabled) and rebuilds the released sequents */
+    private final ClosedSubtreeCompactor compactor = new ClosedSubtreeCompactor();
+
     /**
      * list of rule app listeners
      */
@@ -277,6 +280,8 @@ public class Proof implements Named {
         // remove setting listener from settings
         initConfig.getSettings().getStrategySettings()
                 .removePropertyChangeListener(settingsListener);
+        // the shared taclet base may be dropped if no other proof uses it
+        initConfig.releaseTacletBase();
         // set every reference (except the name) to null
         root = null;
         env = null;
@@ -326,6 +331,13 @@ public class Proof implements Named {
         return localMgt;
     }
 
+    /**
+     * @return the compactor of the closed subtrees of this proof
+     */
+    ClosedSubtreeCompactor getCompactor() {
+        return compactor;
+    }
+
     /**
      * returns a collection of the namespaces valid for this proof
      */
@@ -559,6 +571,10 @@ public class Proof implements Named {
             // in order to detect branch closing.
             fireProofGoalsAdded(ImmutableSLList.nil());
         }
+
+        if (GeneralSettings.compactClosedSubtrees) {
+            compactor.compact(closedSubtree);
+        }
     }
 
     /**
@@ -577,6 +593,7 @@ public class Proof implements Named {
     public void reOpenGoal(Goal goal) {
         add(goal);
         goal.node().reopen();
+        compactor.restore(goal.node());
         closedGoals = closedGoals.removeAll(goal);
         fireProofStructureChanged();
     }
@@ -714,6 +731,8 @@ public class Proof implements Named {
             return null;
         }
 
+        // the cutting point becomes a goal, it needs its sequent
+        compactor.restore(cuttingPoint);
         ProofPruner pruner = new ProofPruner(this);
         if (fireChanges) {
             fireProofIsBeingPruned(cuttingPoint);
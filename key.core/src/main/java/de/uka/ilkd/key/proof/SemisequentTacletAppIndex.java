@@ -6,11 +6,12 @@ package de.uka.ilkd.key.proof;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicLong;
 
 import de.uka.ilkd.key.java.Services;
 import de.uka.ilkd.key.logic.*;
 import de.uka.ilkd.key.proof.rulefilter.RuleFilter;
+import de.uka.ilkd.key.prover.metrics.ProverMetrics;
+import de.uka.ilkd.key.prover.metrics.Timer;
 import de.uka.ilkd.key.rule.NoPosTacletApp;
 import de.uka.ilkd.key.rule.TacletApp;
 
@@ -20,9 +21,11 @@ import org.key_project.util.collection.*;
  * This class holds <code>TermTacletAppIndex</code>s for all formulas of a semisequent.
  */
 public class SemisequentTacletAppIndex {
-    public static final AtomicLong PERF_UPDATE = new AtomicLong();
-    public static final AtomicLong PERF_ADD = new AtomicLong();
-    public static final AtomicLong PERF_REMOVE = new AtomicLong();
+    public static final Timer PERF_UPDATE =
+        ProverMetrics.timer("Semi Taclet app index update update");
+    public static final Timer PERF_ADD = ProverMetrics.timer("Semi Taclet app index update add");
+    public static final Timer PERF_REMOVE =
+        ProverMetrics.timer("Semi Taclet app index update remove");
 
     private ImmutableMap<SequentFormula, TermTacletAppIndex> termIndices =
         DefaultImmutableMap.nilMap();
@@ -215,15 +218,15 @@ public class SemisequentTacletAppIndex {
 
             var time = System.nanoTime();
             result.removeTermIndices(sci.removedFormulas(antec));
-            PERF_REMOVE.getAndAdd(System.nanoTime() - time);
+            PERF_REMOVE.record(System.nanoTime() - time);
 
             time = System.nanoTime();
             result.updateTermIndices(sci.modifiedFormulas(antec), services, tacletIndex, listener);
-            PERF_UPDATE.getAndAdd(System.nanoTime() - time);
+            PERF_UPDATE.record(System.nanoTime() - time);
 
             time = System.nanoTime();
             result.addTermIndices(sci.addedFormulas(antec), services, tacletIndex, listener);
-            PERF_ADD.getAndAdd(System.nanoTime() - time);
+            PERF_ADD.record(System.nanoTime() - time);
             return result;
         }
 
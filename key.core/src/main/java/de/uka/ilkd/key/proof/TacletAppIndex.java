@@ -4,8 +4,6 @@
 package de.uka.ilkd.key.proof;
 
 import java.util.Iterator;
-import java.util.Map;
-import java.util.concurrent.atomic.AtomicLong;
 
 import de.uka.ilkd.key.java.Services;
 import de.uka.ilkd.key.logic.PosInOccurrence;
@@ -16,9 +14,12 @@ import de.uka.ilkd.key.proof.rulefilter.AndRuleFilter;
 import de.uka.ilkd.key.proof.rulefilter.RuleFilter;
 import de.uka.ilkd.key.proof.rulefilter.SetRuleFilter;
 import de.uka.ilkd.key.proof.rulefilter.TacletFilter;
+import de.uka.ilkd.key.prover.metrics.ProverMetrics;
+import de.uka.ilkd.key.prover.metrics.Timer;
 import de.uka.ilkd.key.rule.*;
 import de.uka.ilkd.key.util.Debug;
 
+import org.key_project.util.cache.Cache;
 import org.key_project.util.collection.ImmutableList;
 import org.key_project.util.collection.ImmutableSLList;
 
@@ -34,8 +35,8 @@ import org.jspecify.annotations.NonNull;
  */
 
 public class TacletAppIndex {
-    public static final AtomicLong PERF_CREATE_ALL = new AtomicLong();
-    public static final AtomicLong PERF_UPDATE = new AtomicLong();
+    public static final Timer PERF_CREATE_ALL = ProverMetrics.timer("Taclet app index create all");
+    public static final Timer PERF_UPDATE = ProverMetrics.timer("Taclet app index update");
 
     private final TacletIndex tacletIndex;
 
@@ -65,7 +66,7 @@ public class TacletAppIndex {
      */
     private Sequent seq;
 
-    private final Map<CacheKey, TermTacletAppIndex> cache;
+    private final Cache<CacheKey, TermTacletAppIndex> cache;
 
     public TacletAppIndex(TacletIndex tacletIndex, Goal goal, Services services) {
         this(tacletIndex, null, null, goal, null, TacletFilter.TRUE,
@@ -76,7 +77,7 @@ public class TacletAppIndex {
     private TacletAppIndex(TacletIndex tacletIndex, SemisequentTacletAppIndex antecIndex,
             SemisequentTacletAppIndex succIndex, @NonNull Goal goal, Sequent seq,
             RuleFilter ruleFilter,
-            TermTacletAppIndexCacheSet indexCaches, Map<CacheKey, TermTacletAppIndex> cache) {
+            TermTacletAppIndexCacheSet indexCaches, Cache<CacheKey, TermTacletAppIndex> cache) {
         this.tacletIndex = tacletIndex;
         this.antecIndex = antecIndex;
         this.succIndex = succIndex;
@@ -151,7 +152,7 @@ public class TacletAppIndex {
                 new SemisequentTacletAppIndex(getSequent(), false, getServices(), tacletIndex(),
                     newRuleListener, ruleFilter, indexCaches);
         } finally {
-            PERF_CREATE_ALL.getAndAdd(System.nanoTime() - time);
+            PERF_CREATE_ALL.record(System.nanoTime() - time);
         }
     }
 
@@ -305,7 +306,7 @@ public class TacletAppIndex {
         } else {
             var time = System.nanoTime();
             updateIndices(sci);
-            PERF_UPDATE.getAndAdd(System.nanoTime() - time);
+            PERF_UPDATE.record(System.nanoTime() - time);
         }
     }
 
@@ -0,0 +1,198 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof;
+
+import java.util.ArrayDeque;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+import de.uka.ilkd.key.logic.Term;
+import de.uka.ilkd.key.logic.op.ElementaryUpdate;
+import de.uka.ilkd.key.logic.op.Modality;
+import de.uka.ilkd.key.logic.op.Operator;
+import de.uka.ilkd.key.logic.op.SchemaVariable;
+import de.uka.ilkd.key.logic.op.SortDependingFunction;
+import de.uka.ilkd.key.rule.FindTaclet;
+import de.uka.ilkd.key.rule.NoPosTacletApp;
+
+import org.key_project.util.collection.ImmutableList;
+import org.key_project.util.collection.ImmutableSLList;
+
+/**
+ * A discrimination tree over the find expressions of a list of taclet apps whose find expressions
+ * have the same top level operator (one list of a {@link TacletIndex}).
+ * <p>
+ * The find expressions below the top level operator are flattened in preorder into sequences of
+ * symbols, which are stored in a trie. A schema variable, a modality, or a subterm deeper than
+ * {@value #MAX_DEPTH} levels is stored as a wildcard, which stands for an arbitrary subterm. To
+ * retrieve the candidates for a term, the trie is traversed along the preorder of the term, where
+ * a wildcard edge skips a whole subterm. The retrieved taclets are exactly those whose find
+ * expression matches the term up to schema variables, sorts and program blocks; all other taclets
+ * of the list cannot match and do not have to be passed to the matcher.
+ * <p>
+ * The symbols are compared like the matcher compares operators: by identity, except for sort
+ * depending functions (compared by their kind) and elementary updates (whose left hand side may be
+ * schematic).
+ */
+final class TacletDiscriminationTree {
+    /** the number of levels below the top level operator which are discriminated */
+    static final int MAX_DEPTH = 4;
+
+    /** lists shorter than this are not worth building a tree for */
+    static final int MIN_SIZE = 8;
+
+    /** a node of the trie */
+    private static final class Node {
+        /** the children reached by (non-wildcard) symbols */
+        private Map<Object, Node> children;
+        /** the child reached by a wildcard */
+        private Node wildcard;
+        /** the positions in the list of the taclets whose find expression ends in this node */
+        private BitSet leaves;
+    }
+
+    /** an entry of the work list of {@link #insert(Term, int)} */
+    private record Pending(Term term, int depth) {
+    }
+
+    private final Node root = new Node();
+
+    /** the number of taclet apps in the list */
+    private final int size;
+
+    private TacletDiscriminationTree(int size) {
+        this.size = size;
+    }
+
+    /**
+     * Builds a discrimination tree for the given list of taclet apps with find expressions.
+     *
+     * @param apps the taclet apps
+     * @return the tree or null if the list is too short to be worth it
+     */
+    static TacletDiscriminationTree build(ImmutableList<NoPosTacletApp> apps) {
+        if (apps.size() < MIN_SIZE) {
+            return null;
+        }
+        TacletDiscriminationTree tree = new TacletDiscriminationTree(apps.size());
+        int position = 0;
+        for (NoPosTacletApp app : apps) {
+            tree.insert(((FindTaclet) app.taclet()).find(), position++);
+        }
+        return tree;
+    }
+
+    private void insert(Term pattern, int position) {
+        ArrayDeque<Pending> todo = new ArrayDeque<>();
+        for (int i = pattern.arity() - 1; i >= 0; i--) {
+            todo.push(new Pending(pattern.sub(i), 1));
+        }
+        Node node = root;
+        while (!todo.isEmpty()) {
+            Pending p = todo.pop();
+            Object symbol = p.depth() > MAX_DEPTH ? null : patternSymbol(p.term());
+            if (symbol == null) {
+                if (node.wildcard == null) {
+                    node.wildcard = new Node();
+                }
+                node = node.wildcard;
+            } else {
+                if (node.children == null) {
+                    node.children = new HashMap<>();
+                }
+                node = node.children.computeIfAbsent(symbol, s -> new Node());
+                Term t = p.term();
+                for (int i = t.arity() - 1; i >= 0; i--) {
+                    todo.push(new Pending(t.sub(i), p.depth() + 1));
+                }
+            }
+        }
+        if (node.leaves == null) {
+            node.leaves = new BitSet(size);
+        }
+        node.leaves.set(position);
+    }
+
+    /**
+     * Selects the taclet apps whose find expressions may match the given term.
+     *
+     * @param apps the list of taclet apps this tree has been built for
+     * @param term a term whose top level operator is the one of the find expressions
+     * @return the apps of the list which may match the term, in the order of the list
+     */
+    ImmutableList<NoPosTacletApp> select(ImmutableList<NoPosTacletApp> apps, Term term) {
+        BitSet selected = new BitSet(size);
+        ImmutableList<Term> pending = ImmutableSLList.nil();
+        for (int i = term.arity() - 1; i >= 0; i--) {
+            pending = pending.prepend(term.sub(i));
+        }
+        retrieve(root, pending, selected);
+        int count = selected.cardinality();
+        if (count == size) {
+            return apps;
+        }
+        NoPosTacletApp[] result = new NoPosTacletApp[count];
+        int position = 0;
+        int next = 0;
+        for (NoPosTacletApp app : apps) {
+            if (selected.get(position++)) {
+                result[next++] = app;
+            }
+        }
+        return ImmutableSLList.<NoPosTacletApp>nil().prepend(result);
+    }
+
+    private static void retrieve(Node node, ImmutableList<Term> pending, BitSet result) {
+        if (pending.isEmpty()) {
+            if (node.leaves != null) {
+                result.or(node.leaves);
+            }
+            return;
+        }
+        final Term t = pending.head();
+        final ImmutableList<Term> rest = pending.tail();
+        if (node.wildcard != null) {
+            retrieve(node.wildcard, rest, result);
+        }
+        if (node.children != null) {
+            Object symbol = termSymbol(t.op());
+            Node child = symbol == null ? null : node.children.get(symbol);
+            if (child != null) {
+                ImmutableList<Term> next = rest;
+                for (int i = t.arity() - 1; i >= 0; i--) {
+                    next = next.prepend(t.sub(i));
+                }
+                retrieve(child, next, result);
+            }
+        }
+    }
+
+    /**
+     * @return the symbol a subterm of a find expression is indexed by, null for a wildcard
+     */
+    private static Object patternSymbol(Term pattern) {
+        final Operator op = pattern.op();
+        if (op instanceof SchemaVariable || op instanceof Modality
+                || !pattern.javaBlock().isEmpty()) {
+            return null;
+        }
+        return termSymbol(op);
+    }
+
+    /**
+     * @return the symbol a term with the given operator is looked up by, null if only wildcards
+     *         can match it
+     */
+    private static Object termSymbol(Operator op) {
+        if (op instanceof SortDependingFunction sdf) {
+            return sdf.getKind();
+        } else if (op instanceof ElementaryUpdate) {
+            return ElementaryUpdate.class;
+        } else if (op instanceof Modality) {
+            return null;
+        }
+        return op;
+    }
+}
@@ -132,6 +132,7 @@ public abstract class TacletIndex {
             opList = opList.prepend(tacletApp);
         }
         map.put(indexObj, opList);
+        bucketChanged(map, indexObj);
     }
 
 
@@ -146,9 +147,38 @@ public abstract class TacletIndex {
             } else {
                 map.put(op, opList);
             }
+            bucketChanged(map, op);
         }
     }
 
+    /**
+     * called after the list of taclet apps stored in the given map under the given key has been
+     * changed. Subclasses maintaining additional data per list can override this method.
+     *
+     * @param map the changed map ({@link #rwList}, {@link #antecList} or {@link #succList})
+     * @param key the key of the changed list
+     */
+    protected void bucketChanged(HashMap<Object, ImmutableList<NoPosTacletApp>> map, Object key) {
+    }
+
+    /**
+     * selects the taclet apps of the given list of a map which have to be matched against the
+     * given term. The list contains the taclets whose find expression has the same top level
+     * operator as the term. By default, all of them are selected.
+     *
+     * @param map the map containing the list ({@link #rwList}, {@link #antecList} or
+     *        {@link #succList})
+     * @param key the key of the list
+     * @param apps the list
+     * @param term the term to match
+     * @return the selected taclet apps
+     */
+    protected ImmutableList<NoPosTacletApp> selectCandidates(
+            HashMap<Object, ImmutableList<NoPosTacletApp>> map, Object key,
+            ImmutableList<NoPosTacletApp> apps, Term term) {
+        return apps;
+    }
+
     /**
      * adds a set of NoPosTacletApp to this index
      *
@@ -347,19 +377,22 @@ public abstract class TacletIndex {
             res = merge(res, map.get(DEFAULT_PROGSV_KEY));
         }
 
-        final ImmutableList<NoPosTacletApp> inMap;
+        final Object key;
 
         if (op instanceof SortDependingFunction) {
-            inMap = map.get(((SortDependingFunction) op).getKind());
+            key = ((SortDependingFunction) op).getKind();
         } else if (op instanceof ElementaryUpdate) {
-            inMap = map.get(ElementaryUpdate.class);
+            key = ElementaryUpdate.class;
         } else if (op instanceof Modality) {
-            inMap = map.get(Modality.class);
+            key = Modality.class;
         } else {
-            inMap = map.get(op);
+            key = op;
         }
 
-        res = merge(res, inMap);
+        final ImmutableList<NoPosTacletApp> inMap = map.get(key);
+        if (inMap != null) {
+            res = merge(res, selectCandidates(map, key, inMap, term));
+        }
 
         // collect taclets for target term, if updates shall be ignored
         if (ignoreUpdates && op instanceof UpdateApplication) {
@@ -14,7 +14,11 @@ public abstract class TacletIndexKit {
 
     static {
         final String threading = System.getProperty("tacletindex.threading.enabled", "false");
-        if ("true".equals(threading)) {
+        final String discrimination =
+            System.getProperty("tacletindex.discrimination.enabled", "false");
+        if ("true".equals(discrimination)) {
+            ACTIVE_TACLET_INDEX_KIT = new DiscriminationTreeTacletIndexKit();
+        } else if ("true".equals(threading)) {
             ACTIVE_TACLET_INDEX_KIT = new MultiThreadedTacletIndexKit();
         } else {
             ACTIVE_TACLET_INDEX_KIT = new SingleThreadedTacletIndexKit();
@@ -59,6 +63,21 @@ public abstract class TacletIndexKit {
         }
     }
 
+    /**
+     * Concrete factory creating the version of the {@link TacletIndex} that uses discrimination
+     * trees to select the taclets to be matched
+     */
+    private static class DiscriminationTreeTacletIndexKit extends TacletIndexKit {
+
+        public TacletIndex createTacletIndex() {
+            return new DiscriminationTreeTacletIndex();
+        }
+
+        public TacletIndex createTacletIndex(Iterable<Taclet> tacletSet) {
+            return new DiscriminationTreeTacletIndex(tacletSet);
+        }
+    }
+
     /**
      * Concrete factory creating the multi threaded version of the {@link TacletIndex} (performs
      * matching using multiple threads)
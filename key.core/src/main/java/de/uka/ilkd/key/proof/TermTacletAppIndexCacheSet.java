@@ -3,8 +3,6 @@
  * SPDX-License-Identifier: GPL-2.0-only */
 package de.uka.ilkd.key.proof;
 
-import java.util.Map;
-
 import de.uka.ilkd.key.logic.Term;
 import de.uka.ilkd.key.logic.op.*;
 import de.uka.ilkd.key.proof.PrefixTermTacletAppIndexCacheImpl.CacheKey;
@@ -12,6 +10,7 @@ import de.uka.ilkd.key.rule.FindTaclet;
 import de.uka.ilkd.key.rule.Taclet;
 
 import org.key_project.util.LRUCache;
+import org.key_project.util.cache.Cache;
 import org.key_project.util.collection.ImmutableList;
 import org.key_project.util.collection.ImmutableSLList;
 
@@ -99,9 +98,9 @@ public class TermTacletAppIndexCacheSet {
         new LRUCache<>(
             MAX_CACHE_ENTRIES);
 
-    private final Map<CacheKey, TermTacletAppIndex> cache;
+    private final Cache<CacheKey, TermTacletAppIndex> cache;
 
-    public TermTacletAppIndexCacheSet(Map<CacheKey, TermTacletAppIndex> cache) {
+    public TermTacletAppIndexCacheSet(Cache<CacheKey, TermTacletAppIndex> cache) {
         assert cache != null;
         this.cache = cache;
         antecCache = new TopLevelCache(ImmutableSLList.nil(), cache);
@@ -152,12 +151,14 @@ public class TermTacletAppIndexCacheSet {
         if (prefix.isEmpty()) {
             return topLevelCacheEmptyPrefix;
         }
-        ITermTacletAppIndexCache res = topLevelCaches.get(prefix);
-        if (res == null) {
-            res = new TopLevelCache(prefix, cache);
-            topLevelCaches.put(prefix, res);
+        synchronized (topLevelCaches) {
+            ITermTacletAppIndexCache res = topLevelCaches.get(prefix);
+            if (res == null) {
+                res = new TopLevelCache(prefix, cache);
+                topLevelCaches.put(prefix, res);
+            }
+            return res;
         }
-        return res;
     }
 
     /**
@@ -168,12 +169,14 @@ public class TermTacletAppIndexCacheSet {
         if (prefix.isEmpty()) {
             return belowProgCacheEmptyPrefix;
         }
-        ITermTacletAppIndexCache res = belowProgCaches.get(prefix);
-        if (res == null) {
-            res = new BelowProgCache(prefix, cache);
-            belowProgCaches.put(prefix, res);
+        synchronized (belowProgCaches) {
+            ITermTacletAppIndexCache res = belowProgCaches.get(prefix);
+            if (res == null) {
+                res = new BelowProgCache(prefix, cache);
+                belowProgCaches.put(prefix, res);
+            }
+            return res;
         }
-        return res;
     }
 
     /**
@@ -215,7 +218,7 @@ public class TermTacletAppIndexCacheSet {
 
     private class TopLevelCache extends PrefixTermTacletAppIndexCacheImpl {
         protected TopLevelCache(ImmutableList<QuantifiableVariable> prefix,
-                Map<CacheKey, TermTacletAppIndex> cache) {
+                Cache<CacheKey, TermTacletAppIndex> cache) {
             super(prefix, cache);
         }
 
@@ -272,7 +275,7 @@ public class TermTacletAppIndexCacheSet {
 
     private class BelowProgCache extends PrefixTermTacletAppIndexCacheImpl {
         protected BelowProgCache(ImmutableList<QuantifiableVariable> prefix,
-                Map<CacheKey, TermTacletAppIndex> cache) {
+                Cache<CacheKey, TermTacletAppIndex> cache) {
             super(prefix, cache);
         }
 
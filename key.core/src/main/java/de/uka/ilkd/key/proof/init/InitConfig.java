@@ -15,7 +15,6 @@ import de.uka.ilkd.key.logic.op.QuantifiableVariable;
 import de.uka.ilkd.key.proof.BuiltInRuleIndex;
 import de.uka.ilkd.key.proof.Node;
 import de.uka.ilkd.key.proof.TacletIndex;
-import de.uka.ilkd.key.proof.TacletIndexKit;
 import de.uka.ilkd.key.proof.io.consistency.FileRepo;
 import de.uka.ilkd.key.proof.mgt.RuleJustification;
 import de.uka.ilkd.key.proof.mgt.RuleJustificationByAddRules;
@@ -74,6 +73,9 @@ public class InitConfig {
     /** HashMap for quick lookups taclet name->taclet */
     private Map<Name, Taclet> activatedTacletCache = null;
 
+    /** the shared taclet base the activated taclet cache belongs to */
+    private TacletBaseRegistry.Reference tacletBase = null;
+
     /** the fileRepo which is responsible for consistency between source code and proof */
     private FileRepo fileRepo;
 
@@ -147,8 +149,7 @@ public class InitConfig {
             Map<String, String> clone =
                 new HashMap<>(category2DefaultChoice);
             ProofSettings.DEFAULT_SETTINGS.getChoiceSettings().setDefaultChoices(clone);
-            // invalidate active taclet cache
-            activatedTacletCache = null;
+            invalidateActiveTacletCache();
         }
     }
 
@@ -194,8 +195,7 @@ public class InitConfig {
                 .union(
                     DefaultImmutableSet.fromImmutableList(category2DefaultChoiceList));
 
-        // invalidate active taclet cache
-        activatedTacletCache = null;
+        invalidateActiveTacletCache();
     }
 
 
@@ -210,21 +210,23 @@ public class InitConfig {
 
 
     public void addTaclets(Collection<Taclet> tacs) {
+        if (tacs.isEmpty()) {
+            // keep the list, such that the taclet base can still be shared
+            return;
+        }
         taclets = taclets.append(tacs);
-        this.activatedTacletCache = null;
+        invalidateActiveTacletCache();
     }
 
     public void setTaclets(ImmutableList<Taclet> tacs) {
         taclets = tacs;
-        // invalidate active taclet cache
-        this.activatedTacletCache = null;
+        invalidateActiveTacletCache();
     }
 
     public void setTaclets(Collection<Taclet> tacs) {
         taclets = ImmutableSLList.nil();
         addTaclets(tacs);
-        // invalidate active taclet cache
-        this.activatedTacletCache = null;
+        invalidateActiveTacletCache();
     }
 
     public ImmutableList<Taclet> getTaclets() {
@@ -250,12 +252,22 @@ public class InitConfig {
 
 
     /**
-     * fills the active taclet cache
+     * fills the active taclet cache from the shared taclet base for the current taclets and
+     * choices (see {@link TacletBaseRegistry})
      */
     private void fillActiveTacletCache() {
         if (activatedTacletCache != null) {
             return;
         }
+        tacletBase = TacletBaseRegistry.acquire(this, taclets, activatedChoices,
+            this::computeActiveTaclets);
+        activatedTacletCache = tacletBase.base().getActivatedTaclets();
+    }
+
+    /**
+     * computes the taclets activated by the current choices
+     */
+    private Map<Name, Taclet> computeActiveTaclets() {
         final LinkedHashMap<Name, Taclet> tacletCache = new LinkedHashMap<>();
         var choices = Collections.unmodifiableSet(activatedChoices.toSet());
         for (Taclet t : taclets) {
@@ -271,7 +283,28 @@ public class InitConfig {
                 }
             }
         }
-        activatedTacletCache = Collections.unmodifiableMap(tacletCache);
+        return Collections.unmodifiableMap(tacletCache);
+    }
+
+    /**
+     * invalidates the active taclet cache after the taclets or choices have changed
+     */
+    private void invalidateActiveTacletCache() {
+        releaseTacletBase();
+        tacletBase = null;
+        activatedTacletCache = null;
+    }
+
+    /**
+     * Releases the reference of this configuration to its shared taclet base, such that it can be
+     * dropped from the {@link TacletBaseRegistry} once no other configuration uses it. The base
+     * itself remains usable by this configuration. This is called when a proof is disposed;
+     * otherwise, the reference is released when this configuration is garbage collected.
+     */
+    public void releaseTacletBase() {
+        if (tacletBase != null) {
+            tacletBase.release();
+        }
     }
 
 
@@ -319,10 +352,11 @@ public class InitConfig {
 
     /**
      * returns a newly created taclet index for the set of activated taclets contained in this
-     * initial configuration
+     * initial configuration. The index is copied from the one of the shared taclet base.
      */
     public TacletIndex createTacletIndex() {
-        return TacletIndexKit.getKit().createTacletIndex(activatedTaclets());
+        fillActiveTacletCache();
+        return tacletBase.base().createTacletIndex();
     }
 
 
@@ -252,6 +252,18 @@ public class JavaProfile extends AbstractProfile {
         }
     }
 
+    /**
+     * Creates a new instance which is independent of the default instances. Each instance has its
+     * own {@link OneStepSimplifier}, which allows to load and replay proofs in parallel if each
+     * {@link Thread} uses its own instance.
+     *
+     * @param perms boolean to decide whether we use permissions
+     * @return a new instance
+     */
+    public static JavaProfile createInstance(boolean perms) {
+        return perms ? new JavaProfile(true) : new JavaProfile();
+    }
+
     public static synchronized JavaProfile getDefaultInstance() {
         return getDefaultInstance(false);
     }
@@ -5,16 +5,22 @@ package de.uka.ilkd.key.proof.init;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 
 import de.uka.ilkd.key.java.abstraction.KeYJavaType;
 import de.uka.ilkd.key.logic.Sequent;
 import de.uka.ilkd.key.nparser.ChoiceInformation;
 import de.uka.ilkd.key.nparser.KeyAst;
+import de.uka.ilkd.key.nparser.ParsingFacade;
 import de.uka.ilkd.key.nparser.ProblemInformation;
 import de.uka.ilkd.key.nparser.ProofReplayer;
 import de.uka.ilkd.key.proof.Proof;
 import de.uka.ilkd.key.proof.ProofAggregate;
+import de.uka.ilkd.key.proof.io.BinaryProofReader;
+import de.uka.ilkd.key.proof.io.BinaryProofSaver;
 import de.uka.ilkd.key.proof.io.IProofFileParser;
 import de.uka.ilkd.key.proof.io.KeYFile;
 import de.uka.ilkd.key.proof.io.consistency.FileRepo;
@@ -29,6 +35,7 @@ import org.key_project.util.collection.DefaultImmutableSet;
 import org.key_project.util.collection.ImmutableSet;
 
 import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.CharStreams;
 import org.antlr.v4.runtime.Token;
 import org.jspecify.annotations.NonNull;
 
@@ -40,6 +47,12 @@ import org.jspecify.annotations.NonNull;
 public final class KeYUserProblemFile extends KeYFile implements ProofOblInput {
     private Sequent problem = null;
 
+    /**
+     * whether only the part of the file before its proof steps has been parsed, as the steps are
+     * stored in a binary proof file
+     */
+    private volatile boolean headerOnly = false;
+
     // -------------------------------------------------------------------------
     // constructors
     // -------------------------------------------------------------------------
@@ -183,10 +196,42 @@ public final class KeYUserProblemFile extends KeYFile implements ProofOblInput {
     }
 
     /**
-     * Reads a saved proof of a .key file.
+     * {@inheritDoc}
+     * <p>
+     * If the proof steps of this file can be read from an up-to-date binary proof file (see
+     * {@link BinaryProofSaver}), only the part of the file before the proof steps is parsed.
+     */
+    @Override
+    protected CharStream getParseInput() throws IOException {
+        File proofFile = file.file();
+        if (proofFile != null && proofFile.isFile()) {
+            long header = BinaryProofReader.headerLength(proofFile);
+            if (header >= 0 && header < proofFile.length()) {
+                byte[] bytes;
+                try (InputStream in = Files.newInputStream(proofFile.toPath())) {
+                    bytes = in.readNBytes(Math.toIntExact(header));
+                }
+                headerOnly = true;
+                return CharStreams.fromString(new String(bytes, StandardCharsets.UTF_8),
+                    proofFile.getAbsolutePath());
+            }
+        }
+        return super.getParseInput();
+    }
+
+    /**
+     * Reads a saved proof of a .key file. If there is an up-to-date binary proof file next to it
+     * (see {@link BinaryProofSaver}), the proof steps are read from there.
      */
     public void readProof(IProofFileParser prl) throws IOException {
-        KeyAst.File ctx = getParseContext();
+        File proofFile = file.file();
+        if (proofFile != null && proofFile.isFile()
+                && BinaryProofReader.readIfAvailable(proofFile, prl)) {
+            return;
+        }
+        // the binary file has been modified since the header has been parsed
+        KeyAst.File ctx =
+            headerOnly ? ParsingFacade.parseFile(file.getCharStream()) : getParseContext();
         Token token = ctx.findProof();
         if (token != null) {
             CharStream stream = file.getCharStream();
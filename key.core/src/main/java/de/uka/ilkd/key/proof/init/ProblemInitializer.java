@@ -6,6 +6,8 @@ package de.uka.ilkd.key.proof.init;
 import java.io.*;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import de.uka.ilkd.key.java.*;
 import de.uka.ilkd.key.java.abstraction.Field;
@@ -55,7 +57,39 @@ import recoder.io.ProjectSettings;
 public final class ProblemInitializer {
     private static final Logger LOGGER = LoggerFactory.getLogger(ProblemInitializer.class);
 
-    private static InitConfig baseConfig;
+    /** maximum number of profile instances whose taclet base is kept in {@link #baseConfigs} */
+    private static final int MAX_BASE_CONFIGS = 8;
+
+    /**
+     * the configurations containing the parsed taclet base of the most recently used profile
+     * instances (several instances of a profile may be used to load proofs in different threads)
+     */
+    private static final Map<Profile, InitConfig> baseConfigs =
+        new LinkedHashMap<>(MAX_BASE_CONFIGS, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Profile, InitConfig> eldest) {
+                return size() > MAX_BASE_CONFIGS;
+            }
+        };
+    /**
+     * whether included files are parsed concurrently (can be disabled by setting the system
+     * property {@code key.parallelParsing} to false)
+     */
+    private static volatile boolean parallelParsing =
+        Boolean.parseBoolean(System.getProperty("key.parallelParsing", "true"));
+
+    /**
+     * The threads parsing the included files (see {@link #parseInBackground(List)}). A pool of
+     * its own, such that parsing neither competes with nor waits for other tasks on the common
+     * pool.
+     */
+    private static final ExecutorService PARSER_POOL =
+        Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), r -> {
+            Thread thread = new Thread(r, "KeYParser");
+            thread.setDaemon(true);
+            return thread;
+        });
+
     private final Services services;
     private final ProgressMonitor progMon;
     private final Set<EnvInput> alreadyParsed = new LinkedHashSet<>();
@@ -167,6 +201,7 @@ public final class ProblemInitializer {
             i++;
             setProgress(i);
         }
+        parseInBackground(Arrays.asList(keyFile));
 
         LDTInput ldtInp = new LDTInput(keyFile, (status, progress) -> {
             ProblemInitializer.this.reportStatus(status);
@@ -190,15 +225,62 @@ public final class ProblemInitializer {
 
         // read normal includes
         reportStatus("Read Includes", in.getIncludes().size());
-        int i = 0;
+        List<KeYFile> keyFiles = new ArrayList<>();
         for (String fileName : in.getIncludes()) {
-            KeYFile keyFile =
-                new KeYFile(fileName, in.get(fileName), progMon, envInput.getProfile(), fileRepo);
+            keyFiles.add(
+                new KeYFile(fileName, in.get(fileName), progMon, envInput.getProfile(), fileRepo));
+        }
+        parseInBackground(keyFiles);
+        int i = 0;
+        for (KeYFile keyFile : keyFiles) {
             readEnvInput(keyFile, initConfig);
             setProgress(++i);
         }
     }
 
+    /**
+     * Starts parsing the given files concurrently. Reading the files (i.e., building the
+     * declarations and taclets) still happens sequentially, in the order of the includes.
+     * <p>
+     * The parsed taclet base is not stored on disk for later runs, since taclets, sorts and
+     * operators have no serialized form. Within one JVM, it is built only once per profile
+     * instance (see {@link #baseConfigs}).
+     */
+    private void parseInBackground(List<KeYFile> keyFiles) {
+        if (!parallelParsing || keyFiles.size() < 2) {
+            return;
+        }
+        for (KeYFile keyFile : keyFiles) {
+            if (!alreadyParsed.contains(keyFile)) {
+                keyFile.parseInBackground(PARSER_POOL);
+            }
+        }
+    }
+
+    /**
+     * Enables or disables parsing the included files concurrently (see
+     * {@link #parseInBackground(List)}), overriding the system property
+     * {@code key.parallelParsing}.
+     *
+     * @param parallel whether to parse concurrently
+     */
+    static void setParallelParsing(boolean parallel) {
+        parallelParsing = parallel;
+    }
+
+    /**
+     * Releases the taclet base parsed for the given profile instance (see {@link #baseConfigs}).
+     * Proofs loaded with the profile are not affected, but a later {@link #prepare(EnvInput)}
+     * with it parses the taclet base again.
+     *
+     * @param profile the profile instance no longer used
+     */
+    public static void releaseBaseConfig(Profile profile) {
+        synchronized (SchemaJavaParser.class) {
+            baseConfigs.remove(profile);
+        }
+    }
+
     /**
      * get a vector of Strings containing all .java file names in the cfile directory. Helper for
      * readJava().
@@ -439,13 +521,14 @@ public final class ProblemInitializer {
         synchronized (SchemaJavaParser.class) {
             // It is required to work with a copy to make this method thread save required by the
             // Eclipse plug-ins.
+            Profile profile = services.getProfile();
+            InitConfig baseConfig = baseConfigs.get(profile);
             InitConfig currentBaseConfig = baseConfig != null ? baseConfig.copy() : null;
             progressStarted(this);
             alreadyParsed.clear();
 
             // the first time, read in standard rules
-            Profile profile = services.getProfile();
-            if (currentBaseConfig == null || profile != currentBaseConfig.getProfile()) {
+            if (currentBaseConfig == null) {
                 currentBaseConfig = new InitConfig(services);
                 RuleSource tacletBase = profile.getStandardRules().getTacletBase();
                 if (tacletBase != null) {
@@ -455,7 +538,7 @@ public final class ProblemInitializer {
                 }
                 // remove traces of the generic sorts within the base configuration
                 cleanupNamespaces(currentBaseConfig);
-                baseConfig = currentBaseConfig;
+                baseConfigs.put(profile, currentBaseConfig);
             }
 
             InitConfig ic = prepare(envInput, currentBaseConfig);
@@ -0,0 +1,170 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof.init;
+
+import java.lang.ref.Cleaner;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import de.uka.ilkd.key.logic.Choice;
+import de.uka.ilkd.key.proof.TacletIndex;
+import de.uka.ilkd.key.proof.TacletIndexKit;
+import de.uka.ilkd.key.rule.Taclet;
+
+import org.key_project.logic.Name;
+import org.key_project.util.collection.ImmutableList;
+import org.key_project.util.collection.ImmutableSet;
+
+/**
+ * A process-wide registry of the activated taclets of {@link InitConfig}s, such that proofs with
+ * the same rule base and the same choice settings share them instead of building their own copy.
+ * <p>
+ * A {@link TacletBase} is determined by the list of parsed taclets of an {@link InitConfig} and by
+ * its activated choices. The list is compared by identity: it stands for the rule sources it was
+ * parsed from, since all initial configurations derived from the same base configuration (see
+ * {@link ProblemInitializer}) share it, while rules parsed again (e.g., taclets declared in a
+ * problem file) are new objects anyway and cannot be shared.
+ * <p>
+ * Entries are reference counted. Every {@link InitConfig} using a base holds one reference, which
+ * is released when the configuration is released explicitly (when its proof is disposed) or
+ * becomes unreachable. An entry is removed once it is not referenced anymore. The taclet bases
+ * themselves are immutable and stay valid for the configurations still using them.
+ */
+public final class TacletBaseRegistry {
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private static final Map<Key, Entry> ENTRIES = new HashMap<>();
+
+    private TacletBaseRegistry() {
+    }
+
+    /**
+     * The taclets activated by a set of choices and a taclet index containing them.
+     */
+    public static final class TacletBase {
+        /** the activated taclets by name (unmodifiable) */
+        private final Map<Name, Taclet> activatedTaclets;
+        /** the index of the activated taclets, copied for every proof; built on demand */
+        private TacletIndex index;
+
+        private TacletBase(Map<Name, Taclet> activatedTaclets) {
+            this.activatedTaclets = activatedTaclets;
+        }
+
+        /**
+         * @return the unmodifiable map of activated taclets by name
+         */
+        public Map<Name, Taclet> getActivatedTaclets() {
+            return activatedTaclets;
+        }
+
+        /**
+         * Creates a taclet index of the activated taclets. The index is a copy of an index shared
+         * by all users of this base, which is cheap since the taclet apps are shared.
+         *
+         * @return a new taclet index
+         */
+        public synchronized TacletIndex createTacletIndex() {
+            if (index == null) {
+                index = TacletIndexKit.getKit().createTacletIndex(activatedTaclets.values());
+            }
+            return index.copy();
+        }
+    }
+
+    /**
+     * A reference to a shared taclet base held by one user.
+     *
+     * @param base the taclet base
+     * @param cleanable releases the reference
+     */
+    record Reference(TacletBase base, Cleaner.Cleanable cleanable) {
+        /**
+         * Releases this reference. Releasing it more than once has no effect.
+         */
+        void release() {
+            cleanable.clean();
+        }
+    }
+
+    /**
+     * the key of a taclet base
+     *
+     * @param taclets the parsed taclets, compared by identity
+     * @param choices the activated choices
+     */
+    private record Key(ImmutableList<Taclet> taclets, ImmutableSet<Choice> choices) {
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key k && taclets == k.taclets && choices.equals(k.choices);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(taclets) + choices.hashCode();
+        }
+    }
+
+    /** a registered taclet base with its number of references */
+    private static final class Entry {
+        private final TacletBase base;
+        private int references;
+
+        private Entry(TacletBase base) {
+            this.base = base;
+        }
+    }
+
+    /**
+     * Returns the taclet base for the given taclets and choices and registers the given owner as
+     * one of its users.
+     *
+     * @param owner the user of the base, it is released when the owner becomes unreachable
+     * @param taclets the parsed taclets
+     * @param choices the activated choices
+     * @param activate computes the activated taclets if there is no shared base yet
+     * @return the reference to the base
+     */
+    static Reference acquire(Object owner, ImmutableList<Taclet> taclets,
+            ImmutableSet<Choice> choices, Supplier<Map<Name, Taclet>> activate) {
+        Key key = new Key(taclets, choices);
+        Entry entry;
+        synchronized (ENTRIES) {
+            entry = ENTRIES.get(key);
+            if (entry != null) {
+                entry.references++;
+            }
+        }
+        if (entry == null) {
+            // computed outside the lock, such that independent loads do not wait for each other
+            TacletBase base = new TacletBase(activate.get());
+            synchronized (ENTRIES) {
+                entry = ENTRIES.computeIfAbsent(key, k -> new Entry(base));
+                entry.references++;
+            }
+        }
+        final Entry acquired = entry;
+        return new Reference(acquired.base,
+            CLEANER.register(owner, () -> release(key, acquired)));
+    }
+
+    private static void release(Key key, Entry entry) {
+        synchronized (ENTRIES) {
+            if (--entry.references == 0) {
+                ENTRIES.remove(key);
+            }
+        }
+    }
+
+    /**
+     * @return the currently registered taclet bases
+     */
+    static Collection<TacletBase> registered() {
+        synchronized (ENTRIES) {
+            return ENTRIES.values().stream().map(e -> e.base).toList();
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof.io;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Constants and helpers shared by {@link BinaryProofWriter} and {@link BinaryProofReader}.
+ * <p>
+ * A binary proof file stores the proof steps of a proof file (the contents of its
+ * <code>\proof</code> block) and is stored next to it, with the suffix {@value #SUFFIX}
+ * appended. The textual proof file is still needed for the problem header (profile, settings,
+ * declarations, proof obligation). It may contain the proof steps as well, but does not need to.
+ * If it does not, its first line is the comment {@value #STEPS_ONLY_MARKER} followed by the name
+ * of the binary file, such that loading fails if the binary file is missing or outdated instead of
+ * silently yielding a proof without steps.
+ * <p>
+ * The binary file consists of
+ * <ol>
+ * <li>a header: the magic number, the version, the offset of the string table, the
+ * {@link TextFileStamp} of the textual proof file it belongs to and the names of the proof
+ * elements (see {@link IProofFileParser.ProofElementID#getRawName()}) in the order they are
+ * referred to,</li>
+ * <li>the body: the stream of begin and end events of the proof elements, as they would be
+ * produced by {@link de.uka.ilkd.key.nparser.ProofReplayer} from the text. The arguments of the
+ * elements (rule names, instantiations, ...) are stored as references into the string table,
+ * such that each distinct string is stored only once. Each branch stores the offset of its end
+ * and the number of intermediate nodes it contains, such that it can be skipped and read
+ * lazily,</li>
+ * <li>the string table.</li>
+ * </ol>
+ * Numbers are stored as variable length integers unless noted otherwise.
+ */
+final class BinaryProofFormat {
+    /** suffix appended to the name of the textual proof file */
+    static final String SUFFIX = ".bin";
+
+    /**
+     * start of the first line of a textual proof file whose proof steps are stored only in the
+     * binary file
+     */
+    static final String STEPS_ONLY_MARKER = "// proof steps stored in binary proof file: ";
+
+    /** magic number at the start of each binary proof file ("KeYB") */
+    static final int MAGIC = 0x4B655942;
+
+    /** version of the format */
+    static final int VERSION = 2;
+
+    /** end of the body */
+    static final byte OP_EOF = 0;
+
+    /** begin of a proof element: element index, argument reference */
+    static final byte OP_BEGIN = 1;
+
+    /** end of the innermost open proof element: line number */
+    static final byte OP_END = 2;
+
+    /**
+     * begin of a branch: offset after its end (8 bytes), number of nodes in the subtree
+     * (4 bytes), argument reference (the branch label)
+     */
+    static final byte OP_BRANCH = 3;
+
+    private BinaryProofFormat() {
+    }
+
+    /**
+     * @param proofFile a textual proof file
+     * @return the binary proof file belonging to it
+     */
+    static File binaryFileOf(File proofFile) {
+        return new File(proofFile.getPath() + SUFFIX);
+    }
+
+    /**
+     * @param proofFile a textual proof file
+     * @return the first line of the file if its proof steps are stored only in the binary file
+     */
+    static String stepsOnlyMarker(File proofFile) {
+        return STEPS_ONLY_MARKER + binaryFileOf(proofFile).getName();
+    }
+
+    /**
+     * @param proofFile a textual proof file
+     * @return true iff the proof steps of the file are stored only in its binary file
+     * @throws IOException if the file cannot be read
+     */
+    static boolean isStepsOnly(File proofFile) throws IOException {
+        try (BufferedReader reader =
+            Files.newBufferedReader(proofFile.toPath(), StandardCharsets.UTF_8)) {
+            String first = reader.readLine();
+            return first != null && first.startsWith(STEPS_ONLY_MARKER);
+        }
+    }
+
+    /**
+     * Identifies the version of the textual proof file a binary file belongs to. It is written when
+     * the proof is saved, such that checking whether the binary file is up-to-date usually does not
+     * need to read the textual file: Only if its size matches, but its modification time does not
+     * (e.g., because it has been copied or checked out), its contents are hashed.
+     *
+     * @param hash the SHA-256 of the contents of the textual file
+     * @param size the size of the textual file in bytes
+     * @param modified the modification time of the textual file
+     * @param headerLength the number of bytes of the textual file before its proof steps, which is
+     *        the part that has to be parsed if the steps are read from the binary file
+     */
+    record TextFileStamp(String hash, long size, long modified, long headerLength) {
+        /**
+         * @param proofFile the textual proof file as it has just been written
+         * @param headerLength the number of bytes of the file before its proof steps
+         * @return the stamp of the file
+         * @throws IOException if the file cannot be read
+         */
+        static TextFileStamp of(File proofFile, long headerLength) throws IOException {
+            return new TextFileStamp(BinaryProofFormat.hash(proofFile), proofFile.length(),
+                proofFile.lastModified(), headerLength);
+        }
+
+        /**
+         * @param proofFile a textual proof file
+         * @return true iff the file still has the contents this stamp has been taken of
+         * @throws IOException if the file cannot be read
+         */
+        boolean matches(File proofFile) throws IOException {
+            if (proofFile.length() != size) {
+                return false;
+            }
+            return proofFile.lastModified() == modified
+                    || hash.equals(BinaryProofFormat.hash(proofFile));
+        }
+    }
+
+    /**
+     * @param proofFile the textual proof file
+     * @return the SHA-256 of the file contents
+     * @throws IOException if the file cannot be read
+     */
+    static String hash(File proofFile) throws IOException {
+        final MessageDigest md;
+        try {
+            md = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (InputStream in =
+            new DigestInputStream(Files.newInputStream(proofFile.toPath()), md)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(md.digest());
+    }
+}
@@ -0,0 +1,364 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof.io;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import de.uka.ilkd.key.proof.io.BinaryProofFormat.TextFileStamp;
+import de.uka.ilkd.key.proof.io.IProofFileParser.ProofElementID;
+import de.uka.ilkd.key.proof.io.intermediate.BranchNodeIntermediate;
+import de.uka.ilkd.key.proof.io.intermediate.NodeIntermediate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads proof steps stored in the binary format described in {@link BinaryProofFormat}.
+ * <p>
+ * The events are streamed from the file to the given {@link IProofFileParser}. If the parser
+ * builds an intermediate proof tree ({@link IntermediatePresentationProofFileParser}), large
+ * branches are not read immediately: Only their size is recorded, and their nodes are read when
+ * the replayer first asks for their children. Thus, replaying can start before the whole file has
+ * been read, and the intermediate nodes of already replayed branches can be garbage collected
+ * before later branches are materialized.
+ */
+public final class BinaryProofReader {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BinaryProofReader.class);
+
+    /** branches whose encoding is larger than this (in bytes) are read lazily */
+    static final int LAZY_THRESHOLD = 64 * 1024;
+
+    private final File file;
+    private final TextFileStamp stamp;
+    private final ProofElementID[] elements;
+    private final String[] strings;
+    private final long bodyStart;
+
+    /**
+     * Opens a binary proof file and reads its header and string table.
+     *
+     * @param file the binary proof file
+     * @throws IOException if the file cannot be read or is not a binary proof file
+     */
+    BinaryProofReader(File file) throws IOException {
+        this.file = file;
+        try (Input in = new Input(file, 0)) {
+            long tableOffset = readFormat(in, file);
+            stamp = readStamp(in);
+
+            Map<String, ProofElementID> ids = new HashMap<>();
+            for (ProofElementID id : ProofElementID.values()) {
+                ids.put(id.getRawName(), id);
+            }
+            elements = new ProofElementID[in.readVarInt()];
+            for (int i = 0; i < elements.length; i++) {
+                String name = in.readUtf();
+                elements[i] = ids.get(name);
+                if (elements[i] == null) {
+                    throw new IOException("Unknown proof element: " + name);
+                }
+            }
+            bodyStart = in.position();
+
+            in.seek(tableOffset);
+            strings = new String[in.readVarInt()];
+            for (int i = 0; i < strings.length; i++) {
+                strings[i] = in.readUtf();
+            }
+        }
+    }
+
+    /**
+     * Checks the magic number and the version at the start of a binary proof file.
+     *
+     * @return the offset of the string table
+     */
+    private static long readFormat(Input in, File file) throws IOException {
+        if (in.readInt() != BinaryProofFormat.MAGIC) {
+            throw new IOException("Not a binary proof file: " + file);
+        }
+        int version = in.readInt();
+        if (version != BinaryProofFormat.VERSION) {
+            throw new IOException("Unsupported binary proof format version " + version);
+        }
+        return in.readLong();
+    }
+
+    private static TextFileStamp readStamp(Input in) throws IOException {
+        return new TextFileStamp(in.readUtf(), in.readLong(), in.readLong(), in.readLong());
+    }
+
+    /**
+     * Determines how much of the given textual proof file has to be parsed, if its proof steps can
+     * be read from its binary proof file. Only the header of the binary file is read.
+     *
+     * @param proofFile the textual proof file
+     * @return the number of bytes of the textual file before its proof steps if there is an
+     *         up-to-date binary proof file, -1 otherwise
+     */
+    public static long headerLength(File proofFile) {
+        File binary = BinaryProofFormat.binaryFileOf(proofFile);
+        if (!binary.isFile()) {
+            return -1;
+        }
+        try (Input in = new Input(binary, 0)) {
+            readFormat(in, binary);
+            TextFileStamp stamp = readStamp(in);
+            return stamp.matches(proofFile) ? stamp.headerLength() : -1;
+        } catch (IOException e) {
+            // reported when the proof steps are read
+            return -1;
+        }
+    }
+
+    /**
+     * Reads the proof steps of the given textual proof file from its binary proof file, if there
+     * is one that belongs to the current version of the textual file.
+     *
+     * @param proofFile the textual proof file
+     * @param prl the parser to pass the proof steps to
+     * @return true iff the proof steps have been read from the binary file, false if there is no
+     *         (valid) binary file and the textual file has to be read instead
+     * @throws IOException if the binary file is valid, but reading its body fails, or if the
+     *         textual file does not contain the proof steps and there is no valid binary file
+     */
+    public static boolean readIfAvailable(File proofFile, IProofFileParser prl)
+            throws IOException {
+        File binary = BinaryProofFormat.binaryFileOf(proofFile);
+        // the textual file does not contain the proof steps, it must not be read instead
+        boolean required = BinaryProofFormat.isStepsOnly(proofFile);
+        if (!binary.isFile()) {
+            if (required) {
+                throw new IOException("The proof steps of " + proofFile
+                    + " are stored in the missing binary proof file " + binary);
+            }
+            return false;
+        }
+        BinaryProofReader reader;
+        try {
+            reader = new BinaryProofReader(binary);
+        } catch (IOException e) {
+            if (required) {
+                throw new IOException("Cannot read the proof steps of " + proofFile
+                    + " from the binary proof file " + binary, e);
+            }
+            LOGGER.warn("Ignoring unreadable binary proof file {}", binary, e);
+            return false;
+        }
+        if (!reader.stamp.matches(proofFile)) {
+            if (required) {
+                throw new IOException("The binary proof file " + binary
+                    + " does not belong to the modified proof file " + proofFile);
+            }
+            LOGGER.info("Ignoring outdated binary proof file {}", binary);
+            return false;
+        }
+        LOGGER.debug("Reading proof steps from {}", binary);
+        reader.read(prl);
+        return true;
+    }
+
+    /**
+     * Passes all proof steps to the given parser.
+     *
+     * @param prl the parser
+     * @throws IOException if reading the file fails
+     */
+    void read(IProofFileParser prl) throws IOException {
+        try (Input in = new Input(file, bodyStart)) {
+            read(in, prl, false);
+        }
+    }
+
+    /**
+     * Passes the events of the body to the given parser, until the end of the body or (if
+     * {@code subtree} is set) until the end of the first element.
+     */
+    private void read(Input in, IProofFileParser prl, boolean subtree) throws IOException {
+        ArrayDeque<ProofElementID> stack = new ArrayDeque<>();
+        while (true) {
+            byte op = in.readByte();
+            switch (op) {
+            case BinaryProofFormat.OP_EOF -> {
+                return;
+            }
+            case BinaryProofFormat.OP_BEGIN -> {
+                ProofElementID id = elements[in.readVarInt()];
+                prl.beginExpr(id, string(in.readVarInt()));
+                stack.push(id);
+            }
+            case BinaryProofFormat.OP_BRANCH -> {
+                long start = in.position() - 1;
+                long end = in.readLong();
+                int nodes = in.readInt();
+                String label = string(in.readVarInt());
+                // the top level branch is never read lazily, the parser needs it as root
+                if (prl instanceof IntermediatePresentationProofFileParser parser
+                        && !stack.isEmpty() && end - start > LAZY_THRESHOLD) {
+                    parser.addLazyBranch(new LazyBranch(label, nodes, start, parser));
+                    in.seek(end);
+                } else {
+                    prl.beginExpr(ProofElementID.BRANCH, label);
+                    stack.push(ProofElementID.BRANCH);
+                }
+            }
+            case BinaryProofFormat.OP_END -> {
+                if (stack.isEmpty()) {
+                    throw new IOException("Corrupt binary proof file " + file);
+                }
+                prl.endExpr(stack.pop(), in.readVarInt());
+                if (subtree && stack.isEmpty()) {
+                    return;
+                }
+            }
+            default -> throw new IOException("Corrupt binary proof file " + file);
+            }
+        }
+    }
+
+    private String string(int ref) throws IOException {
+        if (ref < 0 || ref > strings.length) {
+            throw new IOException("Corrupt binary proof file " + file);
+        }
+        return ref == 0 ? null : strings[ref - 1];
+    }
+
+    /**
+     * A branch whose nodes are read from the file when they are first requested.
+     */
+    private final class LazyBranch extends BranchNodeIntermediate {
+        /** the position of the branch in the file */
+        private final long start;
+        /** the parser the branch belongs to, null after it has been materialized */
+        private IntermediatePresentationProofFileParser parser;
+
+        LazyBranch(String branchTitle, int nodes, long start,
+                IntermediatePresentationProofFileParser parser) {
+            super(branchTitle);
+            this.start = start;
+            this.parser = parser;
+            setSubtreeSize(nodes);
+        }
+
+        @Override
+        public LinkedList<NodeIntermediate> getChildren() {
+            if (parser != null) {
+                IntermediatePresentationProofFileParser sub =
+                    new IntermediatePresentationProofFileParser(parser.getProof());
+                try (Input in = new Input(file, start)) {
+                    read(in, sub, true);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                List<Throwable> errors = parser.getErrors();
+                errors.addAll(sub.getErrors());
+                parser = null;
+                int nodes = countAllChildren();
+                setChildren(sub.getParsedResult().getChildren());
+                setSubtreeSize(nodes);
+            }
+            return super.getChildren();
+        }
+    }
+
+    /**
+     * Buffered, seekable input from a file.
+     */
+    private static final class Input implements Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+        /** the position in the file of the start of the buffer */
+        private long bufferStart;
+
+        Input(File file, long position) throws IOException {
+            channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+            seek(position);
+        }
+
+        long position() {
+            return bufferStart + buffer.position();
+        }
+
+        void seek(long position) {
+            bufferStart = position;
+            buffer.clear().limit(0);
+        }
+
+        /** makes sure that (at least) the given number of bytes is buffered */
+        private void fill(int bytes) throws IOException {
+            if (buffer.remaining() >= bytes) {
+                return;
+            }
+            bufferStart += buffer.position();
+            buffer.compact();
+            while (buffer.position() < bytes) {
+                if (channel.read(buffer, bufferStart + buffer.position()) < 0) {
+                    throw new EOFException();
+                }
+            }
+            buffer.flip();
+        }
+
+        byte readByte() throws IOException {
+            fill(1);
+            return buffer.get();
+        }
+
+        int readInt() throws IOException {
+            fill(4);
+            return buffer.getInt();
+        }
+
+        long readLong() throws IOException {
+            fill(8);
+            return buffer.getLong();
+        }
+
+        int readVarInt() throws IOException {
+            int value = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                byte b = readByte();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Malformed number");
+        }
+
+        String readUtf() throws IOException {
+            int length = readVarInt();
+            if (length < 0) {
+                throw new IOException("Malformed string");
+            }
+            byte[] bytes = new byte[length];
+            int offset = 0;
+            while (offset < length) {
+                fill(1);
+                int n = Math.min(buffer.remaining(), length - offset);
+                buffer.get(bytes, offset, n);
+                offset += n;
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,161 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof.io;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.util.KeYConstants;
+
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This proof saver derivative additionally stores the proof steps in a binary proof file next to
+ * the textual proof file (see {@link BinaryProofFormat}). When the proof is loaded again, the
+ * steps are read from the binary file as long as the textual file has not been modified, which is
+ * considerably faster for large proofs and needs less memory.
+ * <p>
+ * The saver is used if the system property {@value #MODE_PROPERTY} is set to one of the
+ * {@link Mode}s (case-insensitive).
+ */
+public class BinaryProofSaver extends ProofSaver {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BinaryProofSaver.class);
+
+    /** the system property selecting the {@link Mode} */
+    public static final String MODE_PROPERTY = "key.proof.binary";
+
+    /**
+     * How proofs are saved.
+     */
+    public enum Mode {
+        /** only the textual proof file is written */
+        OFF,
+        /** the binary file is written in addition to the complete textual proof file */
+        SIDECAR,
+        /**
+         * the proof steps are written only to the binary file, the textual file contains the
+         * problem only and is marked such that it cannot be loaded without the binary file
+         */
+        ONLY
+    }
+
+    /**
+     * @return the mode selected by the system property {@value #MODE_PROPERTY}
+     */
+    public static Mode configuredMode() {
+        String value = System.getProperty(MODE_PROPERTY);
+        if (value == null || value.isEmpty()) {
+            return Mode.OFF;
+        }
+        try {
+            return Mode.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            LOGGER.warn("Unknown value {} of {}, binary proof files are disabled", value,
+                MODE_PROPERTY);
+            return Mode.OFF;
+        }
+    }
+
+    /**
+     * Creates the proof saver for the configured mode: a {@link BinaryProofSaver} if binary proof
+     * files are enabled, a plain {@link ProofSaver} otherwise.
+     *
+     * @param proof the proof to save
+     * @param file the file to write to
+     * @return the proof saver
+     */
+    public static ProofSaver create(Proof proof, File file) {
+        Mode mode = configuredMode();
+        return mode == Mode.OFF ? new ProofSaver(proof, file) : new BinaryProofSaver(proof, file,
+            mode);
+    }
+
+    /** the stream the textual proof file is written to while saving */
+    private @Nullable CountingOutputStream out;
+
+    /** the number of bytes written before the proof steps, -1 if there are no proof steps */
+    private long headerLength = -1;
+
+    /**
+     * Instantiates a new proof saver.
+     *
+     * @param proof the non-<code>null</code> proof to save
+     * @param file the textual proof file to write to
+     * @param mode {@link Mode#SIDECAR} or {@link Mode#ONLY}
+     */
+    public BinaryProofSaver(Proof proof, File file, Mode mode) {
+        super(proof, file, KeYConstants.INTERNAL_VERSION, mode != Mode.ONLY);
+        if (mode == Mode.OFF) {
+            throw new IllegalArgumentException("Binary proof files are disabled");
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This subclass writes the binary proof file after the textual one.
+     */
+    @Override
+    protected void save(File file) throws IOException {
+        out = new CountingOutputStream(new FileOutputStream(file));
+        headerLength = -1;
+        if (!isSaveProofSteps()) {
+            try {
+                out.write((BinaryProofFormat.stepsOnlyMarker(file) + System.lineSeparator())
+                        .getBytes(StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                out.close();
+                throw e;
+            }
+        }
+        save(out);
+        // without proof steps, the whole textual file has to be parsed
+        long header = headerLength < 0 ? file.length() : headerLength;
+        out = null;
+
+        File binary = BinaryProofFormat.binaryFileOf(file);
+        try (BinaryProofWriter writer = new BinaryProofWriter(binary,
+            BinaryProofFormat.TextFileStamp.of(file, header))) {
+            writeProofSteps(writer);
+        }
+    }
+
+    @Override
+    protected void proofStepsStarting() {
+        if (out != null) {
+            headerLength = out.count;
+        }
+    }
+
+    /**
+     * An output stream which counts the bytes written to it.
+     */
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private long count = 0;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
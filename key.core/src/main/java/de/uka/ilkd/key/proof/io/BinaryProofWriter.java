@@ -0,0 +1,338 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof.io;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.uka.ilkd.key.proof.io.IProofFileParser.ProofElementID;
+
+/**
+ * Writes proof steps in the binary format described in {@link BinaryProofFormat}.
+ * <p>
+ * The writer accepts the textual representation of the proof steps (as produced by
+ * {@link OutputStreamProofSaver#writeProofSteps(Appendable)}) and tokenizes it on the fly in the
+ * same way as {@link de.uka.ilkd.key.nparser.ProofReplayer} does, such that the textual proof
+ * never has to be kept in memory completely.
+ */
+class BinaryProofWriter implements Appendable, Closeable {
+    /** the proof elements by their name in the textual format */
+    private static final Map<String, ProofElementID> ELEMENTS = new HashMap<>();
+
+    static {
+        for (ProofElementID id : ProofElementID.values()) {
+            ELEMENTS.put(id.getRawName(), id);
+        }
+    }
+
+    /** states of the tokenizer */
+    private enum State {
+        /** between elements */
+        BODY,
+        /** after "(", reading the name of the element */
+        NAME,
+        /** after the name, an argument may follow */
+        AFTER_NAME,
+        /** inside the argument of an element */
+        ARGUMENT,
+        /** inside a string which is not an argument (ignored, like by the ProofReplayer) */
+        STRING
+    }
+
+    /**
+     * A proof element whose end has not been written yet.
+     *
+     * @param id the element
+     * @param line the line of its name
+     * @param patchPosition for branches, the position of the end offset to fill in
+     * @param nodesBefore for branches, the number of nodes written before the branch
+     */
+    private record OpenElement(ProofElementID id, int line, long patchPosition, int nodesBefore) {
+    }
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+
+    /** the number of bytes already written to the channel */
+    private long flushed = 0;
+
+    /** the strings referred to in the body, in the order of their first occurrence */
+    private final List<String> strings = new ArrayList<>();
+    private final Map<String, Integer> stringIndices = new HashMap<>();
+
+    private final ArrayDeque<OpenElement> open = new ArrayDeque<>();
+
+    /** number of nodes (branches and rule applications) written so far */
+    private int nodes = 0;
+
+    private State state = State.BODY;
+    private final StringBuilder name = new StringBuilder();
+    private final StringBuilder argument = new StringBuilder();
+    private boolean escaped = false;
+    private int line = 1;
+    private int nameLine;
+
+    /**
+     * Creates a new binary proof file.
+     *
+     * @param file the file to write to (overwritten if existing)
+     * @param stamp the stamp of the textual proof file the steps belong to
+     * @throws IOException if the file cannot be created
+     */
+    BinaryProofWriter(File file, BinaryProofFormat.TextFileStamp stamp) throws IOException {
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        ensure(16);
+        buffer.putInt(BinaryProofFormat.MAGIC);
+        buffer.putInt(BinaryProofFormat.VERSION);
+        // offset of the string table, filled in when closing
+        buffer.putLong(0);
+        writeUtf(stamp.hash());
+        ensure(24);
+        buffer.putLong(stamp.size());
+        buffer.putLong(stamp.modified());
+        buffer.putLong(stamp.headerLength());
+        ProofElementID[] ids = ProofElementID.values();
+        writeVarInt(ids.length);
+        for (ProofElementID id : ids) {
+            writeUtf(id.getRawName());
+        }
+    }
+
+    @Override
+    public Appendable append(CharSequence csq) throws IOException {
+        return append(csq, 0, csq.length());
+    }
+
+    @Override
+    public Appendable append(CharSequence csq, int start, int end) throws IOException {
+        for (int i = start; i < end; i++) {
+            append(csq.charAt(i));
+        }
+        return this;
+    }
+
+    @Override
+    public Appendable append(char c) throws IOException {
+        if (c == '\n') {
+            line++;
+        }
+        accept(c);
+        return this;
+    }
+
+    private void accept(char c) throws IOException {
+        switch (state) {
+        case BODY -> {
+            if (c == '(') {
+                name.setLength(0);
+                state = State.NAME;
+            } else if (c == ')') {
+                end();
+            } else if (c == '"') {
+                state = State.STRING;
+            }
+        }
+        case NAME -> {
+            if (!isWhitespace(c) && c != '(' && c != ')' && c != '"') {
+                if (name.isEmpty()) {
+                    nameLine = line;
+                }
+                name.append(c);
+            } else if (!name.isEmpty()) {
+                state = State.AFTER_NAME;
+                accept(c);
+            } else if (!isWhitespace(c)) {
+                throw new IOException("Expected the name of a proof element in line " + line);
+            }
+        }
+        case AFTER_NAME -> {
+            if (c == '"') {
+                argument.setLength(0);
+                escaped = false;
+                state = State.ARGUMENT;
+            } else if (!isWhitespace(c)) {
+                begin(null);
+                state = State.BODY;
+                accept(c);
+            }
+        }
+        case ARGUMENT -> {
+            if (escaped) {
+                escaped = false;
+            } else if (c == '\\') {
+                escaped = true;
+            } else if (c == '"') {
+                begin(unescape(argument.toString()));
+                state = State.BODY;
+                return;
+            }
+            argument.append(c);
+        }
+        case STRING -> {
+            if (escaped) {
+                escaped = false;
+            } else if (c == '\\') {
+                escaped = true;
+            } else if (c == '"') {
+                state = State.BODY;
+            }
+        }
+        }
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\u00a0';
+    }
+
+    /** the same unescaping as done by the ProofReplayer */
+    private static String unescape(String text) {
+        return text.replace("\\\\", "\\").replace("\\\"", "\"");
+    }
+
+    private void begin(String arg) throws IOException {
+        ProofElementID id = ELEMENTS.get(name.toString());
+        if (id == null) {
+            throw new IOException("Unknown proof element: " + name + " in line " + nameLine);
+        }
+        if (id == ProofElementID.BRANCH) {
+            int before = nodes++;
+            ensure(13);
+            buffer.put(BinaryProofFormat.OP_BRANCH);
+            long patchPosition = position();
+            // end offset and node count, filled in at the end of the branch
+            buffer.putLong(0);
+            buffer.putInt(0);
+            writeVarInt(stringRef(arg));
+            open.push(new OpenElement(id, nameLine, patchPosition, before));
+        } else {
+            if (id == ProofElementID.RULE || id == ProofElementID.BUILT_IN_RULE) {
+                nodes++;
+            }
+            ensure(1);
+            buffer.put(BinaryProofFormat.OP_BEGIN);
+            writeVarInt(id.ordinal());
+            writeVarInt(stringRef(arg));
+            open.push(new OpenElement(id, nameLine, -1, 0));
+        }
+    }
+
+    private void end() throws IOException {
+        OpenElement element = open.poll();
+        if (element == null) {
+            throw new IOException("Unbalanced parentheses in line " + line);
+        }
+        ensure(1);
+        buffer.put(BinaryProofFormat.OP_END);
+        writeVarInt(element.line());
+        if (element.id() == ProofElementID.BRANCH) {
+            ByteBuffer patch = ByteBuffer.allocate(12);
+            patch.putLong(position());
+            patch.putInt(nodes - element.nodesBefore());
+            patch.flip();
+            writeAt(element.patchPosition(), patch);
+        }
+    }
+
+    private int stringRef(String s) {
+        if (s == null) {
+            return 0;
+        }
+        return 1 + stringIndices.computeIfAbsent(s, k -> {
+            strings.add(k);
+            return strings.size() - 1;
+        });
+    }
+
+    private long position() {
+        return flushed + buffer.position();
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            flushed += channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /** overwrites already written bytes (which may still be in the buffer) */
+    private void writeAt(long pos, ByteBuffer data) throws IOException {
+        if (pos >= flushed) {
+            // the placeholder was written with a single ensure(), so it is completely buffered
+            buffer.put((int) (pos - flushed), data, 0, data.remaining());
+        } else {
+            while (data.hasRemaining()) {
+                pos += channel.write(data, pos);
+            }
+        }
+    }
+
+    private void writeVarInt(int value) throws IOException {
+        ensure(5);
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private void writeUtf(String s) throws IOException {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(bytes.length);
+        if (bytes.length > buffer.remaining()) {
+            flush();
+        }
+        if (bytes.length > buffer.capacity()) {
+            ByteBuffer data = ByteBuffer.wrap(bytes);
+            while (data.hasRemaining()) {
+                flushed += channel.write(data);
+            }
+        } else {
+            buffer.put(bytes);
+        }
+    }
+
+    /**
+     * Finishes the body, writes the string table and closes the file.
+     *
+     * @throws IOException if writing fails or the proof steps were incomplete
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (state != State.BODY || !open.isEmpty()) {
+                throw new IOException("Incomplete proof steps");
+            }
+            ensure(1);
+            buffer.put(BinaryProofFormat.OP_EOF);
+            long tableOffset = position();
+            writeVarInt(strings.size());
+            for (String s : strings) {
+                writeUtf(s);
+            }
+            flush();
+            ByteBuffer offset = ByteBuffer.allocate(8).putLong(tableOffset).flip();
+            writeAt(8, offset);
+        } finally {
+            channel.close();
+        }
+    }
+}
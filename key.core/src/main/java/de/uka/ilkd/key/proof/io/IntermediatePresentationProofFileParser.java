@@ -259,6 +259,24 @@ public class IntermediatePresentationProofFileParser implements IProofFileParser
         }
     }
 
+    /**
+     * Adds a branch whose children are not passed to this parser, but are read on demand (see
+     * {@link BinaryProofReader}). The branch is handled like a branch whose begin and end have
+     * been parsed.
+     *
+     * @param branch the branch
+     */
+    void addLazyBranch(BranchNodeIntermediate branch) {
+        currNode.addChild(branch);
+    }
+
+    /**
+     * @return the proof the parsed steps belong to
+     */
+    Proof getProof() {
+        return proof;
+    }
+
     /**
      * @return The results of the parsing procedure.
      */
@@ -14,6 +14,9 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
 import java.util.stream.Collectors;
 
 import de.uka.ilkd.key.nparser.*;
@@ -38,6 +41,7 @@ import org.key_project.util.collection.DefaultImmutableSet;
 import org.key_project.util.collection.ImmutableSet;
 import org.key_project.util.collection.Immutables;
 
+import org.antlr.v4.runtime.CharStream;
 import org.jspecify.annotations.NonNull;
 import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
@@ -62,6 +66,8 @@ public class KeYFile implements EnvInput {
     private final Profile profile;
     protected InitConfig initConfig;
     private KeyAst.File fileCtx = null;
+    /** the parsing of the file, if it has been started by {@link #parseInBackground(Executor)} */
+    private @Nullable FutureTask<KeyAst.File> parsing = null;
     private @Nullable ProblemFinder problemFinder = null;
     private @Nullable ProblemInformation problemInformation = null;
     private Includes includes;
@@ -165,16 +171,63 @@ public class KeYFile implements EnvInput {
 
     protected KeyAst.File getParseContext() {
         if (fileCtx == null) {
-            try {
-                LOGGER.trace("Reading KeY file {}", file);
-                fileCtx = ParsingFacade.parseFile(file.getCharStream());
-            } catch (IOException e) {
-                throw new RuntimeException(e);
+            FutureTask<KeyAst.File> task = parsing;
+            if (task == null) {
+                fileCtx = parse();
+            } else {
+                // parses the file in this thread if the executor has not started the task yet
+                task.run();
+                parsing = null;
+                try {
+                    fileCtx = task.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException(e);
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof RuntimeException re) {
+                        throw re;
+                    }
+                    if (e.getCause() instanceof Error err) {
+                        throw err;
+                    }
+                    throw new RuntimeException(e.getCause());
+                }
             }
         }
         return fileCtx;
     }
 
+    private KeyAst.File parse() {
+        try {
+            LOGGER.trace("Reading KeY file {}", file);
+            return ParsingFacade.parseFile(getParseInput());
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * @return the text of this file which is parsed to obtain the parse context
+     * @throws IOException if the file cannot be read
+     */
+    protected CharStream getParseInput() throws IOException {
+        return file.getCharStream();
+    }
+
+    /**
+     * Starts parsing this file with the given executor, such that several files can be parsed
+     * concurrently. The parse tree is used as soon as it is needed; if the executor has not
+     * started parsing until then, the file is parsed by the thread needing it.
+     *
+     * @param executor the executor to parse the file with
+     */
+    public void parseInBackground(Executor executor) {
+        if (fileCtx == null && parsing == null) {
+            parsing = new FutureTask<>(this::parse);
+            executor.execute(parsing);
+        }
+    }
+
     protected ProofSettings getPreferences() {
         if (initConfig.getSettings() == null) {
             return readPreferences();
@@ -120,6 +120,20 @@ public class OutputStreamProofSaver {
         this.saveProofSteps = saveProofSteps;
     }
 
+    /**
+     * @return the proof to save
+     */
+    public Proof getProof() {
+        return proof;
+    }
+
+    /**
+     * @return whether the performed proof steps are saved
+     */
+    public boolean isSaveProofSteps() {
+        return saveProofSteps;
+    }
+
     /**
      * Write users and KeY versions to buffer.
      *
@@ -216,15 +230,37 @@ public class OutputStreamProofSaver {
 
             if (saveProofSteps) {
                 // \proof
+                ps.flush();
+                proofStepsStarting();
                 ps.println("\\proof {");
-                ps.println(writeLog());
-                ps.println("(autoModeTime \"" + proof.getAutoModeTime() + "\")\n");
-                node2Proof(proof.root(), ps);
+                writeProofSteps(ps);
                 ps.println("}");
             }
         }
     }
 
+    /**
+     * Called by {@link #save(OutputStream)} after the problem has been written and flushed to the
+     * stream, before the <code>\proof</code> block is written.
+     */
+    protected void proofStepsStarting() {
+    }
+
+    /**
+     * Writes the proof steps, i.e., the contents of the <code>\proof</code> block: the log, the
+     * time spent in auto mode and the applied rules.
+     *
+     * @param out the writer to which the proof steps are written
+     * @throws IOException if writing fails
+     */
+    public void writeProofSteps(Appendable out) throws IOException {
+        String nl = System.lineSeparator();
+        out.append(writeLog()).append(nl);
+        out.append("(autoModeTime \"").append(String.valueOf(proof.getAutoModeTime()))
+                .append("\")\n").append(nl);
+        node2Proof(proof.root(), out);
+    }
+
     protected String getBasePath() throws IOException {
         File javaSourceLocation = getJavaSourceLocation(proof);
         if (javaSourceLocation != null) {
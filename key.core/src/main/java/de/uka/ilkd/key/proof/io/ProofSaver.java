@@ -24,14 +24,15 @@ public class ProofSaver extends OutputStreamProofSaver {
     private static final Logger LOGGER = LoggerFactory.getLogger(ProofSaver.class);
 
     /**
-     * Save this proof to a file
+     * Save this proof to a file (and to a binary proof file, if enabled, see
+     * {@link BinaryProofSaver})
      *
      * @param file file to save proof in
      * @param proof the {@link Proof} to be saved
      * @throws IOException on any I/O error
      */
     public static void saveToFile(File file, Proof proof) throws IOException {
-        ProofSaver saver = new ProofSaver(proof, file);
+        ProofSaver saver = BinaryProofSaver.create(proof, file);
         saver.save();
     }
 
@@ -49,10 +49,26 @@ public abstract class NodeIntermediate {
         int total = 1;
         Queue<NodeIntermediate> queue = new ArrayDeque<>(getChildren());
         while (!queue.isEmpty()) {
-            total++;
-            queue.addAll(queue.poll().getChildren());
+            NodeIntermediate node = queue.poll();
+            if (node.subtreeSize != -1) {
+                // known already, e.g. for branches whose nodes have not been read yet
+                total += node.subtreeSize;
+            } else {
+                total++;
+                queue.addAll(node.getChildren());
+            }
         }
         subtreeSize = total;
         return total;
     }
+
+    /**
+     * Sets the number of nodes in the tree rooted at this node, if it is known without visiting
+     * the children.
+     *
+     * @param subtreeSize number of NodeIntermediates in this tree of nodes (including this node)
+     */
+    protected void setSubtreeSize(int subtreeSize) {
+        this.subtreeSize = subtreeSize;
+    }
 }
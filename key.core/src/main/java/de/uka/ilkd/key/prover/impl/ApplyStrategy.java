@@ -4,12 +4,21 @@
 package de.uka.ilkd.key.prover.impl;
 
 
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 import de.uka.ilkd.key.proof.*;
 import de.uka.ilkd.key.proof.proofevent.RuleAppInfo;
 import de.uka.ilkd.key.prover.GoalChooser;
 import de.uka.ilkd.key.prover.StopCondition;
+import de.uka.ilkd.key.prover.metrics.ProverMetrics;
+import de.uka.ilkd.key.prover.metrics.Timer;
 import de.uka.ilkd.key.rule.RuleApp;
 import de.uka.ilkd.key.settings.ProofSettings;
 import de.uka.ilkd.key.settings.StrategySettings;
@@ -33,7 +42,23 @@ import org.slf4j.LoggerFactory;
 public class ApplyStrategy extends AbstractProverCore {
     public static final Logger LOGGER = LoggerFactory.getLogger(ApplyStrategy.class);
 
-    public static final AtomicLong PERF_GOAL_APPLY = new AtomicLong();
+    public static final Timer PERF_GOAL_APPLY = ProverMetrics.timer("Goal apply");
+    public static final Timer PERF_PREPARE = ProverMetrics.timer("ApplyStrategy prepare rule apps");
+
+    /**
+     * Default number of goals whose rule application costs are computed concurrently, configured
+     * by the system property {@code applystrategy.parallelism}. A value of 1 (the default)
+     * disables the parallel preparation of rule applications.
+     * <p>
+     * Only the cost computation of the candidate rule applications, which works on the goal-local
+     * rule app index and rule application manager, is performed in parallel. Choosing and
+     * instantiating the next rule application generates names with the counters shared by all
+     * goals of a proof, hence it remains on the strategy thread, as does committing the rule
+     * applications to the proof tree in the order determined by the {@link GoalChooser}. The
+     * resulting proof is therefore the same as in the sequential mode.
+     */
+    private static final int DEFAULT_PARALLELISM =
+        Math.max(1, Integer.getInteger("applystrategy.parallelism", 1));
 
     /**
      * the proof that is worked with
@@ -65,6 +90,17 @@ public class ApplyStrategy extends AbstractProverCore {
     private StopCondition stopCondition;
     /** the goal choose picks the next goal to work on */
     private GoalChooser goalChooser;
+    /**
+     * goals whose cached next rule application has been invalidated by a rule application, only
+     * maintained if {@link #parallelism} is greater than 1
+     */
+    private final Set<Goal> goalsToPrepare = new LinkedHashSet<>();
+
+    /** the number of goals whose rule application costs are computed concurrently */
+    private int parallelism = DEFAULT_PARALLELISM;
+
+    /** the pool used to prepare rule applications, created on demand */
+    private ForkJoinPool preparePool;
 
     // Please create this object beforehand and re-use it.
     // Otherwise, the addition/removal of the InteractiveProofListener
@@ -114,7 +150,7 @@ public class ApplyStrategy extends AbstractProverCore {
             try {
                 g.apply(app);
             } finally {
-                PERF_GOAL_APPLY.getAndAdd(System.nanoTime() - time);
+                PERF_GOAL_APPLY.record(System.nanoTime() - time);
             }
             return new SingleRuleApplicationInfo(g, app);
         }
@@ -136,6 +172,7 @@ public class ApplyStrategy extends AbstractProverCore {
                 countApplied, srInfo);
 
             while (!shouldStop) {
+                prepareRuleApps();
                 var applyAutomaticTime = System.nanoTime();
                 try {
                     srInfo =
@@ -175,6 +212,10 @@ public class ApplyStrategy extends AbstractProverCore {
             LOGGER.trace("Strategy stopped, applied {} steps in {}ms", countApplied, time);
 
             LOGGER.trace("applyAutomaticRule: " + PerfScope.formatTime(applyAutomatic));
+            if (LOGGER.isTraceEnabled()) {
+                proof.getServices().getCaches().getStatistics()
+                        .forEach((name, stats) -> LOGGER.trace("Cache {}: {}", name, stats));
+            }
             perfScope.report();
         }
         assert srInfo != null;
@@ -182,6 +223,61 @@ public class ApplyStrategy extends AbstractProverCore {
             countApplied, closedGoals);
     }
 
+    /**
+     * Computes the rule application costs of all goals in {@link #goalsToPrepare} concurrently
+     * once there are enough of them to keep {@link #parallelism} workers busy. The costs are
+     * cached by the rule application manager of each goal; the next rule application is chosen
+     * later by {@link #applyAutomaticRule(GoalChooser, StopCondition, boolean)}.
+     *
+     * @throws InterruptedException if the strategy thread is interrupted while waiting
+     */
+    private void prepareRuleApps() throws InterruptedException {
+        if (goalsToPrepare.size() < parallelism) {
+            return;
+        }
+
+        final List<Callable<Void>> tasks = new ArrayList<>(goalsToPrepare.size());
+        for (final Goal goal : goalsToPrepare) {
+            if (goal.isAutomatic() && !goal.node().isClosed()) {
+                tasks.add(() -> {
+                    goal.getRuleAppManager().prepareCosts();
+                    return null;
+                });
+            }
+        }
+        goalsToPrepare.clear();
+
+        if (preparePool == null) {
+            preparePool = new ForkJoinPool(parallelism);
+        }
+        var time = System.nanoTime();
+        try {
+            for (Future<Void> res : preparePool.invokeAll(tasks)) {
+                res.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            PERF_PREPARE.record(System.nanoTime() - time);
+        }
+    }
+
+    /**
+     * Sets the number of goals whose rule application costs are computed concurrently. The
+     * default is given by the system property {@code applystrategy.parallelism}.
+     *
+     * @param parallelism the number of goals, 1 disables the parallel preparation
+     */
+    public synchronized void setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+        }
+        if (parallelism != this.parallelism && preparePool != null) {
+            preparePool.shutdown();
+            preparePool = null;
+        }
+        this.parallelism = parallelism;
+    }
 
     private void init(Proof newProof, ImmutableList<Goal> goals, int maxSteps, long timeout) {
         this.proof = newProof;
@@ -195,6 +291,12 @@ public class ApplyStrategy extends AbstractProverCore {
         goalChooser = getGoalChooserForProof(proof);
         assert goalChooser != null;
         goalChooser.init(newProof, goals);
+        goalsToPrepare.clear();
+        if (parallelism > 1) {
+            for (Goal goal : goals) {
+                goalsToPrepare.add(goal);
+            }
+        }
         setAutoModeActive(true);
         fireTaskStarted(stopCondition.getMaximalWork(maxSteps, timeout, newProof));
     }
@@ -292,6 +394,7 @@ public class ApplyStrategy extends AbstractProverCore {
         } finally {
             proof.removeProofTreeListener(treeListener);
             proof.removeRuleAppListener(pl);
+            goalsToPrepare.clear();
             setAutoModeActive(false);
         }
         return result;
@@ -337,6 +440,12 @@ public class ApplyStrategy extends AbstractProverCore {
                 // reverse just to keep old order
                 goalChooser.updateGoalList(rai.getOriginalNode(), e.getNewGoals().reverse());
             }
+
+            if (parallelism > 1) {
+                for (Goal goal : e.getNewGoals()) {
+                    goalsToPrepare.add(goal);
+                }
+            }
         }
     }
 
@@ -0,0 +1,73 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.prover.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import de.uka.ilkd.key.proof.Goal;
+
+/**
+ * The counters of a single {@link Goal}. A goal creates its counters lazily via
+ * {@link ProverMetrics#createGoalMetrics(Goal)}, usually at the first node of the goal. Goals
+ * created by a rule application get new counters.
+ * <p>
+ * The counters do not reference the goal, so that they can be exported after the goal has been
+ * closed or pruned. They also add to the {@link ProofMetrics} of the proof of the goal.
+ */
+public final class GoalMetrics {
+    private final ProofMetrics proof;
+    private final int nodeSerialNr;
+    private final LongAdder ruleApplications = new LongAdder();
+    private final LongAdder ruleApplicationNanos = new LongAdder();
+    private final LongAdder costComputations = new LongAdder();
+    private final LongAdder costComputationNanos = new LongAdder();
+
+    GoalMetrics(ProofMetrics proof, int nodeSerialNr) {
+        this.proof = proof;
+        this.nodeSerialNr = nodeSerialNr;
+        proof.goalCreated();
+    }
+
+    void ruleApplied(long nanos) {
+        ruleApplications.increment();
+        ruleApplicationNanos.add(nanos);
+        proof.ruleApplied(nanos);
+    }
+
+    void costComputed(long nanos) {
+        costComputations.increment();
+        costComputationNanos.add(nanos);
+        proof.costComputed(nanos);
+    }
+
+    /**
+     * @return the name of the proof of the goal
+     */
+    public String getProofName() {
+        return proof.getProofName();
+    }
+
+    /**
+     * @return the serial number of the node at which the counters were created
+     */
+    public int getNodeSerialNr() {
+        return nodeSerialNr;
+    }
+
+    public long getRuleApplications() {
+        return ruleApplications.sum();
+    }
+
+    public long getRuleApplicationNanos() {
+        return ruleApplicationNanos.sum();
+    }
+
+    public long getCostComputations() {
+        return costComputations.sum();
+    }
+
+    public long getCostComputationNanos() {
+        return costComputationNanos.sum();
+    }
+}
@@ -0,0 +1,207 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.prover.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Writes the metrics collected by {@link ProverMetrics} as JSON or CSV. Timers are written in
+ * descending order of their total time, proofs by name, goals in the order of their creation. All durations are
+ * given in nanoseconds.
+ */
+public final class MetricsExporter {
+    /** the header of the CSV format */
+    static final String CSV_HEADER =
+        "kind,name,count,total_ns,mean_ns,max_ns,p50_ns,p90_ns,p99_ns";
+
+    private MetricsExporter() {
+    }
+
+    /**
+     * writes the metrics to a file, as CSV if the file name ends with <code>.csv</code> and as
+     * JSON otherwise
+     *
+     * @param file the target file
+     * @throws IOException if the file cannot be written
+     */
+    public static void export(Path file) throws IOException {
+        final boolean csv =
+            file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".csv");
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            if (csv) {
+                writeCsv(out);
+            } else {
+                writeJson(out);
+            }
+        }
+    }
+
+    /**
+     * writes the metrics as JSON object with the members <code>timers</code>, <code>rules</code>,
+     * <code>ruleSets</code>, <code>features</code>, <code>proofs</code>, and <code>goals</code>
+     *
+     * @param out the target
+     * @throws IOException if writing fails
+     */
+    public static void writeJson(Writer out) throws IOException {
+        out.write("{\n");
+        writeJsonTimers(out, "timers", ProverMetrics.getTimers());
+        out.write(",\n");
+        writeJsonTimers(out, "rules", ProverMetrics.getRuleTimers());
+        out.write(",\n");
+        writeJsonTimers(out, "ruleSets", ProverMetrics.getRuleSetTimers());
+        out.write(",\n");
+        writeJsonTimers(out, "features", ProverMetrics.getFeatureTimers());
+        out.write(",\n  \"proofs\": [");
+        String sep = "\n";
+        for (ProofMetrics proof : sortedProofs()) {
+            out.write(sep);
+            out.write("    {\"proof\": " + quote(proof.getProofName()) + ", \"goals\": "
+                + proof.getGoals() + ", \"ruleApplications\": " + proof.getRuleApplications()
+                + ", \"ruleApplicationNs\": " + proof.getRuleApplicationNanos()
+                + ", \"costComputations\": " + proof.getCostComputations()
+                + ", \"costComputationNs\": " + proof.getCostComputationNanos() + "}");
+            sep = ",\n";
+        }
+        out.write("\n  ],\n  \"goals\": [");
+        sep = "\n";
+        for (GoalMetrics goal : ProverMetrics.getGoalMetrics()) {
+            out.write(sep);
+            out.write("    {\"proof\": " + quote(goal.getProofName()) + ", \"node\": "
+                + goal.getNodeSerialNr() + ", \"ruleApplications\": "
+                + goal.getRuleApplications() + ", \"ruleApplicationNs\": "
+                + goal.getRuleApplicationNanos() + ", \"costComputations\": "
+                + goal.getCostComputations() + ", \"costComputationNs\": "
+                + goal.getCostComputationNanos() + "}");
+            sep = ",\n";
+        }
+        out.write("\n  ]\n}\n");
+        out.flush();
+    }
+
+    private static void writeJsonTimers(Writer out, String member, Collection<Timer> timers)
+            throws IOException {
+        out.write("  " + quote(member) + ": [");
+        String sep = "\n";
+        for (Timer timer : sorted(timers)) {
+            out.write(sep);
+            out.write("    {\"name\": " + quote(timer.getName()) + ", \"count\": "
+                + timer.getCount() + ", \"totalNs\": " + timer.getTotalNanos() + ", \"meanNs\": "
+                + mean(timer) + ", \"maxNs\": " + timer.getMaxNanos() + ", \"p50Ns\": "
+                + timer.getPercentileNanos(0.5) + ", \"p90Ns\": "
+                + timer.getPercentileNanos(0.9) + ", \"p99Ns\": "
+                + timer.getPercentileNanos(0.99) + "}");
+            sep = ",\n";
+        }
+        out.write("\n  ]");
+    }
+
+    /**
+     * writes the metrics as CSV with the columns {@value #CSV_HEADER}. The kind is one of
+     * <code>timer</code>, <code>rule</code>, <code>ruleSet</code>, <code>feature</code>,
+     * <code>proof</code> and <code>goal</code> (rule applications of a proof or goal), and
+     * <code>proofCost</code> and <code>goalCost</code> (cost computations of a proof or goal).
+     * Goals are named <code>proof#node</code>. Proofs and goals have no histogram columns.
+     *
+     * @param out the target
+     * @throws IOException if writing fails
+     */
+    public static void writeCsv(Writer out) throws IOException {
+        out.write(CSV_HEADER);
+        out.write('\n');
+        writeCsvTimers(out, "timer", ProverMetrics.getTimers());
+        writeCsvTimers(out, "rule", ProverMetrics.getRuleTimers());
+        writeCsvTimers(out, "ruleSet", ProverMetrics.getRuleSetTimers());
+        writeCsvTimers(out, "feature", ProverMetrics.getFeatureTimers());
+        for (ProofMetrics proof : sortedProofs()) {
+            final String name = csv(proof.getProofName());
+            out.write("proof," + name + "," + proof.getRuleApplications() + ","
+                + proof.getRuleApplicationNanos() + ",,,,,\n");
+            out.write("proofCost," + name + "," + proof.getCostComputations() + ","
+                + proof.getCostComputationNanos() + ",,,,,\n");
+        }
+        for (GoalMetrics goal : ProverMetrics.getGoalMetrics()) {
+            final String name = csv(goal.getProofName() + "#" + goal.getNodeSerialNr());
+            out.write("goal," + name + "," + goal.getRuleApplications() + ","
+                + goal.getRuleApplicationNanos() + ",,,,,\n");
+            out.write("goalCost," + name + "," + goal.getCostComputations() + ","
+                + goal.getCostComputationNanos() + ",,,,,\n");
+        }
+        out.flush();
+    }
+
+    private static void writeCsvTimers(Writer out, String kind, Collection<Timer> timers)
+            throws IOException {
+        for (Timer timer : sorted(timers)) {
+            out.write(kind + "," + csv(timer.getName()) + "," + timer.getCount() + ","
+                + timer.getTotalNanos() + "," + mean(timer) + "," + timer.getMaxNanos() + ","
+                + timer.getPercentileNanos(0.5) + "," + timer.getPercentileNanos(0.9) + ","
+                + timer.getPercentileNanos(0.99) + "\n");
+        }
+    }
+
+    private static List<ProofMetrics> sortedProofs() {
+        final List<ProofMetrics> result = new ArrayList<>(ProverMetrics.getProofMetrics());
+        result.sort(Comparator.comparing(ProofMetrics::getProofName));
+        return result;
+    }
+
+    private static List<Timer> sorted(Collection<Timer> timers) {
+        final List<Timer> result = new ArrayList<>(timers);
+        result.sort(Comparator.comparingLong(Timer::getTotalNanos).reversed()
+                .thenComparing(Timer::getName));
+        return result;
+    }
+
+    private static long mean(Timer timer) {
+        final long count = timer.getCount();
+        return count == 0 ? 0 : timer.getTotalNanos() / count;
+    }
+
+    /**
+     * @param s a string
+     * @return the string as JSON string literal
+     */
+    static String quote(String s) {
+        final StringBuilder sb = new StringBuilder(s.length() + 2).append('"');
+        for (int i = 0; i < s.length(); i++) {
+            final char c = s.charAt(i);
+            switch (c) {
+            case '"' -> sb.append("\\\"");
+            case '\\' -> sb.append("\\\\");
+            case '\n' -> sb.append("\\n");
+            case '\r' -> sb.append("\\r");
+            case '\t' -> sb.append("\\t");
+            default -> {
+                if (c < 0x20) {
+                    sb.append(String.format("\\u%04x", (int) c));
+                } else {
+                    sb.append(c);
+                }
+            }
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    /**
+     * @param s a string
+     * @return the string as CSV field, quoted if necessary
+     */
+    static String csv(String s) {
+        if (s.indexOf(',') < 0 && s.indexOf('"') < 0 && s.indexOf('\n') < 0) {
+            return s;
+        }
+        return '"' + s.replace("\"", "\"\"") + '"';
+    }
+}
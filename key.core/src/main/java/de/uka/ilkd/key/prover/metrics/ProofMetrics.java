@@ -0,0 +1,65 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.prover.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The counters of all goals of the proofs with a given name. The {@link GoalMetrics} of a goal add
+ * to these counters, so the totals of a proof are complete even if the counters of its goals have
+ * been discarded (see {@link ProverMetrics#MAX_RECENT_GOALS}).
+ */
+public final class ProofMetrics {
+    private final String proofName;
+    private final LongAdder goals = new LongAdder();
+    private final LongAdder ruleApplications = new LongAdder();
+    private final LongAdder ruleApplicationNanos = new LongAdder();
+    private final LongAdder costComputations = new LongAdder();
+    private final LongAdder costComputationNanos = new LongAdder();
+
+    ProofMetrics(String proofName) {
+        this.proofName = proofName;
+    }
+
+    void goalCreated() {
+        goals.increment();
+    }
+
+    void ruleApplied(long nanos) {
+        ruleApplications.increment();
+        ruleApplicationNanos.add(nanos);
+    }
+
+    void costComputed(long nanos) {
+        costComputations.increment();
+        costComputationNanos.add(nanos);
+    }
+
+    public String getProofName() {
+        return proofName;
+    }
+
+    /**
+     * @return the number of goals which have created counters
+     */
+    public long getGoals() {
+        return goals.sum();
+    }
+
+    public long getRuleApplications() {
+        return ruleApplications.sum();
+    }
+
+    public long getRuleApplicationNanos() {
+        return ruleApplicationNanos.sum();
+    }
+
+    public long getCostComputations() {
+        return costComputations.sum();
+    }
+
+    public long getCostComputationNanos() {
+        return costComputationNanos.sum();
+    }
+}
@@ -0,0 +1,204 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.prover.metrics;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.rule.RuleApp;
+import de.uka.ilkd.key.rule.RuleSet;
+import de.uka.ilkd.key.rule.Taclet;
+import de.uka.ilkd.key.strategy.feature.TimedFeature;
+
+import org.key_project.util.collection.ImmutableList;
+
+/**
+ * Registry of the performance metrics of the prover. It maintains
+ * <ul>
+ * <li>the global {@link Timer}s of the prover components (see {@link #timer(String)}),</li>
+ * <li>one timer per applied rule and one per rule set of the applied taclets,</li>
+ * <li>one timer per instrumented strategy feature (see {@link TimedFeature}), and</li>
+ * <li>the {@link ProofMetrics} of all proofs and the {@link GoalMetrics} of the
+ * {@value #MAX_RECENT_GOALS} most recently created goals.</li>
+ * </ul>
+ * Apart from the count and total time of the global timers, the metrics are only collected if
+ * they are enabled, either by the system property {@value #ENABLED_PROPERTY} or by
+ * {@link #setEnabled(boolean)}. Strategies check the flag when they are created, so the metrics
+ * should be enabled before a proof is loaded. Call sites check {@link #isEnabled()} before doing
+ * any work, which keeps the costs negligible if the metrics are disabled.
+ * <p>
+ * The collected metrics can be written with {@link MetricsExporter}.
+ */
+public final class ProverMetrics {
+    /** the system property enabling the metrics */
+    public static final String ENABLED_PROPERTY = "key.metrics";
+
+    /**
+     * the maximal number of goals whose counters are kept individually; the counters of older goals
+     * are only contained in the totals of their proofs
+     */
+    public static final int MAX_RECENT_GOALS = 10000;
+
+    private static volatile boolean enabled = Boolean.getBoolean(ENABLED_PROPERTY);
+
+    private static final Map<String, Timer> TIMERS = new ConcurrentHashMap<>();
+    private static final Map<String, Timer> RULES = new ConcurrentHashMap<>();
+    private static final Map<String, Timer> RULE_SETS = new ConcurrentHashMap<>();
+    private static final Map<String, Timer> FEATURES = new ConcurrentHashMap<>();
+    private static final Map<String, ProofMetrics> PROOFS = new ConcurrentHashMap<>();
+    private static final Queue<GoalMetrics> GOALS = new ConcurrentLinkedQueue<>();
+    /** the number of elements of {@link #GOALS}, which does not know its size in constant time */
+    private static final AtomicInteger GOAL_COUNT = new AtomicInteger();
+
+    private ProverMetrics() {
+    }
+
+    /**
+     * @return true iff the detailed metrics are collected
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean value) {
+        enabled = value;
+    }
+
+    /**
+     * returns the global timer with the given name, creating it on first access
+     *
+     * @param name the name of the timer, e.g., <code>"Goal setSequent"</code>
+     * @return the timer
+     */
+    public static Timer timer(String name) {
+        return TIMERS.computeIfAbsent(name, Timer::new);
+    }
+
+    /**
+     * returns the timer of a strategy feature, creating it on first access
+     *
+     * @param name the name of the feature
+     * @return the timer
+     */
+    public static Timer featureTimer(String name) {
+        return FEATURES.computeIfAbsent(name, Timer::new);
+    }
+
+    /**
+     * records the application of a rule; must only be called if the metrics are enabled
+     *
+     * @param goal the goal the rule was applied to
+     * @param app the rule application
+     * @param nanos the time needed to execute the rule application
+     */
+    public static void ruleApplied(Goal goal, RuleApp app, long nanos) {
+        RULES.computeIfAbsent(app.rule().name().toString(), Timer::new).record(nanos);
+        if (app.rule() instanceof Taclet taclet) {
+            ImmutableList<RuleSet> ruleSets = taclet.getRuleSets();
+            while (!ruleSets.isEmpty()) {
+                RULE_SETS.computeIfAbsent(ruleSets.head().name().toString(), Timer::new)
+                        .record(nanos);
+                ruleSets = ruleSets.tail();
+            }
+        }
+        goal.getMetrics().ruleApplied(nanos);
+    }
+
+    /**
+     * records a cost computation of the strategy; must only be called if the metrics are enabled
+     *
+     * @param goal the goal the cost was computed for
+     * @param nanos the time needed to compute the cost
+     */
+    public static void costComputed(Goal goal, long nanos) {
+        goal.getMetrics().costComputed(nanos);
+    }
+
+    /**
+     * creates and registers the counters of a goal; use {@link Goal#getMetrics()} instead
+     *
+     * @param goal the goal
+     * @return the new counters
+     */
+    public static GoalMetrics createGoalMetrics(Goal goal) {
+        return createGoalMetrics(goal.proof().name().toString(), goal.node().serialNr());
+    }
+
+    static GoalMetrics createGoalMetrics(String proofName, int nodeSerialNr) {
+        final ProofMetrics proof = PROOFS.computeIfAbsent(proofName, ProofMetrics::new);
+        final GoalMetrics result = new GoalMetrics(proof, nodeSerialNr);
+        GOALS.add(result);
+        if (GOAL_COUNT.incrementAndGet() > MAX_RECENT_GOALS && GOALS.poll() != null) {
+            GOAL_COUNT.decrementAndGet();
+        }
+        return result;
+    }
+
+    /**
+     * @return the global timers
+     */
+    public static Collection<Timer> getTimers() {
+        return snapshot(TIMERS);
+    }
+
+    /**
+     * @return the timers of the applied rules
+     */
+    public static Collection<Timer> getRuleTimers() {
+        return snapshot(RULES);
+    }
+
+    /**
+     * @return the timers of the rule sets of the applied taclets
+     */
+    public static Collection<Timer> getRuleSetTimers() {
+        return snapshot(RULE_SETS);
+    }
+
+    /**
+     * @return the timers of the instrumented strategy features
+     */
+    public static Collection<Timer> getFeatureTimers() {
+        return snapshot(FEATURES);
+    }
+
+    /**
+     * @return the counters of all proofs, summed over all of their goals
+     */
+    public static Collection<ProofMetrics> getProofMetrics() {
+        return new ArrayList<>(PROOFS.values());
+    }
+
+    /**
+     * @return the counters of the {@value #MAX_RECENT_GOALS} most recently created goals, in the
+     *         order of their creation
+     */
+    public static Collection<GoalMetrics> getGoalMetrics() {
+        return new ArrayList<>(GOALS);
+    }
+
+    private static List<Timer> snapshot(Map<String, Timer> timers) {
+        return new ArrayList<>(timers.values());
+    }
+
+    /**
+     * discards all collected metrics; the global timers stay registered but are reset
+     */
+    public static void reset() {
+        TIMERS.values().forEach(Timer::reset);
+        RULES.clear();
+        RULE_SETS.clear();
+        FEATURES.values().forEach(Timer::reset);
+        PROOFS.clear();
+        GOALS.clear();
+        GOAL_COUNT.set(0);
+    }
+}
@@ -0,0 +1,67 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.prover.metrics;
+
+import de.uka.ilkd.key.proof.Node;
+import de.uka.ilkd.key.rule.RuleApp;
+import de.uka.ilkd.key.rule.RuleSet;
+import de.uka.ilkd.key.rule.Taclet;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder event emitted for every rule application. The event is independent of
+ * {@link ProverMetrics#isEnabled()}: it is recorded whenever a flight recording with this event
+ * enabled is running, e.g., when KeY is started with
+ * <code>-XX:StartFlightRecording</code>. Without a recording, creating and committing the event
+ * costs (almost) nothing.
+ */
+@Name("de.uka.ilkd.key.RuleApplication")
+@Label("Rule Application")
+@Description("Application of a rule to a goal")
+@Category({ "KeY", "Prover" })
+@StackTrace(false)
+public final class RuleApplicationEvent extends jdk.jfr.Event {
+    @Label("Rule")
+    String rule;
+
+    @Label("Rule Sets")
+    String ruleSets;
+
+    @Label("Proof")
+    String proof;
+
+    @Label("Node")
+    int nodeSerialNr;
+
+    /**
+     * ends this event and commits it if it is enabled
+     *
+     * @param app the applied rule application
+     * @param node the node the rule was applied to
+     */
+    public void commit(RuleApp app, Node node) {
+        end();
+        if (shouldCommit()) {
+            rule = app.rule().name().toString();
+            if (app.rule() instanceof Taclet taclet) {
+                final StringBuilder sb = new StringBuilder();
+                for (RuleSet rs : taclet.getRuleSets()) {
+                    if (!sb.isEmpty()) {
+                        sb.append(',');
+                    }
+                    sb.append(rs.name());
+                }
+                ruleSets = sb.toString();
+            }
+            proof = node.proof().name().toString();
+            nodeSerialNr = node.serialNr();
+            commit();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.prover.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Accumulates the durations of a named activity. The number of recordings and the total time are
+ * always maintained. If {@link ProverMetrics#isEnabled()} holds, the durations are additionally
+ * sorted into a histogram of 64 buckets, bucket <code>i</code> counting the durations
+ * <code>d</code> with <code>2^(i-1) &lt;= d &lt; 2^i</code> nanoseconds, from which the maximum
+ * and approximate percentiles are derived.
+ * <p>
+ * This class is thread-safe.
+ */
+public final class Timer {
+    /** the number of buckets of the histogram */
+    private static final int BUCKETS = 64;
+
+    private final String name;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * creates a new timer; use {@link ProverMetrics#timer(String)} to obtain a registered timer
+     *
+     * @param name the name of the timer
+     */
+    Timer(String name) {
+        this.name = name;
+    }
+
+    /**
+     * adds a duration to this timer
+     *
+     * @param nanos the duration in nanoseconds
+     */
+    public void record(long nanos) {
+        count.increment();
+        totalNanos.add(nanos);
+        if (ProverMetrics.isEnabled()) {
+            histogram.incrementAndGet(bucketOf(nanos));
+            if (nanos > maxNanos.get()) {
+                maxNanos.accumulateAndGet(nanos, Math::max);
+            }
+        }
+    }
+
+    private static int bucketOf(long nanos) {
+        return nanos <= 0 ? 0 : BUCKETS - Long.numberOfLeadingZeros(nanos);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the number of recorded durations
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * @return the sum of all recorded durations in nanoseconds
+     */
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    /**
+     * @return the longest duration recorded into the histogram in nanoseconds
+     */
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * Approximates a percentile of the durations recorded into the histogram. The result is the
+     * upper bound of the bucket containing the percentile, but never more than
+     * {@link #getMaxNanos()}.
+     *
+     * @param percentile the percentile, between 0 and 1
+     * @return the approximated duration in nanoseconds, 0 if the histogram is empty
+     */
+    public long getPercentileNanos(double percentile) {
+        long total = 0;
+        final long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = histogram.get(i);
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        final long rank = Math.max(1, (long) Math.ceil(percentile * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                final long upperBound = i == BUCKETS - 1 ? Long.MAX_VALUE : (1L << i) - 1;
+                return Math.min(upperBound, getMaxNanos());
+            }
+        }
+        return getMaxNanos();
+    }
+
+    /**
+     * discards all recorded durations
+     */
+    public void reset() {
+        count.reset();
+        totalNanos.reset();
+        for (int i = 0; i < BUCKETS; i++) {
+            histogram.set(i, 0);
+        }
+        maxNanos.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return name + ": " + getCount() + " times, " + getTotalNanos() + "ns";
+    }
+}
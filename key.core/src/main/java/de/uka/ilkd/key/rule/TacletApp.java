@@ -4,7 +4,6 @@
 package de.uka.ilkd.key.rule;
 
 import java.util.*;
-import java.util.concurrent.atomic.AtomicLong;
 
 import de.uka.ilkd.key.java.*;
 import de.uka.ilkd.key.java.abstraction.KeYJavaType;
@@ -15,6 +14,8 @@ import de.uka.ilkd.key.logic.op.*;
 import de.uka.ilkd.key.logic.sort.ProgramSVSort;
 import de.uka.ilkd.key.proof.Goal;
 import de.uka.ilkd.key.proof.VariableNameProposer;
+import de.uka.ilkd.key.prover.metrics.ProverMetrics;
+import de.uka.ilkd.key.prover.metrics.Timer;
 import de.uka.ilkd.key.rule.inst.*;
 import de.uka.ilkd.key.rule.inst.SVInstantiations.UpdateLabelPair;
 import de.uka.ilkd.key.util.Debug;
@@ -41,9 +42,9 @@ import org.jspecify.annotations.Nullable;
  * complete, so that is can be applied.
  */
 public abstract class TacletApp implements RuleApp, EqualsModProofIrrelevancy {
-    public static final AtomicLong PERF_EXECUTE = new AtomicLong();
-    public static final AtomicLong PERF_SET_SEQUENT = new AtomicLong();
-    public static final AtomicLong PERF_PRE = new AtomicLong();
+    public static final Timer PERF_EXECUTE = ProverMetrics.timer("TacletApp execute");
+    public static final Timer PERF_SET_SEQUENT = ProverMetrics.timer("TacletApp Goal setSequent");
+    public static final Timer PERF_PRE = ProverMetrics.timer("TacletApp pre");
 
     /** the taclet for which the application information is collected */
     private final @NonNull Taclet taclet;
@@ -326,7 +327,7 @@ public abstract class TacletApp implements RuleApp, EqualsModProofIrrelevancy {
     @Override
     public @Nullable ImmutableList<Goal> execute(Goal goal, Services services) {
         var time = System.nanoTime();
-        var timeSetSequent = Goal.PERF_SET_SEQUENT.get();
+        var timeSetSequent = Goal.PERF_SET_SEQUENT.getTotalNanos();
         try {
             var timePre = System.nanoTime();
             try {
@@ -342,13 +343,13 @@ public abstract class TacletApp implements RuleApp, EqualsModProofIrrelevancy {
                 registerSkolemConstants(goal.getLocalNamespaces());
                 goal.addAppliedRuleApp(this);
             } finally {
-                PERF_PRE.getAndAdd(System.nanoTime() - timePre);
+                PERF_PRE.record(System.nanoTime() - timePre);
             }
 
             return taclet().apply(goal, services, this);
         } finally {
-            PERF_EXECUTE.getAndAdd(System.nanoTime() - time);
-            PERF_SET_SEQUENT.getAndAdd(Goal.PERF_SET_SEQUENT.get() - timeSetSequent);
+            PERF_EXECUTE.record(System.nanoTime() - time);
+            PERF_SET_SEQUENT.record(Goal.PERF_SET_SEQUENT.getTotalNanos() - timeSetSequent);
         }
     }
 
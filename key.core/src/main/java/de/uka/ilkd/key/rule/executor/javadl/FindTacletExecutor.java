@@ -4,13 +4,14 @@
 package de.uka.ilkd.key.rule.executor.javadl;
 
 import java.util.Iterator;
-import java.util.concurrent.atomic.AtomicLong;
 
 import de.uka.ilkd.key.java.Services;
 import de.uka.ilkd.key.logic.*;
 import de.uka.ilkd.key.logic.label.TermLabelManager;
 import de.uka.ilkd.key.logic.label.TermLabelState;
 import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.prover.metrics.ProverMetrics;
+import de.uka.ilkd.key.prover.metrics.Timer;
 import de.uka.ilkd.key.rule.FindTaclet;
 import de.uka.ilkd.key.rule.MatchConditions;
 import de.uka.ilkd.key.rule.RuleApp;
@@ -21,9 +22,11 @@ import org.key_project.util.collection.ImmutableList;
 
 public abstract class FindTacletExecutor<TacletKind extends FindTaclet>
         extends TacletExecutor<TacletKind> {
-    public static final AtomicLong PERF_APPLY = new AtomicLong();
-    public static final AtomicLong PERF_SET_SEQUENT = new AtomicLong();
-    public static final AtomicLong PERF_TERM_LABELS = new AtomicLong();
+    public static final Timer PERF_APPLY = ProverMetrics.timer("FindTacletExecutor apply");
+    public static final Timer PERF_SET_SEQUENT =
+        ProverMetrics.timer("FindTacletExecutor setSequent");
+    public static final Timer PERF_TERM_LABELS =
+        ProverMetrics.timer("FindTacletExecutor term labels");
 
     public FindTacletExecutor(TacletKind taclet) {
         super(taclet);
@@ -124,7 +127,7 @@ public abstract class FindTacletExecutor<TacletKind extends FindTaclet>
             // in the new sequent
             applyAddProgVars(gt.addedProgVars(), currentSequent, currentGoal,
                 tacletApp.posInOccurrence(), services, mc);
-            PERF_APPLY.getAndAdd(System.nanoTime() - timeApply);
+            PERF_APPLY.record(System.nanoTime() - timeApply);
 
             var timeTermLabels = System.nanoTime();
             TermLabelManager.mergeLabels(currentSequent, services);
@@ -132,14 +135,14 @@ public abstract class FindTacletExecutor<TacletKind extends FindTaclet>
 
             var timeSetSequent = System.nanoTime();
             currentGoal.setSequent(currentSequent);
-            PERF_SET_SEQUENT.getAndAdd(System.nanoTime() - timeSetSequent);
+            PERF_SET_SEQUENT.record(System.nanoTime() - timeSetSequent);
 
             currentGoal.setBranchLabel(gt.name());
 
             timeTermLabels = System.nanoTime() + timeTermLabels;
             TermLabelManager.refactorSequent(termLabelState, services, ruleApp.posInOccurrence(),
                 ruleApp.rule(), currentGoal, null, null);
-            PERF_TERM_LABELS.getAndAdd(System.nanoTime() - timeTermLabels);
+            PERF_TERM_LABELS.record(System.nanoTime() - timeTermLabels);
         }
 
         // in case the assumes sequent of the taclet did not
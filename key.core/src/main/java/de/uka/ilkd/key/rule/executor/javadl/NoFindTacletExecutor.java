@@ -4,7 +4,6 @@
 package de.uka.ilkd.key.rule.executor.javadl;
 
 import java.util.Iterator;
-import java.util.concurrent.atomic.AtomicLong;
 
 import de.uka.ilkd.key.java.Services;
 import de.uka.ilkd.key.logic.Sequent;
@@ -12,6 +11,8 @@ import de.uka.ilkd.key.logic.SequentChangeInfo;
 import de.uka.ilkd.key.logic.label.TermLabelManager;
 import de.uka.ilkd.key.logic.label.TermLabelState;
 import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.prover.metrics.ProverMetrics;
+import de.uka.ilkd.key.prover.metrics.Timer;
 import de.uka.ilkd.key.rule.MatchConditions;
 import de.uka.ilkd.key.rule.NoFindTaclet;
 import de.uka.ilkd.key.rule.RuleApp;
@@ -23,9 +24,11 @@ import de.uka.ilkd.key.rule.tacletbuilder.TacletGoalTemplate;
 import org.key_project.util.collection.ImmutableList;
 
 public class NoFindTacletExecutor extends TacletExecutor<NoFindTaclet> {
-    public static final AtomicLong PERF_APPLY = new AtomicLong();
-    public static final AtomicLong PERF_SET_SEQUENT = new AtomicLong();
-    public static final AtomicLong PERF_TERM_LABELS = new AtomicLong();
+    public static final Timer PERF_APPLY = ProverMetrics.timer("NoFindTacletExecutor apply");
+    public static final Timer PERF_SET_SEQUENT =
+        ProverMetrics.timer("NoFindTacletExecutor setSequent");
+    public static final Timer PERF_TERM_LABELS =
+        ProverMetrics.timer("NoFindTacletExecutor term labels");
 
     public NoFindTacletExecutor(NoFindTaclet taclet) {
         super(taclet);
@@ -92,7 +95,7 @@ public class NoFindTacletExecutor extends TacletExecutor<NoFindTaclet> {
 
             applyAddProgVars(gt.addedProgVars(), currentSequent, currentGoal,
                 tacletApp.posInOccurrence(), services, mc);
-            PERF_APPLY.getAndAdd(System.nanoTime() - timeApply);
+            PERF_APPLY.record(System.nanoTime() - timeApply);
 
             var timeTermLabels = System.nanoTime();
             TermLabelManager.mergeLabels(currentSequent, services);
@@ -100,13 +103,13 @@ public class NoFindTacletExecutor extends TacletExecutor<NoFindTaclet> {
 
             var timeSetSequent = System.nanoTime();
             currentGoal.setSequent(currentSequent);
-            PERF_SET_SEQUENT.getAndAdd(System.nanoTime() - timeSetSequent);
+            PERF_SET_SEQUENT.record(System.nanoTime() - timeSetSequent);
 
             currentGoal.setBranchLabel(gt.name());
             timeTermLabels = System.nanoTime() + timeTermLabels;
             TermLabelManager.refactorSequent(termLabelState, services, ruleApp.posInOccurrence(),
                 ruleApp.rule(), currentGoal, null, null);
-            PERF_TERM_LABELS.getAndAdd(System.nanoTime() - timeTermLabels);
+            PERF_TERM_LABELS.record(System.nanoTime() - timeTermLabels);
         }
 
         return newGoals;
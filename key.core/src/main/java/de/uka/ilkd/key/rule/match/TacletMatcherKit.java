@@ -16,9 +16,11 @@ import de.uka.ilkd.key.rule.match.vm.VMTacletMatcher;
  * {@link #createTacletMatcher(Taclet)} to create a matcher for a {@link Taclet}
  *
  * The active factory is chosen at runtime by passing a value for the system property
- * <code>taclet.match</code> Currently supported values are: {@code legacy} and {@code vm}. The
- * legacy matching algorithm is the one used since the beginning of KeY. It will soon become
- * deprecated and replaced y {@code vm} as default.
+ * <code>taclet.match</code> Currently supported values are: {@code legacy}, {@code vm} and
+ * {@code compiled}. The legacy matching algorithm is the one used since the beginning of KeY. It
+ * will soon become deprecated and replaced y {@code vm} as default. {@code compiled} uses the vm
+ * based matcher, but compiles the patterns instead of interpreting them (see
+ * {@link de.uka.ilkd.key.rule.match.vm.CompiledTacletMatchProgram}).
  */
 public abstract class TacletMatcherKit {
 
@@ -32,6 +34,16 @@ public abstract class TacletMatcherKit {
         }
     }
 
+    /**
+     * The concrete factory for the vm based taclet matcher with compiled match programs.
+     */
+    private static final class CompiledTacletMatcherKit extends TacletMatcherKit {
+        @Override
+        public TacletMatcher createTacletMatcher(Taclet taclet) {
+            return new VMTacletMatcher(taclet, true);
+        }
+    }
+
     /**
      * The concrete factory for the legacy taclet matcher.
      */
@@ -52,6 +64,8 @@ public abstract class TacletMatcherKit {
     static {
         if ("legacy".equals(TACLET_MATCHER_SELECTION_VALUE)) {
             ACTIVE_TACLET_MATCHER_KIT = new LegacyTacletMatcherKit();
+        } else if ("compiled".equals(TACLET_MATCHER_SELECTION_VALUE)) {
+            ACTIVE_TACLET_MATCHER_KIT = new CompiledTacletMatcherKit();
         } else {
             ACTIVE_TACLET_MATCHER_KIT = new VMTacletMatcherKit();
         }
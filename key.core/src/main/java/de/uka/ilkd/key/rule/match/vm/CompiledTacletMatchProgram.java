@@ -0,0 +1,243 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.rule.match.vm;
+
+import de.uka.ilkd.key.java.Services;
+import de.uka.ilkd.key.logic.Term;
+import de.uka.ilkd.key.logic.op.ElementaryUpdate;
+import de.uka.ilkd.key.logic.op.ModalOperatorSV;
+import de.uka.ilkd.key.logic.op.Modality;
+import de.uka.ilkd.key.logic.op.Operator;
+import de.uka.ilkd.key.logic.op.SchemaVariable;
+import de.uka.ilkd.key.logic.op.SortDependingFunction;
+import de.uka.ilkd.key.rule.MatchConditions;
+import de.uka.ilkd.key.rule.match.vm.instructions.BindVariablesInstruction;
+import de.uka.ilkd.key.rule.match.vm.instructions.Instruction;
+import de.uka.ilkd.key.rule.match.vm.instructions.MatchInstruction;
+import de.uka.ilkd.key.rule.match.vm.instructions.MatchProgramInstruction;
+import de.uka.ilkd.key.rule.match.vm.instructions.MatchTermLabelInstruction;
+
+/**
+ * A match program which is compiled into a tree of matchers specialised for the nodes of the
+ * pattern instead of being interpreted.
+ * <p>
+ * Each matcher checks its node of the pattern against a subterm and calls the matchers of the
+ * children on the corresponding subterms of the term directly. Compared to
+ * {@link TacletMatchProgram}, matching does not need a {@link TermNavigator}, and there is no
+ * dispatch over an array of instructions: Most nodes of find expressions are plain operators, for
+ * which the matcher is a single identity check followed by the (monomorphic) calls of the child
+ * matchers, which the JIT compiler inlines into straight-line code.
+ * <p>
+ * The compiled program computes the same match conditions as the interpreted one. In particular,
+ * like the interpreter (which stops as soon as the whole term has been visited), the rename table
+ * is not shrunk after variables bound on the rightmost path of the pattern.
+ */
+public final class CompiledTacletMatchProgram extends TacletMatchProgram {
+
+    /** the matcher for the root of the pattern */
+    private final Matcher root;
+
+    private CompiledTacletMatchProgram(Matcher root) {
+        super(new MatchInstruction[0]);
+        this.root = root;
+    }
+
+    /**
+     * compiles a matcher for the given pattern
+     *
+     * @param pattern the {@link Term} specifying the pattern
+     * @return the compiled matcher for the given pattern
+     * @throws IllegalArgumentException if the pattern contains an unsupported schema variable
+     */
+    public static CompiledTacletMatchProgram compile(Term pattern) {
+        return new CompiledTacletMatchProgram(compile(pattern, true));
+    }
+
+    private static Matcher compile(Term pattern, boolean lastInTerm) {
+        final Operator op = pattern.op();
+
+        if (op instanceof SchemaVariable sv && !(op instanceof ModalOperatorSV)) {
+            // matches the whole subterm; schema variables have no subterms in patterns
+            Matcher m = new InstructionMatcher(getMatchInstructionForSV(sv), new Matcher[0]);
+            return pattern.boundVars().isEmpty() && !pattern.hasLabels() ? m
+                    : new GeneralMatcher(pattern, m, lastInTerm);
+        }
+
+        final Matcher[] children = new Matcher[pattern.arity()];
+        for (int i = 0; i < children.length; i++) {
+            children[i] = compile(pattern.sub(i), lastInTerm && i == children.length - 1);
+        }
+
+        final Matcher m;
+        if (op instanceof SchemaVariable sv) {
+            m = new InstructionMatcher(getMatchInstructionForSV(sv), children);
+        } else if (op instanceof SortDependingFunction sdf) {
+            m = new InstructionMatcher(Instruction.matchSortDependingFunction(sdf), children);
+        } else if (op instanceof ElementaryUpdate eu) {
+            m = new InstructionMatcher(Instruction.matchElementaryUpdate(eu), children);
+        } else if (op instanceof Modality mod) {
+            m = new ModalityMatcher(mod,
+                new MatchProgramInstruction(pattern.javaBlock().program()), children);
+        } else if (children.length == 1) {
+            m = new UnaryOperatorMatcher(op, children[0]);
+        } else if (children.length == 2) {
+            m = new BinaryOperatorMatcher(op, children[0], children[1]);
+        } else {
+            m = new OperatorMatcher(op, children);
+        }
+        return pattern.boundVars().isEmpty() && !pattern.hasLabels() ? m
+                : new GeneralMatcher(pattern, m, lastInTerm);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public MatchConditions match(Term p_toMatch, MatchConditions p_matchCond, Services services) {
+        return root.match(p_toMatch, p_matchCond, services);
+    }
+
+    /** a matcher for a node of the pattern */
+    private abstract static class Matcher {
+        /**
+         * matches the node against the given term
+         *
+         * @return the resulting match conditions or {@code null} if the term does not match
+         */
+        abstract MatchConditions match(Term t, MatchConditions mc, Services services);
+
+        static MatchConditions matchChildren(Matcher[] children, Term t, MatchConditions mc,
+                Services services) {
+            for (int i = 0; i < children.length && mc != null; i++) {
+                mc = children[i].match(t.sub(i), mc, services);
+            }
+            return mc;
+        }
+    }
+
+    /** a plain operator, matched by identity */
+    private static final class OperatorMatcher extends Matcher {
+        private final Operator op;
+        private final Matcher[] children;
+
+        OperatorMatcher(Operator op, Matcher[] children) {
+            this.op = op;
+            this.children = children;
+        }
+
+        @Override
+        MatchConditions match(Term t, MatchConditions mc, Services services) {
+            return t.op() == op ? matchChildren(children, t, mc, services) : null;
+        }
+    }
+
+    /** a plain unary operator, matched by identity */
+    private static final class UnaryOperatorMatcher extends Matcher {
+        private final Operator op;
+        private final Matcher child;
+
+        UnaryOperatorMatcher(Operator op, Matcher child) {
+            this.op = op;
+            this.child = child;
+        }
+
+        @Override
+        MatchConditions match(Term t, MatchConditions mc, Services services) {
+            return t.op() == op ? child.match(t.sub(0), mc, services) : null;
+        }
+    }
+
+    /** a plain binary operator, matched by identity */
+    private static final class BinaryOperatorMatcher extends Matcher {
+        private final Operator op;
+        private final Matcher left;
+        private final Matcher right;
+
+        BinaryOperatorMatcher(Operator op, Matcher left, Matcher right) {
+            this.op = op;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        MatchConditions match(Term t, MatchConditions mc, Services services) {
+            if (t.op() != op) {
+                return null;
+            }
+            mc = left.match(t.sub(0), mc, services);
+            return mc == null ? null : right.match(t.sub(1), mc, services);
+        }
+    }
+
+    /** an operator matched by an instruction (schema variables, sort depending functions, ...) */
+    private static final class InstructionMatcher extends Matcher {
+        private final Instruction<?> instruction;
+        private final Matcher[] children;
+
+        InstructionMatcher(Instruction<?> instruction, Matcher[] children) {
+            this.instruction = instruction;
+            this.children = children;
+        }
+
+        @Override
+        MatchConditions match(Term t, MatchConditions mc, Services services) {
+            mc = instruction.match(t, mc, services);
+            return mc == null ? null : matchChildren(children, t, mc, services);
+        }
+    }
+
+    /** a modality and its program */
+    private static final class ModalityMatcher extends Matcher {
+        private final Modality mod;
+        private final MatchProgramInstruction program;
+        private final Matcher[] children;
+
+        ModalityMatcher(Modality mod, MatchProgramInstruction program, Matcher[] children) {
+            this.mod = mod;
+            this.program = program;
+            this.children = children;
+        }
+
+        @Override
+        MatchConditions match(Term t, MatchConditions mc, Services services) {
+            mc = matchModalityKind(mod, t, mc, services);
+            if (mc != null) {
+                mc = program.match(t, mc, services);
+            }
+            return mc == null ? null : matchChildren(children, t, mc, services);
+        }
+    }
+
+    /** a node of the pattern binding variables or carrying term labels */
+    private static final class GeneralMatcher extends Matcher {
+        private final BindVariablesInstruction bind;
+        private final MatchTermLabelInstruction labels;
+        private final Matcher node;
+        /** whether the rename table is shrunk after the node has been matched */
+        private final boolean unbind;
+
+        GeneralMatcher(Term pattern, Matcher node, boolean lastInTerm) {
+            this.bind = pattern.boundVars().isEmpty() ? null
+                    : new BindVariablesInstruction(pattern.boundVars());
+            this.labels = pattern.hasLabels() ? new MatchTermLabelInstruction(pattern.getLabels())
+                    : null;
+            this.node = node;
+            this.unbind = bind != null && !lastInTerm;
+        }
+
+        @Override
+        MatchConditions match(Term t, MatchConditions mc, Services services) {
+            if (bind != null) {
+                mc = bind.match(t, mc, services);
+            }
+            if (mc != null && labels != null) {
+                mc = labels.match(t, mc, services);
+            }
+            if (mc != null) {
+                mc = node.match(t, mc, services);
+            }
+            return mc != null && unbind ? mc.shrinkRenameTable() : mc;
+        }
+    }
+}
@@ -60,7 +60,7 @@ public class TacletMatchProgram {
     private final MatchInstruction[] instruction;
 
     /** creates an instance of the matcher consisting of the instruction */
-    private TacletMatchProgram(MatchInstruction[] instruction) {
+    protected TacletMatchProgram(MatchInstruction[] instruction) {
         this.instruction = instruction;
     }
 
@@ -123,29 +123,8 @@ public class TacletMatchProgram {
         } else if (op instanceof ElementaryUpdate) {
             program.add(Instruction.matchElementaryUpdate((ElementaryUpdate) op));
         } else if (op instanceof Modality mod) {
-            final var kind = mod.kind();
-            if (kind instanceof SchemaVariable sv) {
-                program.add((termPosition, matchConditions, services) -> {
-                    Term t = termPosition.getCurrentSubterm();
-                    if (t.op() instanceof Modality mod1
-                            && ((ModalOperatorSV) kind).getModalities().contains(mod1.kind())) {
-                        SVInstantiations inst = matchConditions.getInstantiations();
-                        return matchConditions.setInstantiations(
-                            inst.add(sv, mod1.<Modality.JavaModalityKind>kind(), services));
-                    } else {
-                        return null;
-                    }
-                });
-            } else {
-                program.add((termPosition, matchConditions, services) -> {
-                    Term t = termPosition.getCurrentSubterm();
-                    if (t.op() instanceof Modality mod1 && mod1.kind() == kind) {
-                        return matchConditions;
-                    } else {
-                        return null;
-                    }
-                });
-            }
+            program.add((termPosition, matchConditions, services) -> matchModalityKind(mod,
+                termPosition.getCurrentSubterm(), matchConditions, services));
             final JavaProgramElement patternPrg = pattern.javaBlock().program();
             program.add(Instruction.matchProgram(patternPrg));
         } else {
@@ -163,6 +142,37 @@ public class TacletMatchProgram {
     }
 
 
+    /**
+     * matches the kind of the given modality against the operator of the given term
+     *
+     * @param mod the modality of the pattern, its kind may be a {@link ModalOperatorSV}
+     * @param t the term to match
+     * @param matchConditions the {@link MatchConditions} accumulated so far
+     * @param services the {@link Services}
+     * @return the resulting match conditions or {@code null} if the kinds do not match
+     */
+    static MatchConditions matchModalityKind(Modality mod, Term t,
+            MatchConditions matchConditions, Services services) {
+        final var kind = mod.kind();
+        if (kind instanceof SchemaVariable sv) {
+            if (t.op() instanceof Modality mod1
+                    && ((ModalOperatorSV) kind).getModalities().contains(mod1.kind())) {
+                SVInstantiations inst = matchConditions.getInstantiations();
+                return matchConditions.setInstantiations(
+                    inst.add(sv, mod1.<Modality.JavaModalityKind>kind(), services));
+            } else {
+                return null;
+            }
+        } else {
+            if (t.op() instanceof Modality mod1 && mod1.kind() == kind) {
+                return matchConditions;
+            } else {
+                return null;
+            }
+        }
+    }
+
+
     /**
      * executes the program and tries to match the provided term; additional restrictions are
      * provided via match conditions. The returned conditions are either {@code null} if no match is
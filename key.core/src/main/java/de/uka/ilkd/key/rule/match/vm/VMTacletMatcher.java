@@ -35,6 +35,9 @@ import org.key_project.util.collection.ImmutableSLList;
 import org.key_project.util.collection.ImmutableSet;
 import org.key_project.util.collection.Pair;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import static de.uka.ilkd.key.logic.equality.RenamingProperty.RENAMING_PROPERTY;
 
 /**
@@ -50,6 +53,7 @@ import static de.uka.ilkd.key.logic.equality.RenamingProperty.RENAMING_PROPERTY;
  * @see TacletMatcherKit
  */
 public class VMTacletMatcher implements TacletMatcher {
+    private static final Logger LOGGER = LoggerFactory.getLogger(VMTacletMatcher.class);
 
     /** the matcher for the find expression of the taclet */
     private final TacletMatchProgram findMatchProgram;
@@ -84,6 +88,15 @@ public class VMTacletMatcher implements TacletMatcher {
      * @param taclet the Taclet matched by this matcher
      */
     public VMTacletMatcher(Taclet taclet) {
+        this(taclet, false);
+    }
+
+    /**
+     * @param taclet the Taclet matched by this matcher
+     * @param compiled whether the patterns are compiled (see {@link CompiledTacletMatchProgram})
+     *        instead of being interpreted
+     */
+    public VMTacletMatcher(Taclet taclet, boolean compiled) {
         varconditions = taclet.getVariableConditions();
         assumesSequent = taclet.ifSequent();
         boundVars = taclet.getBoundVariables();
@@ -93,7 +106,7 @@ public class VMTacletMatcher implements TacletMatcher {
             findExp = ((FindTaclet) taclet).find();
             ignoreTopLevelUpdates = ((FindTaclet) taclet).ignoreTopLevelUpdates()
                     && !(findExp.op() instanceof UpdateApplication);
-            findMatchProgram = TacletMatchProgram.createProgram(findExp);
+            findMatchProgram = createProgram(findExp, compiled);
 
         } else {
             ignoreTopLevelUpdates = false;
@@ -102,8 +115,23 @@ public class VMTacletMatcher implements TacletMatcher {
         }
 
         for (SequentFormula sf : assumesSequent) {
-            assumesMatchPrograms.put(sf.formula(), TacletMatchProgram.createProgram(sf.formula()));
+            assumesMatchPrograms.put(sf.formula(), createProgram(sf.formula(), compiled));
+        }
+    }
+
+    /**
+     * creates the match program for a pattern; the interpreted program is used if the pattern
+     * cannot be compiled
+     */
+    private static TacletMatchProgram createProgram(Term pattern, boolean compiled) {
+        if (compiled) {
+            try {
+                return CompiledTacletMatchProgram.compile(pattern);
+            } catch (IllegalArgumentException e) {
+                LOGGER.debug("Interpreting pattern {}: {}", pattern, e.getMessage());
+            }
         }
+        return TacletMatchProgram.createProgram(pattern);
     }
 
 
@@ -100,9 +100,22 @@ private static class VariableSVBinder extends MatchSchemaVariableInstruction<Var
     @Override
     public MatchConditions match(TermNavigator termPosition, MatchConditions matchConditions,
             Services services) {
+        return match(termPosition.getCurrentSubterm(), matchConditions, services);
+    }
+
+    /**
+     * matches the variables bound by the given term against the bound variables of the pattern
+     * and extends the rename table accordingly
+     *
+     * @param term the term whose bound variables are matched
+     * @param matchConditions the {@link MatchConditions} accumulated so far
+     * @param services the {@link Services}
+     * @return the resulting match conditions or {@code null} if the variables do not match
+     */
+    public MatchConditions match(Term term, MatchConditions matchConditions,
+            Services services) {
 
-        ImmutableArray<QuantifiableVariable> variablesToMatchAndBind =
-            termPosition.getCurrentSubterm().boundVars();
+        ImmutableArray<QuantifiableVariable> variablesToMatchAndBind = term.boundVars();
 
         matchConditions = matchConditions.extendRenameTable();
 
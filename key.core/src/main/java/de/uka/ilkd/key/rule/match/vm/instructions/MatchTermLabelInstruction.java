@@ -51,7 +51,19 @@ public class MatchTermLabelInstruction implements MatchInstruction {
     @Override
     public MatchConditions match(TermNavigator termPosition, MatchConditions matchConditions,
             Services services) {
-        final Term term = termPosition.getCurrentSubterm();
+        return match(termPosition.getCurrentSubterm(), matchConditions, services);
+    }
+
+    /**
+     * matches the labels of the given term against the term label schema variables of the pattern
+     *
+     * @param term the term whose labels are matched
+     * @param matchConditions the {@link MatchConditions} accumulated so far
+     * @param services the {@link Services}
+     * @return the resulting match conditions or {@code null} if the labels do not match
+     */
+    public MatchConditions match(Term term, MatchConditions matchConditions,
+            Services services) {
         MatchConditions result = matchConditions;
         // TODO: Define a sane version of taclet matching for term labels
         // at the moment any termlabbel SV matches on all labels (or no label) (i.e., t<l1,l2> will
@@ -0,0 +1,133 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.settings;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import de.uka.ilkd.key.java.ServiceCaches;
+
+import org.key_project.util.cache.CachePolicy;
+
+/**
+ * Settings of the caches provided by {@link ServiceCaches} and of the rule-specific caches of the
+ * strategies: the eviction policy and the capacity of each cache.
+ * <p>
+ * The policy is one of the names of {@link CachePolicy}; unknown names fall back to
+ * {@link CachePolicy#LRU}. The capacity of a cache is stored under the key
+ * {@code <name>.size}, where {@code <name>} is one of the constants of this class.
+ */
+public class CacheSettings extends AbstractPropertiesSettings {
+
+    public static final String CATEGORY = "Caches";
+
+    /**
+     * Config key for {@link #policy}.
+     */
+    private static final String KEY_POLICY = "policy";
+
+    /** suffix of the config keys of the cache sizes */
+    private static final String SIZE_SUFFIX = ".size";
+
+    public static final String TERM_TACLET_APP_INDEX = "termTacletAppIndex";
+    public static final String BETA_CANDIDATES = "betaCandidates";
+    public static final String IF_THEN_ELSE_MALUS = "ifThenElseMalus";
+    public static final String INTRODUCTION_TIME = "introductionTime";
+    public static final String MONOMIAL = "monomial";
+    public static final String POLYNOMIAL = "polynomial";
+    public static final String TRIGGER_SET = "triggerSet";
+    public static final String CLAUSES_GRAPH = "clausesGraph";
+    public static final String TERM_FACTORY = "termFactory";
+    public static final String FORMATTED_TERM = "formattedTerm";
+    public static final String PROVED_BY_ARITH_FST = "provedByArithFst";
+    public static final String PROVED_BY_ARITH_SND = "provedByArithSnd";
+    public static final String METAVARIABLES = "metavariables";
+    public static final String SMT_AXIOMS = "smtAxioms";
+    public static final String SMT_TYPE_HIERARCHY = "smtTypeHierarchy";
+    public static final String RULE_APP_COST = "ruleAppCost";
+    /** the capacity of this cache is the number of cached formulas, not of entries */
+    public static final String IF_INSTANTIATION = "ifInstantiation";
+    /** the features of a strategy specialized per rule */
+    public static final String SPECIALIZED_FEATURES = "specializedFeatures";
+
+    /**
+     * The eviction policy of the caches.
+     */
+    private final PropertyEntry<String> policy =
+        createStringProperty(KEY_POLICY, CachePolicy.LRU.name());
+
+    /**
+     * The capacities of the caches, indexed by cache name.
+     */
+    private final Map<String, PropertyEntry<Integer>> sizes = new LinkedHashMap<>();
+
+    public CacheSettings() {
+        super(CATEGORY);
+        addSize(TERM_TACLET_APP_INDEX, 5000);
+        addSize(BETA_CANDIDATES, 1000);
+        addSize(IF_THEN_ELSE_MALUS, 1000);
+        addSize(INTRODUCTION_TIME, 10000);
+        addSize(MONOMIAL, 2000);
+        addSize(POLYNOMIAL, 2000);
+        addSize(TRIGGER_SET, 1000);
+        addSize(CLAUSES_GRAPH, 1000);
+        addSize(TERM_FACTORY, 20000);
+        addSize(FORMATTED_TERM, 5000);
+        addSize(PROVED_BY_ARITH_FST, 5000);
+        addSize(PROVED_BY_ARITH_SND, 5000);
+        addSize(METAVARIABLES, 2000);
+        addSize(SMT_AXIOMS, 1000);
+        addSize(SMT_TYPE_HIERARCHY, 200);
+        addSize(RULE_APP_COST, 20000);
+        addSize(IF_INSTANTIATION, 50000);
+        addSize(SPECIALIZED_FEATURES, 4096);
+    }
+
+    private void addSize(String cache, int defaultSize) {
+        sizes.put(cache, createIntegerProperty(cache + SIZE_SUFFIX, defaultSize));
+    }
+
+    /**
+     * @return the eviction policy of the caches
+     */
+    public CachePolicy getPolicy() {
+        return CachePolicy.parse(policy.get(), CachePolicy.LRU);
+    }
+
+    public void setPolicy(CachePolicy value) {
+        policy.set(value.name());
+    }
+
+    /**
+     * @return the names of all configurable caches
+     */
+    public Iterable<String> getCacheNames() {
+        return Collections.unmodifiableSet(sizes.keySet());
+    }
+
+    /**
+     * @param cache the name of a cache, one of the constants of this class
+     * @return the capacity of the cache, at least 1
+     */
+    public int getSize(String cache) {
+        final PropertyEntry<Integer> size = sizes.get(cache);
+        if (size == null) {
+            throw new IllegalArgumentException("Unknown cache: " + cache);
+        }
+        return Math.max(1, size.get());
+    }
+
+    /**
+     * @param cache the name of a cache, one of the constants of this class
+     * @param value the new capacity of the cache
+     */
+    public void setSize(String cache, int value) {
+        final PropertyEntry<Integer> size = sizes.get(cache);
+        if (size == null) {
+            throw new IllegalArgumentException("Unknown cache: " + cache);
+        }
+        size.set(value);
+    }
+}
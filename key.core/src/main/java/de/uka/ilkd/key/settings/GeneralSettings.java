@@ -20,6 +20,13 @@ public class GeneralSettings extends AbstractSettings {
      */
     public static boolean noPruningClosed = true;
 
+    /**
+     * If this option is set, the sequents of the nodes in closed subtrees are released and rebuilt
+     * on demand, which reduces the memory needed for very large proofs. The sequent change infos
+     * of these nodes (used for highlighting in the GUI) are not kept.
+     */
+    public static boolean compactClosedSubtrees = false;
+
     /**
      * If this option is set, the (Disk)FileRepo does not delete its temporary directories (can be
      * used for debugging).
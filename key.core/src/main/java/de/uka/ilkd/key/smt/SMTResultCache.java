@@ -0,0 +1,261 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.smt;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import de.uka.ilkd.key.smt.SMTSolverResult.ThreeValuedTruth;
+import de.uka.ilkd.key.smt.solvertypes.SolverType;
+
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A cache of the results of external solvers, addressed by the content of the problems sent to
+ * them. Running the same solver on the same translation again (e.g., when a proof is reloaded or
+ * replayed, or on sibling goals with identical sequents) answers the problem from the cache
+ * instead of starting the solver.
+ * <p>
+ * The key of an entry is the SHA-256 hash of the final SMT-LIB text sent to the solver together
+ * with the solver name, command line, version and the timeout. Only definite results (valid or
+ * falsifiable) are stored, together with the raw output of the solver, from which, e.g., the
+ * unsat core is read by {@link SMTFocusResults}.
+ * <p>
+ * The cache holds at most {@link #MAX_ENTRIES} entries in memory and evicts the least recently
+ * used ones. If a directory is given, the entries are also stored in one file per entry there, such
+ * that they survive the JVM. When the cache is created, the least recently used files beyond
+ * {@link #MAX_DISK_ENTRIES} are removed.
+ * <p>
+ * The cache is used only if enabled by the system property {@code key.smt.resultCache}. The
+ * system property {@code key.smt.resultCacheDir} sets the directory for the entries on disk.
+ */
+public final class SMTResultCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SMTResultCache.class);
+
+    /**
+     * whether the solvers consult the cache (can be enabled by setting the system property
+     * {@code key.smt.resultCache} to true)
+     */
+    public static final boolean ENABLED =
+        Boolean.parseBoolean(System.getProperty("key.smt.resultCache", "false"));
+
+    /** the maximal number of entries held in memory */
+    static final int MAX_ENTRIES = Integer.getInteger("key.smt.resultCacheSize", 4096);
+
+    /** the maximal number of entries kept on disk */
+    static final int MAX_DISK_ENTRIES = 16 * MAX_ENTRIES;
+
+    /** the file extension of the entries on disk */
+    private static final String EXTENSION = ".result";
+
+    private static final class Holder {
+        private static final SMTResultCache INSTANCE = new SMTResultCache(MAX_ENTRIES,
+            System.getProperty("key.smt.resultCacheDir") == null ? null
+                    : Paths.get(System.getProperty("key.smt.resultCacheDir")));
+    }
+
+    /** the versions of the solver commands, determined once per command */
+    private static final Map<String, String> VERSIONS = new ConcurrentHashMap<>();
+
+    /**
+     * A cached result.
+     *
+     * @param result the result of the solver
+     * @param rawOutput the raw output of the solver
+     */
+    public record Entry(ThreeValuedTruth result, String rawOutput) {
+    }
+
+    /** the entries in memory, in the order of their last use */
+    private final LinkedHashMap<String, Entry> entries;
+
+    /** the directory of the entries on disk, null if the cache is held in memory only */
+    private final @Nullable Path directory;
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maxEntries the maximal number of entries held in memory
+     * @param directory the directory of the entries on disk, null if the cache is held in memory
+     *        only
+     */
+    SMTResultCache(int maxEntries, @Nullable Path directory) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.directory = directory;
+        if (directory != null) {
+            try {
+                Files.createDirectories(directory);
+                evictFromDisk(MAX_DISK_ENTRIES);
+            } catch (IOException e) {
+                LOGGER.warn("Cannot use {} for the SMT result cache", directory, e);
+            }
+        }
+    }
+
+    /**
+     * @return the cache shared by all solvers
+     */
+    public static SMTResultCache getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Computes the key of a problem.
+     *
+     * @param type the solver type the problem is sent to
+     * @param timeout the timeout of the solver
+     * @param problem the SMT-LIB text sent to the solver
+     * @return the key of the problem
+     */
+    public static String key(SolverType type, long timeout, String problem) {
+        String command = type.getSolverCommand() + " " + type.getSolverParameters();
+        String version = VERSIONS.computeIfAbsent(type.getSolverCommand(), c -> {
+            String v = type.getRawVersion();
+            return v == null ? "" : v;
+        });
+        return key(type.getName() + "\n" + command + "\n" + version + "\n" + timeout, problem);
+    }
+
+    static String key(String solver, String problem) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform supports SHA-256
+            throw new IllegalStateException(e);
+        }
+        digest.update(solver.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(problem.getBytes(StandardCharsets.UTF_8));
+        StringBuilder sb = new StringBuilder();
+        for (byte b : digest.digest()) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Looks up the result of a problem.
+     *
+     * @param key the key of the problem
+     * @return the cached result or null if there is none
+     */
+    public @Nullable Entry get(String key) {
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                return entry;
+            }
+        }
+        Entry entry = read(key);
+        if (entry != null) {
+            synchronized (entries) {
+                entries.put(key, entry);
+            }
+        }
+        return entry;
+    }
+
+    /**
+     * Stores the result of a problem. Results which are not definite are ignored.
+     *
+     * @param key the key of the problem
+     * @param entry the result
+     */
+    public void put(String key, Entry entry) {
+        if (entry.result() == ThreeValuedTruth.UNKNOWN) {
+            return;
+        }
+        synchronized (entries) {
+            entries.put(key, entry);
+        }
+        write(key, entry);
+    }
+
+    /**
+     * Removes all entries from memory (but not from disk).
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    private @Nullable Entry read(String key) {
+        if (directory == null) {
+            return null;
+        }
+        Path file = directory.resolve(key + EXTENSION);
+        try {
+            if (!Files.exists(file)) {
+                return null;
+            }
+            String content = Files.readString(file, StandardCharsets.UTF_8);
+            int newline = content.indexOf('\n');
+            ThreeValuedTruth result = ThreeValuedTruth
+                    .valueOf(newline < 0 ? content : content.substring(0, newline));
+            // mark the entry as recently used for the eviction
+            file.toFile().setLastModified(System.currentTimeMillis());
+            return new Entry(result, newline < 0 ? "" : content.substring(newline + 1));
+        } catch (IOException | IllegalArgumentException e) {
+            LOGGER.warn("Cannot read SMT result cache entry {}", file, e);
+            return null;
+        }
+    }
+
+    private void write(String key, Entry entry) {
+        if (directory == null) {
+            return;
+        }
+        try {
+            // written to a temporary file first, such that readers never see partial entries
+            Path tmp = Files.createTempFile(directory, key, ".tmp");
+            Files.writeString(tmp, entry.result().name() + "\n" + entry.rawOutput(),
+                StandardCharsets.UTF_8);
+            Files.move(tmp, directory.resolve(key + EXTENSION),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOGGER.warn("Cannot write SMT result cache entry {}", key, e);
+        }
+    }
+
+    /**
+     * Removes the least recently used entries from disk such that at most the given number of
+     * entries is left.
+     */
+    void evictFromDisk(int maxEntries) {
+        if (directory == null) {
+            return;
+        }
+        File[] files = directory.toFile().listFiles((dir, name) -> name.endsWith(EXTENSION));
+        if (files == null || files.length <= maxEntries) {
+            return;
+        }
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+        for (int i = 0; i < files.length - maxEntries; i++) {
+            if (!files[i].delete()) {
+                LOGGER.warn("Cannot delete SMT result cache entry {}", files[i]);
+            }
+        }
+    }
+}
@@ -4,6 +4,7 @@
 package de.uka.ilkd.key.smt;
 
 import java.util.Collection;
+import java.util.concurrent.Executor;
 
 import de.uka.ilkd.key.smt.communication.AbstractSolverSocket;
 import de.uka.ilkd.key.smt.solvertypes.SolverType;
@@ -27,7 +28,12 @@ public interface SMTSolver {
      * Possible reasons for why a solver process was interrupted/stopped.
      */
     enum ReasonOfInterruption {
-        User, Timeout, Exception, NoInterruption
+        User, Timeout, Exception, NoInterruption,
+        /**
+         * another solver has already answered the problem (only in portfolio mode, see
+         * {@link SolverPortfolio})
+         */
+        Superseded
     }
 
     /**
@@ -87,8 +93,9 @@ public interface SMTSolver {
      * Use this method in order to interrupt a running solver process.
      *
      * @param reasonOfInterruption The reason of interruption. Can only be set to
-     *        <code>ReasonOfInterruption.Timeout</code> or <code>ReasonOfInterruption.User</code>
-     *        other wise a <code>IllegalArgumentException</code> is thrown.
+     *        <code>ReasonOfInterruption.Timeout</code>, <code>ReasonOfInterruption.User</code> or
+     *        <code>ReasonOfInterruption.Superseded</code>, other wise a
+     *        <code>IllegalArgumentException</code> is thrown.
      */
     void interrupt(ReasonOfInterruption reasonOfInterruption);
 
@@ -140,6 +147,18 @@ public interface SMTSolver {
      */
     void start(SolverTimeout timeout, SMTSettings settings);
 
+    /**
+     * Translates the problem of this solver on the given executor ahead of
+     * {@link #start(SolverTimeout, SMTSettings)}, such that the solver process can be launched
+     * right away when the solver is started. Calling this method is optional and has an effect
+     * only once; a solver which has not been prepared translates its problem when it is started.
+     * This method should be accessed only by an instance of <code>SolverLauncher</code>.
+     *
+     * @param settings the settings the solver will be started with
+     * @param executor the executor running the translation
+     */
+    void prepare(SMTSettings settings, Executor executor);
+
     /**
      * @return the reason of the interruption: see <code>ReasonOfInterruption</code>.
      */
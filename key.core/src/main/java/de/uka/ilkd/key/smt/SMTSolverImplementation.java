@@ -6,6 +6,11 @@ package de.uka.ilkd.key.smt;
 import java.io.IOException;
 import java.util.Collection;
 import java.util.LinkedList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import de.uka.ilkd.key.java.Services;
@@ -15,8 +20,11 @@ import de.uka.ilkd.key.proof.Proof;
 import de.uka.ilkd.key.proof.mgt.SpecificationRepository;
 import de.uka.ilkd.key.smt.communication.AbstractSolverSocket;
 import de.uka.ilkd.key.smt.communication.ExternalProcessLauncher;
+import de.uka.ilkd.key.smt.communication.Pipe;
 import de.uka.ilkd.key.smt.communication.SolverCommunication;
 import de.uka.ilkd.key.smt.communication.SolverCommunication.Message;
+import de.uka.ilkd.key.smt.communication.SolverSession;
+import de.uka.ilkd.key.smt.communication.SolverSessionPool;
 import de.uka.ilkd.key.smt.solvertypes.SolverType;
 import de.uka.ilkd.key.smt.solvertypes.SolverTypes;
 import de.uka.ilkd.key.taclettranslation.assumptions.TacletSetTranslation;
@@ -30,7 +38,7 @@ import org.slf4j.LoggerFactory;
  * performs the following steps:
  * <ol>
  * <li>Translates the given problem to SMT format.</li>
- * <li>Starts the external solver process.</li>
+ * <li>Starts the external solver process (or reuses a primed {@link SolverSession}).</li>
  * <li>Sends the problem to the process.</li>
  * <li>Communicates with the solver via the solver socket.</li>
  * </ol>
@@ -41,6 +49,16 @@ import org.slf4j.LoggerFactory;
 public final class SMTSolverImplementation implements SMTSolver, Runnable {
     private static final Logger LOGGER = LoggerFactory.getLogger(SMTSolverImplementation.class);
 
+    /**
+     * The threads running the solvers. Threads are reused for the next solver, such that many short
+     * solver runs do not create a new thread each.
+     */
+    private static final ExecutorService SOLVER_THREADS = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "SMTProcessor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     /**
      * used to generate unique ids for each running solver instance
      */
@@ -77,6 +95,11 @@ public final class SMTSolverImplementation implements SMTSolver, Runnable {
      */
     private final ExternalProcessLauncher processLauncher;
 
+    /**
+     * the primed solver session used instead of the process launcher if sessions are enabled
+     */
+    private volatile SolverSession session;
+
     /**
      * The services object is stored in order to have the possibility to access it in every method
      */
@@ -89,12 +112,25 @@ public final class SMTSolverImplementation implements SMTSolver, Runnable {
     private final SolverCommunication solverCommunication = new SolverCommunication();
 
     /**
-     * The thread that is associated with this solver.
+     * The thread that is associated with this solver while it is running.
      */
     private Thread thread;
 
     /**
-     * The timeout that is associated with this solver. Represents the timertask that is started
+     * The translation of the problem to the command line of the solver process if it has been
+     * started ahead by {@link #prepare(SMTSettings, Executor)}. The translated problem itself is
+     * stored in {@link #problemString}. It is taken by the solver thread when the solver is run,
+     * and cancelled if the solver is interrupted before.
+     */
+    private CompletableFuture<String[]> translation;
+
+    /**
+     * whether the solver has been started (and cannot be prepared anymore)
+     */
+    private boolean started;
+
+    /**
+     * The timeout that is associated with this solver. Represents the deadline that is scheduled
      * when the solver is started.
      */
     private SolverTimeout solverTimeout;
@@ -129,6 +165,16 @@ public final class SMTSolverImplementation implements SMTSolver, Runnable {
      */
     private TacletSetTranslation tacletTranslation;
 
+    /**
+     * The result of the problem if it has been taken from the {@link SMTResultCache}.
+     */
+    private SMTResultCache.Entry cachedResult;
+
+    /**
+     * The final result created from {@link #cachedResult}.
+     */
+    private SMTSolverResult cachedFinalResult;
+
     /**
      * If there was an exception while executing the solver it is stored in this attribute.
      */
@@ -173,10 +219,28 @@ public final class SMTSolverImplementation implements SMTSolver, Runnable {
      */
     @Override
     public void start(SolverTimeout timeout, SMTSettings settings) {
-        thread = new Thread(this, "SMTProcessor");
         solverTimeout = timeout;
+        synchronized (this) {
+            started = true;
+            smtSettings = settings;
+        }
+        SOLVER_THREADS.execute(this);
+    }
+
+    @Override
+    public synchronized void prepare(SMTSettings settings, Executor executor) {
+        if (started || translation != null
+                || reasonOfInterruption != ReasonOfInterruption.NoInterruption) {
+            return;
+        }
         smtSettings = settings;
-        thread.start();
+        translation = CompletableFuture.supplyAsync(() -> {
+            try {
+                return translateToCommand(problem.getSequent());
+            } catch (IllegalFormulaException e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
     }
 
     @Override
@@ -244,18 +308,46 @@ public final class SMTSolverImplementation implements SMTSolver, Runnable {
     }
 
 
+    private synchronized boolean isStarted() {
+        return started;
+    }
+
     @Override
     public void run() {
+        synchronized (this) {
+            thread = Thread.currentThread();
+        }
+        try {
+            solve();
+        } finally {
+            synchronized (this) {
+                thread = null;
+            }
+            // the pooled thread must not carry an interruption into its next task
+            Thread.interrupted();
+        }
+    }
+
+    private void solve() {
 
         // Firstly: Set the state to running and inform the listener.
         setSolverState(SolverState.Running);
         listener.processStarted(this, problem);
 
-        // Secondly: Translate the given problem
+        // Secondly: Translate the given problem (or wait for the prepared translation)
         String[] commands;
         try {
-            commands = translateToCommand(problem.getSequent());
+            CompletableFuture<String[]> prepared;
+            synchronized (this) {
+                prepared = translation;
+                translation = null;
+            }
+            commands =
+                prepared != null ? prepared.join() : translateToCommand(problem.getSequent());
         } catch (Throwable e) {
+            if (e instanceof CompletionException && e.getCause() != null) {
+                e = e.getCause();
+            }
             interruptionOccurred(e);
             listener.processInterrupted(this, problem, e);
             setSolverState(SolverState.Stopped);
@@ -263,16 +355,50 @@ public final class SMTSolverImplementation implements SMTSolver, Runnable {
             return;
         }
 
-        // Thirdly: start the external process.
+        // Thirdly: answer the problem from the cache if it has been solved before.
+        String cacheKey = null;
+        if (SMTResultCache.ENABLED && getType() != SolverTypes.Z3_CE_SOLVER) {
+            cacheKey = SMTResultCache.key(type, timeout, type.modifyProblem(problemString));
+            cachedResult = SMTResultCache.getInstance().get(cacheKey);
+            if (cachedResult != null) {
+                cachedFinalResult = switch (cachedResult.result()) {
+                case VALID -> SMTSolverResult.createValidResult(name());
+                case FALSIFIABLE -> SMTSolverResult.createInvalidResult(name());
+                case UNKNOWN -> SMTSolverResult.createUnknownResult(name());
+                };
+                LOGGER.debug("{}: result taken from the SMT result cache", this);
+                solverTimeout.cancel();
+                setSolverState(SolverState.Stopped);
+                listener.processStopped(this, problem);
+                return;
+            }
+        }
+
+        // Fourthly: start the external process (or reuse a primed session).
+        String[] parts = sessionParts();
         try {
-            processLauncher.launch(commands);
-            processLauncher.getPipe().sendMessage(type.modifyProblem(problemString));
+            Pipe pipe;
+            if (parts != null) {
+                session = acquireSession(commands, parts[0]);
+            }
+            if (session != null) {
+                pipe = session.openQuery(solverCommunication, type.modifyProblem(parts[1]));
+                pipe.sendMessage(type.modifyProblem(parts[2]));
+            } else {
+                processLauncher.launch(commands);
+                pipe = processLauncher.getPipe();
+                pipe.sendMessage(type.modifyProblem(problemString));
+            }
             // processLauncher.getPipe().sendEOF();
 
-            String msg = processLauncher.getPipe().readMessage();
+            String msg = pipe.readMessage();
             while (msg != null) {
-                socket.messageIncoming(processLauncher.getPipe(), msg);
-                msg = processLauncher.getPipe().readMessage();
+                socket.messageIncoming(pipe, msg);
+                msg = pipe.readMessage();
+            }
+            if (cacheKey != null && reasonOfInterruption == ReasonOfInterruption.NoInterruption) {
+                SMTResultCache.getInstance().put(cacheKey, new SMTResultCache.Entry(
+                    solverCommunication.getFinalResult().isValid(), getRawSolverOutput()));
             }
         } catch (IllegalStateException | IOException | InterruptedException e) {
             interruptionOccurred(e);
@@ -282,10 +408,42 @@ public final class SMTSolverImplementation implements SMTSolver, Runnable {
             solverTimeout.cancel();
             setSolverState(SolverState.Stopped);
             listener.processStopped(this, problem);
+            if (session != null) {
+                SolverSessionPool.release(problem.getGoal().proof(), commands, parts[0], session);
+            }
             processLauncher.stop();
         }
     }
 
+    /**
+     * Splits the translation of the problem into the preamble, the goal-independent declarations
+     * and axioms, and the rest if the problem is to be solved in a {@link SolverSession}.
+     *
+     * @return the parts of the problem (see {@link SolverSessionPool#splitPreamble(String)}), or
+     *         null if no session is used
+     */
+    private String[] sessionParts() {
+        if (!SolverSessionPool.ENABLED || !socket.supportsSessions()
+                || problem.getGoal() == null) {
+            return null;
+        }
+        return SolverSessionPool.splitPreamble(problemString);
+    }
+
+    /**
+     * @return a session primed with the given preamble, or null if it cannot be started (in which
+     *         case a new process is launched for this problem only)
+     */
+    private SolverSession acquireSession(String[] commands, String preamble) {
+        try {
+            return SolverSessionPool.acquire(problem.getGoal().proof(), commands,
+                type.getDelimiters(), type.modifyProblem(preamble));
+        } catch (IOException e) {
+            LOGGER.warn("Could not start a session of {}, launching a new process", name(), e);
+            return null;
+        }
+    }
+
     private void interruptionOccurred(Throwable e) {
         ReasonOfInterruption reason = getReasonOfInterruption();
         setReasonOfInterruption(ReasonOfInterruption.Exception, e);
@@ -296,6 +454,9 @@ public final class SMTSolverImplementation implements SMTSolver, Runnable {
         }
         case Timeout -> listener.processTimeout(this, problem);
         case User -> listener.processUser(this, problem);
+        case Superseded ->
+            // the exception is caused by stopping the solver, which is not needed anymore
+            setReasonOfInterruption(ReasonOfInterruption.Superseded, null);
         }
     }
 
@@ -365,15 +526,35 @@ public final class SMTSolverImplementation implements SMTSolver, Runnable {
         if (solverTimeout != null) {
             solverTimeout.cancel();
         }
-        if (thread != null) {
+        synchronized (this) {
+            if (translation != null) {
+                // the translation is not needed anymore, do not keep the worker busy with it
+                translation.cancel(false);
+                translation = null;
+            }
+        }
+        if (isStarted()) {
             processLauncher.stop();
-            thread.interrupt();
+            SolverSession s = session;
+            if (s != null) {
+                // the state of the session is unknown, it cannot be reused
+                s.close();
+            }
+            synchronized (this) {
+                if (thread != null) {
+                    thread.interrupt();
+                }
+            }
         }
     }
 
     @Override
     public SMTSolverResult getFinalResult() {
-        return isRunning() ? null : solverCommunication.getFinalResult();
+        if (isRunning()) {
+            return null;
+        }
+        return cachedFinalResult != null ? cachedFinalResult
+                : solverCommunication.getFinalResult();
     }
 
     @Override
@@ -393,6 +574,9 @@ public final class SMTSolverImplementation implements SMTSolver, Runnable {
 
     @Override
     public String getRawSolverOutput() {
+        if (cachedResult != null) {
+            return cachedResult.rawOutput();
+        }
         StringBuilder output = new StringBuilder();
         for (Message m : solverCommunication.getOutMessages()) {
             String s = m.content();
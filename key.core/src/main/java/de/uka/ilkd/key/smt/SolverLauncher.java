@@ -4,12 +4,17 @@
 package de.uka.ilkd.key.smt;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
 
 import de.uka.ilkd.key.java.Services;
 import de.uka.ilkd.key.smt.SMTSolver.ReasonOfInterruption;
+import de.uka.ilkd.key.smt.SMTSolver.SolverState;
+import de.uka.ilkd.key.smt.SMTSolverResult.ThreeValuedTruth;
 import de.uka.ilkd.key.smt.solvertypes.SolverType;
 
 /**
@@ -132,6 +137,16 @@ public class SolverLauncher implements SolverListener {
         launchIntern(solverTypes, problems, services);
     }
 
+    /**
+     * Enables or disables the portfolio mode for this launcher, overriding the system property
+     * {@code key.smt.portfolio} (see {@link SolverPortfolio}).
+     *
+     * @param portfolio whether the solvers of a problem race
+     */
+    void setPortfolio(boolean portfolio) {
+        this.portfolio = portfolio;
+    }
+
     /**
      * Stops the execution of the launcher.
      */
@@ -143,10 +158,14 @@ public class SolverLauncher implements SolverListener {
     /* ################ Implementation ############################ */
 
     /**
-     * Period of a timer task. Sometimes it happens that a timer event got lost. Therefore the timer
-     * tasks are called periodly until it is canceld
+     * The worker threads translating the problems of the solvers ahead of their start.
      */
-    private static final int PERIOD = 50;
+    private static final ExecutorService TRANSLATION_POOL =
+        Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), r -> {
+            Thread thread = new Thread(r, "SMTTranslator");
+            thread.setDaemon(true);
+            return thread;
+        });
 
     /**
      * Used for synchronisation. This lock is used in the same way as the
@@ -160,10 +179,6 @@ public class SolverLauncher implements SolverListener {
      * launcher.
      */
     private final Condition wait = lock.newCondition();
-    /**
-     * The timer that is responsible for the timeouts.
-     */
-    private final Timer timer = new Timer(true);
     /**
      * A sesion encapsulates some attributes that should be accessed only by specified methods (in
      * oder to maintain thread safety)
@@ -189,12 +204,36 @@ public class SolverLauncher implements SolverListener {
     private boolean launcherHasBeenUsed = false;
 
     /**
-     * Creates the concrete solver objects and distributes them to the SMT problems.
+     * whether the solvers of a problem race (see {@link SolverPortfolio})
+     */
+    private boolean portfolio = SolverPortfolio.ENABLED;
+
+    /**
+     * The shapes of the problems (only in portfolio mode, see {@link SolverPortfolio}).
+     */
+    private final Map<SMTProblem, String> shapes = new ConcurrentHashMap<>();
+
+    /**
+     * The problems a solver has already answered definitely (only in portfolio mode). The
+     * remaining solvers of these problems are not started anymore or stopped.
+     */
+    private final Set<SMTProblem> decided = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Creates the concrete solver objects and distributes them to the SMT problems. In portfolio
+     * mode, the solvers of each problem are ordered and selected by their previous success on
+     * problems of the same shape.
      */
     private void prepareSolvers(Collection<SolverType> factories, Collection<SMTProblem> problems,
             Services services) {
         for (SMTProblem problem : problems) {
-            for (SolverType factory : factories) {
+            Collection<SolverType> types = factories;
+            if (portfolio && problem.getTerm() != null) {
+                String shape = SolverPortfolio.shapeOf(problem.getTerm(), services);
+                shapes.put(problem, shape);
+                types = SolverPortfolio.getInstance().select(shape, factories);
+            }
+            for (SolverType factory : types) {
                 if (factory.isInstalled(false)) {
                     SMTSolver solver = factory.createSolver(problem, this, services);
                     solver.setTimeout(settings.getTimeout(factory));
@@ -252,15 +291,43 @@ public class SolverLauncher implements SolverListener {
         while (startNextSolvers(solvers) && !isInterrupted()) {
             SMTSolver solver = solvers.poll();
             Objects.requireNonNull(solver);
+            if (decided.contains(solver.getProblem())) {
+                // another solver has already answered the problem, the solver is reported as
+                // started and stopped like the running solvers stopped by raceFinished
+                SMTProblem problem = solver.getProblem();
+                solver.interrupt(ReasonOfInterruption.Superseded);
+                processStarted(solver, problem);
+                processStopped(solver, problem);
+                continue;
+            }
 
             SolverTimeout solverTimeout = new SolverTimeout(solver, session);
-            timer.schedule(solverTimeout, solver.getTimeout(), PERIOD);
+            solverTimeout.schedule(solver.getTimeout());
             session.addCurrentlyRunning(solver);
 
             // This cast is okay since there is only the class
             // SMTSolverImplementation that implements SMTSolver.
             solver.start(solverTimeout, settings);
         }
+        prepareNextSolvers(solvers);
+    }
+
+    /**
+     * Starts the translation of the solvers which are started next, such that their processes can
+     * be launched as soon as a running solver has finished. At most as many solvers as can run
+     * concurrently are prepared ahead, which bounds the memory held by waiting translations.
+     */
+    private void prepareNextSolvers(Queue<SMTSolver> solvers) {
+        if (isInterrupted()) {
+            return;
+        }
+        int ahead = settings.getMaxConcurrentProcesses();
+        for (SMTSolver solver : solvers) {
+            if (ahead-- <= 0) {
+                break;
+            }
+            solver.prepare(settings, TRANSLATION_POOL);
+        }
     }
 
     /**
@@ -404,9 +471,39 @@ public class SolverLauncher implements SolverListener {
     @Override
     public void processStopped(SMTSolver solver, SMTProblem problem) {
         session.addFinishedSolver(solver);
+        if (portfolio) {
+            raceFinished(solver, problem);
+        }
         notifySolverHasFinished(solver);
     }
 
+    /**
+     * Records the outcome of a solver in the portfolio. The first solver with a definite answer
+     * wins the race on its problem, and the other solvers of the problem are stopped.
+     */
+    private void raceFinished(SMTSolver solver, SMTProblem problem) {
+        String shape = shapes.get(problem);
+        if (shape == null
+                || solver.getReasonOfInterruption() == ReasonOfInterruption.Superseded) {
+            return;
+        }
+        ThreeValuedTruth result = solver.getFinalResult().isValid();
+        if (result != ThreeValuedTruth.UNKNOWN && decided.add(problem)) {
+            long started = solver.getStartTime() - solver.getTimeout();
+            SolverPortfolio.getInstance().recordWin(shape, solver.getType(),
+                System.currentTimeMillis() - started);
+            for (SMTSolver other : problem.getSolvers()) {
+                if (other != solver && other.getState() == SolverState.Running) {
+                    // the slower solvers have lost the race
+                    SolverPortfolio.getInstance().recordLoss(shape, other.getType());
+                    session.interruptSolver(other, ReasonOfInterruption.Superseded);
+                }
+            }
+        } else {
+            SolverPortfolio.getInstance().recordLoss(shape, solver.getType());
+        }
+    }
+
     @Override
     public void processInterrupted(SMTSolver solver, SMTProblem problem, Throwable e) {
         session.addProblemSolver(solver);
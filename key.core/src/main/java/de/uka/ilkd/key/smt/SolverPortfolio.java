@@ -0,0 +1,191 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.smt;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import de.uka.ilkd.key.java.Services;
+import de.uka.ilkd.key.ldt.LDT;
+import de.uka.ilkd.key.logic.Term;
+import de.uka.ilkd.key.logic.op.Quantifier;
+import de.uka.ilkd.key.smt.solvertypes.SolverType;
+
+/**
+ * Statistics for portfolio solving: If several solvers are run on a problem in portfolio mode, the
+ * solvers race and the first definite (valid or falsifiable) answer stops the other solvers of the
+ * problem (see {@link SolverLauncher}). The portfolio records which solver has won on which shape
+ * of problem and uses this to order the solvers for later problems of the same shape, and to skip
+ * solvers which have never won on that shape although others have. A skipped solver is still run
+ * on every {@value #EXPLORATION_INTERVAL}-th problem of the shape, such that it is not excluded
+ * forever because of its first results (e.g., if it has won only on larger problems).
+ * <p>
+ * The shape of a problem consists of the theories (the {@link LDT}s of the sorts) occurring in it
+ * and whether it contains quantifiers. The statistics are shared by all proofs.
+ * <p>
+ * The portfolio mode is used only if enabled by the system property {@code key.smt.portfolio}.
+ */
+public final class SolverPortfolio {
+    /**
+     * whether the solvers of a problem race (can be enabled by setting the system property
+     * {@code key.smt.portfolio} to true)
+     */
+    public static final boolean ENABLED =
+        Boolean.parseBoolean(System.getProperty("key.smt.portfolio", "false"));
+
+    /** the number of attempts on a shape without a win after which a solver is skipped */
+    static final int MIN_ATTEMPTS = 8;
+
+    /** a solver skipped on a shape is run again on every n-th problem of the shape */
+    static final int EXPLORATION_INTERVAL = 10;
+
+    private static final SolverPortfolio INSTANCE = new SolverPortfolio();
+
+    /** the statistics by shape and solver name */
+    private final Map<String, Map<String, Record>> statistics = new ConcurrentHashMap<>();
+
+    /** the statistics of a solver on a shape */
+    private static final class Record {
+        private int attempts;
+        private int wins;
+        private long winTime;
+        /** the number of problems the solver has been skipped on since it was last run */
+        private int skipped;
+
+        /** the estimated probability to win, with a uniform prior for unknown solvers */
+        private synchronized double score() {
+            return (wins + 1.0) / (attempts + 2.0);
+        }
+
+        private synchronized long averageWinTime() {
+            return wins == 0 ? Long.MAX_VALUE : winTime / wins;
+        }
+
+        private synchronized boolean isHopeless() {
+            return attempts >= MIN_ATTEMPTS && wins == 0;
+        }
+
+        /**
+         * @return whether the solver is skipped on the current problem: true if it is hopeless,
+         *         except for every {@value #EXPLORATION_INTERVAL}-th problem
+         */
+        private synchronized boolean skip() {
+            if (!isHopeless()) {
+                return false;
+            }
+            if (++skipped >= EXPLORATION_INTERVAL) {
+                skipped = 0;
+                return false;
+            }
+            return true;
+        }
+
+        private synchronized boolean hasWon() {
+            return wins > 0;
+        }
+    }
+
+    SolverPortfolio() {
+    }
+
+    /**
+     * @return the portfolio statistics shared by all launchers
+     */
+    public static SolverPortfolio getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Computes the shape of a problem.
+     *
+     * @param term the problem
+     * @param services the services of the problem
+     * @return the shape of the problem
+     */
+    public static String shapeOf(Term term, Services services) {
+        TreeSet<String> features = new TreeSet<>();
+        collectFeatures(term, services, features);
+        return String.join(",", features);
+    }
+
+    private static void collectFeatures(Term term, Services services,
+            Collection<String> features) {
+        if (term.op() instanceof Quantifier) {
+            features.add("quantifiers");
+        }
+        LDT ldt = services.getTypeConverter().getLDTFor(term.sort());
+        if (ldt != null) {
+            features.add(ldt.name().toString());
+        }
+        for (Term sub : term.subs()) {
+            collectFeatures(sub, services, features);
+        }
+    }
+
+    private Record record(String shape, SolverType type) {
+        return statistics.computeIfAbsent(shape, s -> new ConcurrentHashMap<>())
+                .computeIfAbsent(type.getName(), n -> new Record());
+    }
+
+    /**
+     * Selects and orders the solvers to run on a problem: The solvers with the highest chance to
+     * win on the shape of the problem come first. Solvers which have never won on the shape
+     * although they have been tried often are skipped if another solver has won on it, except for
+     * every {@value #EXPLORATION_INTERVAL}-th problem. At least one solver is selected.
+     *
+     * @param shape the shape of the problem
+     * @param types the configured solvers
+     * @return the solvers to run, in the order they should be started
+     */
+    public List<SolverType> select(String shape, Collection<SolverType> types) {
+        List<SolverType> result = new ArrayList<>(types);
+        if (result.size() <= 1) {
+            return result;
+        }
+        boolean anyWinner = result.stream().anyMatch(t -> record(shape, t).hasWon());
+        if (anyWinner) {
+            result.removeIf(t -> record(shape, t).skip());
+        }
+        // stable, solvers without statistics keep the configured order
+        result.sort(Comparator
+                .comparingDouble((SolverType t) -> -record(shape, t).score())
+                .thenComparingLong(t -> record(shape, t).averageWinTime()));
+        return result;
+    }
+
+    /**
+     * Records that a solver has answered a problem first.
+     *
+     * @param shape the shape of the problem
+     * @param type the solver
+     * @param time the time the solver needed (in ms)
+     */
+    public void recordWin(String shape, SolverType type, long time) {
+        Record r = record(shape, type);
+        synchronized (r) {
+            r.attempts++;
+            r.wins++;
+            r.winTime += Math.max(0, time);
+        }
+    }
+
+    /**
+     * Records that a solver has not answered a problem first (it was slower than another solver,
+     * ran into its timeout, returned unknown or failed).
+     *
+     * @param shape the shape of the problem
+     * @param type the solver
+     */
+    public void recordLoss(String shape, SolverType type) {
+        Record r = record(shape, type);
+        synchronized (r) {
+            r.attempts++;
+        }
+    }
+}
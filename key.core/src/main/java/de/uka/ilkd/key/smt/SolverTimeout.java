@@ -3,22 +3,82 @@
  * SPDX-License-Identifier: GPL-2.0-only */
 package de.uka.ilkd.key.smt;
 
-import java.util.TimerTask;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import de.uka.ilkd.key.smt.SMTSolver.ReasonOfInterruption;
 
 /**
- * The class controls the timer that checks for a solver whether it exceeds a pre-defined timeout.
+ * The deadline of a solver: When it is reached, the solver is interrupted because of a timeout.
+ * <p>
+ * The deadlines of all solvers are scheduled once on a single shared scheduler thread, which
+ * sleeps until the next deadline. Cancelled deadlines are removed from the scheduler immediately.
  */
-class SolverTimeout extends TimerTask {
+class SolverTimeout implements Runnable {
+    /** the scheduler of all deadlines */
+    private static final ScheduledThreadPoolExecutor SCHEDULER;
+
+    static {
+        SCHEDULER = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread thread = new Thread(r, "SolverTimeout");
+            thread.setDaemon(true);
+            return thread;
+        });
+        SCHEDULER.setRemoveOnCancelPolicy(true);
+    }
+
     private final SMTSolver solver;
     private final Session session;
 
+    /** the deadline (system time in ms), -1 if not yet scheduled */
+    private volatile long deadline = -1;
+
+    /** the scheduled interruption, null if not yet scheduled */
+    private ScheduledFuture<?> future;
+
+    /** whether the deadline has been cancelled */
+    private boolean cancelled;
+
     public SolverTimeout(SMTSolver solver, Session session) {
         this.solver = solver;
         this.session = session;
     }
 
+    /**
+     * Schedules the interruption of the solver after the given timeout.
+     *
+     * @param timeout the timeout in ms
+     */
+    synchronized void schedule(long timeout) {
+        if (cancelled || future != null) {
+            return;
+        }
+        deadline = System.currentTimeMillis() + timeout;
+        future = SCHEDULER.schedule(this, timeout, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Cancels the deadline. If the solver has not been interrupted yet, it will not be
+     * interrupted because of the timeout anymore.
+     *
+     * @return whether the interruption has been prevented
+     */
+    public synchronized boolean cancel() {
+        if (cancelled) {
+            return false;
+        }
+        cancelled = true;
+        return future == null || future.cancel(false);
+    }
+
+    /**
+     * @return the deadline of the solver (system time in ms), -1 if it has not been scheduled
+     */
+    public long scheduledExecutionTime() {
+        return deadline;
+    }
+
     @Override
     public void run() {
         if (session != null) {
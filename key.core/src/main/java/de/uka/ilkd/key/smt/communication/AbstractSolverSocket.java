@@ -89,6 +89,17 @@ public abstract class AbstractSolverSocket {
         return problem;
     }
 
+    /**
+     * Whether the socket ends its queries with {@link Pipe#finishQuery()}, such that it can be
+     * used with a {@link SolverSession} which is reused for several problems. By default, this is
+     * not the case.
+     *
+     * @return whether the socket can communicate with a solver session
+     */
+    public boolean supportsSessions() {
+        return false;
+    }
+
     /**
      * Creates a new solver socket that can handle the communication for the given solver type.
      *
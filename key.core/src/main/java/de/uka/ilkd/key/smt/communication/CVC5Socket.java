@@ -48,22 +48,27 @@ public class CVC5Socket extends AbstractSolverSocket {
             if (msg.contains("unsat")) {
                 sc.setFinalResult(SMTSolverResult.createValidResult(getName()));
                 sc.setState(FINISH);
-                pipe.sendMessage("(exit)");
+                pipe.finishQuery();
                 // pipe.close();
             } else if (msg.contains("sat")) {
                 sc.setFinalResult(SMTSolverResult.createInvalidResult(getName()));
                 sc.setState(FINISH);
-                pipe.sendMessage("(exit)");
+                pipe.finishQuery();
                 // pipe.close();
             } else if (msg.contains("unknown")) {
                 sc.setFinalResult(SMTSolverResult.createUnknownResult(getName()));
                 sc.setState(FINISH);
-                pipe.sendMessage("(exit)");
+                pipe.finishQuery();
                 // pipe.close();
             }
         }
     }
 
+    @Override
+    public boolean supportsSessions() {
+        return true;
+    }
+
     @Override
     public AbstractSolverSocket copy() {
         return new CVC5Socket(getName(), getQuery());
@@ -23,6 +23,18 @@ public interface Pipe {
      */
     void sendMessage(@NonNull String message) throws IOException;
 
+    /**
+     * Ends the current query after its result (and possibly further details) has been requested.
+     * By default, the solver is asked to terminate by sending "(exit)", which makes the pipe close
+     * after the remaining answers have been received. Pipes of a {@link SolverSession} restore the
+     * state before the query instead and keep the process running.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    default void finishQuery() throws IOException {
+        sendMessage("(exit)");
+    }
+
     /**
      * Reads a message from the external process. This method blocks until there is a further
      * message or the underlying stream has been closed.
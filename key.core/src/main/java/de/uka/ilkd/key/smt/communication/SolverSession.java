@@ -0,0 +1,239 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.smt.communication;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+
+import de.uka.ilkd.key.smt.newsmt2.SMTCommands;
+
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A long-lived external solver process which solves several problems one after another. The
+ * process is primed once with a preamble (options, logic, and the declarations and axioms common
+ * to all problems). Every problem is then solved in its own assertion scope: The query is
+ * started with {@code (push 1)}, and {@link Pipe#finishQuery()} sends {@code (pop 1)} instead of
+ * {@code (exit)}, which restores the primed state for the next problem.
+ * <p>
+ * The declarations and axioms which hold for all problems of a proof (those of the rule base and
+ * the type hierarchy) are asserted outside of the assertion scopes, such that they are parsed only
+ * once per session. They accumulate over the problems solved in the session, which is sound since
+ * they are facts about the proof and not about a particular goal.
+ * <p>
+ * Since the process does not terminate after a problem, the end of the answer to a query is
+ * recognized by a marker that the solver echoes after the {@code (pop 1)}. Only after the marker
+ * has been read, the session is in a defined state again and may be reused. A session is used by
+ * one query at a time.
+ *
+ * @see SolverSessionPool
+ */
+public final class SolverSession {
+    /** the marker echoed by the solver after the answer to a query */
+    static final String END_OF_QUERY = "key-end-of-query";
+
+    /** the command echoing the marker */
+    private static final String ECHO_END_OF_QUERY = "(echo \"" + END_OF_QUERY + "\")";
+
+    /** the external solver process */
+    private final @NonNull Process process;
+
+    /** the Writer connected to stdin of the process */
+    private final @NonNull Writer smtIn;
+
+    /** the Reader that splits the (merged) stdout and stderr of the process into messages */
+    private final @NonNull BufferedMessageReader reader;
+
+    /** the query currently using this session, if any */
+    private @Nullable QueryPipe query;
+
+    /** the goal-independent commands which have already been asserted in this session */
+    private final @NonNull Set<String> sharedCommands = new HashSet<>();
+
+    private SolverSession(@NonNull Process process, @NonNull String[] messageDelimiters) {
+        this.process = process;
+        this.smtIn = new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8);
+        this.reader = new BufferedMessageReader(
+            new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8),
+            messageDelimiters);
+    }
+
+    /**
+     * Starts the external process and primes it with the given preamble. This method blocks until
+     * the solver has processed the preamble.
+     *
+     * @param command command (program and arguments) which is used to start the external process
+     * @param messageDelimiters delimiters which separate the messages of the process
+     * @param preamble the SMT commands shared by all problems solved in this session
+     * @return the primed session
+     * @throws IOException if the process cannot be started or rejects the preamble
+     */
+    public static SolverSession start(@NonNull String[] command,
+            @NonNull String[] messageDelimiters, @NonNull String preamble) throws IOException {
+        ProcessBuilder builder = new ProcessBuilder(command);
+        builder.redirectErrorStream(true);
+        SolverSession session = new SolverSession(builder.start(), messageDelimiters);
+        try {
+            session.write(preamble);
+            session.write(ECHO_END_OF_QUERY);
+            String msg = session.reader.readMessage();
+            while (msg != null && !msg.contains(END_OF_QUERY)) {
+                if (msg.contains("error") || msg.contains("Error")) {
+                    throw new IOException("Error while priming solver session: " + msg);
+                }
+                msg = session.reader.readMessage();
+            }
+            if (msg == null) {
+                throw new IOException("Solver terminated while priming the session.");
+            }
+        } catch (IOException e) {
+            session.close();
+            throw e;
+        }
+        return session;
+    }
+
+    private void write(String message) throws IOException {
+        smtIn.write(message + System.lineSeparator());
+        smtIn.flush();
+    }
+
+    /**
+     * Opens a new assertion scope for a query. The returned pipe logs all messages to the given
+     * communication record.
+     *
+     * @param session the record of the communication of the query
+     * @return the pipe for the query
+     * @throws IOException if an I/O error occurs
+     */
+    public @NonNull Pipe openQuery(@NonNull SolverCommunication session) throws IOException {
+        return openQuery(session, "");
+    }
+
+    /**
+     * Asserts the goal-independent commands of a query which have not been asserted in this
+     * session yet, and then opens a new assertion scope for the query. The returned pipe logs all
+     * messages to the given communication record.
+     *
+     * @param session the record of the communication of the query
+     * @param shared the declarations and axioms of the query which hold for all problems of the
+     *        proof
+     * @return the pipe for the query
+     * @throws IOException if an I/O error occurs
+     */
+    public synchronized @NonNull Pipe openQuery(@NonNull SolverCommunication session,
+            @NonNull String shared) throws IOException {
+        if (query != null) {
+            throw new IllegalStateException("The solver session is already in use.");
+        }
+        query = new QueryPipe(session);
+        for (String command : SMTCommands.split(shared)) {
+            if (sharedCommands.add(command)) {
+                query.sendMessage(command);
+            }
+        }
+        query.sendMessage("(push 1)");
+        return query;
+    }
+
+    /**
+     * Ends the current query. The session can be reused only if the answer to the query has been
+     * read completely, otherwise the state of the solver is unknown and the session is closed.
+     *
+     * @return whether the session can be used for another query
+     */
+    public synchronized boolean closeQuery() {
+        boolean reusable = query != null && query.finished && isAlive();
+        query = null;
+        if (!reusable) {
+            close();
+        }
+        return reusable;
+    }
+
+    /**
+     * @return whether the solver process is still running
+     */
+    public boolean isAlive() {
+        return process.isAlive();
+    }
+
+    /**
+     * Destroys the solver process.
+     */
+    public void close() {
+        // make sure the solver process is properly killed,
+        // otherwise it may consume excessive CPU and RAM
+        process.destroyForcibly();
+    }
+
+    /**
+     * The pipe of a single query in the session.
+     */
+    private final class QueryPipe implements Pipe {
+        /** the record of the communication of this query */
+        private final @NonNull SolverCommunication session;
+
+        /** whether the end of the answer to the query has been read */
+        private boolean finished;
+
+        private QueryPipe(@NonNull SolverCommunication session) {
+            this.session = session;
+        }
+
+        @Override
+        public void sendMessage(@NonNull String message) throws IOException {
+            session.addMessage(message, SolverCommunication.MessageType.INPUT);
+            try {
+                write(message);
+            } catch (IOException e) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(
+                        "Process terminated (exit code " + process.exitValue() + ").");
+                }
+                throw e;
+            }
+        }
+
+        @Override
+        public void finishQuery() throws IOException {
+            sendMessage("(pop 1)");
+            sendMessage(ECHO_END_OF_QUERY);
+        }
+
+        @Override
+        public @Nullable String readMessage() throws IOException, InterruptedException {
+            if (finished) {
+                return null;
+            }
+            String msg = reader.readMessage();
+            if (msg != null && msg.contains(END_OF_QUERY)) {
+                finished = true;
+                return null;
+            }
+            return msg;
+        }
+
+        @Override
+        public @NonNull SolverCommunication getSolverCommunication() {
+            return session;
+        }
+
+        @Override
+        public void close() {
+            SolverSession.this.close();
+        }
+
+        @Override
+        public void sendEOF() {
+            SolverSession.this.close();
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.smt.communication;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.proof.event.ProofDisposedEvent;
+import de.uka.ilkd.key.proof.event.ProofDisposedListener;
+import de.uka.ilkd.key.smt.newsmt2.ModularSMTLib2Translator;
+
+import org.jspecify.annotations.NonNull;
+
+/**
+ * A pool of primed {@link SolverSession}s per proof. When many goals of a proof are sent to the
+ * same solver (e.g., by the SMT macro), the solver process is started and the common preamble of
+ * the problems is parsed only once per session instead of once per goal. The same holds for the
+ * axioms of the rule base and the type hierarchy, which are asserted once per session.
+ * <p>
+ * Sessions are distinguished by the command line of the solver and by the preamble they have been
+ * primed with. A session is handed out to one query at a time; if several solvers run in parallel,
+ * several sessions are started. At most {@link #MAX_IDLE_SESSIONS} idle sessions are kept per
+ * proof and solver, all sessions of a proof are closed when it is disposed.
+ * <p>
+ * Sessions are used only if enabled by the system property {@code key.smt.incrementalSessions}.
+ */
+public final class SolverSessionPool {
+    /**
+     * whether the solvers reuse primed sessions (can be enabled by setting the system property
+     * {@code key.smt.incrementalSessions} to true)
+     */
+    public static final boolean ENABLED =
+        Boolean.parseBoolean(System.getProperty("key.smt.incrementalSessions", "false"));
+
+    /** the number of idle sessions kept per proof and solver */
+    static final int MAX_IDLE_SESSIONS = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * the comment which starts the problem specific part of a problem created by the
+     * {@link ModularSMTLib2Translator}
+     */
+    static final String DECLARATIONS = "; --- Declarations";
+
+    /** the idle sessions per proof */
+    private static final Map<Proof, Map<SessionKey, Deque<SolverSession>>> SESSIONS =
+        new WeakHashMap<>();
+
+    /**
+     * the sessions of a proof are distinguished by
+     *
+     * @param command the command line of the solver
+     * @param preamble the preamble the sessions are primed with
+     */
+    private record SessionKey(List<String> command, String preamble) {
+    }
+
+    private SolverSessionPool() {
+    }
+
+    /**
+     * Splits a problem into the preamble shared by all problems, the declarations and axioms which
+     * hold for all problems of the proof, and the problem specific part. A session is primed with
+     * the preamble; the goal-independent declarations and axioms are asserted in the session once
+     * they occur in one of its problems (see {@link SolverSession#openQuery}).
+     *
+     * @param problem the translation of a problem
+     * @return the preamble, the goal-independent part (empty if the problem has none) and the rest
+     *         of the problem, or null if the problem has no separate preamble
+     */
+    public static String[] splitPreamble(@NonNull String problem) {
+        int index = problem.indexOf(DECLARATIONS);
+        if (index <= 0) {
+            return null;
+        }
+        int shared = problem.lastIndexOf(ModularSMTLib2Translator.GOAL_INDEPENDENT, index);
+        if (shared < 0) {
+            return new String[] { problem.substring(0, index), "", problem.substring(index) };
+        }
+        return new String[] { problem.substring(0, shared), problem.substring(shared, index),
+            problem.substring(index) };
+    }
+
+    /**
+     * Returns an idle session of the given proof and solver or starts a new one.
+     *
+     * @param proof the proof the problem belongs to
+     * @param command the command line of the solver
+     * @param messageDelimiters the delimiters which separate the messages of the solver
+     * @param preamble the preamble of the problem
+     * @return a session primed with the preamble, which is not used by any other query
+     * @throws IOException if a new session cannot be started
+     */
+    public static @NonNull SolverSession acquire(@NonNull Proof proof, @NonNull String[] command,
+            @NonNull String[] messageDelimiters, @NonNull String preamble) throws IOException {
+        SessionKey key = new SessionKey(List.of(command), preamble);
+        synchronized (SESSIONS) {
+            Map<SessionKey, Deque<SolverSession>> sessions = SESSIONS.get(proof);
+            Deque<SolverSession> idle = sessions == null ? null : sessions.get(key);
+            while (idle != null && !idle.isEmpty()) {
+                SolverSession session = idle.pop();
+                if (session.isAlive()) {
+                    return session;
+                }
+            }
+        }
+        // started outside the lock, such that other solvers do not wait for the solver startup
+        return SolverSession.start(command, messageDelimiters, preamble);
+    }
+
+    /**
+     * Ends the query of the given session and returns the session to the pool if it can be
+     * reused. Otherwise, the session is closed.
+     *
+     * @param proof the proof the session has been acquired for
+     * @param command the command line of the solver
+     * @param preamble the preamble of the session
+     * @param session the session
+     */
+    public static void release(@NonNull Proof proof, @NonNull String[] command,
+            @NonNull String preamble, @NonNull SolverSession session) {
+        if (!session.closeQuery() || proof.isDisposed()) {
+            session.close();
+            return;
+        }
+        synchronized (SESSIONS) {
+            Map<SessionKey, Deque<SolverSession>> sessions = SESSIONS.get(proof);
+            if (sessions == null) {
+                sessions = new HashMap<>();
+                SESSIONS.put(proof, sessions);
+                proof.addProofDisposedListener(new ProofDisposedListener() {
+                    @Override
+                    public void proofDisposing(ProofDisposedEvent e) {
+                    }
+
+                    @Override
+                    public void proofDisposed(ProofDisposedEvent e) {
+                        closeAll(e.getSource());
+                    }
+                });
+            }
+            Deque<SolverSession> idle =
+                sessions.computeIfAbsent(new SessionKey(List.of(command), preamble),
+                    k -> new ArrayDeque<>());
+            if (idle.size() < MAX_IDLE_SESSIONS) {
+                idle.push(session);
+                return;
+            }
+        }
+        session.close();
+    }
+
+    /**
+     * Closes all idle sessions of the given proof.
+     *
+     * @param proof the proof
+     */
+    public static void closeAll(@NonNull Proof proof) {
+        List<SolverSession> toClose = new ArrayList<>();
+        synchronized (SESSIONS) {
+            Map<SessionKey, Deque<SolverSession>> sessions = SESSIONS.remove(proof);
+            if (sessions != null) {
+                sessions.values().forEach(toClose::addAll);
+            }
+        }
+        toClose.forEach(SolverSession::close);
+    }
+}
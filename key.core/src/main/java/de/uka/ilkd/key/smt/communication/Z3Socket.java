@@ -41,19 +41,19 @@ public class Z3Socket extends AbstractSolverSocket {
                 // really needed
                 // pipe.sendMessage("(get-proof)");
                 pipe.sendMessage("(get-unsat-core)");
-                pipe.sendMessage("(exit)");
+                pipe.finishQuery();
                 sc.setState(WAIT_FOR_DETAILS);
             }
             if (msg.equals("sat")) {
                 sc.setFinalResult(SMTSolverResult.createInvalidResult(getName()));
                 pipe.sendMessage("(get-model)");
-                pipe.sendMessage("(exit)");
+                pipe.finishQuery();
                 sc.setState(WAIT_FOR_DETAILS);
 
             }
             if (msg.equals("unknown")) {
                 sc.setFinalResult(SMTSolverResult.createUnknownResult(getName()));
-                pipe.sendMessage("(exit)\n");
+                pipe.finishQuery();
                 sc.setState(WAIT_FOR_DETAILS);
             }
         }
@@ -68,6 +68,11 @@ public class Z3Socket extends AbstractSolverSocket {
         }
     }
 
+    @Override
+    public boolean supportsSessions() {
+        return true;
+    }
+
     @Override
     public AbstractSolverSocket copy() {
         return new Z3Socket(getName(), getQuery());
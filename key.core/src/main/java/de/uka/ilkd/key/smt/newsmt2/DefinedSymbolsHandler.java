@@ -30,6 +30,7 @@ import de.uka.ilkd.key.smt.newsmt2.SMTHandlerProperty.BooleanProperty;
 
 import org.key_project.logic.Name;
 import org.key_project.logic.op.SortedOperator;
+import org.key_project.util.cache.Cache;
 
 import static de.uka.ilkd.key.smt.newsmt2.SExpr.Type.BOOL;
 import static de.uka.ilkd.key.smt.newsmt2.SExpr.Type.UNIVERSE;
@@ -151,7 +152,7 @@ public class DefinedSymbolsHandler implements SMTHandler {
         } else {
             decls = HandlerUtil.funDeclaration(op, prefixedname);
         }
-        trans.addDeclaration(decls);
+        trans.addGoalIndependentDeclaration(decls);
 
         if (op.sort() != JavaDLTheory.FORMULA) {
             // Lookup a typing axiom in the snippets or use default if not present
@@ -161,7 +162,7 @@ public class DefinedSymbolsHandler implements SMTHandler {
             } else {
                 typing = HandlerUtil.funTypeAxiom(op, prefixedname, trans);
             }
-            trans.addAxiom(typing);
+            trans.addGoalIndependentAxiom(typing);
         }
 
         trans.addKnownSymbol(name);
@@ -213,21 +214,52 @@ public class DefinedSymbolsHandler implements SMTHandler {
             throws SMTTranslationException {
         String[] strTaclets = snippets.getProperty(name + TACLETS_SUFFIX).trim().split(" *, *");
         for (String str : strTaclets) {
-            Taclet taclet = services.getProof().getInitConfig().lookupActiveTaclet(new Name(str));
-            if (taclet == null) {
-                throw new SMTTranslationException("Unknown taclet: " + str);
-            }
-            SMTTacletTranslator tacletTranslator = new SMTTacletTranslator(services);
-            Term formula = tacletTranslator.translate(taclet);
+            Term formula = cachedAxiom(TACLETS_SUFFIX + ":" + str, () -> {
+                Taclet taclet =
+                    services.getProof().getInitConfig().lookupActiveTaclet(new Name(str));
+                if (taclet == null) {
+                    throw new SMTTranslationException("Unknown taclet: " + str);
+                }
+                SMTTacletTranslator tacletTranslator = new SMTTacletTranslator(services);
+                return tacletTranslator.translate(taclet);
+            });
             SExpr smt = trans.translate(formula);
-            trans.addAxiom(SExprs.assertion(smt));
+            trans.addGoalIndependentAxiom(SExprs.assertion(smt));
+        }
+    }
+
+    /**
+     * Looks up an axiom in the cache of the proof or creates it. The axioms of the defined symbols
+     * only depend on the snippets and the rule base, so they are parsed resp. translated from
+     * their taclet only once per proof and not for every problem again.
+     *
+     * @param key the key of the axiom (the name of its snippet)
+     * @param creator creates the axiom if it is not cached
+     * @return the axiom
+     * @throws SMTTranslationException if the axiom cannot be created
+     */
+    private Term cachedAxiom(String key, AxiomCreator creator) throws SMTTranslationException {
+        Cache<String, Term> cache = services.getCaches().getSMTAxiomCache();
+        Term axiom = cache.get(key);
+        if (axiom == null) {
+            axiom = creator.create();
+            cache.put(key, axiom);
         }
+        return axiom;
+    }
+
+    /**
+     * Creates an axiom which is not cached yet.
+     */
+    @FunctionalInterface
+    private interface AxiomCreator {
+        Term create() throws SMTTranslationException;
     }
 
     private void handleSMTAxioms(MasterHandler trans, String name) throws SMTTranslationException {
         // well ... if that is defined by axioms use the general purpose mechanism.
         String axioms = snippets.getProperty(name + AXIOMS_SUFFIX);
-        trans.addAxiom(new VerbatimSMT(axioms));
+        trans.addGoalIndependentAxiom(new VerbatimSMT(axioms));
         String[] deps = snippets.getProperty(name + ".deps", "").trim().split(", *");
         for (String dep : deps) {
             trans.introduceSymbol(dep);
@@ -239,21 +271,25 @@ public class DefinedSymbolsHandler implements SMTHandler {
         String snipName = name + DL_SUFFIX;
         String dl = snippets.getProperty(snipName);
         do {
-            DefaultTermParser tp = new DefaultTermParser();
-            try {
-                NamespaceSet nss = services.getNamespaces().copy();
-                Services localServices = services.getOverlay(nss);
-                // The parser may add new symbols (instantiations of sort-dep symbols).
-                // Since the SMT machines run in parallel, this may cause
-                // ConcurrentModificationExceptions. To avoid such exceptions,
-                // a wrapper services object is used.
-                Term axiom =
-                    tp.parse(new StringReader(dl), JavaDLTheory.FORMULA, localServices, nss,
-                        new AbbrevMap());
-                trans.addAxiom(SExprs.assertion(trans.translate(axiom)));
-            } catch (ParserException e) {
-                throw new SMTTranslationException("Error while translating snippet " + snipName, e);
-            }
+            final String snippet = snipName;
+            final String formula = dl;
+            Term axiom = cachedAxiom(snippet, () -> {
+                DefaultTermParser tp = new DefaultTermParser();
+                try {
+                    NamespaceSet nss = services.getNamespaces().copy();
+                    Services localServices = services.getOverlay(nss);
+                    // The parser may add new symbols (instantiations of sort-dep symbols).
+                    // Since the SMT machines run in parallel, this may cause
+                    // ConcurrentModificationExceptions. To avoid such exceptions,
+                    // a wrapper services object is used.
+                    return tp.parse(new StringReader(formula), JavaDLTheory.FORMULA,
+                        localServices, nss, new AbbrevMap());
+                } catch (ParserException e) {
+                    throw new SMTTranslationException(
+                        "Error while translating snippet " + snippet, e);
+                }
+            });
+            trans.addGoalIndependentAxiom(SExprs.assertion(trans.translate(axiom)));
             snipName = name + DL_SUFFIX + "." + cnt;
             dl = snippets.getProperty(snipName);
             cnt++;
@@ -5,6 +5,7 @@ package de.uka.ilkd.key.smt.newsmt2;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.IdentityHashMap;
@@ -52,6 +53,13 @@ public class MasterHandler {
     /** All axioms (assert ...) */
     private final List<Writable> axioms = new ArrayList<>();
 
+    /**
+     * The declarations and axioms which do not depend on the translated problem, but only on the
+     * snippets, the rule base and the type hierarchy. They hold for all problems of a proof.
+     */
+    private final Set<Writable> goalIndependent =
+        Collections.newSetFromMap(new IdentityHashMap<>());
+
     /** A list of known symbols */
     private final Set<String> knownSymbols = new HashSet<>();
 
@@ -99,12 +107,12 @@ public class MasterHandler {
     public void addDeclarationsAndAxioms(Properties snippets) {
         String decls = snippets.getProperty("decls");
         if (decls != null) {
-            addDeclaration(new VerbatimSMT(decls));
+            addGoalIndependentDeclaration(new VerbatimSMT(decls));
         }
 
         String axioms = snippets.getProperty("axioms");
         if (axioms != null) {
-            addAxiom(new VerbatimSMT(axioms));
+            addGoalIndependentAxiom(new VerbatimSMT(axioms));
         }
 
         for (Entry<Object, Object> en : snippets.entrySet()) {
@@ -343,6 +351,40 @@ public class MasterHandler {
         return axioms;
     }
 
+    /**
+     * Adds a declaration which does not depend on the translated problem.
+     *
+     * @param decl the declaration
+     * @see #isGoalIndependent(Writable)
+     */
+    void addGoalIndependentDeclaration(Writable decl) {
+        addDeclaration(decl);
+        goalIndependent.add(decl);
+    }
+
+    /**
+     * Adds an axiom which does not depend on the translated problem.
+     *
+     * @param axiom the axiom
+     * @see #isGoalIndependent(Writable)
+     */
+    void addGoalIndependentAxiom(Writable axiom) {
+        addAxiom(axiom);
+        goalIndependent.add(axiom);
+    }
+
+    /**
+     * Decides whether a declaration or axiom has been added as goal-independent, i.e., whether it
+     * only depends on the snippets, the rule base and the type hierarchy. Such an entry holds for
+     * all problems of the proof, but it may still refer to symbols declared for this problem only.
+     *
+     * @param entry a declaration or axiom of this handler
+     * @return true iff the entry has been added as goal-independent
+     */
+    public boolean isGoalIndependent(Writable entry) {
+        return goalIndependent.contains(entry);
+    }
+
     public void addSort(Sort s) {
         sorts.add(s);
     }
@@ -375,13 +417,13 @@ public class MasterHandler {
         if (translationState.containsKey(functionName + ".decls")) {
             String decls = (String) translationState.get(functionName + ".decls");
             VerbatimSMT decl = new VerbatimSMT(decls);
-            addDeclaration(decl);
+            addGoalIndependentDeclaration(decl);
         }
 
         if (translationState.containsKey(functionName + ".axioms")) {
             String axioms = (String) translationState.get(functionName + ".axioms");
             VerbatimSMT ax = new VerbatimSMT(axioms);
-            addAxiom(ax);
+            addGoalIndependentAxiom(ax);
         }
 
         if (translationState.containsKey(functionName + ".deps")) {
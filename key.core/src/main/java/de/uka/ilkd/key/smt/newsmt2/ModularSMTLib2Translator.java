@@ -7,9 +7,13 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
 
 import de.uka.ilkd.key.java.Services;
 import de.uka.ilkd.key.logic.Sequent;
@@ -54,6 +58,12 @@ public class ModularSMTLib2Translator implements SMTTranslator {
      */
     private static final String GET_UNSAT_CORE = "getUnsatCore";
 
+    /**
+     * The comment which starts the declarations and axioms which hold for all problems of a proof.
+     * A {@link de.uka.ilkd.key.smt.communication.SolverSession} asserts them only once.
+     */
+    public static final String GOAL_INDEPENDENT = "; --- Goal-independent declarations and axioms";
+
     /**
      * The smt preamble prepended to smt problems that are created with this translator.
      */
@@ -126,18 +136,20 @@ public class ModularSMTLib2Translator implements SMTTranslator {
         sb.append(preamble);
         sb.append(System.lineSeparator());
 
-        sb.append("; --- Declarations\n");
         extractSortDeclarations(services, master);
-        for (Writable decl : master.getDeclarations()) {
-            decl.appendTo(sb);
-            sb.append("\n");
-        }
+        List<String> declarations = render(master.getDeclarations());
+        List<String> axioms = render(master.getAxioms());
+        boolean[] goalIndependent = goalIndependent(master, declarations, axioms);
+
+        sb.append(GOAL_INDEPENDENT).append("\n");
+        appendEntries(sb, declarations, goalIndependent, 0, true);
+        appendEntries(sb, axioms, goalIndependent, declarations.size(), true);
+
+        sb.append("\n; --- Declarations\n");
+        appendEntries(sb, declarations, goalIndependent, 0, false);
 
         sb.append("\n; --- Axioms\n");
-        for (Writable ax : master.getAxioms()) {
-            ax.appendTo(sb);
-            sb.append("\n");
-        }
+        appendEntries(sb, axioms, goalIndependent, declarations.size(), false);
 
         boolean getUnsatCore = Arrays.asList(handlerOptions).contains(GET_UNSAT_CORE);
         sb.append("\n; --- Sequent\n");
@@ -179,6 +191,71 @@ public class ModularSMTLib2Translator implements SMTTranslator {
         return sb;
     }
 
+    private static List<String> render(List<Writable> entries) {
+        List<String> result = new ArrayList<>(entries.size());
+        for (Writable entry : entries) {
+            StringBuilder sb = new StringBuilder();
+            entry.appendTo(sb);
+            result.add(sb.toString());
+        }
+        return result;
+    }
+
+    /**
+     * Decides which declarations and axioms are emitted in the goal-independent part of the
+     * problem. Those added as goal-independent to the master handler are, unless they refer to a
+     * symbol which is declared for this problem only (e.g., an uninterpreted function occurring in
+     * a taclet axiom). Such entries are moved to the problem specific part, together with the
+     * entries depending on the symbols they declare.
+     *
+     * @param master the master handler which has collected the entries
+     * @param declarations the rendered declarations of the master handler
+     * @param axioms the rendered axioms of the master handler
+     * @return for every declaration and then every axiom, whether it is goal-independent
+     */
+    private static boolean[] goalIndependent(MasterHandler master, List<String> declarations,
+            List<String> axioms) {
+        List<Writable> entries = new ArrayList<>(master.getDeclarations());
+        entries.addAll(master.getAxioms());
+        List<String> rendered = new ArrayList<>(declarations);
+        rendered.addAll(axioms);
+
+        boolean[] result = new boolean[entries.size()];
+        List<Set<String>> symbols = new ArrayList<>(entries.size());
+        Set<String> local = new HashSet<>();
+        for (int i = 0; i < result.length; i++) {
+            result[i] = master.isGoalIndependent(entries.get(i));
+            if (result[i]) {
+                symbols.add(SMTCommands.symbols(rendered.get(i)));
+            } else {
+                symbols.add(Collections.emptySet());
+                local.addAll(SMTCommands.declaredSymbols(rendered.get(i)));
+            }
+        }
+
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int i = 0; i < result.length; i++) {
+                if (result[i] && !Collections.disjoint(symbols.get(i), local)) {
+                    result[i] = false;
+                    local.addAll(SMTCommands.declaredSymbols(rendered.get(i)));
+                    changed = true;
+                }
+            }
+        }
+        return result;
+    }
+
+    private static void appendEntries(StringBuilder sb, List<String> entries,
+            boolean[] goalIndependent, int offset, boolean selected) {
+        for (int i = 0; i < entries.size(); i++) {
+            if (goalIndependent[offset + i] == selected) {
+                sb.append(entries.get(i)).append("\n");
+            }
+        }
+    }
+
     /**
      * precompute the information on the required sources from the translation.
      */
@@ -0,0 +1,144 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.smt.newsmt2;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.jspecify.annotations.NonNull;
+
+/**
+ * Lightweight inspection of SMT-LIB code: splitting it into its top-level commands and finding the
+ * symbols used resp. declared by them. The code is not parsed completely, only comments, string
+ * literals and quoted symbols are taken into account.
+ */
+public final class SMTCommands {
+
+    /** the commands whose first argument is the symbol they declare */
+    private static final Set<String> DECLARING_COMMANDS = Set.of("declare-fun", "declare-const",
+        "define-fun", "define-fun-rec", "declare-sort", "define-sort", "declare-datatype");
+
+    private SMTCommands() {
+    }
+
+    /**
+     * Splits SMT-LIB code into its top-level commands. Comments and whitespace between the
+     * commands are dropped.
+     *
+     * @param smt the SMT-LIB code
+     * @return the commands in the order of their occurrence
+     */
+    public static @NonNull List<String> split(@NonNull CharSequence smt) {
+        List<String> result = new ArrayList<>();
+        int depth = 0;
+        int start = -1;
+        for (int i = 0; i < smt.length(); i++) {
+            char c = smt.charAt(i);
+            switch (c) {
+            case ';' -> i = skipComment(smt, i);
+            case '"', '|' -> i = skipQuoted(smt, i);
+            case '(' -> {
+                if (depth == 0) {
+                    start = i;
+                }
+                depth++;
+            }
+            case ')' -> {
+                depth--;
+                if (depth == 0) {
+                    result.add(smt.subSequence(start, i + 1).toString());
+                }
+            }
+            default -> {
+            }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param smt the SMT-LIB code
+     * @return the symbols (and keywords and literals) occurring in the code outside of comments
+     */
+    public static @NonNull Set<String> symbols(@NonNull CharSequence smt) {
+        return new HashSet<>(tokens(smt));
+    }
+
+    /**
+     * @param smt the SMT-LIB code
+     * @return the symbols declared resp. defined by the top-level commands of the code
+     */
+    public static @NonNull Set<String> declaredSymbols(@NonNull CharSequence smt) {
+        Set<String> result = new HashSet<>();
+        for (String command : split(smt)) {
+            List<String> tokens = tokens(command);
+            if (tokens.size() > 1 && DECLARING_COMMANDS.contains(tokens.get(0))) {
+                result.add(tokens.get(1));
+            }
+        }
+        return result;
+    }
+
+    private static List<String> tokens(CharSequence smt) {
+        List<String> result = new ArrayList<>();
+        int i = 0;
+        while (i < smt.length()) {
+            char c = smt.charAt(i);
+            if (c == ';') {
+                i = skipComment(smt, i) + 1;
+            } else if (c == '"' || c == '|') {
+                int end = skipQuoted(smt, i);
+                result.add(smt.subSequence(i, Math.min(end + 1, smt.length())).toString());
+                i = end + 1;
+            } else if (c == '(' || c == ')' || Character.isWhitespace(c)) {
+                i++;
+            } else {
+                int start = i;
+                while (i < smt.length() && !isDelimiter(smt.charAt(i))) {
+                    i++;
+                }
+                result.add(smt.subSequence(start, i).toString());
+            }
+        }
+        return result;
+    }
+
+    private static boolean isDelimiter(char c) {
+        return c == '(' || c == ')' || c == ';' || c == '"' || c == '|'
+                || Character.isWhitespace(c);
+    }
+
+    /**
+     * @return the index of the end of the line of the comment starting at the given index
+     */
+    private static int skipComment(CharSequence smt, int start) {
+        int i = start;
+        while (i < smt.length() && smt.charAt(i) != '\n') {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * @return the index of the closing quote of the string literal resp. quoted symbol starting
+     *         at the given index (a doubled quote inside a string literal does not close it)
+     */
+    private static int skipQuoted(CharSequence smt, int start) {
+        char quote = smt.charAt(start);
+        int i = start + 1;
+        while (i < smt.length()) {
+            if (smt.charAt(i) == quote) {
+                if (quote == '"' && i + 1 < smt.length() && smt.charAt(i + 1) == '"') {
+                    i += 2;
+                    continue;
+                }
+                return i;
+            }
+            i++;
+        }
+        return i;
+    }
+}
@@ -3,6 +3,8 @@
  * SPDX-License-Identifier: GPL-2.0-only */
 package de.uka.ilkd.key.smt.newsmt2;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
@@ -14,6 +16,7 @@ import de.uka.ilkd.key.logic.sort.NullSort;
 import de.uka.ilkd.key.smt.newsmt2.SExpr.Type;
 
 import org.key_project.logic.sort.Sort;
+import org.key_project.util.cache.Cache;
 
 /**
  * This class contains the outsourced routines for KeY sort definitions and axioms for the modular
@@ -36,17 +39,18 @@ class TypeManager {
     }
 
     /**
-     * Creates a translated type hierarchy from the KeY sorts of the master handler by asserting the
-     * subtype relationship (or its absence).
+     * Creates a translated type hierarchy of the given sorts by asserting the subtype relationship
+     * (or its absence).
      *
-     * @param master the master handler
+     * @param sorts the sorts collected by the master handler
+     * @return the axioms of the type hierarchy
      */
-    private void createSortTypeHierarchy(MasterHandler master, Services services) {
-
-        for (Sort s : master.getSorts()) {
-            Set<Sort> children = directChildSorts(s, master.getSorts(), services);
+    private List<SExpr> createSortTypeHierarchy(Set<Sort> sorts, Services services) {
+        List<SExpr> axioms = new ArrayList<>();
+        for (Sort s : sorts) {
+            Set<Sort> children = directChildSorts(s, sorts, services);
             for (Sort child : children) {
-                master.addAxiom(new SExpr("assert",
+                axioms.add(new SExpr("assert",
                     new SExpr("subtype", SExprs.sortExpr(child), SExprs.sortExpr(s))));
                 for (Sort otherChild : children) {
                     if (!(child.equals(otherChild))
@@ -54,22 +58,23 @@ class TypeManager {
                             && (!child.name().toString().equals("Null"))) {
                         SExpr st = new SExpr("subtype", SExprs.sortExpr(child),
                             SExprs.sortExpr(otherChild));
-                        master.addAxiom(new SExpr("assert", new SExpr("not", st)));
+                        axioms.add(new SExpr("assert", new SExpr("not", st)));
                     }
                 }
             }
         }
 
         // if sort has no direct parents, make it a child of any
-        for (Sort s : master.getSorts()) {
+        for (Sort s : sorts) {
             if (!(s instanceof NullSort) && !(s.equals(JavaDLTheory.ANY))) {
                 if (s.extendsSorts().isEmpty()) {
-                    master.addAxiom(new SExpr("assert",
+                    axioms.add(new SExpr("assert",
                         new SExpr("subtype", SExprs.sortExpr(s),
                             SExprs.sortExpr(JavaDLTheory.ANY))));
                 }
             }
         }
+        return axioms;
     }
 
     /**
@@ -115,7 +120,8 @@ class TypeManager {
         for (Sort s : master.getSorts()) {
             SExpr sortExp = SExprs.sortExpr(s);
             if (!master.isKnownSymbol(sortExp.toString())) {
-                master.addDeclaration(new SExpr("declare-const", sortExp, new SExpr("T")));
+                master.addGoalIndependentDeclaration(
+                    new SExpr("declare-const", sortExp, new SExpr("T")));
                 master.addKnownSymbol(sortExp.toString());
             }
             sortExprs.add(SExprs.sortExpr(s));
@@ -137,13 +143,25 @@ class TypeManager {
 
         // ... which are mutually distinct
         if (master.getSorts().size() > 1) {
-            master.addDeclaration(
+            master.addGoalIndependentDeclaration(
                 new SExpr("assert", Type.BOOL, new SExpr("distinct", Type.BOOL, sortExprs)));
         }
 
         // and have a type hierarchy.
+        // (the hierarchy is cached per proof since many problems share the same sorts)
         if (!HandlerUtil.PROPERTY_NO_TYPE_HIERARCHY.get(services)) {
-            createSortTypeHierarchy(master, services);
+            Cache<Set<Sort>, List<SExpr>> cache =
+                services.getCaches().getSMTTypeHierarchyCache();
+            Set<Sort> sorts = new HashSet<>(master.getSorts());
+            List<SExpr> axioms = cache.get(sorts);
+            if (axioms == null) {
+                axioms = Collections
+                        .unmodifiableList(createSortTypeHierarchy(master.getSorts(), services));
+                cache.put(sorts, axioms);
+            }
+            for (SExpr axiom : axioms) {
+                master.addGoalIndependentAxiom(axiom);
+            }
         }
     }
 }
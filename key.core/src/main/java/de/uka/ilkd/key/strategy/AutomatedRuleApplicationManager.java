@@ -26,6 +26,13 @@ public interface AutomatedRuleApplicationManager extends NewRuleListener {
      */
     RuleApp peekNext();
 
+    /**
+     * Computes the costs of the rule applications {@link #peekNext()} chooses from, without
+     * choosing or instantiating the next rule application. Unlike {@link #peekNext()}, this does
+     * not generate names, hence it may be called for several goals of a proof concurrently.
+     */
+    default void prepareCosts() {}
+
     /**
      * @return the next rule that is supposed to be applied
      */
@@ -81,6 +81,11 @@ public class FocussedRuleApplicationManager
         return delegate.peekNext();
     }
 
+    @Override
+    public void prepareCosts() {
+        delegate.prepareCosts();
+    }
+
     @Override
     public RuleApp next() {
         final RuleApp app = delegate.next();
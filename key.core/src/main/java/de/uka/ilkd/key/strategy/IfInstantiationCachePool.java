@@ -3,112 +3,111 @@
  * SPDX-License-Identifier: GPL-2.0-only */
 package de.uka.ilkd.key.strategy;
 
-import java.util.HashMap;
-import java.util.LinkedHashMap;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock.ReadLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock.WriteLock;
+import java.lang.ref.WeakReference;
 
 import de.uka.ilkd.key.proof.Node;
 import de.uka.ilkd.key.rule.IfFormulaInstantiation;
 
-import org.key_project.util.LRUCache;
+import org.key_project.util.cache.Cache;
 import org.key_project.util.collection.ImmutableArray;
 
+import org.jspecify.annotations.Nullable;
+
 /**
- * Direct-mapped cache of lists of formulas (potential instantiations of if-formulas of taclets)
- * that were modified after a certain point of time
- * <p>
- * Hashmaps of the particular lists of formulas; the keys of the maps is the point of time that
- * separates old from new (modified) formulas
+ * Cache of lists of formulas (potential instantiations of if-formulas of taclets) that were
+ * modified after a certain point of time
  * <p>
- * Keys: Long Values: IList<IfFormulaInstantiation>
+ * The lists are cached per node and semisequent; the key is the point of time that separates old
+ * from new (modified) formulas. The lists of all nodes share one bounded, thread-safe cache whose
+ * entries are weighed by the length of the lists (see {@link #weight(ImmutableArray)}), such that
+ * its capacity limits the number of cached formula references rather than the number of nodes.
+ * The keys only weakly reference their nodes, such that the cache does not keep pruned nodes
+ * alive until their entries are evicted.
  */
 public class IfInstantiationCachePool {
 
-    public final LRUCache<Node, IfInstantiationCache> cacheMgr = new LRUCache<>(10);
-
-    public IfInstantiationCache getCache(Node n) {
-        IfInstantiationCache cache;
-        synchronized (cacheMgr) {
-            cache = cacheMgr.get(n);
-        }
-
-        if (cache != null) {
-            return cache;
-        }
-
-        cache = new IfInstantiationCache();
+    /** the cached lists of formulas */
+    private final Cache<CacheKey, ImmutableArray<IfFormulaInstantiation>> cache;
 
-        IfInstantiationCache cache2;
-        synchronized (cacheMgr) {
-            cache2 = cacheMgr.putIfAbsent(n, cache);
-        }
+    /**
+     * @param cache the cache to store the lists of formulas in; it should weigh its entries by
+     *        {@link #weight(ImmutableArray)}
+     */
+    public IfInstantiationCachePool(
+            Cache<CacheKey, ImmutableArray<IfFormulaInstantiation>> cache) {
+        this.cache = cache;
+    }
 
-        if (cache2 != null) {
-            cache = cache2;
-        }
+    /**
+     * @param formulas a cached list of formulas
+     * @return the weight of the list, which accounts for the list itself and its elements
+     */
+    public static int weight(ImmutableArray<IfFormulaInstantiation> formulas) {
+        return formulas.size() + 1;
+    }
 
-        return cache;
+    public IfInstantiationCache getCache(Node n) {
+        return new IfInstantiationCache(n);
     }
 
     public void releaseAll() {
-        synchronized (cacheMgr) {
-            cacheMgr.clear();
-        }
+        cache.clear();
     }
 
-    public void release(Node n) {
-        IfInstantiationCache cache;
-        synchronized (cacheMgr) {
-            cache = cacheMgr.remove(n);
+    /**
+     * The key of a cached list: the node, the semisequent and the point of time. Nodes are compared
+     * by identity; a key whose node has been garbage collected only equals itself.
+     */
+    public static final class CacheKey {
+        private final WeakReference<Node> node;
+        private final boolean antec;
+        private final long age;
+        private final int hashCode;
+
+        private CacheKey(Node node, boolean antec, long age) {
+            this.node = new WeakReference<>(node);
+            this.antec = antec;
+            this.age = age;
+            this.hashCode = 31 * (31 * System.identityHashCode(node) + Boolean.hashCode(antec))
+                + Long.hashCode(age);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CacheKey other) || hashCode != other.hashCode
+                    || antec != other.antec || age != other.age) {
+                return false;
+            }
+            Node n = node.get();
+            return n != null && n == other.node.get();
         }
-        if (cache != null) {
-            cache.reset();
+
+        @Override
+        public int hashCode() {
+            return hashCode;
         }
     }
 
-    public static class IfInstantiationCache {
-
-        private final HashMap<Long, ImmutableArray<IfFormulaInstantiation>> antecCache =
-            new LinkedHashMap<>();
-        private final HashMap<Long, ImmutableArray<IfFormulaInstantiation>> succCache =
-            new LinkedHashMap<>();
-
-        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
-        private final ReadLock readLock = lock.readLock();
-        private final WriteLock writeLock = lock.writeLock();
-
-        public ImmutableArray<IfFormulaInstantiation> get(boolean antec, Long key) {
-            try {
-                readLock.lock();
-                final HashMap<Long, ImmutableArray<IfFormulaInstantiation>> cache =
-                    antec ? antecCache : succCache;
-                return cache.get(key);
-            } finally {
-                readLock.unlock();
-            }
+    /**
+     * The lists of formulas cached for one node.
+     */
+    public final class IfInstantiationCache {
+
+        private final Node node;
+
+        private IfInstantiationCache(Node node) {
+            this.node = node;
         }
 
-        public void put(boolean antec, Long key, ImmutableArray<IfFormulaInstantiation> value) {
-            final HashMap<Long, ImmutableArray<IfFormulaInstantiation>> cache =
-                antec ? antecCache : succCache;
-            try {
-                writeLock.lock();
-                cache.put(key, value);
-            } finally {
-                writeLock.unlock();
-            }
+        public @Nullable ImmutableArray<IfFormulaInstantiation> get(boolean antec, long key) {
+            return cache.get(new CacheKey(node, antec, key));
         }
 
-        private void reset() {
-            try {
-                writeLock.lock();
-                antecCache.clear();
-                succCache.clear();
-            } finally {
-                writeLock.unlock();
-            }
+        public void put(boolean antec, long key, ImmutableArray<IfFormulaInstantiation> value) {
+            cache.put(new CacheKey(node, antec, key), value);
         }
     }
 }
@@ -3,8 +3,6 @@
  * SPDX-License-Identifier: GPL-2.0-only */
 package de.uka.ilkd.key.strategy;
 
-import java.util.concurrent.atomic.AtomicLong;
-
 import de.uka.ilkd.key.java.Services;
 import de.uka.ilkd.key.ldt.BooleanLDT;
 import de.uka.ilkd.key.ldt.CharListLDT;
@@ -22,8 +20,13 @@ import de.uka.ilkd.key.logic.op.SortDependingFunction;
 import de.uka.ilkd.key.proof.Goal;
 import de.uka.ilkd.key.proof.Proof;
 import de.uka.ilkd.key.proof.rulefilter.SetRuleFilter;
+import de.uka.ilkd.key.prover.metrics.ProverMetrics;
+import de.uka.ilkd.key.prover.metrics.Timer;
+import de.uka.ilkd.key.rule.Rule;
 import de.uka.ilkd.key.rule.RuleApp;
 import de.uka.ilkd.key.rule.UseDependencyContractRule;
+import de.uka.ilkd.key.settings.CacheSettings;
+import de.uka.ilkd.key.settings.ProofIndependentSettings;
 import de.uka.ilkd.key.strategy.feature.*;
 import de.uka.ilkd.key.strategy.feature.findprefix.FindPrefixRestrictionFeature;
 import de.uka.ilkd.key.strategy.quantifierHeuristics.ClausesSmallerThanFeature;
@@ -61,14 +64,16 @@ import de.uka.ilkd.key.strategy.termgenerator.TriggeredInstantiations;
 import de.uka.ilkd.key.util.MiscTools;
 
 import org.key_project.logic.Name;
+import org.key_project.util.cache.Cache;
 
 /**
  * Strategy tailored to be used as long as a java program can be found in the sequent.
  */
 public class JavaCardDLStrategy extends AbstractFeatureStrategy {
-    public static final AtomicLong PERF_COMPUTE = new AtomicLong();
-    public static final AtomicLong PERF_APPROVE = new AtomicLong();
-    public static final AtomicLong PERF_INSTANTIATE = new AtomicLong();
+    public static final Timer PERF_COMPUTE = ProverMetrics.timer("JavaCardDLStrategy compute");
+    public static final Timer PERF_APPROVE = ProverMetrics.timer("JavaCardDLStrategy approve");
+    public static final Timer PERF_INSTANTIATE =
+        ProverMetrics.timer("JavaCardDLStrategy instantiate");
 
     public static final String JAVA_CARD_DL_STRATEGY = "JavaCardDLStrategy";
 
@@ -84,6 +89,16 @@ public class JavaCardDLStrategy extends AbstractFeatureStrategy {
     private final RuleSetDispatchFeature instantiationDispatcher;
     private final Feature instantiationF;
 
+    /*
+     * The features above, specialized for the rules they are evaluated for (see
+     * Feature#specialize). Most of the rule set dispatching and of the rule filters is resolved
+     * once per rule instead of once per rule app. The caches are bounded, as the taclets
+     * introduced during the proof (e.g. by \addrules) are new rules.
+     */
+    private final Cache<Rule, Feature> specializedCostComputationF = createSpecializedCache();
+    private final Cache<Rule, Feature> specializedApprovalF = createSpecializedCache();
+    private final Cache<Rule, Feature> specializedInstantiationF = createSpecializedCache();
+
     private final HeapLDT heapLDT;
 
     private final ArithTermFeatures tf;
@@ -106,10 +121,17 @@ public class JavaCardDLStrategy extends AbstractFeatureStrategy {
         approvalDispatcher = setupApprovalDispatcher();
         instantiationDispatcher = setupInstantiationF();
 
-        costComputationF = setupGlobalF(costComputationDispatcher);
+        // the rule set features are mostly local to the formula, their costs are reused across
+        // goals; the global features (age, duplicates, ...) are evaluated for every goal
+        costComputationF = setupGlobalF(CachedFeature.create(costComputationDispatcher));
         instantiationF = setupGlobalF(instantiationDispatcher);
         approvalF = add(setupApprovalF(), approvalDispatcher);
 
+        if (ProverMetrics.isEnabled()) {
+            costComputationDispatcher.instrument("cost");
+            approvalDispatcher.instrument("approval");
+            instantiationDispatcher.instrument("instantiation");
+        }
     }
 
     protected final RuleSetDispatchFeature getCostComputationDispatcher() {
@@ -2056,9 +2078,14 @@ public class JavaCardDLStrategy extends AbstractFeatureStrategy {
             MutableState mState) {
         var time = System.nanoTime();
         try {
-            return costComputationF.computeCost(app, pio, goal, mState);
+            return specialized(specializedCostComputationF, costComputationF, app.rule())
+                    .computeCost(app, pio, goal, mState);
         } finally {
-            PERF_COMPUTE.addAndGet(System.nanoTime() - time);
+            final long duration = System.nanoTime() - time;
+            PERF_COMPUTE.record(duration);
+            if (ProverMetrics.isEnabled()) {
+                ProverMetrics.costComputed(goal, duration);
+            }
         }
     }
 
@@ -2075,10 +2102,10 @@ public class JavaCardDLStrategy extends AbstractFeatureStrategy {
     public final boolean isApprovedApp(RuleApp app, PosInOccurrence pio, Goal goal) {
         var time = System.nanoTime();
         try {
-            return !(approvalF.computeCost(app, pio, goal,
-                new MutableState()) == TopRuleAppCost.INSTANCE);
+            return !(specialized(specializedApprovalF, approvalF, app.rule())
+                    .computeCost(app, pio, goal, new MutableState()) == TopRuleAppCost.INSTANCE);
         } finally {
-            PERF_APPROVE.addAndGet(System.nanoTime() - time);
+            PERF_APPROVE.record(System.nanoTime() - time);
         }
     }
 
@@ -2087,12 +2114,28 @@ public class JavaCardDLStrategy extends AbstractFeatureStrategy {
             MutableState mState) {
         var time = System.nanoTime();
         try {
-            return instantiationF.computeCost(app, pio, goal, mState);
+            return specialized(specializedInstantiationF, instantiationF, app.rule())
+                    .computeCost(app, pio, goal, mState);
         } finally {
-            PERF_INSTANTIATE.addAndGet(System.nanoTime() - time);
+            PERF_INSTANTIATE.record(System.nanoTime() - time);
         }
     }
 
+    private static Cache<Rule, Feature> createSpecializedCache() {
+        final CacheSettings settings =
+            ProofIndependentSettings.DEFAULT_INSTANCE.getCacheSettings();
+        return settings.getPolicy().create(settings.getSize(CacheSettings.SPECIALIZED_FEATURES));
+    }
+
+    /**
+     * @return the given feature specialized for the given rule, taken from the cache if it has
+     *         been specialized before
+     */
+    private static Feature specialized(Cache<Rule, Feature> cache, Feature feature, Rule rule) {
+        final Feature res = cache.get(rule);
+        return res != null ? res : cache.putIfAbsent(rule, feature.specialize(rule));
+    }
+
     // //////////////////////////////////////////////////////////////////////////
     // //////////////////////////////////////////////////////////////////////////
     //
@@ -4,11 +4,11 @@
 package de.uka.ilkd.key.strategy;
 
 import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.concurrent.atomic.AtomicLong;
 
 import de.uka.ilkd.key.logic.PosInOccurrence;
 import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.prover.metrics.ProverMetrics;
+import de.uka.ilkd.key.prover.metrics.Timer;
 import de.uka.ilkd.key.rule.RuleApp;
 import de.uka.ilkd.key.strategy.feature.Feature;
 
@@ -29,9 +29,11 @@ import org.jspecify.annotations.Nullable;
  * {@link Feature#computeCost(RuleApp, PosInOccurrence, Goal, de.uka.ilkd.key.strategy.feature.MutableState)}).
  */
 public class QueueRuleApplicationManager implements AutomatedRuleApplicationManager {
-    public static final AtomicLong PERF_QUEUE_OPS = new AtomicLong();
-    public static final AtomicLong PERF_PEEK = new AtomicLong();
-    public static final AtomicLong PERF_CREATE_CONTAINER = new AtomicLong();
+    public static final Timer PERF_QUEUE_OPS =
+        ProverMetrics.timer("QueueRuleApplicationManager queue ops");
+    public static final Timer PERF_PEEK = ProverMetrics.timer("QueueRuleApplicationManager peek");
+    public static final Timer PERF_CREATE_CONTAINER =
+        ProverMetrics.timer("QueueRuleApplicationManager create container");
 
     /**
      * The goal this manager belongs to.
@@ -44,6 +46,14 @@ public class QueueRuleApplicationManager implements AutomatedRuleApplicationMana
      */
     private ImmutableHeap<RuleAppContainer> queue = null;
 
+    /**
+     * The {@link RuleAppContainer}s reported since the queue was last used. An update of the rule
+     * app index reports the new apps position by position; the containers are collected here and
+     * merged into {@link #queue} in one step (see {@link #flushPending()}), which builds a heap of
+     * the new containers in linear time instead of inserting them one by one.
+     */
+    private final ArrayList<RuleAppContainer> pending = new ArrayList<>();
+
     /**
      * The minimum {@link RuleAppContainer} from a previous round. It is taken out of queue
      * temporarily and is put back in during the next round. After all, the corresponding rule still
@@ -51,6 +61,12 @@ public class QueueRuleApplicationManager implements AutomatedRuleApplicationMana
      */
     private RuleAppContainer previousMinimum = null;
 
+    /**
+     * The further {@link RuleAppContainer}s created from {@link #previousMinimum} by
+     * {@link #prepareCosts()}, {@code null} if they have not been created yet.
+     */
+    private ImmutableHeap<RuleAppContainer> preparedFurtherApps = null;
+
     /**
      * The next automatic {@link RuleApp} determined by the strategy. Aka result of methods
      * {@link #next()} and {@link #peekNext()}.
@@ -70,7 +86,9 @@ public class QueueRuleApplicationManager implements AutomatedRuleApplicationMana
     @Override
     public void clearCache() {
         queue = null;
+        pending.clear();
         previousMinimum = null;
+        preparedFurtherApps = null;
         if (goal != null) {
             goal.proof().getServices().getCaches().getIfInstantiationCache().releaseAll();
         }
@@ -96,6 +114,7 @@ public class QueueRuleApplicationManager implements AutomatedRuleApplicationMana
 
         queue = ImmutableLeftistHeap.nilHeap();
         previousMinimum = null;
+        preparedFurtherApps = null;
 
         // to support encapsulating rule managers (delegation, like in
         // <code>FocussedRuleApplicationManager</code>) the rule index
@@ -119,10 +138,10 @@ public class QueueRuleApplicationManager implements AutomatedRuleApplicationMana
 
         var time = System.nanoTime();
         RuleAppContainer c = RuleAppContainer.createAppContainer(rule, pos, goal);
-        PERF_CREATE_CONTAINER.addAndGet(System.nanoTime() - time);
+        PERF_CREATE_CONTAINER.record(System.nanoTime() - time);
 
         ensureQueueExists();
-        addRuleApp(c);
+        addPending(c);
     }
 
     /**
@@ -140,43 +159,50 @@ public class QueueRuleApplicationManager implements AutomatedRuleApplicationMana
         var time = System.nanoTime();
         final ImmutableList<RuleAppContainer> containers =
             RuleAppContainer.createAppContainers(rules, pos, goal);
-        PERF_CREATE_CONTAINER.addAndGet(System.nanoTime() - time);
+        PERF_CREATE_CONTAINER.record(System.nanoTime() - time);
         ensureQueueExists();
         for (RuleAppContainer rac : containers) {
-            addRuleApp(rac);
+            addPending(rac);
         }
     }
 
-    private void addRuleApp(RuleAppContainer rac) {
-        var time = System.nanoTime();
-        try {
-            queue = push(rac, queue);
-        } finally {
-            PERF_QUEUE_OPS.addAndGet(System.nanoTime() - time);
+    /**
+     * Remember a new rule app for the heap, provided that the rule app is not infinitely expensive
+     */
+    private void addPending(RuleAppContainer rac) {
+        if (rac.getCost() != TopRuleAppCost.INSTANCE) {
+            pending.add(rac);
         }
     }
 
     /**
-     * Add a number of new rule apps to the heap
+     * Merge the pending rule apps into the heap
      */
-    private static ImmutableHeap<RuleAppContainer> push(Iterator<RuleAppContainer> it,
-            ImmutableHeap<RuleAppContainer> sourceQueue) {
-        while (it.hasNext()) {
-            sourceQueue = push(it.next(), sourceQueue);
+    private void flushPending() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        var time = System.nanoTime();
+        try {
+            queue = queue.insert(pending.iterator());
+            pending.clear();
+        } finally {
+            PERF_QUEUE_OPS.record(System.nanoTime() - time);
         }
-        return sourceQueue;
     }
 
     /**
-     * Add a new rule app to the heap, provided that the rule app is not infinitely expensive
+     * Add a number of new rule apps to the heap, omitting the ones that are infinitely expensive
      */
-    private static ImmutableHeap<RuleAppContainer> push(RuleAppContainer c,
+    private static ImmutableHeap<RuleAppContainer> push(Iterable<RuleAppContainer> containers,
             ImmutableHeap<RuleAppContainer> sourceQueue) {
-        if (c.getCost() == TopRuleAppCost.INSTANCE) {
-            return sourceQueue;
-        } else {
-            return sourceQueue.insert(c);
+        final ArrayList<RuleAppContainer> actualApps = new ArrayList<>();
+        for (RuleAppContainer c : containers) {
+            if (c.getCost() != TopRuleAppCost.INSTANCE) {
+                actualApps.add(c);
+            }
         }
+        return actualApps.isEmpty() ? sourceQueue : sourceQueue.insert(actualApps.iterator());
     }
 
     private static ImmutableHeap<RuleAppContainer> createFurtherApps(
@@ -189,18 +215,11 @@ public class QueueRuleApplicationManager implements AutomatedRuleApplicationMana
             return ImmutableLeftistHeap.nilHeap();
         }
 
-        var actualApps = new ArrayList<RuleAppContainer>(apps.size());
-        for (RuleAppContainer app : apps) {
-            if (app.getCost() == TopRuleAppCost.INSTANCE) {
-                continue;
-            }
-            actualApps.add(app);
-        }
         var time = System.nanoTime();
         try {
-            return ImmutableLeftistHeap.<RuleAppContainer>nilHeap().insert(actualApps.iterator());
+            return push(apps, ImmutableLeftistHeap.nilHeap());
         } finally {
-            PERF_QUEUE_OPS.addAndGet(System.nanoTime() - time);
+            PERF_QUEUE_OPS.record(System.nanoTime() - time);
         }
     }
 
@@ -226,23 +245,45 @@ public class QueueRuleApplicationManager implements AutomatedRuleApplicationMana
                 return nextRuleApp;
             }
 
-            goal.ruleAppIndex().fillCache();
-
-            /*
-             * Create further appcontainers from previous minimum, which was removed from queue in a
-             * previous round.
-             */
-            ImmutableHeap<RuleAppContainer> furtherAppsQueue =
-                createFurtherApps(previousMinimum, goal);
-            previousMinimum = null;
+            prepareFurtherApps();
+            ImmutableHeap<RuleAppContainer> furtherAppsQueue = preparedFurtherApps;
+            preparedFurtherApps = null;
 
             computeNextRuleApp(furtherAppsQueue);
             return nextRuleApp;
         } finally {
-            PERF_PEEK.addAndGet(System.nanoTime() - otime);
+            PERF_PEEK.record(System.nanoTime() - otime);
         }
     }
 
+    /**
+     * Computes the costs of the candidates of {@link #peekNext()} without completing any of them,
+     * i.e. the part of {@link #peekNext()} that does not generate names.
+     */
+    @Override
+    public void prepareCosts() {
+        ensureQueueExists();
+        if (goal == null || nextRuleApp != null && goal.getTime() == nextRuleTime) {
+            return;
+        }
+        prepareFurtherApps();
+    }
+
+    /**
+     * Brings the queue up to date with the rule app index and creates the further app containers
+     * from the previous minimum, which was removed from queue in a previous round.
+     */
+    private void prepareFurtherApps() {
+        goal.ruleAppIndex().fillCache();
+        flushPending();
+
+        final ImmutableHeap<RuleAppContainer> furtherApps =
+            createFurtherApps(previousMinimum, goal);
+        previousMinimum = null;
+        preparedFurtherApps =
+            preparedFurtherApps == null ? furtherApps : preparedFurtherApps.insert(furtherApps);
+    }
+
     /**
      * @return the first applicable rule app, i.e. the least expensive element of the heap that is
      *         not obsolete
@@ -290,7 +331,7 @@ public class QueueRuleApplicationManager implements AutomatedRuleApplicationMana
                     minRuleAppContainer = furtherAppsQueue.findMin();
                     furtherAppsQueue = furtherAppsQueue.deleteMin();
                 } finally {
-                    PERF_QUEUE_OPS.addAndGet(System.nanoTime() - time);
+                    PERF_QUEUE_OPS.record(System.nanoTime() - time);
                 }
             } else if (furtherAppsQueue.isEmpty()) {
                 // Use queue in case furtherAppsQueueUsed is empty.
@@ -300,7 +341,7 @@ public class QueueRuleApplicationManager implements AutomatedRuleApplicationMana
                     minRuleAppContainer = queue.findMin();
                     queue = queue.deleteMin();
                 } finally {
-                    PERF_QUEUE_OPS.addAndGet(System.nanoTime() - time);
+                    PERF_QUEUE_OPS.record(System.nanoTime() - time);
                 }
             } else {
                 // Neither queue is empty. Find a minimum that ranges over both
@@ -319,7 +360,7 @@ public class QueueRuleApplicationManager implements AutomatedRuleApplicationMana
                         minRuleAppContainer = queueMin;
                     }
                 } finally {
-                    PERF_QUEUE_OPS.addAndGet(System.nanoTime() - time);
+                    PERF_QUEUE_OPS.record(System.nanoTime() - time);
                 }
             }
 
@@ -347,10 +388,9 @@ public class QueueRuleApplicationManager implements AutomatedRuleApplicationMana
                     var time = System.nanoTime();
                     try {
                         furtherAppsQueue =
-                            push(minRuleAppContainer.createFurtherApps(goal).iterator(),
-                                furtherAppsQueue);
+                            push(minRuleAppContainer.createFurtherApps(goal), furtherAppsQueue);
                     } finally {
-                        PERF_QUEUE_OPS.addAndGet(System.nanoTime() - time);
+                        PERF_QUEUE_OPS.record(System.nanoTime() - time);
                     }
                 }
             } else {
@@ -369,7 +409,7 @@ public class QueueRuleApplicationManager implements AutomatedRuleApplicationMana
             queue = queue.insert(workingList.iterator());
             queue = queue.insert(furtherAppsQueue);
         } finally {
-            PERF_QUEUE_OPS.addAndGet(System.nanoTime() - time);
+            PERF_QUEUE_OPS.record(System.nanoTime() - time);
         }
     }
 
@@ -380,9 +420,13 @@ public class QueueRuleApplicationManager implements AutomatedRuleApplicationMana
 
     @Override
     public Object clone() {
+        if (queue != null) {
+            flushPending();
+        }
         QueueRuleApplicationManager res = new QueueRuleApplicationManager();
         res.queue = queue;
         res.previousMinimum = previousMinimum;
+        res.preparedFurtherApps = preparedFurtherApps;
         return res;
     }
 
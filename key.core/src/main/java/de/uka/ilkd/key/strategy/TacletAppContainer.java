@@ -3,8 +3,8 @@
  * SPDX-License-Identifier: GPL-2.0-only */
 package de.uka.ilkd.key.strategy;
 
+import java.util.ArrayList;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 
 import de.uka.ilkd.key.java.Services;
@@ -185,7 +185,7 @@ public abstract class TacletAppContainer extends RuleAppContainer {
     protected static ImmutableList<RuleAppContainer> createInitialAppContainers(
             ImmutableList<NoPosTacletApp> p_app, PosInOccurrence p_pio, Goal p_goal) {
 
-        List<RuleAppCost> costs = new LinkedList<>();
+        List<RuleAppCost> costs = new ArrayList<>(p_app.size());
 
         for (NoPosTacletApp app : p_app) {
             costs.add(p_goal.getGoalStrategy().computeCost(app, p_pio, p_goal));
@@ -6,6 +6,7 @@ package de.uka.ilkd.key.strategy.feature;
 import de.uka.ilkd.key.logic.PosInOccurrence;
 import de.uka.ilkd.key.logic.Term;
 import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.rule.Rule;
 import de.uka.ilkd.key.rule.RuleApp;
 import de.uka.ilkd.key.strategy.RuleAppCost;
 import de.uka.ilkd.key.strategy.TopRuleAppCost;
@@ -58,4 +59,11 @@ public class ApplyTFFeature implements Feature {
         return termFeature.compute(te, mState, goal.proof().getServices());
     }
 
+    /**
+     * Term features only depend on the given term, so the dependency is the one of the projection.
+     */
+    @Override
+    public Dependency dependency(Rule rule) {
+        return proj.dependency();
+    }
 }
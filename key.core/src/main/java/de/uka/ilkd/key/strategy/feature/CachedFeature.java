@@ -0,0 +1,140 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.strategy.feature;
+
+import java.util.Objects;
+
+import de.uka.ilkd.key.logic.PosInOccurrence;
+import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.rule.Rule;
+import de.uka.ilkd.key.rule.RuleApp;
+import de.uka.ilkd.key.strategy.RuleAppCost;
+
+import org.key_project.util.cache.Cache;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A feature that memoizes the costs computed by a base feature. The rule app containers are
+ * re-costed whenever they are taken from the queue of a goal, and after a split the siblings
+ * re-cost the same apps on the same formulas. If the base feature declares that the cost of an app
+ * only depends on the app and the formula at its position ({@link Dependency#FORMULA}), the cost is
+ * stored in the proof-wide cache {@link de.uka.ilkd.key.java.ServiceCaches#getRuleAppCostCache()}
+ * and reused on all goals. If the cost also depends on the sequent
+ * ({@link Dependency#SEQUENT}), it is reused as long as the sequent is the same. Costs depending
+ * on the node are always computed.
+ */
+public final class CachedFeature implements Feature {
+
+    /** the base feature */
+    private final Feature feature;
+
+    /**
+     * The dependency of the base feature for the rule it has last been evaluated for. Specialized
+     * features are only evaluated for the rule they are specialized for, so their dependency is
+     * determined once.
+     */
+    private volatile @Nullable RuleDependency last;
+
+    /**
+     * The dependency of a feature for a rule.
+     */
+    private record RuleDependency(Rule rule, Dependency dependency) {
+    }
+
+    private CachedFeature(Feature feature) {
+        this.feature = feature;
+    }
+
+    private CachedFeature(Feature feature, Rule rule) {
+        this.feature = feature;
+        this.last = new RuleDependency(rule, feature.dependency(rule));
+    }
+
+    /**
+     * Create a feature memoizing the base feature.
+     *
+     * @param f the base feature
+     */
+    public static Feature create(Feature f) {
+        return new CachedFeature(f);
+    }
+
+    @Override
+    public RuleAppCost computeCost(RuleApp app, PosInOccurrence pos, Goal goal,
+            MutableState mState) {
+        final Dependency dependency = dependency(app.rule());
+        if (dependency == Dependency.NODE) {
+            return feature.computeCost(app, pos, goal, mState);
+        }
+
+        final Cache<CostKey, RuleAppCost> cache =
+            goal.proof().getServices().getCaches().getRuleAppCostCache();
+        final CostKey key = new CostKey(feature, app, pos,
+            dependency == Dependency.SEQUENT ? goal.sequent() : null);
+        RuleAppCost res = cache.get(key);
+        if (res == null) {
+            res = feature.computeCost(app, pos, goal, mState);
+            cache.put(key, res);
+        }
+        return res;
+    }
+
+    @Override
+    public Feature specialize(Rule rule) {
+        final Feature specialized = feature.specialize(rule);
+        if (specialized == feature) {
+            return this;
+        }
+        // constants are cheaper than a cache lookup
+        return specialized instanceof ConstFeature ? specialized
+                : new CachedFeature(specialized, rule);
+    }
+
+    @Override
+    public Dependency dependency(Rule rule) {
+        RuleDependency d = last;
+        if (d == null || d.rule() != rule) {
+            d = new RuleDependency(rule, feature.dependency(rule));
+            last = d;
+        }
+        return d.dependency();
+    }
+
+    /**
+     * The key of a cached cost. The feature, the rule app and the sequent are compared by
+     * identity, the position by equality (which compares the formulas by identity).
+     */
+    public static final class CostKey {
+        private final Feature feature;
+        private final RuleApp app;
+        private final PosInOccurrence pos;
+        /** the sequent for costs depending on it, null otherwise */
+        private final Object context;
+        private final int hashCode;
+
+        CostKey(Feature feature, RuleApp app, PosInOccurrence pos, Object context) {
+            this.feature = feature;
+            this.app = app;
+            this.pos = pos;
+            this.context = context;
+            this.hashCode = Objects.hash(System.identityHashCode(feature),
+                System.identityHashCode(app), pos, System.identityHashCode(context));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof CostKey other)) {
+                return false;
+            }
+            return feature == other.feature && app == other.app && context == other.context
+                    && Objects.equals(pos, other.pos);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -6,6 +6,7 @@ package de.uka.ilkd.key.strategy.feature;
 import de.uka.ilkd.key.logic.PosInOccurrence;
 import de.uka.ilkd.key.proof.Goal;
 import de.uka.ilkd.key.proof.rulefilter.RuleFilter;
+import de.uka.ilkd.key.rule.Rule;
 import de.uka.ilkd.key.rule.RuleApp;
 import de.uka.ilkd.key.strategy.NumberRuleAppCost;
 import de.uka.ilkd.key.strategy.RuleAppCost;
@@ -93,4 +94,17 @@ public class ConditionalFeature implements Feature {
      * The feature for negative results of <code>filter</code>
      */
     private final Feature elseFeature;
+
+    /**
+     * The condition only depends on the rule, so only one branch is left.
+     */
+    @Override
+    public Feature specialize(Rule rule) {
+        return cond.filter(rule) ? thenFeature.specialize(rule) : elseFeature.specialize(rule);
+    }
+
+    @Override
+    public Dependency dependency(Rule rule) {
+        return cond.filter(rule) ? thenFeature.dependency(rule) : elseFeature.dependency(rule);
+    }
 }
@@ -5,6 +5,7 @@ package de.uka.ilkd.key.strategy.feature;
 
 import de.uka.ilkd.key.logic.PosInOccurrence;
 import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.rule.Rule;
 import de.uka.ilkd.key.rule.RuleApp;
 import de.uka.ilkd.key.strategy.RuleAppCost;
 
@@ -30,4 +31,9 @@ public class ConstFeature implements Feature {
     }
 
     private final RuleAppCost val;
+
+    @Override
+    public Dependency dependency(Rule rule) {
+        return Dependency.FORMULA;
+    }
 }
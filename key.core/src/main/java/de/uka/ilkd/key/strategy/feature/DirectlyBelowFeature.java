@@ -6,6 +6,7 @@ package de.uka.ilkd.key.strategy.feature;
 import de.uka.ilkd.key.logic.PosInOccurrence;
 import de.uka.ilkd.key.logic.op.Operator;
 import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.rule.Rule;
 import de.uka.ilkd.key.rule.RuleApp;
 
 /**
@@ -41,4 +42,8 @@ public abstract class DirectlyBelowFeature extends BinaryFeature {
 
     protected abstract boolean isBadSymbol(Operator op);
 
+    @Override
+    public Dependency dependency(Rule rule) {
+        return Dependency.FORMULA;
+    }
 }
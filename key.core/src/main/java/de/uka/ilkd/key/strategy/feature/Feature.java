@@ -5,14 +5,52 @@ package de.uka.ilkd.key.strategy.feature;
 
 import de.uka.ilkd.key.logic.PosInOccurrence;
 import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.rule.Rule;
 import de.uka.ilkd.key.rule.RuleApp;
 import de.uka.ilkd.key.strategy.RuleAppCost;
 
 /**
  * A {@link Feature} is a class that is able to compute the cost of a {@link RuleApp}.
+ * <p>
+ * A feature declares which part of the proof state its cost depends on (see
+ * {@link #dependency(Rule)}). Costs which only depend on the rule app and the formula at its
+ * position can be reused for the same app on other goals, e.g., on the siblings of a split (see
+ * {@link CachedFeature}).
+ * <p>
+ * Strategies are built as deep trees of features, many parts of which only depend on the rule of
+ * an app. {@link #specialize(Rule)} partially evaluates a feature for a fixed rule: Conditionals on
+ * the rule are resolved and constant parts are folded, such that the remaining tree only contains
+ * the features which actually have to be evaluated for the apps of the rule.
  */
 public interface Feature {
 
+    /**
+     * The part of the proof state the cost of a rule app may depend on. The constants are ordered
+     * from the least to the most dependent.
+     */
+    enum Dependency {
+        /**
+         * the cost depends only on the rule app (its rule and instantiations) and the position of
+         * the app, including the formula at this position
+         */
+        FORMULA,
+        /** the cost may additionally depend on the sequent of the goal */
+        SEQUENT,
+        /**
+         * the cost may depend on anything, e.g., the age of the goal or the rules applied on the
+         * branch
+         */
+        NODE;
+
+        /**
+         * @param other another dependency
+         * @return the larger of both dependencies
+         */
+        public Dependency max(Dependency other) {
+            return compareTo(other) >= 0 ? this : other;
+        }
+    }
+
     /**
      * Evaluate the cost of a <code>RuleApp</code>.
      *
@@ -28,4 +66,28 @@ public interface Feature {
      *         all (it is discarded by the strategy).
      */
     RuleAppCost computeCost(RuleApp app, PosInOccurrence pos, Goal goal, MutableState mState);
+
+    /**
+     * Declares on which part of the proof state the costs of the applications of a rule depend.
+     * The default is {@link Dependency#NODE}, which is always correct; features overriding this
+     * method must not return a smaller dependency than they actually have.
+     *
+     * @param rule the rule of the applications
+     * @return the dependency of the cost of applications of <code>rule</code>
+     */
+    default Dependency dependency(Rule rule) {
+        return Dependency.NODE;
+    }
+
+    /**
+     * Creates a feature which computes the same costs as this feature for all applications of the
+     * given rule, but does not contain the parts of this feature which are irrelevant or constant
+     * for the rule. The default returns this feature; composite features override it.
+     *
+     * @param rule the rule of the applications
+     * @return a feature equivalent to this one for the applications of <code>rule</code>
+     */
+    default Feature specialize(Rule rule) {
+        return this;
+    }
 }
@@ -5,6 +5,7 @@ package de.uka.ilkd.key.strategy.feature;
 
 import de.uka.ilkd.key.logic.PosInOccurrence;
 import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.rule.Rule;
 import de.uka.ilkd.key.rule.RuleApp;
 import de.uka.ilkd.key.strategy.NumberRuleAppCost;
 import de.uka.ilkd.key.strategy.RuleAppCost;
@@ -29,4 +30,8 @@ public class FindDepthFeature implements Feature {
         return NumberRuleAppCost.create(pos == null ? 0 : pos.depth());
     }
 
+    @Override
+    public Dependency dependency(Rule rule) {
+        return Dependency.FORMULA;
+    }
 }
@@ -9,11 +9,12 @@ import de.uka.ilkd.key.logic.PosInOccurrence;
 import de.uka.ilkd.key.logic.Term;
 import de.uka.ilkd.key.logic.op.IfThenElse;
 import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.rule.Rule;
 import de.uka.ilkd.key.rule.RuleApp;
 import de.uka.ilkd.key.strategy.NumberRuleAppCost;
 import de.uka.ilkd.key.strategy.RuleAppCost;
 
-import org.key_project.util.LRUCache;
+import org.key_project.util.cache.Cache;
 
 
 /**
@@ -35,11 +36,9 @@ public class IfThenElseMalusFeature implements Feature {
         final ServiceCaches caches = goal.proof().getServices().getCaches();
 
         RuleAppCost resInt;
-        final LRUCache<PosInOccurrence, RuleAppCost> ifThenElseMalusCache =
+        final Cache<PosInOccurrence, RuleAppCost> ifThenElseMalusCache =
             caches.getIfThenElseMalusCache();
-        synchronized (ifThenElseMalusCache) {
-            resInt = ifThenElseMalusCache.get(pos);
-        }
+        resInt = ifThenElseMalusCache.get(pos);
 
         if (resInt != null) {
             return resInt;
@@ -62,10 +61,13 @@ public class IfThenElseMalusFeature implements Feature {
 
         resInt = NumberRuleAppCost.create(res);
 
-        synchronized (ifThenElseMalusCache) {
-            ifThenElseMalusCache.put(pos, resInt);
-        }
+        ifThenElseMalusCache.put(pos, resInt);
 
         return resInt;
     }
+
+    @Override
+    public Dependency dependency(Rule rule) {
+        return Dependency.FORMULA;
+    }
 }
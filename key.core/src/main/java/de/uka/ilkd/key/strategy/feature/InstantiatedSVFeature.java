@@ -5,6 +5,7 @@ package de.uka.ilkd.key.strategy.feature;
 
 import de.uka.ilkd.key.logic.PosInOccurrence;
 import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.rule.Rule;
 import de.uka.ilkd.key.rule.TacletApp;
 import de.uka.ilkd.key.strategy.termProjection.ProjectionToTerm;
 import de.uka.ilkd.key.strategy.termProjection.SVInstantiationProjection;
@@ -31,4 +32,8 @@ public class InstantiatedSVFeature extends BinaryTacletAppFeature {
         return instProj.toTerm(app, pos, goal, mState) != null;
     }
 
+    @Override
+    public Dependency dependency(Rule rule) {
+        return instProj.dependency();
+    }
 }
@@ -6,6 +6,7 @@ package de.uka.ilkd.key.strategy.feature;
 import de.uka.ilkd.key.logic.PosInOccurrence;
 import de.uka.ilkd.key.logic.Term;
 import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.rule.Rule;
 import de.uka.ilkd.key.rule.RuleApp;
 import de.uka.ilkd.key.strategy.RuleAppCost;
 import de.uka.ilkd.key.strategy.termProjection.ProjectionToTerm;
@@ -44,4 +45,18 @@ public class LetFeature implements Feature {
         return res;
     }
 
+    @Override
+    public Feature specialize(Rule rule) {
+        final Feature specializedBody = body.specialize(rule);
+        if (specializedBody instanceof ConstFeature) {
+            // the value of the variable is not needed
+            return specializedBody;
+        }
+        return specializedBody == body ? this : new LetFeature(var, value, specializedBody);
+    }
+
+    @Override
+    public Dependency dependency(Rule rule) {
+        return value.dependency().max(body.dependency(rule));
+    }
 }
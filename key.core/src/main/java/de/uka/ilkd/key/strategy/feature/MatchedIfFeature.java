@@ -5,6 +5,7 @@ package de.uka.ilkd.key.strategy.feature;
 
 import de.uka.ilkd.key.logic.PosInOccurrence;
 import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.rule.Rule;
 import de.uka.ilkd.key.rule.TacletApp;
 
 /**
@@ -21,4 +22,8 @@ public final class MatchedIfFeature extends BinaryTacletAppFeature {
         return app.ifInstsComplete();
     }
 
+    @Override
+    public Dependency dependency(Rule rule) {
+        return Dependency.FORMULA;
+    }
 }
@@ -3,13 +3,17 @@
  * SPDX-License-Identifier: GPL-2.0-only */
 package de.uka.ilkd.key.strategy.feature;
 
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import de.uka.ilkd.key.logic.PosInOccurrence;
 import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.rule.Rule;
 import de.uka.ilkd.key.rule.RuleApp;
 import de.uka.ilkd.key.rule.RuleSet;
+import de.uka.ilkd.key.rule.Taclet;
 import de.uka.ilkd.key.rule.TacletApp;
 import de.uka.ilkd.key.strategy.NumberRuleAppCost;
 import de.uka.ilkd.key.strategy.RuleAppCost;
@@ -78,6 +82,16 @@ public class RuleSetDispatchFeature implements Feature {
         rulesetToFeature.remove(ruleSet);
     }
 
+    /**
+     * Wraps the features of all rule sets into {@link TimedFeature}s, such that the time spent
+     * for each rule set is recorded in a feature timer named <code>category/ruleSet</code>.
+     *
+     * @param category the prefix of the names of the feature timers
+     */
+    public void instrument(String category) {
+        rulesetToFeature.replaceAll((rs, f) -> TimedFeature.create(category + "/" + rs.name(), f));
+    }
+
     /**
      * Returns the used {@link Feature} for the given {@link RuleSet}.
      *
@@ -88,4 +102,42 @@ public class RuleSetDispatchFeature implements Feature {
     public Feature get(RuleSet ruleSet) {
         return rulesetToFeature.get(ruleSet);
     }
+
+    /**
+     * @return the sum of the specialized features of the rule sets of <code>rule</code>, in the
+     *         order in which they are evaluated by {@link #computeCost}
+     */
+    @Override
+    public Feature specialize(Rule rule) {
+        final List<Feature> partialFs = new ArrayList<>();
+        if (rule instanceof Taclet taclet) {
+            for (RuleSet rs : taclet.getRuleSets()) {
+                final Feature partialF = rulesetToFeature.get(rs);
+                if (partialF != null) {
+                    partialFs.add(partialF);
+                }
+            }
+        }
+        if (partialFs.isEmpty()) {
+            return ConstFeature.createConst(NumberRuleAppCost.getZeroCost());
+        }
+        return SumFeature.createSpecializedSum(partialFs).specialize(rule);
+    }
+
+    /**
+     * @return the largest dependency of the features of the rule sets of <code>rule</code>
+     */
+    @Override
+    public Dependency dependency(Rule rule) {
+        Dependency res = Dependency.FORMULA;
+        if (rule instanceof Taclet taclet) {
+            for (RuleSet rs : taclet.getRuleSets()) {
+                final Feature partialF = rulesetToFeature.get(rs);
+                if (partialF != null) {
+                    res = res.max(partialF.dependency(rule));
+                }
+            }
+        }
+        return res;
+    }
 }
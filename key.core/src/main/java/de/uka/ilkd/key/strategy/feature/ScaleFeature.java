@@ -5,6 +5,7 @@ package de.uka.ilkd.key.strategy.feature;
 
 import de.uka.ilkd.key.logic.PosInOccurrence;
 import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.rule.Rule;
 import de.uka.ilkd.key.rule.RuleApp;
 import de.uka.ilkd.key.strategy.NumberRuleAppCost;
 import de.uka.ilkd.key.strategy.RuleAppCost;
@@ -143,6 +144,11 @@ public abstract class ScaleFeature implements Feature {
         return feature;
     }
 
+    @Override
+    public Dependency dependency(Rule rule) {
+        return feature.dependency(rule);
+    }
+
     protected static boolean isZero(double p) {
         return Math.abs(p) < 0.0000001;
     }
@@ -161,7 +167,20 @@ public abstract class ScaleFeature implements Feature {
 
         public RuleAppCost computeCost(RuleApp app, PosInOccurrence pos, Goal goal,
                 MutableState mState) {
-            final RuleAppCost cost = getFeature().computeCost(app, pos, goal, mState);
+            return scale(getFeature().computeCost(app, pos, goal, mState));
+        }
+
+        @Override
+        public Feature specialize(Rule rule) {
+            final Feature specialized = getFeature().specialize(rule);
+            if (specialized instanceof ConstFeature constF) {
+                return ConstFeature.createConst(scale(constF.getValue()));
+            }
+            return specialized == getFeature() ? this
+                    : new MultFeature(specialized, coeff, offset);
+        }
+
+        private RuleAppCost scale(RuleAppCost cost) {
             long costVal;
 
             if (cost instanceof TopRuleAppCost) {
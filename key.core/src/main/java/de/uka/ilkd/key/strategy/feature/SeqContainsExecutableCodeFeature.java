@@ -9,6 +9,7 @@ import de.uka.ilkd.key.java.Services;
 import de.uka.ilkd.key.logic.PosInOccurrence;
 import de.uka.ilkd.key.logic.SequentFormula;
 import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.rule.Rule;
 import de.uka.ilkd.key.rule.RuleApp;
 import de.uka.ilkd.key.strategy.termfeature.BinaryTermFeature;
 import de.uka.ilkd.key.strategy.termfeature.ContainsExecutableCodeTermFeature;
@@ -46,4 +47,9 @@ public class SeqContainsExecutableCodeFeature extends BinaryFeature {
         }
         return false;
     }
+
+    @Override
+    public Dependency dependency(Rule rule) {
+        return Dependency.SEQUENT;
+    }
 }
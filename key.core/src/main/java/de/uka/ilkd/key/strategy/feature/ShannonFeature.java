@@ -5,6 +5,7 @@ package de.uka.ilkd.key.strategy.feature;
 
 import de.uka.ilkd.key.logic.PosInOccurrence;
 import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.rule.Rule;
 import de.uka.ilkd.key.rule.RuleApp;
 import de.uka.ilkd.key.strategy.NumberRuleAppCost;
 import de.uka.ilkd.key.strategy.RuleAppCost;
@@ -183,4 +184,25 @@ public class ShannonFeature implements Feature {
             NumberRuleAppCost.getZeroCost());
     }
 
+    @Override
+    public Feature specialize(Rule rule) {
+        final Feature specializedCond = cond.specialize(rule);
+        if (specializedCond instanceof ConstFeature constCond) {
+            return constCond.getValue().equals(trueCost) ? thenFeature.specialize(rule)
+                    : elseFeature.specialize(rule);
+        }
+        final Feature specializedThen = thenFeature.specialize(rule);
+        final Feature specializedElse = elseFeature.specialize(rule);
+        if (specializedCond == cond && specializedThen == thenFeature
+                && specializedElse == elseFeature) {
+            return this;
+        }
+        return new ShannonFeature(specializedCond, trueCost, specializedThen, specializedElse);
+    }
+
+    @Override
+    public Dependency dependency(Rule rule) {
+        return cond.dependency(rule).max(thenFeature.dependency(rule))
+                .max(elseFeature.dependency(rule));
+    }
 }
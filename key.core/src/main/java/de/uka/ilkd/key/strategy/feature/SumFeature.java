@@ -3,12 +3,16 @@
  * SPDX-License-Identifier: GPL-2.0-only */
 package de.uka.ilkd.key.strategy.feature;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedHashSet;
+import java.util.List;
 
 import de.uka.ilkd.key.logic.PosInOccurrence;
 import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.rule.Rule;
 import de.uka.ilkd.key.rule.RuleApp;
+import de.uka.ilkd.key.strategy.NumberRuleAppCost;
 import de.uka.ilkd.key.strategy.RuleAppCost;
 import de.uka.ilkd.key.strategy.TopRuleAppCost;
 import de.uka.ilkd.key.util.Debug;
@@ -64,4 +68,55 @@ public class SumFeature implements Feature {
     public String toString() {
         return "SumFeature: " + Arrays.toString(features);
     }
+
+    /**
+     * Specializes the summands and folds the constant ones into a single summand, which is
+     * evaluated first. The order of the other summands is kept, as they may have side effects on
+     * the mutable state and are only evaluated until the first one returns top cost.
+     */
+    @Override
+    public Feature specialize(Rule rule) {
+        RuleAppCost constant = NumberRuleAppCost.getZeroCost();
+        final List<Feature> rest = new ArrayList<>(features.length + 1);
+        for (Feature f : features) {
+            final Feature specialized = f.specialize(rule);
+            if (!(specialized instanceof ConstFeature constF)) {
+                rest.add(specialized);
+            } else if (constF.getValue() instanceof TopRuleAppCost) {
+                if (rest.isEmpty()) {
+                    return specialized;
+                }
+                // the summands after this one are never evaluated
+                rest.add(specialized);
+                break;
+            } else {
+                constant = constant.add(constF.getValue());
+            }
+        }
+        if (rest.isEmpty()) {
+            return ConstFeature.createConst(constant);
+        }
+        if (!constant.equals(NumberRuleAppCost.getZeroCost())) {
+            rest.add(0, ConstFeature.createConst(constant));
+        }
+        return createSpecializedSum(rest);
+    }
+
+    /**
+     * Creates the sum of already specialized features. Unlike {@link #createSum(Feature...)},
+     * features occurring several times are not merged, as they are counted several times by the
+     * sum they have been taken from.
+     */
+    static Feature createSpecializedSum(List<Feature> fs) {
+        return fs.size() == 1 ? fs.get(0) : new SumFeature(fs.toArray(new Feature[0]));
+    }
+
+    @Override
+    public Dependency dependency(Rule rule) {
+        Dependency res = Dependency.FORMULA;
+        for (Feature f : features) {
+            res = res.max(f.dependency(rule));
+        }
+        return res;
+    }
 }
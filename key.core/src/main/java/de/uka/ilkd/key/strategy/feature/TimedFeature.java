@@ -0,0 +1,62 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.strategy.feature;
+
+import de.uka.ilkd.key.logic.PosInOccurrence;
+import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.prover.metrics.ProverMetrics;
+import de.uka.ilkd.key.prover.metrics.Timer;
+import de.uka.ilkd.key.rule.Rule;
+import de.uka.ilkd.key.rule.RuleApp;
+import de.uka.ilkd.key.strategy.RuleAppCost;
+
+/**
+ * A feature that measures the time spent in a base feature and records it in a feature timer of
+ * {@link ProverMetrics}. The result of the base feature is returned unchanged.
+ */
+public class TimedFeature implements Feature {
+
+    /** the base feature */
+    private final Feature feature;
+
+    /** the timer receiving the durations */
+    private final Timer timer;
+
+    private TimedFeature(Feature feature, Timer timer) {
+        this.feature = feature;
+        this.timer = timer;
+    }
+
+    /**
+     * Create a feature measuring the base feature.
+     *
+     * @param name the name of the feature timer
+     * @param f the base feature
+     */
+    public static Feature create(String name, Feature f) {
+        return new TimedFeature(f, ProverMetrics.featureTimer(name));
+    }
+
+    @Override
+    public RuleAppCost computeCost(RuleApp app, PosInOccurrence pos, Goal goal,
+            MutableState mState) {
+        final long time = System.nanoTime();
+        try {
+            return feature.computeCost(app, pos, goal, mState);
+        } finally {
+            timer.record(System.nanoTime() - time);
+        }
+    }
+
+    @Override
+    public Feature specialize(Rule rule) {
+        final Feature specialized = feature.specialize(rule);
+        return specialized == feature ? this : new TimedFeature(specialized, timer);
+    }
+
+    @Override
+    public Dependency dependency(Rule rule) {
+        return feature.dependency(rule);
+    }
+}
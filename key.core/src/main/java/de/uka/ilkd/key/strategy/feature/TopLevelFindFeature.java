@@ -7,6 +7,7 @@ import de.uka.ilkd.key.logic.PIOPathIterator;
 import de.uka.ilkd.key.logic.PosInOccurrence;
 import de.uka.ilkd.key.logic.op.UpdateApplication;
 import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.rule.Rule;
 import de.uka.ilkd.key.rule.TacletApp;
 
 /**
@@ -83,4 +84,8 @@ public abstract class TopLevelFindFeature extends BinaryTacletAppFeature {
 
     protected abstract boolean checkPosition(PosInOccurrence pos);
 
+    @Override
+    public Dependency dependency(Rule rule) {
+        return Dependency.FORMULA;
+    }
 }
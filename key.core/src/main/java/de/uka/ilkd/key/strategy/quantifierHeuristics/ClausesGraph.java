@@ -14,6 +14,7 @@ import de.uka.ilkd.key.logic.op.Operator;
 import de.uka.ilkd.key.logic.op.QuantifiableVariable;
 import de.uka.ilkd.key.logic.op.Quantifier;
 
+import org.key_project.util.cache.Cache;
 import org.key_project.util.collection.DefaultImmutableSet;
 import org.key_project.util.collection.ImmutableSet;
 
@@ -34,16 +35,11 @@ public class ClausesGraph {
     private final ImmutableSet<Term> clauses;
 
     static ClausesGraph create(Term quantifiedFormula, ServiceCaches caches) {
-        final Map<Term, ClausesGraph> graphCache = caches.getGraphCache();
-        ClausesGraph graph;
-        synchronized (graphCache) {
-            graph = graphCache.get(quantifiedFormula);
-        }
+        final Cache<Term, ClausesGraph> graphCache = caches.getGraphCache();
+        ClausesGraph graph = graphCache.get(quantifiedFormula);
         if (graph == null) {
             graph = new ClausesGraph(quantifiedFormula);
-            synchronized (graphCache) {
-                graphCache.put(quantifiedFormula, graph);
-            }
+            graphCache.put(quantifiedFormula, graph);
         }
         return graph;
     }
@@ -25,6 +25,7 @@ import de.uka.ilkd.key.logic.op.QuantifiableVariable;
 import de.uka.ilkd.key.logic.op.Quantifier;
 import de.uka.ilkd.key.logic.op.UpdateApplication;
 
+import org.key_project.util.cache.Cache;
 import org.key_project.util.collection.DefaultImmutableSet;
 import org.key_project.util.collection.ImmutableArray;
 import org.key_project.util.collection.ImmutableSet;
@@ -60,20 +61,14 @@ public class TriggersSet {
     }
 
     static TriggersSet create(Term allTerm, Services services) {
-        final Map<Term, TriggersSet> triggerSetCache = services.getCaches().getTriggerSetCache();
+        final Cache<Term, TriggersSet> triggerSetCache = services.getCaches().getTriggerSetCache();
         allTerm = TermLabelManager.removeIrrelevantLabels(allTerm, services);
-        TriggersSet trs;
-
-        synchronized (triggerSetCache) {
-            trs = triggerSetCache.get(allTerm);
-        }
+        TriggersSet trs = triggerSetCache.get(allTerm);
 
         if (trs == null) {
             // add check whether it is in PCNF
             trs = new TriggersSet(allTerm, services);
-            synchronized (triggerSetCache) {
-                triggerSetCache.put(allTerm, trs);
-            }
+            triggerSetCache.put(allTerm, trs);
         }
         return trs;
     }
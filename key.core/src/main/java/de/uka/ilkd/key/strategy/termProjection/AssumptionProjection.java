@@ -8,6 +8,7 @@ import de.uka.ilkd.key.logic.Term;
 import de.uka.ilkd.key.proof.Goal;
 import de.uka.ilkd.key.rule.RuleApp;
 import de.uka.ilkd.key.rule.TacletApp;
+import de.uka.ilkd.key.strategy.feature.Feature;
 import de.uka.ilkd.key.strategy.feature.MutableState;
 
 
@@ -38,4 +39,9 @@ public class AssumptionProjection implements ProjectionToTerm {
 
         return tapp.ifFormulaInstantiations().take(no).head().getConstrainedFormula().formula();
     }
+
+    @Override
+    public Feature.Dependency dependency() {
+        return Feature.Dependency.FORMULA;
+    }
 }
@@ -7,6 +7,7 @@ import de.uka.ilkd.key.logic.PosInOccurrence;
 import de.uka.ilkd.key.logic.Term;
 import de.uka.ilkd.key.proof.Goal;
 import de.uka.ilkd.key.rule.RuleApp;
+import de.uka.ilkd.key.strategy.feature.Feature;
 import de.uka.ilkd.key.strategy.feature.MutableState;
 
 public class FocusFormulaProjection implements ProjectionToTerm {
@@ -21,4 +22,8 @@ public class FocusFormulaProjection implements ProjectionToTerm {
         return pos.sequentFormula().formula();
     }
 
+    @Override
+    public Feature.Dependency dependency() {
+        return Feature.Dependency.FORMULA;
+    }
 }
@@ -7,6 +7,7 @@ import de.uka.ilkd.key.logic.PosInOccurrence;
 import de.uka.ilkd.key.logic.Term;
 import de.uka.ilkd.key.proof.Goal;
 import de.uka.ilkd.key.rule.RuleApp;
+import de.uka.ilkd.key.strategy.feature.Feature;
 import de.uka.ilkd.key.strategy.feature.MutableState;
 
 /**
@@ -41,4 +42,8 @@ public class FocusProjection implements ProjectionToTerm {
         return pos.subTerm();
     }
 
+    @Override
+    public Feature.Dependency dependency() {
+        return Feature.Dependency.FORMULA;
+    }
 }
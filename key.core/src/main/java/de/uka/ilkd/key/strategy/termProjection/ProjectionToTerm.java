@@ -7,6 +7,7 @@ import de.uka.ilkd.key.logic.PosInOccurrence;
 import de.uka.ilkd.key.logic.Term;
 import de.uka.ilkd.key.proof.Goal;
 import de.uka.ilkd.key.rule.RuleApp;
+import de.uka.ilkd.key.strategy.feature.Feature;
 import de.uka.ilkd.key.strategy.feature.MutableState;
 
 /**
@@ -16,4 +17,14 @@ import de.uka.ilkd.key.strategy.feature.MutableState;
  */
 public interface ProjectionToTerm {
     Term toTerm(RuleApp app, PosInOccurrence pos, Goal goal, MutableState mState);
+
+    /**
+     * Declares on which part of the proof state the projected term depends (see
+     * {@link Feature#dependency(de.uka.ilkd.key.rule.Rule)}).
+     *
+     * @return the dependency of the projected term, {@link Feature.Dependency#NODE} by default
+     */
+    default Feature.Dependency dependency() {
+        return Feature.Dependency.NODE;
+    }
 }
@@ -8,6 +8,7 @@ import de.uka.ilkd.key.logic.Term;
 import de.uka.ilkd.key.proof.Goal;
 import de.uka.ilkd.key.rule.RuleApp;
 import de.uka.ilkd.key.rule.TacletApp;
+import de.uka.ilkd.key.strategy.feature.Feature;
 import de.uka.ilkd.key.strategy.feature.MutableState;
 import de.uka.ilkd.key.util.Debug;
 
@@ -48,5 +49,8 @@ public class SVInstantiationProjection implements ProjectionToTerm {
         return instantiation;
     }
 
-
+    @Override
+    public Feature.Dependency dependency() {
+        return Feature.Dependency.FORMULA;
+    }
 }
@@ -8,6 +8,7 @@ import de.uka.ilkd.key.logic.PosInTerm;
 import de.uka.ilkd.key.logic.Term;
 import de.uka.ilkd.key.proof.Goal;
 import de.uka.ilkd.key.rule.RuleApp;
+import de.uka.ilkd.key.strategy.feature.Feature;
 import de.uka.ilkd.key.strategy.feature.MutableState;
 
 /**
@@ -31,4 +32,9 @@ public class SubtermProjection implements ProjectionToTerm {
     public Term toTerm(RuleApp app, PosInOccurrence pos, Goal goal, MutableState mState) {
         return pit.getSubTerm(completeTerm.toTerm(app, pos, goal, mState));
     }
+
+    @Override
+    public Feature.Dependency dependency() {
+        return completeTerm.dependency();
+    }
 }
@@ -7,6 +7,7 @@ import de.uka.ilkd.key.logic.PosInOccurrence;
 import de.uka.ilkd.key.logic.Term;
 import de.uka.ilkd.key.proof.Goal;
 import de.uka.ilkd.key.rule.RuleApp;
+import de.uka.ilkd.key.strategy.feature.Feature;
 import de.uka.ilkd.key.strategy.feature.MutableState;
 
 /**
@@ -30,4 +31,12 @@ public class TermBuffer implements ProjectionToTerm {
         return getContent(mState);
     }
 
+    /**
+     * The content of a buffer is assigned by the feature binding it, which accounts for the
+     * dependency of the content.
+     */
+    @Override
+    public Feature.Dependency dependency() {
+        return Feature.Dependency.FORMULA;
+    }
 }
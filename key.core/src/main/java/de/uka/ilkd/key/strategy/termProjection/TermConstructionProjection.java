@@ -9,6 +9,7 @@ import de.uka.ilkd.key.logic.op.Modality;
 import de.uka.ilkd.key.logic.op.Operator;
 import de.uka.ilkd.key.proof.Goal;
 import de.uka.ilkd.key.rule.RuleApp;
+import de.uka.ilkd.key.strategy.feature.Feature;
 import de.uka.ilkd.key.strategy.feature.MutableState;
 
 /**
@@ -43,4 +44,12 @@ public class TermConstructionProjection implements ProjectionToTerm {
         return goal.proof().getServices().getTermFactory().createTerm(op, subs, null, null);
     }
 
+    @Override
+    public Feature.Dependency dependency() {
+        Feature.Dependency res = Feature.Dependency.FORMULA;
+        for (ProjectionToTerm sub : subTerms) {
+            res = res.max(sub.dependency());
+        }
+        return res;
+    }
 }
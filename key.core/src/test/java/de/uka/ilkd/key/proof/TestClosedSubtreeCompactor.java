@@ -0,0 +1,96 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.logic.Sequent;
+import de.uka.ilkd.key.proof.io.OutputStreamProofSaver;
+import de.uka.ilkd.key.settings.GeneralSettings;
+
+import org.key_project.util.helper.FindResources;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestClosedSubtreeCompactor {
+    private static final File PROOF = new File(FindResources.getTestCasesDirectory(),
+        "../../../../../key.ui/examples/heap/verifyThis15_1_RelaxedPrefix/relax.proof");
+
+    @AfterEach
+    void resetSettings() {
+        GeneralSettings.compactClosedSubtrees = false;
+        GeneralSettings.noPruningClosed = true;
+    }
+
+    @Test
+    void sequentsAreRebuilt() throws Exception {
+        KeYEnvironment<?> env = KeYEnvironment.load(PROOF);
+        Proof proof = env.getLoadedProof();
+        assertTrue(proof.closed());
+        Map<Node, Sequent> sequents = new HashMap<>();
+        proof.breadthFirstSearch(proof.root(), (p, node) -> sequents.put(node, node.sequent()));
+
+        proof.getCompactor().compact(proof.root());
+
+        int stored = 0;
+        for (Map.Entry<Node, Sequent> e : sequents.entrySet()) {
+            if (e.getKey().storedSequent() != null) {
+                stored++;
+            }
+            assertEquals(e.getValue(), e.getKey().sequent());
+        }
+        assertTrue(stored < sequents.size() / 4);
+        assertNotNull(proof.root().storedSequent());
+        env.dispose();
+    }
+
+    @Test
+    void compactedProofIsUnchanged() throws Exception {
+        KeYEnvironment<?> env = KeYEnvironment.load(PROOF);
+        String expected = proofSteps(env.getLoadedProof());
+        env.dispose();
+
+        // the subtrees are compacted while the proof is replayed
+        GeneralSettings.compactClosedSubtrees = true;
+        env = KeYEnvironment.load(PROOF);
+        Proof proof = env.getLoadedProof();
+        assertTrue(proof.closed());
+        assertNull(proof.root().child(0).storedSequent());
+        assertEquals(expected, proofSteps(proof));
+        env.dispose();
+    }
+
+    @Test
+    void pruningRestoresSequent() throws Exception {
+        GeneralSettings.noPruningClosed = false;
+        GeneralSettings.compactClosedSubtrees = true;
+        KeYEnvironment<?> env = KeYEnvironment.load(PROOF);
+        Proof proof = env.getLoadedProof();
+
+        Node node = proof.root();
+        for (int i = 0; i < ClosedSubtreeCompactor.CHECKPOINT_INTERVAL / 2; i++) {
+            node = node.child(0);
+        }
+        assertNull(node.storedSequent());
+        Sequent sequent = node.sequent();
+
+        proof.pruneProof(node);
+        assertEquals(sequent, node.storedSequent());
+        assertFalse(proof.closed());
+        assertSame(node, proof.openGoals().head().node());
+        env.dispose();
+    }
+
+    private static String proofSteps(Proof proof) throws Exception {
+        StringBuilder sb = new StringBuilder();
+        new OutputStreamProofSaver(proof).node2Proof(proof.root(), sb);
+        return sb.toString();
+    }
+}
@@ -0,0 +1,166 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.java.Services;
+import de.uka.ilkd.key.logic.PosInOccurrence;
+import de.uka.ilkd.key.logic.PosInTerm;
+import de.uka.ilkd.key.logic.SequentFormula;
+import de.uka.ilkd.key.proof.rulefilter.TacletFilter;
+import de.uka.ilkd.key.rule.NoPosTacletApp;
+import de.uka.ilkd.key.rule.Taclet;
+
+import org.key_project.util.collection.ImmutableList;
+import org.key_project.util.helper.FindResources;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestDiscriminationTreeTacletIndex {
+    private static final File PROOF = new File(FindResources.getTestCasesDirectory(),
+        "../../../../../key.ui/examples/heap/verifyThis15_1_RelaxedPrefix/relax.proof");
+
+    /** the number of proof nodes whose sequents are looked up */
+    private static final int NODES = 300;
+
+    @Test
+    void sameTacletsAsDefaultIndex() throws Exception {
+        KeYEnvironment<?> env = KeYEnvironment.load(PROOF);
+        Proof proof = env.getLoadedProof();
+        Services services = proof.getServices();
+        Iterable<Taclet> taclets = proof.getInitConfig().activatedTaclets();
+        TacletIndex expected = new SingleThreadedTacletIndex(taclets);
+        DiscriminationTreeTacletIndex actual = new DiscriminationTreeTacletIndex(taclets);
+
+        List<Node> nodes = new ArrayList<>();
+        proof.breadthFirstSearch(proof.root(), (p, node) -> {
+            if (nodes.size() < NODES) {
+                nodes.add(node);
+            }
+        });
+
+        int pruned = 0;
+        for (Node node : nodes) {
+            for (SequentFormula sf : node.sequent().antecedent()) {
+                pruned += compare(expected, actual,
+                    new PosInOccurrence(sf, PosInTerm.getTopLevel(), true), services);
+            }
+            for (SequentFormula sf : node.sequent().succedent()) {
+                pruned += compare(expected, actual,
+                    new PosInOccurrence(sf, PosInTerm.getTopLevel(), false), services);
+            }
+        }
+        // the trees actually exclude taclets
+        assertTrue(pruned > 0);
+        env.dispose();
+    }
+
+    @Test
+    void copiesAreIndependent() throws Exception {
+        KeYEnvironment<?> env = KeYEnvironment.load(PROOF);
+        Proof proof = env.getLoadedProof();
+        Services services = proof.getServices();
+        DiscriminationTreeTacletIndex index =
+            new DiscriminationTreeTacletIndex(proof.getInitConfig().activatedTaclets());
+        TacletIndex copy = index.copy();
+
+        SequentFormula sf = proof.root().sequent().succedent().getFirst();
+        PosInOccurrence pos = new PosInOccurrence(sf, PosInTerm.getTopLevel(), false);
+        ImmutableList<NoPosTacletApp> apps =
+            copy.getSuccedentTaclet(pos, TacletFilter.TRUE, services);
+        assertFalse(apps.isEmpty());
+        NoPosTacletApp app = index.lookup(apps.head().taclet().name());
+        copy.remove(app);
+
+        assertFalse(names(copy.getSuccedentTaclet(pos, TacletFilter.TRUE, services))
+                .contains(app.taclet().name().toString()));
+        assertTrue(names(index.getSuccedentTaclet(pos, TacletFilter.TRUE, services))
+                .contains(app.taclet().name().toString()));
+        env.dispose();
+    }
+
+    @Test
+    void changedListsAreReindexed() throws Exception {
+        KeYEnvironment<?> env = KeYEnvironment.load(PROOF);
+        Proof proof = env.getLoadedProof();
+        Services services = proof.getServices();
+        Iterable<Taclet> taclets = proof.getInitConfig().activatedTaclets();
+        TacletIndex expected = new SingleThreadedTacletIndex(taclets);
+        DiscriminationTreeTacletIndex actual = new DiscriminationTreeTacletIndex(taclets);
+
+        SequentFormula sf = proof.root().sequent().succedent().getFirst();
+        PosInOccurrence pos = new PosInOccurrence(sf, PosInTerm.getTopLevel(), false);
+        compare(expected, actual, pos, services);
+
+        // several changes of the same lists before the next lookup
+        List<NoPosTacletApp> removed = new ArrayList<>();
+        for (NoPosTacletApp app : actual.getRewriteTaclet(pos.down(0), TacletFilter.TRUE,
+            services)) {
+            if (removed.size() < 3) {
+                removed.add(actual.lookup(app.taclet().name()));
+            }
+        }
+        assertFalse(removed.isEmpty());
+        for (NoPosTacletApp app : removed) {
+            expected.remove(expected.lookup(app.taclet().name()));
+            actual.remove(app);
+        }
+        compare(expected, actual, pos, services);
+
+        for (NoPosTacletApp app : removed) {
+            expected.add(app);
+            actual.add(app);
+        }
+        compare(expected, actual, pos, services);
+        env.dispose();
+    }
+
+    /**
+     * compares the taclets found by both indices at the given position and all positions below
+     *
+     * @return the number of lookups in which the discrimination trees have excluded taclets
+     */
+    private static int compare(TacletIndex expected, DiscriminationTreeTacletIndex actual,
+            PosInOccurrence pos, Services services) {
+        int pruned = 0;
+        if (pos.isTopLevel()) {
+            ImmutableList<NoPosTacletApp> found = pos.isInAntec()
+                    ? actual.getAntecedentTaclet(pos, TacletFilter.TRUE, services)
+                    : actual.getSuccedentTaclet(pos, TacletFilter.TRUE, services);
+            assertEquals(names(pos.isInAntec()
+                    ? expected.getAntecedentTaclet(pos, TacletFilter.TRUE, services)
+                    : expected.getSuccedentTaclet(pos, TacletFilter.TRUE, services)),
+                names(found), pos.subTerm().toString());
+        }
+        assertEquals(names(expected.getRewriteTaclet(pos, TacletFilter.TRUE, services)),
+            names(actual.getRewriteTaclet(pos, TacletFilter.TRUE, services)),
+            pos.subTerm().toString());
+
+        ImmutableList<NoPosTacletApp> bucket = actual.rwList.get(pos.subTerm().op());
+        if (bucket != null && actual.selectCandidates(actual.rwList, pos.subTerm().op(), bucket,
+            pos.subTerm()).size() < bucket.size()) {
+            pruned++;
+        }
+        for (int i = 0; i < pos.subTerm().arity(); i++) {
+            pruned += compare(expected, actual, pos.down(i), services);
+        }
+        return pruned;
+    }
+
+    private static Set<String> names(ImmutableList<NoPosTacletApp> apps) {
+        Set<String> names = new TreeSet<>();
+        for (NoPosTacletApp app : apps) {
+            names.add(app.taclet().name().toString());
+        }
+        return names;
+    }
+}
@@ -4,7 +4,6 @@
 package de.uka.ilkd.key.proof;
 
 import java.io.File;
-import java.util.Map;
 
 import de.uka.ilkd.key.java.ServiceCaches;
 import de.uka.ilkd.key.java.Services;
@@ -20,7 +19,8 @@ import de.uka.ilkd.key.rule.Taclet;
 import de.uka.ilkd.key.rule.TacletForTests;
 import de.uka.ilkd.key.util.HelperClassForTests;
 
-import org.key_project.util.LRUCache;
+import org.key_project.util.cache.Cache;
+import org.key_project.util.cache.ConcurrentLRUCache;
 import org.key_project.util.collection.ImmutableList;
 import org.key_project.util.collection.ImmutableSLList;
 
@@ -83,8 +83,8 @@ public class TestTermTacletAppIndex {
         noCache = null;
     }
 
-    private final Map<CacheKey, TermTacletAppIndex> termTacletAppIndexCache =
-        new LRUCache<>(ServiceCaches.MAX_TERM_TACLET_APP_INDEX_ENTRIES);
+    private final Cache<CacheKey, TermTacletAppIndex> termTacletAppIndexCache =
+        new ConcurrentLRUCache<>(ServiceCaches.MAX_TERM_TACLET_APP_INDEX_ENTRIES);
 
     private TermTacletAppIndexCacheSet realCache =
         new TermTacletAppIndexCacheSet(termTacletAppIndexCache);
@@ -0,0 +1,72 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof.init;
+
+import java.io.File;
+import java.util.Set;
+import java.util.TreeSet;
+
+import de.uka.ilkd.key.control.KeYEnvironment;
+
+import org.key_project.util.helper.FindResources;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestParallelParsing {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TestParallelParsing.class);
+
+    private static final File PROBLEM =
+        new File(FindResources.getTestCasesDirectory(), "dummyTrue.key");
+
+    @AfterEach
+    void restoreDefault() {
+        ProblemInitializer.setParallelParsing(
+            Boolean.parseBoolean(System.getProperty("key.parallelParsing", "true")));
+    }
+
+    @Test
+    void parallelParsingBuildsSameTacletBase() throws Exception {
+        // warm up class loading and the JIT, such that the measurements are comparable
+        load(true);
+
+        long start = System.nanoTime();
+        Set<String> sequential = load(false);
+        long sequentialTime = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        Set<String> parallel = load(true);
+        long parallelTime = System.nanoTime() - start;
+
+        LOGGER.info("Loading the taclet base took {} ms sequentially, {} ms in parallel",
+            sequentialTime / 1_000_000, parallelTime / 1_000_000);
+        assertFalse(sequential.isEmpty());
+        assertEquals(sequential, parallel);
+    }
+
+    /**
+     * Loads the problem with a new profile instance, such that the taclet base is not taken from
+     * the cache of the {@link ProblemInitializer}.
+     *
+     * @return the names of the taclets and sorts of the taclet base
+     */
+    private static Set<String> load(boolean parallel) throws Exception {
+        ProblemInitializer.setParallelParsing(parallel);
+        KeYEnvironment<?> env =
+            KeYEnvironment.load(new JavaProfile(), PROBLEM, null, null, null, true);
+        try {
+            InitConfig config = env.getLoadedProof().getInitConfig();
+            Set<String> names = new TreeSet<>();
+            config.getTaclets().forEach(t -> names.add("taclet " + t.name()));
+            config.namespaces().sorts().allElements().forEach(s -> names.add("sort " + s.name()));
+            return names;
+        } finally {
+            env.dispose();
+        }
+    }
+}
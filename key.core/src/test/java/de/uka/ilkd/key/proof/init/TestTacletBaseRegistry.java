@@ -0,0 +1,94 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof.init;
+
+import java.io.File;
+import java.lang.ref.Reference;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.proof.TacletIndex;
+import de.uka.ilkd.key.rule.NoPosTacletApp;
+import de.uka.ilkd.key.rule.Taclet;
+
+import org.key_project.logic.Name;
+import org.key_project.util.collection.DefaultImmutableSet;
+import org.key_project.util.collection.ImmutableList;
+import org.key_project.util.helper.FindResources;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestTacletBaseRegistry {
+    private static final File PROBLEM =
+        new File(FindResources.getTestCasesDirectory(), "dummyTrue.key");
+
+    @Test
+    void proofsShareTacletBase() throws Exception {
+        KeYEnvironment<?> env1 = KeYEnvironment.load(PROBLEM);
+        KeYEnvironment<?> env2 = KeYEnvironment.load(PROBLEM);
+        Proof p1 = env1.getLoadedProof();
+        Proof p2 = env2.getLoadedProof();
+        assertNotSame(p1.getInitConfig(), p2.getInitConfig());
+
+        Taclet andLeft = p1.getInitConfig().lookupActiveTaclet(new Name("andLeft"));
+        assertNotNull(andLeft);
+        assertSame(andLeft, p2.getInitConfig().lookupActiveTaclet(new Name("andLeft")));
+
+        TacletIndex index1 = p1.openGoals().head().indexOfTaclets();
+        TacletIndex index2 = p2.openGoals().head().indexOfTaclets();
+        assertNotSame(index1, index2);
+        NoPosTacletApp app = index1.lookup("andLeft");
+        assertSame(app, index2.lookup("andLeft"));
+
+        // the indices are still independent of each other
+        index1.remove(app);
+        assertNull(index1.lookup("andLeft"));
+        assertSame(app, index2.lookup("andLeft"));
+
+        env1.dispose();
+        env2.dispose();
+    }
+
+    @Test
+    void referencesAreCounted() throws Exception {
+        KeYEnvironment<?> env = KeYEnvironment.load(PROBLEM);
+        // a new list, which is not used by any configuration
+        ImmutableList<Taclet> taclets = env.getLoadedProof().getInitConfig().getTaclets()
+                .prepend(env.getLoadedProof().getInitConfig().getTaclets().head());
+        env.dispose();
+
+        AtomicInteger computed = new AtomicInteger();
+        Supplier<Map<Name, Taclet>> activate = () -> {
+            computed.incrementAndGet();
+            return Map.of();
+        };
+        Object owner1 = new Object();
+        Object owner2 = new Object();
+        TacletBaseRegistry.Reference r1 =
+            TacletBaseRegistry.acquire(owner1, taclets, DefaultImmutableSet.nil(), activate);
+        TacletBaseRegistry.Reference r2 =
+            TacletBaseRegistry.acquire(owner2, taclets, DefaultImmutableSet.nil(), activate);
+        assertSame(r1.base(), r2.base());
+        assertEquals(1, computed.get());
+
+        r1.release();
+        r1.release();
+        assertTrue(TacletBaseRegistry.registered().contains(r1.base()));
+        r2.release();
+        assertFalse(TacletBaseRegistry.registered().contains(r1.base()));
+
+        TacletBaseRegistry.Reference r3 =
+            TacletBaseRegistry.acquire(owner1, taclets, DefaultImmutableSet.nil(), activate);
+        assertNotSame(r1.base(), r3.base());
+        assertEquals(2, computed.get());
+        r3.release();
+        Reference.reachabilityFence(owner1);
+        Reference.reachabilityFence(owner2);
+    }
+}
@@ -0,0 +1,270 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof.io;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.nparser.ProofReplayer;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.proof.io.intermediate.AppNodeIntermediate;
+import de.uka.ilkd.key.proof.io.intermediate.BranchNodeIntermediate;
+import de.uka.ilkd.key.proof.io.intermediate.NodeIntermediate;
+
+import org.antlr.v4.runtime.CharStreams;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestBinaryProofFormat {
+    /** the stamp of the binary files not belonging to a textual proof file */
+    private static final BinaryProofFormat.TextFileStamp STAMP =
+        new BinaryProofFormat.TextFileStamp("fingerprint", 0, 0, 0);
+
+    private static final String STEPS = """
+            (keyLog "0" (keyUser "user" ) (keyVersion "n/a"))
+
+            (autoModeTime "42")
+
+            (branch "dummy ID"
+            (rule "impRight" (formula "1") (newnames "f_0,o_0") (userinteraction))
+            (rule "andLeft" (formula "1") (inst "t=a \\\\ b \\"c\\"") (notes "(not a paren"))
+            (branch
+               (builtin "One Step Simplification" (formula "2") (ifInst "" (formula "1")))
+               (opengoal "==> ")
+            )
+            (branch "Case \\"2\\""
+               (rule "closeTrue" (formula "1") (proofscript))
+            )
+            )
+            """;
+
+    /** records the events passed to it */
+    private static class Recorder implements IProofFileParser {
+        final List<String> events = new ArrayList<>();
+
+        @Override
+        public void beginExpr(ProofElementID eid, String str) {
+            events.add("begin " + eid + " " + str);
+        }
+
+        @Override
+        public void endExpr(ProofElementID eid, int stringLiteralLine) {
+            events.add("end " + eid + " " + stringLiteralLine);
+        }
+
+        @Override
+        public String getStatus() {
+            return "";
+        }
+
+        @Override
+        public List<Throwable> getErrors() {
+            return List.of();
+        }
+    }
+
+    @Test
+    void eventsMatchTextualFormat(@TempDir Path tmp) throws Exception {
+        Recorder text = new Recorder();
+        ProofReplayer.run(CharStreams.fromString(STEPS), text, 0, null);
+
+        File binary = tmp.resolve("steps.bin").toFile();
+        try (BinaryProofWriter writer = new BinaryProofWriter(binary, STAMP)) {
+            writer.append(STEPS);
+        }
+        Recorder bin = new Recorder();
+        readBinary(binary, bin);
+
+        assertFalse(text.events.isEmpty());
+        assertEquals(text.events, bin.events);
+    }
+
+    @Test
+    void largeBranchesAreReadLazily(@TempDir Path tmp) throws Exception {
+        StringBuilder steps = new StringBuilder("(branch \"dummy ID\"\n(rule \"split\")\n");
+        for (int b = 0; b < 3; b++) {
+            steps.append("(branch \"Case ").append(b).append("\"\n");
+            int rules = BinaryProofReader.LAZY_THRESHOLD / 10 * (b + 1);
+            for (int i = 0; i < rules; i++) {
+                steps.append("(rule \"r").append(i % 100).append("\" (formula \"1\"))\n");
+            }
+            steps.append(")\n");
+        }
+        steps.append(")\n");
+
+        IntermediatePresentationProofFileParser text =
+            new IntermediatePresentationProofFileParser(null);
+        ProofReplayer.run(CharStreams.fromString(steps.toString()), text, 0, null);
+
+        File binary = tmp.resolve("steps.bin").toFile();
+        try (BinaryProofWriter writer = new BinaryProofWriter(binary, STAMP)) {
+            writer.append(steps);
+        }
+        IntermediatePresentationProofFileParser bin =
+            new IntermediatePresentationProofFileParser(null);
+        readBinary(binary, bin);
+
+        BranchNodeIntermediate root = bin.getParsedResult();
+        NodeIntermediate split = root.getChildren().getFirst();
+        assertEquals(3, split.getChildren().size());
+        for (NodeIntermediate branch : split.getChildren()) {
+            assertNotEquals(BranchNodeIntermediate.class, branch.getClass());
+        }
+        // the size of the tree is known without reading the branches
+        assertEquals(text.getParsedResult().countAllChildren(), root.countAllChildren());
+
+        assertEquals(dump(text.getParsedResult()), dump(root));
+        assertTrue(bin.getErrors().isEmpty());
+    }
+
+    @Test
+    void proofRoundTrip(@TempDir Path tmp) throws Exception {
+        Path problem = tmp.resolve("keyBinaryTest.key");
+        try (InputStream in = getClass().getResourceAsStream("keyZipTest.key")) {
+            Files.copy(in, problem);
+        }
+        KeYEnvironment<?> env = KeYEnvironment.load(problem.toFile());
+        Proof proof = env.getLoadedProof();
+        env.getProofControl().startAndWaitForAutoMode(proof);
+        assertTrue(proof.closed());
+        int nodes = proof.countNodes();
+
+        File file = tmp.resolve("keyBinaryTest.proof").toFile();
+        assertNull(new BinaryProofSaver(proof, file, BinaryProofSaver.Mode.ONLY).save());
+        env.dispose();
+        assertTrue(BinaryProofFormat.binaryFileOf(file).isFile());
+        assertFalse(Files.readString(file.toPath()).contains("\\proof {"));
+        assertTrue(BinaryProofFormat.isStepsOnly(file));
+
+        env = KeYEnvironment.load(file);
+        Proof loaded = env.getLoadedProof();
+        assertTrue(loaded.closed());
+        assertEquals(nodes, loaded.countNodes());
+        env.dispose();
+
+        // the binary file does not belong to the modified proof file anymore
+        Files.writeString(file.toPath(), "\n", StandardOpenOption.APPEND);
+        assertLoadingFails(file);
+
+        // the binary file is missing
+        Files.delete(BinaryProofFormat.binaryFileOf(file).toPath());
+        assertLoadingFails(file);
+    }
+
+    @Test
+    void outdatedSidecarIsIgnored(@TempDir Path tmp) throws Exception {
+        Path problem = tmp.resolve("keyBinaryTest.key");
+        try (InputStream in = getClass().getResourceAsStream("keyZipTest.key")) {
+            Files.copy(in, problem);
+        }
+        KeYEnvironment<?> env = KeYEnvironment.load(problem.toFile());
+        Proof proof = env.getLoadedProof();
+        env.getProofControl().startAndWaitForAutoMode(proof);
+        int nodes = proof.countNodes();
+
+        File file = tmp.resolve("keyBinaryTest.proof").toFile();
+        assertNull(new BinaryProofSaver(proof, file, BinaryProofSaver.Mode.SIDECAR).save());
+        env.dispose();
+        assertFalse(BinaryProofFormat.isStepsOnly(file));
+
+        // the textual file contains the steps, so they are read from there
+        Files.writeString(file.toPath(), "\n", StandardOpenOption.APPEND);
+        env = KeYEnvironment.load(file);
+        assertTrue(env.getLoadedProof().closed());
+        assertEquals(nodes, env.getLoadedProof().countNodes());
+        env.dispose();
+    }
+
+    @Test
+    void onlyHeaderIsParsedWithSidecar(@TempDir Path tmp) throws Exception {
+        Path problem = tmp.resolve("keyBinaryTest.key");
+        try (InputStream in = getClass().getResourceAsStream("keyZipTest.key")) {
+            Files.copy(in, problem);
+        }
+        KeYEnvironment<?> env = KeYEnvironment.load(problem.toFile());
+        Proof proof = env.getLoadedProof();
+        env.getProofControl().startAndWaitForAutoMode(proof);
+        int nodes = proof.countNodes();
+
+        File file = tmp.resolve("keyBinaryTest.proof").toFile();
+        assertNull(new BinaryProofSaver(proof, file, BinaryProofSaver.Mode.SIDECAR).save());
+        env.dispose();
+        String text = Files.readString(file.toPath(), StandardCharsets.UTF_8);
+        long header = text.substring(0, text.indexOf("\\proof {"))
+                .getBytes(StandardCharsets.UTF_8).length;
+        assertEquals(header, BinaryProofReader.headerLength(file));
+
+        // a copied file is recognized by its contents
+        Files.setLastModifiedTime(file.toPath(),
+            FileTime.fromMillis(file.lastModified() - 60_000));
+        assertEquals(header, BinaryProofReader.headerLength(file));
+        env = KeYEnvironment.load(file);
+        assertTrue(env.getLoadedProof().closed());
+        assertEquals(nodes, env.getLoadedProof().countNodes());
+        env.dispose();
+
+        // modified proof steps of the same size are read from the textual file
+        int time = text.indexOf("(autoModeTime \"") + "(autoModeTime \"".length();
+        char digit = text.charAt(time) == '1' ? '2' : '1';
+        Files.writeString(file.toPath(),
+            text.substring(0, time) + digit + text.substring(time + 1), StandardCharsets.UTF_8);
+        assertEquals(-1, BinaryProofReader.headerLength(file));
+        env = KeYEnvironment.load(file);
+        assertTrue(env.getLoadedProof().closed());
+        assertEquals(nodes, env.getLoadedProof().countNodes());
+        env.dispose();
+    }
+
+    /**
+     * Loads a proof file whose steps are stored in a missing or outdated binary file.
+     */
+    private static void assertLoadingFails(File file) throws Exception {
+        KeYEnvironment<?> env = KeYEnvironment.load(file);
+        try {
+            assertTrue(env.getReplayResult().hasErrors());
+            assertTrue(env.getReplayResult().getErrorList().stream()
+                    .anyMatch(e -> String.valueOf(e.getMessage()).contains("binary proof file")),
+                env.getReplayResult().getErrorList().toString());
+            assertEquals(1, env.getLoadedProof().countNodes());
+        } finally {
+            env.dispose();
+        }
+    }
+
+    private static void readBinary(File binary, IProofFileParser prl) throws Exception {
+        // the fingerprint is only checked by readIfAvailable
+        new BinaryProofReader(binary).read(prl);
+    }
+
+    private static String dump(NodeIntermediate node) {
+        StringBuilder sb = new StringBuilder();
+        List<NodeIntermediate> todo = new ArrayList<>(List.of(node));
+        while (!todo.isEmpty()) {
+            NodeIntermediate n = todo.remove(todo.size() - 1);
+            if (n instanceof BranchNodeIntermediate b) {
+                sb.append("(branch ").append(b.getBranchTitle());
+            } else {
+                AppNodeIntermediate a = (AppNodeIntermediate) n;
+                sb.append("(rule ").append(a.getIntermediateRuleApp().getRuleName())
+                        .append(a.getIntermediateRuleApp().getLineNr());
+            }
+            sb.append(n.getChildren().size()).append(')');
+            List<NodeIntermediate> children = new ArrayList<>(n.getChildren());
+            for (int i = children.size() - 1; i >= 0; i--) {
+                todo.add(children.get(i));
+            }
+        }
+        return sb.toString();
+    }
+}
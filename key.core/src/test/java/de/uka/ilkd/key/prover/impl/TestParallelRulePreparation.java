@@ -0,0 +1,66 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.prover.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Collectors;
+
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.proof.io.OutputStreamProofSaver;
+
+import org.key_project.util.helper.FindResources;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that preparing the rule applications of several goals concurrently (see
+ * {@link ApplyStrategy#setParallelism(int)}) does not change the resulting proof.
+ */
+class TestParallelRulePreparation {
+    /** a proof with many branches and loop invariant applications introducing fresh names */
+    private static final File PROBLEM =
+        new File(FindResources.getTestCasesDirectory(), "proofStarter/CC/project.key");
+
+    /** the number of rule applications performed, enough to create several dozen branches */
+    private static final int MAX_STEPS = 4000;
+
+    @Test
+    void proofIsIndependentOfParallelism() throws Exception {
+        String sequential = prove(1);
+        assertEquals(sequential, prove(4));
+        assertEquals(sequential, prove(4));
+    }
+
+    /**
+     * @return the saved proof obtained with the given parallelism, without the lines depending on
+     *         the time and user of the proof attempt
+     */
+    private static String prove(int parallelism) throws Exception {
+        KeYEnvironment<?> env = KeYEnvironment.load(PROBLEM);
+        try {
+            Proof proof = env.getLoadedProof();
+            ApplyStrategy strategy = new ApplyStrategy(
+                proof.getInitConfig().getProfile().getSelectedGoalChooserBuilder().create());
+            strategy.setParallelism(parallelism);
+            proof.setRuleAppIndexToAutoMode();
+            ApplyStrategyInfo info =
+                strategy.start(proof, proof.openGoals(), MAX_STEPS, -1, false);
+            assertFalse(info.isError(), String.valueOf(info.getException()));
+            assertTrue(proof.countBranches() > 1);
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            new OutputStreamProofSaver(proof).save(out);
+            return out.toString(StandardCharsets.UTF_8).lines()
+                    .filter(l -> !l.startsWith("(keyLog") && !l.startsWith("(autoModeTime"))
+                    .collect(Collectors.joining("\n"));
+        } finally {
+            env.dispose();
+        }
+    }
+}
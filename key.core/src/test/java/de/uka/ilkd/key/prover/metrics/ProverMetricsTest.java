@@ -0,0 +1,104 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.prover.metrics;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProverMetricsTest {
+    private boolean enabledBefore;
+
+    @BeforeEach
+    void setUp() {
+        enabledBefore = ProverMetrics.isEnabled();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ProverMetrics.setEnabled(enabledBefore);
+    }
+
+    @Test
+    void disabledTimerOnlyCounts() {
+        ProverMetrics.setEnabled(false);
+        final Timer timer = new Timer("disabled");
+        timer.record(100);
+        timer.record(300);
+        assertEquals(2, timer.getCount());
+        assertEquals(400, timer.getTotalNanos());
+        assertEquals(0, timer.getMaxNanos());
+        assertEquals(0, timer.getPercentileNanos(0.5));
+    }
+
+    @Test
+    void histogramPercentiles() {
+        ProverMetrics.setEnabled(true);
+        final Timer timer = new Timer("enabled");
+        for (int i = 0; i < 90; i++) {
+            timer.record(10);
+        }
+        for (int i = 0; i < 10; i++) {
+            timer.record(5000);
+        }
+        assertEquals(100, timer.getCount());
+        assertEquals(5000, timer.getMaxNanos());
+        // 10 lies in the bucket [8, 16)
+        assertEquals(15, timer.getPercentileNanos(0.5));
+        assertEquals(15, timer.getPercentileNanos(0.9));
+        // 5000 lies in the bucket [4096, 8192), bounded by the maximum
+        assertEquals(5000, timer.getPercentileNanos(0.99));
+
+        timer.reset();
+        assertEquals(0, timer.getCount());
+        assertEquals(0, timer.getPercentileNanos(0.99));
+    }
+
+    @Test
+    void onlyRecentGoalsAreKept() {
+        ProverMetrics.setEnabled(true);
+        ProverMetrics.reset();
+        final int goals = ProverMetrics.MAX_RECENT_GOALS + 10;
+        for (int i = 0; i < goals; i++) {
+            ProverMetrics.createGoalMetrics("bounded", i).ruleApplied(5);
+        }
+        assertEquals(ProverMetrics.MAX_RECENT_GOALS, ProverMetrics.getGoalMetrics().size());
+        assertEquals(10, ProverMetrics.getGoalMetrics().iterator().next().getNodeSerialNr());
+
+        final ProofMetrics proof = ProverMetrics.getProofMetrics().iterator().next();
+        assertEquals("bounded", proof.getProofName());
+        assertEquals(goals, proof.getGoals());
+        assertEquals(goals, proof.getRuleApplications());
+        assertEquals(5L * goals, proof.getRuleApplicationNanos());
+
+        ProverMetrics.reset();
+        assertTrue(ProverMetrics.getGoalMetrics().isEmpty());
+        assertTrue(ProverMetrics.getProofMetrics().isEmpty());
+    }
+
+    @Test
+    void export() throws IOException {
+        ProverMetrics.setEnabled(true);
+        ProverMetrics.featureTimer("cost/test, \"quoted\"").record(42);
+
+        final StringWriter csv = new StringWriter();
+        MetricsExporter.writeCsv(csv);
+        assertTrue(csv.toString().startsWith(MetricsExporter.CSV_HEADER + "\n"));
+        assertTrue(csv.toString().contains("feature,\"cost/test, \"\"quoted\"\"\",1,42,42,42,"),
+            csv.toString());
+
+        final StringWriter json = new StringWriter();
+        MetricsExporter.writeJson(json);
+        assertTrue(json.toString().contains(
+            "{\"name\": \"cost/test, \\\"quoted\\\"\", \"count\": 1, \"totalNs\": 42"),
+            json.toString());
+        assertTrue(json.toString().contains("\"proofs\": ["));
+        assertTrue(json.toString().contains("\"goals\": ["));
+    }
+}
@@ -0,0 +1,93 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.rule.match.vm;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.java.Services;
+import de.uka.ilkd.key.logic.SequentFormula;
+import de.uka.ilkd.key.logic.Term;
+import de.uka.ilkd.key.logic.op.Operator;
+import de.uka.ilkd.key.proof.Node;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.rule.FindTaclet;
+import de.uka.ilkd.key.rule.MatchConditions;
+import de.uka.ilkd.key.rule.Taclet;
+
+import org.key_project.util.helper.FindResources;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CompiledTacletMatchProgramTest {
+    private static final File PROOF = new File(FindResources.getTestCasesDirectory(),
+        "../../../../../key.ui/examples/heap/verifyThis15_1_RelaxedPrefix/relax.proof");
+
+    /** the number of proof nodes whose sequents are matched */
+    private static final int NODES = 40;
+
+    /** an interpreted and a compiled matcher for the same taclet */
+    private record Matchers(Taclet taclet, VMTacletMatcher interpreted,
+            VMTacletMatcher compiled) {
+    }
+
+    @Test
+    public void sameResultsAsInterpreter() throws Exception {
+        KeYEnvironment<?> env = KeYEnvironment.load(PROOF);
+        Proof proof = env.getLoadedProof();
+        Services services = proof.getServices();
+
+        Map<Operator, List<Matchers>> byOp = new HashMap<>();
+        for (Taclet taclet : proof.getInitConfig().activatedTaclets()) {
+            if (taclet instanceof FindTaclet ft) {
+                byOp.computeIfAbsent(ft.find().op(), op -> new ArrayList<>())
+                        .add(new Matchers(taclet, new VMTacletMatcher(taclet, false),
+                            new VMTacletMatcher(taclet, true)));
+            }
+        }
+
+        List<Node> nodes = new ArrayList<>();
+        proof.breadthFirstSearch(proof.root(), (p, node) -> {
+            if (nodes.size() < NODES) {
+                nodes.add(node);
+            }
+        });
+        int matched = 0;
+        for (Node node : nodes) {
+            for (SequentFormula sf : node.sequent()) {
+                matched += compare(sf.formula(), byOp, services);
+            }
+        }
+        assertTrue(matched > 0);
+        env.dispose();
+    }
+
+    private static int compare(Term term, Map<Operator, List<Matchers>> byOp, Services services) {
+        int matched = 0;
+        for (Matchers m : byOp.getOrDefault(term.op(), List.of())) {
+            MatchConditions expected =
+                m.interpreted().matchFind(term, MatchConditions.EMPTY_MATCHCONDITIONS, services);
+            MatchConditions actual =
+                m.compiled().matchFind(term, MatchConditions.EMPTY_MATCHCONDITIONS, services);
+            String msg = m.taclet().name() + " on " + term;
+            if (expected == null) {
+                assertNull(actual, msg);
+            } else {
+                assertNotNull(actual, msg);
+                assertEquals(expected.getInstantiations(), actual.getInstantiations(), msg);
+                matched++;
+            }
+        }
+        for (Term sub : term.subs()) {
+            matched += compare(sub, byOp, services);
+        }
+        return matched;
+    }
+}
@@ -0,0 +1,151 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.smt;
+
+import java.io.File;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.smt.SMTSolver.ReasonOfInterruption;
+import de.uka.ilkd.key.smt.solvertypes.SolverType;
+import de.uka.ilkd.key.smt.solvertypes.SolverTypes;
+
+import org.key_project.util.helper.FindResources;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the translations prepared ahead by {@link SMTSolver#prepare(SMTSettings, Executor)}.
+ */
+class TestPreparedTranslation {
+    private static final File PROBLEM =
+        new File(FindResources.getTestCasesDirectory(), "dummyTrue.key");
+
+    /** an executor which runs its tasks only when asked to */
+    private static class ManualExecutor implements Executor {
+        final List<Runnable> tasks = new ArrayList<>();
+
+        @Override
+        public void execute(Runnable command) {
+            tasks.add(command);
+        }
+
+        void runAll() {
+            tasks.forEach(Runnable::run);
+        }
+    }
+
+    private final AtomicInteger translations = new AtomicInteger();
+    private final CountDownLatch stopped = new CountDownLatch(1);
+    private KeYEnvironment<?> env;
+    private SMTSolverImplementation solver;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        env = KeYEnvironment.load(PROBLEM);
+        Proof proof = env.getLoadedProof();
+        SolverType z3 = SolverTypes.getSolverTypes().stream()
+                .filter(t -> t.getName().equals("Z3")).findFirst().orElseThrow();
+        solver = new SMTSolverImplementation(new SMTProblem(proof.openGoals().head()),
+            new SolverListener() {
+                @Override
+                public void processStarted(SMTSolver solver, SMTProblem problem) {
+                }
+
+                @Override
+                public void processInterrupted(SMTSolver solver, SMTProblem problem,
+                        Throwable e) {
+                }
+
+                @Override
+                public void processStopped(SMTSolver solver, SMTProblem problem) {
+                    stopped.countDown();
+                }
+
+                @Override
+                public void processTimeout(SMTSolver solver, SMTProblem problem) {
+                }
+
+                @Override
+                public void processUser(SMTSolver solver, SMTProblem problem) {
+                }
+            }, proof.getServices(), countingType(z3));
+    }
+
+    @AfterEach
+    void tearDown() {
+        env.dispose();
+    }
+
+    @Test
+    void preparedTranslationIsUsedOnce() throws Exception {
+        ManualExecutor executor = new ManualExecutor();
+        solver.prepare(new SMTTestSettings(), executor);
+        solver.prepare(new SMTTestSettings(), executor);
+        assertEquals(1, executor.tasks.size());
+        executor.runAll();
+        assertEquals(1, translations.get());
+
+        // the solver process cannot be launched, but the translation is done by then
+        solver.start(new SolverTimeout(solver, null), new SMTTestSettings());
+        assertTrue(stopped.await(30, TimeUnit.SECONDS));
+        assertEquals(1, translations.get());
+        assertTrue(solver.getTranslation().contains("(check-sat)"));
+
+        // a started solver is not prepared again
+        solver.prepare(new SMTTestSettings(), executor);
+        assertEquals(1, executor.tasks.size());
+    }
+
+    @Test
+    void interruptedSolverDiscardsTranslation() {
+        ManualExecutor executor = new ManualExecutor();
+        solver.prepare(new SMTTestSettings(), executor);
+        solver.interrupt(ReasonOfInterruption.User);
+
+        // the queued translation has been cancelled
+        executor.runAll();
+        assertEquals(0, translations.get());
+
+        // and is not prepared again
+        solver.prepare(new SMTTestSettings(), executor);
+        assertEquals(1, executor.tasks.size());
+        assertEquals(0, translations.get());
+    }
+
+    /**
+     * @return a solver type behaving like the given one, except that it counts the created
+     *         translators and its solver command does not exist
+     */
+    private SolverType countingType(SolverType delegate) {
+        return (SolverType) Proxy.newProxyInstance(SolverType.class.getClassLoader(),
+            new Class<?>[] { SolverType.class }, (proxy, method, args) -> {
+                switch (method.getName()) {
+                case "createTranslator" -> translations.incrementAndGet();
+                case "getSolverCommand" -> {
+                    return "key-test-no-such-solver";
+                }
+                default -> {
+                }
+                }
+                try {
+                    return method.invoke(delegate, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            });
+    }
+}
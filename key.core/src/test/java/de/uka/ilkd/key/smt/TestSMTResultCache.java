@@ -0,0 +1,61 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.smt;
+
+import java.nio.file.Path;
+
+import de.uka.ilkd.key.smt.SMTSolverResult.ThreeValuedTruth;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestSMTResultCache {
+    private static final SMTResultCache.Entry VALID =
+        new SMTResultCache.Entry(ThreeValuedTruth.VALID, "unsat\n(L_1)\n");
+
+    @Test
+    void keysDependOnSolverAndProblem() {
+        String key = SMTResultCache.key("Z3\nz3 -in\n4.12\n1000", "(check-sat)");
+        assertEquals(key, SMTResultCache.key("Z3\nz3 -in\n4.12\n1000", "(check-sat)"));
+        assertNotEquals(key, SMTResultCache.key("Z3\nz3 -in\n4.12\n2000", "(check-sat)"));
+        assertNotEquals(key, SMTResultCache.key("Z3\nz3 -in\n4.12\n1000", "(check-sat) "));
+    }
+
+    @Test
+    void leastRecentlyUsedEntriesAreEvicted() {
+        SMTResultCache cache = new SMTResultCache(2, null);
+        cache.put("a", VALID);
+        cache.put("b", VALID);
+        assertNotNull(cache.get("a"));
+        cache.put("c", VALID);
+        assertNotNull(cache.get("a"));
+        assertNull(cache.get("b"));
+        assertNotNull(cache.get("c"));
+    }
+
+    @Test
+    void unknownResultsAreNotCached() {
+        SMTResultCache cache = new SMTResultCache(2, null);
+        cache.put("a", new SMTResultCache.Entry(ThreeValuedTruth.UNKNOWN, "unknown\n"));
+        assertNull(cache.get("a"));
+    }
+
+    @Test
+    void entriesAreStoredOnDisk(@TempDir Path dir) {
+        SMTResultCache cache = new SMTResultCache(2, dir);
+        cache.put("a", VALID);
+        cache.put("b", new SMTResultCache.Entry(ThreeValuedTruth.FALSIFIABLE, ""));
+
+        SMTResultCache reloaded = new SMTResultCache(2, dir);
+        assertEquals(VALID, reloaded.get("a"));
+        assertEquals(ThreeValuedTruth.FALSIFIABLE, reloaded.get("b").result());
+        assertNull(reloaded.get("c"));
+
+        reloaded.evictFromDisk(1);
+        reloaded.clear();
+        assertEquals(1, (reloaded.get("a") == null ? 0 : 1) + (reloaded.get("b") == null ? 0 : 1));
+    }
+}
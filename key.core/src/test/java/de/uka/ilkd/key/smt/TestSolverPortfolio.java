@@ -0,0 +1,77 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.smt;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import de.uka.ilkd.key.smt.solvertypes.SolverType;
+import de.uka.ilkd.key.smt.solvertypes.SolverTypes;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestSolverPortfolio {
+    private SolverType first;
+    private SolverType second;
+    private List<SolverType> types;
+
+    @BeforeEach
+    void setUp() {
+        types = new ArrayList<>(SolverTypes.getSolverTypes()).subList(0, 2);
+        first = types.get(0);
+        second = types.get(1);
+    }
+
+    @Test
+    void unknownShapesKeepTheConfiguredOrder() {
+        SolverPortfolio portfolio = new SolverPortfolio();
+        assertEquals(types, portfolio.select("int", types));
+    }
+
+    @Test
+    void winnersAreStartedFirst() {
+        SolverPortfolio portfolio = new SolverPortfolio();
+        portfolio.recordWin("int", second, 10);
+        portfolio.recordLoss("int", first);
+        assertEquals(List.of(second, first), portfolio.select("int", types));
+        assertEquals(types, portfolio.select("heap", types));
+    }
+
+    @Test
+    void solversWhichNeverWinAreSkipped() {
+        SolverPortfolio portfolio = new SolverPortfolio();
+        for (int i = 0; i < SolverPortfolio.MIN_ATTEMPTS; i++) {
+            portfolio.recordLoss("int", first);
+        }
+        // no other solver has won yet
+        assertEquals(List.of(second, first), portfolio.select("int", types));
+        portfolio.recordWin("int", second, 10);
+        assertEquals(List.of(second), portfolio.select("int", types));
+    }
+
+    @Test
+    void skippedSolversAreStillExplored() {
+        SolverPortfolio portfolio = new SolverPortfolio();
+        for (int i = 0; i < SolverPortfolio.MIN_ATTEMPTS; i++) {
+            portfolio.recordLoss("int", first);
+        }
+        portfolio.recordWin("int", second, 10);
+
+        // the skipped solver is run again on every n-th problem
+        for (int i = 1; i < SolverPortfolio.EXPLORATION_INTERVAL; i++) {
+            assertEquals(List.of(second), portfolio.select("int", types));
+        }
+        assertEquals(List.of(second, first), portfolio.select("int", types));
+        assertEquals(List.of(second), portfolio.select("int", types));
+
+        // once it wins, it is not skipped anymore
+        portfolio.recordWin("int", first, 20);
+        for (int i = 0; i < SolverPortfolio.EXPLORATION_INTERVAL; i++) {
+            assertEquals(2, portfolio.select("int", types).size());
+        }
+    }
+}
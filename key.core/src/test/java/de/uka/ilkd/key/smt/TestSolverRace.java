@@ -0,0 +1,312 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.smt;
+
+import java.io.File;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.smt.SMTSolver.ReasonOfInterruption;
+import de.uka.ilkd.key.smt.SMTSolver.SolverState;
+import de.uka.ilkd.key.smt.SMTSolverResult.ThreeValuedTruth;
+import de.uka.ilkd.key.smt.communication.AbstractSolverSocket;
+import de.uka.ilkd.key.smt.solvertypes.SolverType;
+import de.uka.ilkd.key.taclettranslation.assumptions.TacletSetTranslation;
+
+import org.key_project.util.helper.FindResources;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the race of the solvers of a problem in portfolio mode (see {@link SolverPortfolio}).
+ */
+class TestSolverRace {
+    private static final File PROBLEM =
+        new File(FindResources.getTestCasesDirectory(), "dummyTrue.key");
+
+    /** the time the slow solver needs, much longer than the tests are expected to take */
+    private static final long SLOW = 60_000;
+
+    private KeYEnvironment<?> env;
+    private Proof proof;
+
+    /** the solvers the launcher has been notified of as started resp. stopped */
+    private final List<SMTSolver> started = new CopyOnWriteArrayList<>();
+    private final List<SMTSolver> stopped = new CopyOnWriteArrayList<>();
+
+    /** the solvers reported to the launcher listener when the launcher stops */
+    private final List<SMTSolver> finished = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        env = KeYEnvironment.load(PROBLEM);
+        proof = env.getLoadedProof();
+    }
+
+    @AfterEach
+    void tearDown() {
+        env.dispose();
+    }
+
+    @Test
+    void runningSolversAreSuperseded() {
+        SMTProblem problem = new SMTProblem(proof.openGoals().head());
+        // both solvers run at the same time, the slow one is stopped when the fast one answers
+        long start = System.currentTimeMillis();
+        launch(2, problem, type("fast", 50), type("slow", SLOW));
+        assertTrue(System.currentTimeMillis() - start < SLOW);
+
+        FakeSolver fast = solver(problem, "fast");
+        FakeSolver slow = solver(problem, "slow");
+        assertEquals(ReasonOfInterruption.NoInterruption, fast.getReasonOfInterruption());
+        assertEquals(ReasonOfInterruption.Superseded, slow.getReasonOfInterruption());
+        assertEquals(ThreeValuedTruth.VALID, problem.getFinalResult().isValid());
+        assertNotifiedOf(fast, slow);
+    }
+
+    @Test
+    void queuedSolversAreSuperseded() {
+        SMTProblem problem = new SMTProblem(proof.openGoals().head());
+        // only one solver runs at a time, the slow one is never started
+        launch(1, problem, type("fast", 50), type("slow", SLOW));
+
+        FakeSolver slow = solver(problem, "slow");
+        assertEquals(-1, slow.getStartTime());
+        assertEquals(SolverState.Stopped, slow.getState());
+        assertEquals(ReasonOfInterruption.Superseded, slow.getReasonOfInterruption());
+        assertNotifiedOf(solver(problem, "fast"), slow);
+    }
+
+    private void assertNotifiedOf(SMTSolver... solvers) {
+        for (SMTSolver solver : solvers) {
+            assertTrue(started.contains(solver), solver + " not started");
+            assertTrue(stopped.contains(solver), solver + " not stopped");
+            assertTrue(finished.contains(solver), solver + " not finished");
+        }
+        assertEquals(solvers.length, stopped.size());
+    }
+
+    private void launch(int concurrent, SMTProblem problem, SolverType... types) {
+        SMTSettings settings = new SMTTestSettings() {
+            @Override
+            public int getMaxConcurrentProcesses() {
+                return concurrent;
+            }
+        };
+        SolverLauncher launcher = new SolverLauncher(settings) {
+            @Override
+            public void processStarted(SMTSolver solver, SMTProblem p) {
+                started.add(solver);
+                super.processStarted(solver, p);
+            }
+
+            @Override
+            public void processStopped(SMTSolver solver, SMTProblem p) {
+                stopped.add(solver);
+                super.processStopped(solver, p);
+            }
+        };
+        launcher.setPortfolio(true);
+        launcher.addListener(new SolverLauncherListener() {
+            @Override
+            public void launcherStopped(SolverLauncher l, Collection<SMTSolver> solvers) {
+                finished.addAll(solvers);
+            }
+
+            @Override
+            public void launcherStarted(Collection<SMTProblem> problems,
+                    Collection<SolverType> solverTypes, SolverLauncher l) {
+            }
+        });
+        launcher.launch(List.of(types), List.of(problem), proof.getServices());
+    }
+
+    private static FakeSolver solver(SMTProblem problem, String name) {
+        return (FakeSolver) problem.getSolvers().stream()
+                .filter(s -> s.name().startsWith(name)).findFirst().orElseThrow();
+    }
+
+    /**
+     * @return a solver type whose solvers answer valid after the given time; its name is unique,
+     *         such that the shared portfolio statistics do not influence other tests
+     */
+    private static SolverType type(String name, long delay) {
+        String unique = name + " " + System.nanoTime();
+        return (SolverType) Proxy.newProxyInstance(SolverType.class.getClassLoader(),
+            new Class<?>[] { SolverType.class }, (proxy, method, args) -> {
+                return switch (method.getName()) {
+                case "createSolver" -> new FakeSolver((SMTProblem) args[0],
+                    (SolverListener) args[1], (SolverType) proxy, delay);
+                case "getName", "toString" -> unique;
+                case "isInstalled" -> true;
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                default -> throw new UnsupportedOperationException(method.getName());
+                };
+            });
+    }
+
+    /**
+     * A solver which answers valid after a given time, unless it is interrupted before.
+     */
+    private static final class FakeSolver implements SMTSolver {
+        private final SMTProblem problem;
+        private final SolverListener listener;
+        private final SolverType type;
+        private final long delay;
+
+        private volatile SolverState state = SolverState.Waiting;
+        private volatile ReasonOfInterruption reason = ReasonOfInterruption.NoInterruption;
+        private volatile SMTSolverResult result;
+        private volatile long startTime = -1;
+        private long timeout;
+        private Thread thread;
+
+        FakeSolver(SMTProblem problem, SolverListener listener, SolverType type, long delay) {
+            this.problem = problem;
+            this.listener = listener;
+            this.type = type;
+            this.delay = delay;
+        }
+
+        @Override
+        public synchronized void start(SolverTimeout solverTimeout, SMTSettings settings) {
+            startTime = System.currentTimeMillis();
+            state = SolverState.Running;
+            thread = new Thread(() -> {
+                listener.processStarted(this, problem);
+                try {
+                    Thread.sleep(delay);
+                    result = SMTSolverResult.createValidResult(name());
+                } catch (InterruptedException e) {
+                    // stopped by the launcher
+                }
+                state = SolverState.Stopped;
+                solverTimeout.cancel();
+                listener.processStopped(this, problem);
+            }, name());
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        @Override
+        public synchronized void interrupt(ReasonOfInterruption reasonOfInterruption) {
+            reason = reasonOfInterruption;
+            state = SolverState.Stopped;
+            if (thread != null) {
+                thread.interrupt();
+            }
+        }
+
+        @Override
+        public void prepare(SMTSettings settings, Executor executor) {
+        }
+
+        @Override
+        public String name() {
+            return type.getName();
+        }
+
+        @Override
+        public String toString() {
+            return name();
+        }
+
+        @Override
+        public String getTranslation() {
+            return "";
+        }
+
+        @Override
+        public TacletSetTranslation getTacletTranslation() {
+            return null;
+        }
+
+        @Override
+        public SolverType getType() {
+            return type;
+        }
+
+        @Override
+        public SMTProblem getProblem() {
+            return problem;
+        }
+
+        @Override
+        public Throwable getException() {
+            return null;
+        }
+
+        @Override
+        public long getStartTime() {
+            return startTime;
+        }
+
+        @Override
+        public long getTimeout() {
+            return timeout;
+        }
+
+        @Override
+        public void setTimeout(long timeout) {
+            this.timeout = timeout;
+        }
+
+        @Override
+        public SolverState getState() {
+            return state;
+        }
+
+        @Override
+        public boolean wasInterrupted() {
+            return reason != ReasonOfInterruption.NoInterruption;
+        }
+
+        @Override
+        public boolean isRunning() {
+            return state == SolverState.Running;
+        }
+
+        @Override
+        public ReasonOfInterruption getReasonOfInterruption() {
+            return reason;
+        }
+
+        @Override
+        public SMTSolverResult getFinalResult() {
+            SMTSolverResult r = result;
+            return r != null ? r : SMTSolverResult.createUnknownResult(name());
+        }
+
+        @Override
+        public String getRawSolverOutput() {
+            return "";
+        }
+
+        @Override
+        public String getRawSolverInput() {
+            return "";
+        }
+
+        @Override
+        public Collection<Throwable> getExceptionsOfTacletTranslation() {
+            return List.of();
+        }
+
+        @Override
+        public AbstractSolverSocket getSocket() {
+            return null;
+        }
+    }
+}
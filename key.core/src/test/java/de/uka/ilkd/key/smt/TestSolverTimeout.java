@@ -0,0 +1,104 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.smt;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import de.uka.ilkd.key.smt.SMTSolver.ReasonOfInterruption;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the deadlines of solvers, which share one scheduler thread.
+ */
+class TestSolverTimeout {
+    /** the interruptions of the solvers created by {@link #solver(CountDownLatch)} */
+    private final List<ReasonOfInterruption> interruptions = new CopyOnWriteArrayList<>();
+
+    @Test
+    void timeoutInterruptsSolver() throws Exception {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        SolverTimeout timeout = new SolverTimeout(solver(interrupted), null);
+        long before = System.currentTimeMillis();
+        timeout.schedule(50);
+        assertTrue(timeout.scheduledExecutionTime() >= before + 50);
+
+        assertTrue(interrupted.await(10, TimeUnit.SECONDS));
+        assertEquals(List.of(ReasonOfInterruption.Timeout), interruptions);
+        // too late, the solver has been interrupted already
+        assertFalse(timeout.cancel());
+    }
+
+    @Test
+    void cancelledTimeoutsDoNotFire() throws Exception {
+        CountDownLatch interrupted = new CountDownLatch(3);
+        SolverTimeout cancelled = new SolverTimeout(solver(interrupted), null);
+        cancelled.schedule(100);
+        assertTrue(cancelled.cancel());
+        assertFalse(cancelled.cancel());
+
+        // cancelled before being scheduled: never scheduled
+        SolverTimeout early = new SolverTimeout(solver(interrupted), null);
+        assertTrue(early.cancel());
+        early.schedule(100);
+        assertEquals(-1, early.scheduledExecutionTime());
+
+        // a later deadline on the same scheduler still fires, after the cancelled ones
+        SolverTimeout later = new SolverTimeout(solver(interrupted), null);
+        later.schedule(300);
+        assertFalse(interrupted.await(1, TimeUnit.SECONDS));
+        assertEquals(List.of(ReasonOfInterruption.Timeout), interruptions);
+    }
+
+    @Test
+    void deadlinesFireInOrder() throws Exception {
+        CountDownLatch interrupted = new CountDownLatch(2);
+        List<SMTSolver> order = new CopyOnWriteArrayList<>();
+        SMTSolver first = solver(interrupted, order);
+        SMTSolver second = solver(interrupted, order);
+        // scheduled in reverse order on the single scheduler thread
+        new SolverTimeout(second, null).schedule(200);
+        new SolverTimeout(first, null).schedule(50);
+
+        assertTrue(interrupted.await(10, TimeUnit.SECONDS));
+        assertEquals(List.of(first, second), order);
+    }
+
+    private SMTSolver solver(CountDownLatch interrupted) {
+        return solver(interrupted, new CopyOnWriteArrayList<>());
+    }
+
+    /**
+     * @return a solver which records its interruptions
+     */
+    private SMTSolver solver(CountDownLatch interrupted, List<SMTSolver> order) {
+        return (SMTSolver) Proxy.newProxyInstance(SMTSolver.class.getClassLoader(),
+            new Class<?>[] { SMTSolver.class }, (proxy, method, args) -> {
+                switch (method.getName()) {
+                case "interrupt" -> {
+                    interruptions.add((ReasonOfInterruption) args[0]);
+                    order.add((SMTSolver) proxy);
+                    interrupted.countDown();
+                    return null;
+                }
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "toString" -> {
+                    return "solver " + System.identityHashCode(proxy);
+                }
+                default -> throw new UnsupportedOperationException(method.getName());
+                }
+            });
+    }
+}
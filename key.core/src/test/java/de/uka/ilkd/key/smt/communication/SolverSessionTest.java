@@ -0,0 +1,92 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.smt.communication;
+
+import java.io.File;
+
+import de.uka.ilkd.key.smt.newsmt2.ModularSMTLib2Translator;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class SolverSessionTest {
+    /** a "solver" which echoes all commands it receives */
+    private static final String[] CAT = { "cat" };
+
+    private static final String[] DELIMITERS = { "\n", "\r" };
+
+    @Test
+    public void testSplitPreamble() {
+        String problem = "; --- Preamble\n(set-logic ALL)\n; --- Declarations\n(check-sat)";
+        String[] parts = SolverSessionPool.splitPreamble(problem);
+        assertNotNull(parts);
+        assertEquals("; --- Preamble\n(set-logic ALL)\n", parts[0]);
+        assertEquals("", parts[1]);
+        assertEquals("; --- Declarations\n(check-sat)", parts[2]);
+        assertNull(SolverSessionPool.splitPreamble("(check-sat)"));
+
+        problem = "; --- Preamble\n(set-logic ALL)\n"
+            + ModularSMTLib2Translator.GOAL_INDEPENDENT + "\n(declare-const sort_int T)\n"
+            + "; --- Declarations\n(check-sat)";
+        parts = SolverSessionPool.splitPreamble(problem);
+        assertNotNull(parts);
+        assertEquals("; --- Preamble\n(set-logic ALL)\n", parts[0]);
+        assertEquals(
+            ModularSMTLib2Translator.GOAL_INDEPENDENT + "\n(declare-const sort_int T)\n",
+            parts[1]);
+        assertEquals("; --- Declarations\n(check-sat)", parts[2]);
+    }
+
+    @Test
+    public void testSharedCommandsAreSentOnce() throws Exception {
+        assumeTrue(new File("/bin/cat").exists());
+        SolverSession session = SolverSession.start(CAT, DELIMITERS, "(set-logic ALL)");
+        String[] shared = { "; comment\n(declare-const sort_int T)\n(assert (p sort_int))",
+            "(declare-const sort_int T)\n(declare-const sort_any T)" };
+        String[][] expected = { { "(declare-const sort_int T)", "(assert (p sort_int))" },
+            { "(declare-const sort_any T)" } };
+        for (int i = 0; i < shared.length; i++) {
+            Pipe pipe = session.openQuery(new SolverCommunication(), shared[i]);
+            pipe.finishQuery();
+            for (String command : expected[i]) {
+                assertEquals(command, pipe.readMessage());
+            }
+            assertEquals("(push 1)", pipe.readMessage());
+            assertEquals("(pop 1)", pipe.readMessage());
+            assertNull(pipe.readMessage());
+            assertTrue(session.closeQuery());
+        }
+        session.close();
+    }
+
+    @Test
+    public void testQueriesReuseProcess() throws Exception {
+        assumeTrue(new File("/bin/cat").exists());
+        SolverSession session = SolverSession.start(CAT, DELIMITERS, "(set-logic ALL)");
+        for (int i = 0; i < 3; i++) {
+            SolverCommunication sc = new SolverCommunication();
+            Pipe pipe = session.openQuery(sc);
+            pipe.sendMessage("(check-sat)");
+            pipe.finishQuery();
+            assertEquals("(push 1)", pipe.readMessage());
+            assertEquals("(check-sat)", pipe.readMessage());
+            assertEquals("(pop 1)", pipe.readMessage());
+            assertNull(pipe.readMessage());
+            assertTrue(session.closeQuery());
+        }
+        session.close();
+    }
+
+    @Test
+    public void testUnfinishedQueryClosesSession() throws Exception {
+        assumeTrue(new File("/bin/cat").exists());
+        SolverSession session = SolverSession.start(CAT, DELIMITERS, "(set-logic ALL)");
+        Pipe pipe = session.openQuery(new SolverCommunication());
+        pipe.sendMessage("(check-sat)");
+        assertFalse(session.closeQuery());
+        session.close();
+    }
+}
@@ -0,0 +1,87 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.smt.newsmt2;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Set;
+
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.java.ServiceCaches;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.settings.DefaultSMTSettings;
+import de.uka.ilkd.key.settings.ProofIndependentSettings;
+import de.uka.ilkd.key.smt.SMTSettings;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestTranslationCaches {
+
+    @Test
+    public void repeatedTranslationUsesCaches(@TempDir Path dir) throws Exception {
+        Path problem = dir.resolve("heap.key");
+        Files.writeString(problem, """
+                \\functions { Field FF; java.lang.Object o; }
+                \\problem { FF != java.lang.Object::<created>
+                    -> any::select(store(heap, o, FF, 42), o, FF) = 42 }
+                """);
+        KeYEnvironment<?> env = KeYEnvironment.load(problem.toFile());
+        Proof proof = env.getLoadedProof();
+        SMTSettings settings = new DefaultSMTSettings(proof.getSettings().getSMTSettings(),
+            ProofIndependentSettings.DEFAULT_INSTANCE.getSMTSettings(),
+            proof.getSettings().getNewSMTSettings(), proof);
+
+        String first = new ModularSMTLib2Translator()
+                .translateProblem(proof.root().sequent(), env.getServices(), settings).toString();
+        ServiceCaches caches = env.getServices().getCaches();
+        int axioms = caches.getSMTAxiomCache().size();
+        assertTrue(axioms > 0);
+        assertEquals(1, caches.getSMTTypeHierarchyCache().size());
+
+        String second = new ModularSMTLib2Translator()
+                .translateProblem(proof.root().sequent(), env.getServices(), settings).toString();
+        assertEquals(first, second);
+        assertEquals(axioms, caches.getSMTAxiomCache().size());
+        assertEquals(1, caches.getSMTTypeHierarchyCache().size());
+        env.dispose();
+    }
+
+    @Test
+    public void goalIndependentPartDoesNotReferToProblemSymbols(@TempDir Path dir)
+            throws Exception {
+        Path problem = dir.resolve("heap.key");
+        Files.writeString(problem, """
+                \\functions { Field FF; java.lang.Object o; }
+                \\problem { FF != java.lang.Object::<created>
+                    -> any::select(store(heap, o, FF, 42), o, FF) = 42 }
+                """);
+        KeYEnvironment<?> env = KeYEnvironment.load(problem.toFile());
+        Proof proof = env.getLoadedProof();
+        SMTSettings settings = new DefaultSMTSettings(proof.getSettings().getSMTSettings(),
+            ProofIndependentSettings.DEFAULT_INSTANCE.getSMTSettings(),
+            proof.getSettings().getNewSMTSettings(), proof);
+
+        String translation = new ModularSMTLib2Translator()
+                .translateProblem(proof.root().sequent(), env.getServices(), settings).toString();
+        int start = translation.indexOf(ModularSMTLib2Translator.GOAL_INDEPENDENT);
+        int end = translation.indexOf("; --- Declarations");
+        assertTrue(0 < start && start < end);
+        String shared = translation.substring(start, end);
+        String local = translation.substring(end, translation.indexOf("; --- Sequent"));
+
+        // the sort constants and the axioms of the heap functions are shared ...
+        assertTrue(shared.contains("(declare-const sort_Field T)"));
+        assertTrue(SMTCommands.declaredSymbols(shared).contains("k_select"));
+        // ... the symbols of the problem are not
+        Set<String> problemSymbols = SMTCommands.declaredSymbols(local);
+        assertTrue(problemSymbols.contains("u_FF"));
+        assertTrue(problemSymbols.contains("u_o"));
+        assertTrue(Collections.disjoint(problemSymbols, SMTCommands.symbols(shared)));
+        env.dispose();
+    }
+}
@@ -0,0 +1,101 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.strategy;
+
+import java.io.File;
+import java.lang.ref.WeakReference;
+
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.proof.Node;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.rule.IfFormulaInstantiation;
+import de.uka.ilkd.key.strategy.IfInstantiationCachePool.CacheKey;
+import de.uka.ilkd.key.strategy.IfInstantiationCachePool.IfInstantiationCache;
+
+import org.key_project.util.cache.Cache;
+import org.key_project.util.cache.CachePolicy;
+import org.key_project.util.collection.ImmutableArray;
+import org.key_project.util.helper.FindResources;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestIfInstantiationCachePool {
+    private static final File PROBLEM =
+        new File(FindResources.getTestCasesDirectory(), "dummyTrue.key");
+
+    private KeYEnvironment<?> env;
+    private Proof proof;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        env = KeYEnvironment.load(PROBLEM);
+        proof = env.getLoadedProof();
+    }
+
+    @AfterEach
+    void tearDown() {
+        env.dispose();
+    }
+
+    @Test
+    void listsAreCachedPerNodeAndSemisequent() {
+        IfInstantiationCachePool pool = new IfInstantiationCachePool(newCache());
+        ImmutableArray<IfFormulaInstantiation> formulas = formulas(3);
+        pool.getCache(proof.root()).put(true, 7, formulas);
+
+        assertSame(formulas, pool.getCache(proof.root()).get(true, 7));
+        assertNull(pool.getCache(proof.root()).get(false, 7));
+        assertNull(pool.getCache(proof.root()).get(true, 8));
+        assertNull(pool.getCache(new Node(proof)).get(true, 7));
+
+        pool.releaseAll();
+        assertNull(pool.getCache(proof.root()).get(true, 7));
+    }
+
+    @Test
+    void cacheIsBoundedByNumberOfFormulas() {
+        Cache<CacheKey, ImmutableArray<IfFormulaInstantiation>> cache = newCache();
+        IfInstantiationCachePool pool = new IfInstantiationCachePool(cache);
+        IfInstantiationCache nodeCache = pool.getCache(proof.root());
+
+        // each list weighs 10, so only 10 of them fit
+        for (int age = 0; age < 20; age++) {
+            nodeCache.put(true, age, formulas(9));
+        }
+        assertTrue(cache.size() <= 10, "the cache holds " + cache.size() + " lists");
+        assertEquals(20 - cache.size(), cache.getStatistics().evictions());
+        assertNotNull(nodeCache.get(true, 19));
+    }
+
+    @Test
+    void cacheDoesNotRetainNodes() throws InterruptedException {
+        IfInstantiationCachePool pool = new IfInstantiationCachePool(newCache());
+        Node node = new Node(proof);
+        pool.getCache(node).put(true, 0, formulas(1));
+        WeakReference<Node> ref = new WeakReference<>(node);
+        node = null;
+
+        for (int i = 0; i < 50 && ref.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(ref.get(), "the cached list keeps its node alive");
+    }
+
+    /**
+     * @return a cache of total weight 100 weighing the lists like the
+     *         {@link de.uka.ilkd.key.java.ServiceCaches}
+     */
+    private static Cache<CacheKey, ImmutableArray<IfFormulaInstantiation>> newCache() {
+        return CachePolicy.LRU.create(100, IfInstantiationCachePool::weight);
+    }
+
+    private static ImmutableArray<IfFormulaInstantiation> formulas(int size) {
+        return new ImmutableArray<>(new IfFormulaInstantiation[size]);
+    }
+}
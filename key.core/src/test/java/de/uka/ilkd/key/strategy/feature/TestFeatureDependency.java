@@ -0,0 +1,54 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.strategy.feature;
+
+import de.uka.ilkd.key.rule.Rule;
+import de.uka.ilkd.key.rule.UseDependencyContractRule;
+import de.uka.ilkd.key.strategy.NumberRuleAppCost;
+import de.uka.ilkd.key.strategy.feature.Feature.Dependency;
+import de.uka.ilkd.key.strategy.termProjection.FocusProjection;
+import de.uka.ilkd.key.strategy.termProjection.TermBuffer;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TestFeatureDependency {
+    private static final Rule RULE = UseDependencyContractRule.INSTANCE;
+
+    private static final Feature CONST = ConstFeature.createConst(NumberRuleAppCost.create(1));
+
+    @Test
+    public void testCompositeFeatures() {
+        assertEquals(Dependency.FORMULA, CONST.dependency(RULE));
+        assertEquals(Dependency.NODE, AgeFeature.INSTANCE.dependency(RULE));
+        assertEquals(Dependency.FORMULA,
+            SumFeature.createSum(CONST, FindDepthFeature.INSTANCE).dependency(RULE));
+        assertEquals(Dependency.NODE,
+            SumFeature.createSum(CONST, AgeFeature.INSTANCE).dependency(RULE));
+        assertEquals(Dependency.NODE,
+            ScaleFeature.createScaled(AgeFeature.INSTANCE, 2).dependency(RULE));
+    }
+
+    @Test
+    public void testConditionalFeatureDependsOnTheTakenBranch() {
+        assertEquals(Dependency.FORMULA, ConditionalFeature
+                .createConditional(rule -> false, AgeFeature.INSTANCE, CONST).dependency(RULE));
+        assertEquals(Dependency.NODE, ConditionalFeature
+                .createConditional(rule -> true, AgeFeature.INSTANCE, CONST).dependency(RULE));
+        assertEquals(Dependency.NODE, ShannonFeature
+                .createConditional(AgeFeature.INSTANCE, NumberRuleAppCost.getZeroCost(), CONST,
+                    CONST)
+                .dependency(RULE));
+    }
+
+    @Test
+    public void testLetFeature() {
+        TermBuffer buffer = new TermBuffer();
+        assertEquals(Dependency.FORMULA,
+            LetFeature.create(buffer, FocusProjection.INSTANCE, CONST).dependency(RULE));
+        assertEquals(Dependency.NODE, LetFeature
+                .create(buffer, (app, pos, goal, mState) -> null, CONST).dependency(RULE));
+    }
+}
@@ -0,0 +1,129 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.strategy.feature;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import de.uka.ilkd.key.logic.PosInOccurrence;
+import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.rule.QueryExpand;
+import de.uka.ilkd.key.rule.Rule;
+import de.uka.ilkd.key.rule.RuleApp;
+import de.uka.ilkd.key.rule.UseDependencyContractRule;
+import de.uka.ilkd.key.strategy.NumberRuleAppCost;
+import de.uka.ilkd.key.strategy.RuleAppCost;
+import de.uka.ilkd.key.strategy.TopRuleAppCost;
+import de.uka.ilkd.key.strategy.feature.Feature.Dependency;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestFeatureSpecialization {
+    private static final Rule RULE = UseDependencyContractRule.INSTANCE;
+
+    private static Feature constF(long value) {
+        return ConstFeature.createConst(NumberRuleAppCost.create(value));
+    }
+
+    private static RuleAppCost valueOf(Feature f) {
+        assertInstanceOf(ConstFeature.class, f);
+        return ((ConstFeature) f).getValue();
+    }
+
+    @Test
+    public void testConstantsAreFolded() {
+        Feature f = SumFeature.createSum(constF(1),
+            ConditionalFeature.createConditional(rule -> rule == RULE, constF(2), constF(100)),
+            ScaleFeature.createScaled(constF(3), 2));
+        assertEquals(NumberRuleAppCost.create(9), valueOf(f.specialize(RULE)));
+    }
+
+    @Test
+    public void testShannonWithConstantCondition() {
+        Feature f = ShannonFeature.createConditional(
+            ConditionalFeature.createConditional(rule -> true, constF(0), constF(1)),
+            NumberRuleAppCost.getZeroCost(), constF(5), AgeFeature.INSTANCE);
+        assertEquals(NumberRuleAppCost.create(5), valueOf(f.specialize(RULE)));
+    }
+
+    @Test
+    public void testOnlyFeaturesBeforeTopAreKept() {
+        Feature top = ConstFeature.createConst(TopRuleAppCost.INSTANCE);
+        assertSame(TopRuleAppCost.INSTANCE,
+            valueOf(SumFeature.createSum(constF(1), top, AgeFeature.INSTANCE).specialize(RULE)));
+
+        List<String> evaluated = new ArrayList<>();
+        Feature f = SumFeature.createSum(recording("a", evaluated), constF(1), top,
+            recording("b", evaluated)).specialize(RULE);
+        assertInstanceOf(SumFeature.class, f);
+        assertSame(TopRuleAppCost.INSTANCE, f.computeCost(null, null, null, null));
+        assertEquals(List.of("a"), evaluated);
+    }
+
+    @Test
+    public void testOrderOfNonConstantFeaturesIsKept() {
+        assertSame(AgeFeature.INSTANCE, AgeFeature.INSTANCE.specialize(RULE));
+
+        List<String> evaluated = new ArrayList<>();
+        Feature f = SumFeature.createSum(recording("a", evaluated), constF(1),
+            recording("b", evaluated), constF(2)).specialize(RULE);
+        assertEquals(NumberRuleAppCost.create(5), f.computeCost(null, null, null, null));
+        assertEquals(List.of("a", "b"), evaluated);
+    }
+
+    @Test
+    public void testDependencyOfCachedFeatureIsNotStoredPerRule() {
+        List<Rule> asked = new ArrayList<>();
+        Feature specialized = CachedFeature.create(dependent(asked)).specialize(RULE);
+        assertEquals(List.of(RULE), asked);
+        assertEquals(Dependency.FORMULA, specialized.dependency(RULE));
+        assertEquals(List.of(RULE), asked);
+
+        // an unspecialized feature only remembers the dependency for the last rule
+        asked.clear();
+        Feature f = CachedFeature.create(dependent(asked));
+        f.dependency(RULE);
+        f.dependency(RULE);
+        f.dependency(QueryExpand.INSTANCE);
+        f.dependency(RULE);
+        assertEquals(List.of(RULE, QueryExpand.INSTANCE, RULE), asked);
+    }
+
+    /**
+     * @return a feature depending on the formula which records the rules it is asked the
+     *         dependency for, and whose specializations do so as well
+     */
+    private static Feature dependent(List<Rule> asked) {
+        return new Feature() {
+            @Override
+            public RuleAppCost computeCost(RuleApp app, PosInOccurrence pos, Goal goal,
+                    MutableState mState) {
+                return NumberRuleAppCost.create(1);
+            }
+
+            @Override
+            public Dependency dependency(Rule rule) {
+                asked.add(rule);
+                return Dependency.FORMULA;
+            }
+
+            @Override
+            public Feature specialize(Rule rule) {
+                return dependent(asked);
+            }
+        };
+    }
+
+    /**
+     * @return a non-constant feature of cost 1 recording its evaluation
+     */
+    private static Feature recording(String name, List<String> evaluated) {
+        return (app, pos, goal, mState) -> {
+            evaluated.add(name);
+            return NumberRuleAppCost.create(1);
+        };
+    }
+}
@@ -24,6 +24,8 @@ import de.uka.ilkd.key.macros.SkipMacro;
 import de.uka.ilkd.key.proof.init.AbstractProfile;
 import de.uka.ilkd.key.proof.io.AutoSaver;
 import de.uka.ilkd.key.proof.io.RuleSourceFactory;
+import de.uka.ilkd.key.prover.metrics.MetricsExporter;
+import de.uka.ilkd.key.prover.metrics.ProverMetrics;
 import de.uka.ilkd.key.settings.GeneralSettings;
 import de.uka.ilkd.key.settings.PathConfig;
 import de.uka.ilkd.key.settings.ProofIndependentSettings;
@@ -66,6 +68,11 @@ public final class Main {
      * fallback solution if storing all closed goals needs too much memory.
      */
     private static final String NO_PRUNING_CLOSED = "--no-pruning-closed";
+    /**
+     * This parameter enables the compaction of closed subtrees, which reduces the memory needed for
+     * very large proofs.
+     */
+    private static final String COMPACT_CLOSED = "--compact-closed";
     /**
      * If this option is set, the (Disk)FileRepo does not delete its temporary directories (can be
      * used for debugging).
@@ -80,6 +87,7 @@ public final class Main {
     private static final String TIMEOUT = "--timeout";
     private static final String EXAMPLES = "--examples";
     private static final String RIFL = "--rifl";
+    private static final String METRICS = "--metrics";
     public static final String JKEY_PREFIX = "--jr-";
     public static final String JMAX_RULES = JKEY_PREFIX + "maxRules";
     // deprecated
@@ -158,6 +166,12 @@ public final class Main {
 
     private static ProofMacro autoMacro = new SkipMacro();
 
+    /**
+     * The file the prover metrics are written to at the end of an automatic run, or null if the
+     * metrics are not collected.
+     */
+    private static File metricsFile = null;
+
     private static final Logger LOGGER = LoggerFactory.getLogger(Main.class);
 
     /**
@@ -226,6 +240,7 @@ public final class Main {
                 ui.loadProblem(f);
             }
             if (ui instanceof ConsoleUserInterfaceControl) {
+                exportMetrics();
                 System.exit(((ConsoleUserInterfaceControl) ui).allProofsSuccessful ? 0 : 1);
             }
         } else if (Main.getExamplesDir() != null && Main.showExampleChooserIfExamplesDirIsDefined
@@ -256,6 +271,8 @@ public final class Main {
         cl.addOption(EXPERIMENTAL, null, "switch experimental features on");
         cl.addOption(NO_PRUNING_CLOSED, null,
             "disables pruning and goal back in closed branches (saves memory)");
+        cl.addOption(COMPACT_CLOSED, null,
+            "releases the sequents of closed branches and rebuilds them on demand (saves memory)");
         cl.addOption(KEEP_FILEREPOS, null, "disables the automatic deletion of temporary"
             + "directories of file repos (for debugging)");
         cl.addSection("Batchmode options:");
@@ -277,6 +294,9 @@ public final class Main {
         cl.addOption(TIMEOUT, "<timeout>",
             "timeout for each automatic proof of a problem in ms (default: "
                 + LemmataAutoModeOptions.DEFAULT_TIMEOUT + ", i.e., no timeout)");
+        cl.addOption(METRICS, "<filename>",
+            "collect prover metrics and write them to the file at the end of the automatic run"
+                + " (CSV if the name ends with .csv, JSON otherwise)");
         cl.addSection("Options for justify rules:");
         cl.addOption(JUSTIFY_RULES, "<filename>",
             "autoprove taclets (options always with prefix --jr) needs the path to the rule file as argument");
@@ -393,6 +413,11 @@ public final class Main {
             examplesDir = cl.getString(EXAMPLES, null);
         }
 
+        if (cl.isSet(METRICS)) {
+            metricsFile = new File(cl.getString(METRICS, null));
+            ProverMetrics.setEnabled(true);
+        }
+
         if (Debug.ENABLE_DEBUG) {
             LOGGER.info("Running in debug mode");
         }
@@ -464,11 +489,30 @@ public final class Main {
             GeneralSettings.noPruningClosed = false;
         }
 
+        if (cl.isSet(COMPACT_CLOSED)) {
+            GeneralSettings.compactClosedSubtrees = true;
+        }
+
         if (cl.isSet(KEEP_FILEREPOS)) {
             GeneralSettings.keepFileRepos = true;
         }
     }
 
+    /**
+     * Writes the prover metrics to {@link #metricsFile} if it is set.
+     */
+    private static void exportMetrics() {
+        if (metricsFile == null) {
+            return;
+        }
+        try {
+            MetricsExporter.export(metricsFile.toPath());
+            LOGGER.info("Prover metrics written to {}", metricsFile);
+        } catch (IOException e) {
+            LOGGER.error("Failed to write the prover metrics to {}", metricsFile, e);
+        }
+    }
+
     /**
      * Deactivate experimental features.
      */
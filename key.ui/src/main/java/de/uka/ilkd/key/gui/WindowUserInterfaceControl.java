@@ -406,7 +406,7 @@ public class WindowUserInterfaceControl extends AbstractMediatorUserInterfaceCon
             if (fc.useCompression()) {
                 saver = new GZipProofSaver(proof, filename, KeYConstants.INTERNAL_VERSION);
             } else {
-                saver = new ProofSaver(proof, filename, KeYConstants.INTERNAL_VERSION);
+                saver = BinaryProofSaver.create(proof, file);
             }
             String errorMsg;
             try {
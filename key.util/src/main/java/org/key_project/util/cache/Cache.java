@@ -0,0 +1,59 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.util.cache;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A bounded, thread-safe cache. Implementations differ in the policy used to decide which entries
+ * are evicted once the cache is full, see {@link CachePolicy}. Callers must not rely on a value
+ * being present after it has been stored.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public interface Cache<K, V> {
+
+    /**
+     * looks up the value stored for the given key
+     *
+     * @param key the key
+     * @return the cached value or <code>null</code> if there is none
+     */
+    @Nullable
+    V get(K key);
+
+    /**
+     * stores the given value, replacing a previously cached one
+     *
+     * @param key the key
+     * @param value the value to store
+     */
+    void put(K key, V value);
+
+    /**
+     * stores the given value unless a value is already cached for the key
+     *
+     * @param key the key
+     * @param value the value to store
+     * @return the value cached for the key after the operation, i.e. either the already
+     *         existing value or <code>value</code>
+     */
+    V putIfAbsent(K key, V value);
+
+    /**
+     * @return the current number of cached entries
+     */
+    int size();
+
+    /**
+     * removes all entries; the statistics are not reset
+     */
+    void clear();
+
+    /**
+     * @return a snapshot of the access statistics of this cache
+     */
+    CacheStatistics getStatistics();
+}
@@ -0,0 +1,72 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.util.cache;
+
+import java.util.function.ToIntFunction;
+
+/**
+ * The eviction policies available for {@link Cache}s.
+ */
+public enum CachePolicy {
+    /**
+     * Evicts the least recently used entry of a segment, see {@link ConcurrentLRUCache}.
+     */
+    LRU,
+    /**
+     * Window TinyLFU: new entries pass a small LRU window and are only admitted to the main region
+     * if they are used more frequently than the entry they would replace, see
+     * {@link WTinyLfuCache}. Lookups in the main region do not reorder any entries.
+     */
+    TINY_LFU,
+    /**
+     * Like {@link #LRU}, but values are only softly referenced and may be reclaimed by the garbage
+     * collector when memory gets scarce, see {@link SoftValueCache}.
+     */
+    SOFT_LRU;
+
+    /**
+     * creates a cache with this policy in which every entry has weight 1
+     *
+     * @param maxSize the maximal number of entries
+     * @return the created cache
+     * @param <K> the key type
+     * @param <V> the value type
+     */
+    public <K, V> Cache<K, V> create(int maxSize) {
+        return create(maxSize, v -> 1);
+    }
+
+    /**
+     * creates a cache with this policy
+     *
+     * @param maxWeight the maximal total weight of all entries
+     * @param weigher computes the (positive) weight of a value
+     * @return the created cache
+     * @param <K> the key type
+     * @param <V> the value type
+     */
+    public <K, V> Cache<K, V> create(long maxWeight, ToIntFunction<? super V> weigher) {
+        return switch (this) {
+        case LRU -> new ConcurrentLRUCache<>(maxWeight, weigher);
+        case TINY_LFU -> new WTinyLfuCache<>(maxWeight, weigher);
+        case SOFT_LRU -> new SoftValueCache<>(maxWeight, weigher);
+        };
+    }
+
+    /**
+     * parses a policy name, ignoring case
+     *
+     * @param name the name of the policy
+     * @param defaultPolicy the policy to return if the name is unknown
+     * @return the policy with the given name or the default policy
+     */
+    public static CachePolicy parse(String name, CachePolicy defaultPolicy) {
+        for (CachePolicy policy : values()) {
+            if (policy.name().equalsIgnoreCase(name)) {
+                return policy;
+            }
+        }
+        return defaultPolicy;
+    }
+}
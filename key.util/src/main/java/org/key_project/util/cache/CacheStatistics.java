@@ -0,0 +1,32 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.util.cache;
+
+import java.util.Locale;
+
+/**
+ * Access statistics of a {@link Cache}.
+ *
+ * @param hits number of lookups which found a value
+ * @param misses number of lookups which found no value
+ * @param evictions number of entries removed to make room for new ones (or rejected by the
+ *        admission policy, or reclaimed by the garbage collector)
+ * @param size number of entries at the time the statistics were taken
+ */
+public record CacheStatistics(long hits, long misses, long evictions, int size) {
+    /**
+     * @return the ratio of hits to all lookups, or 0 if there were no lookups
+     */
+    public double hitRate() {
+        final long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ENGLISH,
+            "hits: %d, misses: %d (hit rate %.2f), evictions: %d, size: %d", hits, misses,
+            hitRate(), evictions, size);
+    }
+}
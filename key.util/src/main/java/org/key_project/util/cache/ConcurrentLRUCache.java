@@ -0,0 +1,122 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.util.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToIntFunction;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A thread-safe LRU cache which is split into independently locked segments. Each segment is an
+ * access ordered {@link LinkedHashMap} holding a share of the total capacity. Eviction happens per
+ * segment, i.e., the evicted entry is the least recently used one of its segment and not
+ * necessarily of the whole cache.
+ * <p>
+ * The capacity is measured in weight; by default every entry has weight 1.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class ConcurrentLRUCache<K, V> extends SegmentedCache<K, V> {
+
+    /**
+     * creates a new cache with <code>maxEntries</code> slots and a number of segments chosen
+     * according to the available processors
+     *
+     * @param maxEntries the maximal number of entries
+     */
+    public ConcurrentLRUCache(int maxEntries) {
+        this(maxEntries, defaultConcurrencyLevel());
+    }
+
+    /**
+     * creates a new cache with <code>maxEntries</code> slots distributed over (at least)
+     * <code>concurrencyLevel</code> segments
+     *
+     * @param maxEntries the maximal number of entries
+     * @param concurrencyLevel the expected number of threads accessing the cache concurrently
+     */
+    public ConcurrentLRUCache(int maxEntries, int concurrencyLevel) {
+        super(maxEntries, concurrencyLevel, v -> 1);
+    }
+
+    /**
+     * creates a new cache bounded by the total weight of its values
+     *
+     * @param maxWeight the maximal total weight of all entries
+     * @param weigher computes the (positive) weight of a value
+     */
+    public ConcurrentLRUCache(long maxWeight, ToIntFunction<? super V> weigher) {
+        super(maxWeight, defaultConcurrencyLevel(), weigher);
+    }
+
+    @Override
+    protected Segment<K, V> createSegment(long maxWeight, ToIntFunction<? super V> weigher) {
+        return new LRUSegment<>(maxWeight, weigher, evictions);
+    }
+
+    private static final class LRUSegment<K, V> extends Segment<K, V> {
+        private final LinkedHashMap<K, V> map = new LinkedHashMap<>(16, 0.75f, true);
+        private final long maxWeight;
+        private final ToIntFunction<? super V> weigher;
+        private final LongAdder evictions;
+        private long weight = 0;
+
+        LRUSegment(long maxWeight, ToIntFunction<? super V> weigher,
+                LongAdder evictions) {
+            this.maxWeight = maxWeight;
+            this.weigher = weigher;
+            this.evictions = evictions;
+        }
+
+        @Override
+        protected @Nullable V get(K key) {
+            return map.get(key);
+        }
+
+        @Override
+        protected @Nullable V put(K key, V value, boolean onlyIfAbsent) {
+            final V old = onlyIfAbsent ? map.putIfAbsent(key, value) : map.put(key, value);
+            if (old == null) {
+                weight += weigher.applyAsInt(value);
+            } else if (!onlyIfAbsent) {
+                weight += weigher.applyAsInt(value) - weigher.applyAsInt(old);
+            }
+            evict();
+            return old;
+        }
+
+        /**
+         * removes least recently used entries until the weight limit is respected again; the most
+         * recently used entry is always kept
+         */
+        private void evict() {
+            if (weight <= maxWeight) {
+                return;
+            }
+            final Iterator<Map.Entry<K, V>> it = map.entrySet().iterator();
+            while (weight > maxWeight && map.size() > 1) {
+                final Map.Entry<K, V> eldest = it.next();
+                weight -= weigher.applyAsInt(eldest.getValue());
+                it.remove();
+                evictions.increment();
+            }
+        }
+
+        @Override
+        protected int size() {
+            return map.size();
+        }
+
+        @Override
+        protected void clear() {
+            map.clear();
+            weight = 0;
+        }
+    }
+}
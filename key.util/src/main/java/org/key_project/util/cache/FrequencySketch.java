@@ -0,0 +1,100 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.util.cache;
+
+/**
+ * A count-min sketch estimating how often keys have been accessed recently. Each key is mapped to
+ * four saturating counters (maximum 15) of one table; the estimate is their minimum. After ten
+ * increments per expected entry all counters are halved, so that old accesses fade out.
+ * <p>
+ * This class is not thread-safe.
+ */
+final class FrequencySketch {
+    /** the maximal value of a counter */
+    private static final int MAX_COUNT = 15;
+
+    /** the number of counters per expected entry */
+    private static final int COUNTERS_PER_ENTRY = 16;
+
+    /** the maximal number of counters */
+    private static final int MAX_TABLE_SIZE = 1 << 18;
+
+    /** multipliers used to derive four indices from one hash code */
+    private static final int[] SEEDS =
+        { 0x97cb3127, 0xc3a5c85d, 0x2a8f3e5b, 0x5f356495 };
+
+    private final byte[] table;
+    private final int mask;
+    private final int sampleSize;
+    private int additions = 0;
+
+    /**
+     * @param expectedEntries the expected number of distinct entries to compare
+     */
+    FrequencySketch(long expectedEntries) {
+        int size = 16;
+        while (size < COUNTERS_PER_ENTRY * expectedEntries && size < MAX_TABLE_SIZE) {
+            size <<= 1;
+        }
+        table = new byte[size];
+        mask = size - 1;
+        sampleSize = (int) Math.min(Integer.MAX_VALUE, 10 * Math.max(1, expectedEntries));
+    }
+
+    private int indexOf(int hash, int i) {
+        int h = hash * SEEDS[i];
+        h ^= h >>> 16;
+        return h & mask;
+    }
+
+    private static int spread(Object key) {
+        final int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * @param key a key
+     * @return the estimated number of recent accesses of the key
+     */
+    int frequency(Object key) {
+        final int hash = spread(key);
+        int result = MAX_COUNT;
+        for (int i = 0; i < SEEDS.length; i++) {
+            result = Math.min(result, table[indexOf(hash, i)]);
+        }
+        return result;
+    }
+
+    /**
+     * records an access of the key; only the minimal counters are incremented (conservative
+     * update), which reduces the overestimation caused by collisions
+     *
+     * @param key a key
+     */
+    void increment(Object key) {
+        final int hash = spread(key);
+        final int min = frequency(key);
+        if (min < MAX_COUNT) {
+            for (int i = 0; i < SEEDS.length; i++) {
+                final int index = indexOf(hash, i);
+                if (table[index] == min) {
+                    table[index]++;
+                }
+            }
+        }
+        if (++additions >= sampleSize) {
+            reset();
+        }
+    }
+
+    /**
+     * halves all counters
+     */
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] >>= 1;
+        }
+        additions >>>= 1;
+    }
+}
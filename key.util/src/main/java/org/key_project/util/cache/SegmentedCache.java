@@ -0,0 +1,202 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.util.cache;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToIntFunction;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Base class of caches which are split into independently locked segments, so threads accessing
+ * different keys rarely wait for each other. Each segment holds a share of the total capacity and
+ * evicts entries according to the policy implemented by the subclass, i.e., eviction decisions are
+ * local to a segment.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+abstract class SegmentedCache<K, V> implements Cache<K, V> {
+
+    /** upper bound for the number of segments */
+    private static final int MAX_SEGMENTS = 64;
+
+    /** the segments, the length is a power of two */
+    private final Segment<K, V>[] segments;
+
+    /** mask to compute the segment index of a hash code */
+    private final int segmentMask;
+
+    /** the maximal total weight */
+    private final long maxWeight;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    protected final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param maxWeight the maximal total weight of all entries
+     * @param concurrencyLevel the expected number of threads accessing the cache concurrently
+     * @param weigher computes the weight of a value
+     */
+    @SuppressWarnings("unchecked")
+    protected SegmentedCache(long maxWeight, int concurrencyLevel,
+            ToIntFunction<? super V> weigher) {
+        if (maxWeight <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive: " + maxWeight);
+        }
+        int count = 1;
+        while (count < concurrencyLevel && count < MAX_SEGMENTS && count < maxWeight) {
+            count <<= 1;
+        }
+        this.maxWeight = maxWeight;
+        this.segmentMask = count - 1;
+        this.segments = (Segment<K, V>[]) new Segment<?, ?>[count];
+        final long segmentWeight = Math.max(1, maxWeight / count);
+        for (int i = 0; i < count; i++) {
+            segments[i] = createSegment(segmentWeight, weigher);
+        }
+    }
+
+    /**
+     * @return the default concurrency level
+     */
+    protected static int defaultConcurrencyLevel() {
+        return 2 * Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * creates a segment; called from the constructor, must not access fields of the subclass
+     *
+     * @param maxWeight the maximal weight of the segment
+     * @param weigher computes the weight of a value
+     * @return the segment
+     */
+    protected abstract Segment<K, V> createSegment(long maxWeight,
+            ToIntFunction<? super V> weigher);
+
+    private Segment<K, V> segmentFor(Object key) {
+        final int h = key.hashCode();
+        return segments[(h ^ (h >>> 16)) & segmentMask];
+    }
+
+    @Override
+    public @Nullable V get(K key) {
+        final Segment<K, V> segment = segmentFor(key);
+        final V result;
+        segment.lock.lock();
+        try {
+            result = segment.get(key);
+        } finally {
+            segment.lock.unlock();
+        }
+        if (result == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return result;
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value) {
+        final Segment<K, V> segment = segmentFor(key);
+        segment.lock.lock();
+        try {
+            final V existing = segment.put(key, value, true);
+            return existing == null ? value : existing;
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    @Override
+    public void put(K key, V value) {
+        final Segment<K, V> segment = segmentFor(key);
+        segment.lock.lock();
+        try {
+            segment.put(key, value, false);
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            segment.lock.lock();
+            try {
+                size += segment.size();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * @return the maximal total weight of this cache
+     */
+    public long getMaxWeight() {
+        return maxWeight;
+    }
+
+    @Override
+    public void clear() {
+        for (Segment<K, V> segment : segments) {
+            segment.lock.lock();
+            try {
+                segment.clear();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public CacheStatistics getStatistics() {
+        return new CacheStatistics(hits.sum(), misses.sum(), evictions.sum(), size());
+    }
+
+    @Override
+    public String toString() {
+        return getStatistics().toString();
+    }
+
+    /**
+     * A segment of the cache. All methods except the constructor are only called while holding
+     * {@link #lock}.
+     */
+    protected abstract static class Segment<K, V> {
+        private final ReentrantLock lock = new ReentrantLock();
+
+        /**
+         * @param key the key
+         * @return the cached value or <code>null</code>
+         */
+        protected abstract @Nullable V get(K key);
+
+        /**
+         * stores the value and evicts entries as required by the policy
+         *
+         * @param key the key
+         * @param value the value
+         * @param onlyIfAbsent whether an existing value must be kept
+         * @return the value previously stored for the key or <code>null</code>
+         */
+        protected abstract @Nullable V put(K key, V value, boolean onlyIfAbsent);
+
+        /**
+         * @return the number of entries of this segment
+         */
+        protected abstract int size();
+
+        /**
+         * removes all entries of this segment
+         */
+        protected abstract void clear();
+    }
+}
@@ -0,0 +1,116 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.util.cache;
+
+import java.lang.ref.SoftReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToIntFunction;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A cache which references its values only softly, so that the garbage collector may reclaim them
+ * before the JVM runs out of memory. Bounding and eviction are delegated to a
+ * {@link ConcurrentLRUCache} holding the references; a reference weighs as much as its value did
+ * when it was stored, so a reclaimed value keeps its weight until the reference is evicted. A
+ * lookup finding a reclaimed value counts as miss (and as eviction).
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class SoftValueCache<K, V> implements Cache<K, V> {
+
+    /** the cache holding the references */
+    private final Cache<K, WeighedReference<V>> delegate;
+
+    /** computes the weight of a value */
+    private final ToIntFunction<? super V> weigher;
+
+    /** number of lookups that found a reclaimed value */
+    private final LongAdder reclaimed = new LongAdder();
+
+    /**
+     * @param maxWeight the maximal total weight of all entries
+     * @param weigher computes the (positive) weight of a value
+     */
+    public SoftValueCache(long maxWeight, ToIntFunction<? super V> weigher) {
+        this.delegate = new ConcurrentLRUCache<>(maxWeight, WeighedReference::weight);
+        this.weigher = weigher;
+    }
+
+    @Override
+    public @Nullable V get(K key) {
+        final WeighedReference<V> ref = delegate.get(key);
+        if (ref == null) {
+            return null;
+        }
+        final V result = ref.get();
+        if (result == null) {
+            reclaimed.increment();
+        }
+        return result;
+    }
+
+    @Override
+    public void put(K key, V value) {
+        delegate.put(key, reference(value));
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value) {
+        final WeighedReference<V> ref = reference(value);
+        final WeighedReference<V> existingRef = delegate.putIfAbsent(key, ref);
+        if (existingRef != ref) {
+            final V existing = existingRef.get();
+            if (existing != null) {
+                return existing;
+            }
+            delegate.put(key, ref);
+        }
+        return value;
+    }
+
+    private WeighedReference<V> reference(V value) {
+        return new WeighedReference<>(value, weigher.applyAsInt(value));
+    }
+
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public CacheStatistics getStatistics() {
+        final CacheStatistics stats = delegate.getStatistics();
+        final long lost = reclaimed.sum();
+        return new CacheStatistics(stats.hits() - lost, stats.misses() + lost,
+            stats.evictions() + lost, stats.size());
+    }
+
+    @Override
+    public String toString() {
+        return getStatistics().toString();
+    }
+
+    /**
+     * A soft reference remembering the weight of its value.
+     */
+    private static final class WeighedReference<V> extends SoftReference<V> {
+        private final int weight;
+
+        WeighedReference(V value, int weight) {
+            super(value);
+            this.weight = weight;
+        }
+
+        int weight() {
+            return weight;
+        }
+    }
+}
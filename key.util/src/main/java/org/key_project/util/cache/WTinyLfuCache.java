@@ -0,0 +1,187 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.util.cache;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToIntFunction;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A thread-safe cache using a simplified Window TinyLFU policy. Each segment consists of
+ * <ul>
+ * <li>a small LRU window (1% of the capacity) which accepts every new entry, and</li>
+ * <li>a main region in insertion order, which only admits an entry leaving the window if the entry
+ * was accessed more frequently than each of the eldest entries of the main region it would evict
+ * (the victims). If the entry is rejected, the eldest entry is moved to the end of the main
+ * region.</li>
+ * </ul>
+ * Access frequencies are estimated with a {@link FrequencySketch}. In contrast to an access
+ * ordered {@link LinkedHashMap}, a hit in the main region does not reorder any entries, it only
+ * increments the counters of the sketch. One-hit wonders thus do not flush frequently used entries
+ * out of the cache.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class WTinyLfuCache<K, V> extends SegmentedCache<K, V> {
+
+    /**
+     * creates a new cache with <code>maxEntries</code> slots
+     *
+     * @param maxEntries the maximal number of entries
+     */
+    public WTinyLfuCache(int maxEntries) {
+        this(maxEntries, v -> 1);
+    }
+
+    /**
+     * creates a new cache bounded by the total weight of its values
+     *
+     * @param maxWeight the maximal total weight of all entries
+     * @param weigher computes the (positive) weight of a value
+     */
+    public WTinyLfuCache(long maxWeight, ToIntFunction<? super V> weigher) {
+        this(maxWeight, defaultConcurrencyLevel(), weigher);
+    }
+
+    /**
+     * creates a new cache bounded by the total weight of its values, distributed over (at least)
+     * <code>concurrencyLevel</code> segments
+     *
+     * @param maxWeight the maximal total weight of all entries
+     * @param concurrencyLevel the expected number of threads accessing the cache concurrently
+     * @param weigher computes the (positive) weight of a value
+     */
+    public WTinyLfuCache(long maxWeight, int concurrencyLevel, ToIntFunction<? super V> weigher) {
+        super(maxWeight, concurrencyLevel, weigher);
+    }
+
+    @Override
+    protected Segment<K, V> createSegment(long maxWeight, ToIntFunction<? super V> weigher) {
+        return new TinyLfuSegment<>(maxWeight, weigher, evictions);
+    }
+
+    private static final class TinyLfuSegment<K, V> extends Segment<K, V> {
+        private final LinkedHashMap<K, V> window = new LinkedHashMap<>(16, 0.75f, true);
+        private final LinkedHashMap<K, V> main = new LinkedHashMap<>();
+        private final FrequencySketch sketch;
+        private final ToIntFunction<? super V> weigher;
+        private final LongAdder evictions;
+        private final long windowMaxWeight;
+        private final long mainMaxWeight;
+        private long windowWeight = 0;
+        private long mainWeight = 0;
+
+        TinyLfuSegment(long maxWeight, ToIntFunction<? super V> weigher, LongAdder evictions) {
+            this.weigher = weigher;
+            this.evictions = evictions;
+            this.sketch = new FrequencySketch(maxWeight);
+            this.windowMaxWeight = Math.max(1, maxWeight / 100);
+            this.mainMaxWeight = Math.max(1, maxWeight - windowMaxWeight);
+        }
+
+        @Override
+        protected @Nullable V get(K key) {
+            sketch.increment(key);
+            final V result = main.get(key);
+            return result != null ? result : window.get(key);
+        }
+
+        @Override
+        protected @Nullable V put(K key, V value, boolean onlyIfAbsent) {
+            V old = main.get(key);
+            if (old != null) {
+                if (!onlyIfAbsent) {
+                    main.put(key, value);
+                    mainWeight += weigher.applyAsInt(value) - weigher.applyAsInt(old);
+                }
+                return old;
+            }
+            old = onlyIfAbsent ? window.putIfAbsent(key, value) : window.put(key, value);
+            if (old == null) {
+                windowWeight += weigher.applyAsInt(value);
+            } else if (!onlyIfAbsent) {
+                windowWeight += weigher.applyAsInt(value) - weigher.applyAsInt(old);
+            }
+            drainWindow();
+            return old;
+        }
+
+        /**
+         * moves the least recently used entries of the window to the main region until the window
+         * respects its weight limit
+         */
+        private void drainWindow() {
+            while (windowWeight > windowMaxWeight && !window.isEmpty()) {
+                final Iterator<Map.Entry<K, V>> it = window.entrySet().iterator();
+                final Map.Entry<K, V> eldest = it.next();
+                it.remove();
+                windowWeight -= weigher.applyAsInt(eldest.getValue());
+                admit(eldest.getKey(), eldest.getValue());
+            }
+        }
+
+        /**
+         * adds a candidate leaving the window to the main region if there is space or if it is
+         * used more frequently than each of the victims it would evict from the main region
+         */
+        private void admit(K key, V value) {
+            final int weight = weigher.applyAsInt(value);
+            if (mainWeight + weight > mainMaxWeight && !main.isEmpty()) {
+                final int candidateFrequency = sketch.frequency(key);
+                final List<K> victims = new ArrayList<>();
+                long freed = 0;
+                for (Map.Entry<K, V> victim : main.entrySet()) {
+                    if (candidateFrequency <= sketch.frequency(victim.getKey())) {
+                        reject();
+                        return;
+                    }
+                    victims.add(victim.getKey());
+                    freed += weigher.applyAsInt(victim.getValue());
+                    if (mainWeight - freed + weight <= mainMaxWeight) {
+                        break;
+                    }
+                }
+                for (K victim : victims) {
+                    mainWeight -= weigher.applyAsInt(main.remove(victim));
+                    evictions.increment();
+                }
+            }
+            main.put(key, value);
+            mainWeight += weight;
+        }
+
+        /**
+         * drops a candidate which is not admitted to the main region; the eldest entry of the
+         * main region survives and moves to the end of the queue such that the next candidate
+         * competes against other entries
+         */
+        private void reject() {
+            final Iterator<Map.Entry<K, V>> it = main.entrySet().iterator();
+            final Map.Entry<K, V> eldest = it.next();
+            it.remove();
+            main.put(eldest.getKey(), eldest.getValue());
+            evictions.increment();
+        }
+
+        @Override
+        protected int size() {
+            return window.size() + main.size();
+        }
+
+        @Override
+        protected void clear() {
+            window.clear();
+            main.clear();
+            windowWeight = 0;
+            mainWeight = 0;
+        }
+    }
+}
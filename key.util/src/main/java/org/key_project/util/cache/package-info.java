@@ -0,0 +1,10 @@
+/**
+ * Bounded, thread-safe caches with exchangeable eviction policies.
+ *
+ * @see org.key_project.util.cache.Cache
+ * @see org.key_project.util.cache.CachePolicy
+ */
+@NullMarked
+package org.key_project.util.cache;
+
+import org.jspecify.annotations.NullMarked;
@@ -9,7 +9,10 @@ import org.key_project.util.Strings;
 
 /**
  * This class implements {@code ImmutableMap<S,T>} and provides a persistent map.
- * It is a simple implementation like lists
+ * It is a simple implementation like lists: the entries are chained in the reverse order of their
+ * insertion. Maps with at least {@link HashTrie#MIN_INDEXED_SIZE} entries are additionally indexed
+ * by a persistent hash trie shared with the maps they have been created from, such that lookups
+ * and the insertion of new keys do not walk the chain.
  */
 @SuppressWarnings("nullness")
 public class DefaultImmutableMap<S, T> implements ImmutableMap<S, T> {
@@ -38,11 +41,17 @@ public class DefaultImmutableMap<S, T> implements ImmutableMap<S, T> {
      */
     private final int size;
 
+    /**
+     * The index of the entries, null for small maps which are searched linearly.
+     */
+    private final HashTrie<S, T> index;
+
     /** only for use by NILMap */
     protected DefaultImmutableMap() {
         entry = null;
         this.parent = null;
         this.size = 0;
+        this.index = null;
     }
 
 
@@ -54,6 +63,7 @@ public class DefaultImmutableMap<S, T> implements ImmutableMap<S, T> {
         this.entry = entry;
         this.parent = DefaultImmutableMap.nilMap();
         this.size = 1;
+        this.index = null;
     }
 
     /** creates new map with mapping entry and parent map */
@@ -64,6 +74,17 @@ public class DefaultImmutableMap<S, T> implements ImmutableMap<S, T> {
         this.entry = entry;
         this.parent = parent;
         this.size = parent.size + 1;
+        if (parent.index != null) {
+            this.index = parent.index.put(entry.key(), entry.value());
+        } else if (size >= HashTrie.MIN_INDEXED_SIZE) {
+            HashTrie<S, T> trie = HashTrie.empty();
+            for (ImmutableMapEntry<S, T> e : this) {
+                trie = trie.put(e.key(), e.value());
+            }
+            this.index = trie;
+        } else {
+            this.index = null;
+        }
     }
 
 
@@ -79,6 +100,10 @@ public class DefaultImmutableMap<S, T> implements ImmutableMap<S, T> {
      *         with keys different from the given key
      */
     public ImmutableMap<S, T> put(S key, T value) {
+        if (index != null && !index.containsKey(key)) {
+            // nothing to replace, the chain can be shared
+            return new DefaultImmutableMap<>(new MapEntry<>(key, value), this);
+        }
         return new DefaultImmutableMap<>(new MapEntry<>(key, value), this.remove(key));
     }
 
@@ -86,6 +111,9 @@ public class DefaultImmutableMap<S, T> implements ImmutableMap<S, T> {
 
     /** @return value of type T that is mapped by key of type S */
     public T get(S key) {
+        if (index != null) {
+            return index.get(key);
+        }
         DefaultImmutableMap<S, T> queue = this;
         while (!queue.isEmpty()) {
             final ImmutableMapEntry<S, T> e = queue.entry;
@@ -112,6 +140,9 @@ public class DefaultImmutableMap<S, T> implements ImmutableMap<S, T> {
 
     /** @return true iff the map includes key */
     public boolean containsKey(S key) {
+        if (index != null) {
+            return index.containsKey(key);
+        }
         DefaultImmutableMap<S, T> queue = this;
         while (!queue.isEmpty()) {
             final ImmutableMapEntry<S, T> e = queue.entry;
@@ -155,6 +186,9 @@ public class DefaultImmutableMap<S, T> implements ImmutableMap<S, T> {
      * @return the new map (the same if key is not in the map)
      */
     public DefaultImmutableMap<S, T> remove(S key) {
+        if (index != null && !index.containsKey(key)) {
+            return this;
+        }
         DefaultImmutableMap<S, T> queue = this;
         @SuppressWarnings("unchecked")
         final ImmutableMapEntry<S, T>[] stack = new ImmutableMapEntry[size()];
@@ -13,8 +13,10 @@ import org.key_project.util.Strings;
 import org.jspecify.annotations.Nullable;
 
 /**
- * implementation of a persistent set using the SLListOf<T> implementation with all its implications
- * (means e.g. O(n) for adding an element, searching for an element and so on).
+ * implementation of a persistent set using the SLListOf<T> implementation, which defines the
+ * iteration order. Sets with at least {@link HashTrie#MIN_INDEXED_SIZE} elements are additionally
+ * indexed by a persistent hash trie shared with the sets they have been created from, such that
+ * adding and searching an element do not walk the list. Smaller sets are searched linearly.
  *
  * @param <T> type of object to store
  */
@@ -33,6 +35,9 @@ public class DefaultImmutableSet<T extends @Nullable Object> implements Immutabl
     /** list containing the elements */
     private final ImmutableList<T> elementList;
 
+    /** the index of the elements, null for small sets */
+    private final @Nullable HashTrie<T, T> index;
+
     /** the empty set */
     @SuppressWarnings("unchecked")
     public static <T extends @Nullable Object> DefaultImmutableSet<T> nil() {
@@ -41,6 +46,7 @@ public class DefaultImmutableSet<T extends @Nullable Object> implements Immutabl
 
     protected DefaultImmutableSet() {
         elementList = ImmutableSLList.nil();
+        index = null;
     }
 
     /**
@@ -50,6 +56,7 @@ public class DefaultImmutableSet<T extends @Nullable Object> implements Immutabl
      */
     private DefaultImmutableSet(T element) {
         elementList = (ImmutableSLList.<T>nil()).prepend(element);
+        index = null;
     }
 
     /**
@@ -59,30 +66,35 @@ public class DefaultImmutableSet<T extends @Nullable Object> implements Immutabl
      * @param elementList IList<T> contains all elements of the new Set
      */
     private DefaultImmutableSet(ImmutableList<T> elementList) {
+        this(elementList, null);
+    }
+
+    /**
+     * creates new set containg all elements from the elementList PRECONDITION: elementList has no
+     * duplicates, index is null or contains exactly the elements of elementList
+     *
+     * @param elementList IList<T> contains all elements of the new Set
+     * @param index the index of the elements, created if null and the set is large enough
+     */
+    private DefaultImmutableSet(ImmutableList<T> elementList, @Nullable HashTrie<T, T> index) {
         this.elementList = elementList;
+        if (index == null && elementList.size() >= HashTrie.MIN_INDEXED_SIZE) {
+            index = HashTrie.of(elementList);
+        }
+        this.index = index;
     }
 
-    public static <T> ImmutableSet<T> fromCollection(Collection<T> seq) {
-        return new DefaultImmutableSet<>(ImmutableList.fromList(seq));
+    /**
+     * creates the set with the element prepended to the elements of this set
+     * PRECONDITION: element is not contained
+     */
+    private DefaultImmutableSet<T> prepend(T element) {
+        return new DefaultImmutableSet<>(elementList.prepend(element),
+            index == null ? null : index.put(element, element));
     }
 
-    // private static HashSet<String> previousComplains = new HashSet<>();
-    private void complainAboutSize() {
-        // // Immutable linear sets are very expensive with O(n) addition
-        // // and O(n) lookup.
-        // // To create a list with N entries O(N^2) comparisons need to be made
-        // // Better restrict this class to very small instances.
-        // // The following helps detecting "bad" usages. (MU 2016)
-        // if(elementList.size() > 20) {
-        // StackTraceElement[] st = new Throwable().getStackTrace();
-        // String complain = "TOO LARGE: " + st[2];
-        // if(previousComplains.add(complain)) {
-        // LOGGER.error(complain);
-        //// for (int i = 2; i < 6; i++) {
-        //// LOGGER.error(st[i]);
-        //// }
-        // }
-        // }
+    public static <T> ImmutableSet<T> fromCollection(Collection<T> seq) {
+        return new DefaultImmutableSet<>(ImmutableList.fromList(seq));
     }
 
     /**
@@ -92,11 +104,10 @@ public class DefaultImmutableSet<T extends @Nullable Object> implements Immutabl
      */
     @Override
     public ImmutableSet<T> add(T element) {
-        complainAboutSize();
-        if (elementList.contains(element)) {
+        if (contains(element)) {
             return this;
         }
-        return new DefaultImmutableSet<>(elementList.prepend(element));
+        return prepend(element);
     }
 
     /**
@@ -107,11 +118,10 @@ public class DefaultImmutableSet<T extends @Nullable Object> implements Immutabl
      */
     @Override
     public ImmutableSet<T> addUnique(T element) throws NotUniqueException {
-        complainAboutSize();
-        if (elementList.contains(element)) {
+        if (contains(element)) {
             throw new NotUniqueException(element);
         } else {
-            return new DefaultImmutableSet<>(elementList.prepend(element));
+            return prepend(element);
         }
     }
 
@@ -136,20 +146,19 @@ public class DefaultImmutableSet<T extends @Nullable Object> implements Immutabl
             return this;
         }
 
-        ImmutableList<T> unionElements = this.elementList;
+        DefaultImmutableSet<T> union = this;
         for (T otherEl : set) {
             if (!contains(otherEl)) {
-                unionElements = unionElements.prepend(otherEl);
+                union = union.prepend(otherEl);
             }
         }
-        return new DefaultImmutableSet<>(unionElements);
+        return union;
     }
 
     /** @return intersection of this set with set */
     @SuppressWarnings("unchecked")
     @Override
     public ImmutableSet<T> intersect(ImmutableSet<? extends T> set) {
-        complainAboutSize();
         if (set.isEmpty()) {
             // This cast is safe due to the set's immutability.
             return (ImmutableSet<T>) set;
@@ -183,7 +192,9 @@ public class DefaultImmutableSet<T extends @Nullable Object> implements Immutabl
     /** @return true iff obj in set */
     @Override
     public boolean contains(T obj) {
-        complainAboutSize();
+        if (index != null) {
+            return index.containsKey(obj);
+        }
         return elementList.contains(obj);
     }
 
@@ -227,8 +238,16 @@ public class DefaultImmutableSet<T extends @Nullable Object> implements Immutabl
 
     @Override
     public ImmutableSet<T> remove(T element) {
+        if (index != null && !index.containsKey(element)) {
+            return this;
+        }
         final ImmutableList<T> list = elementList.removeFirst(element);
-        return list.isEmpty() ? DefaultImmutableSet.nil() : new DefaultImmutableSet<>(list);
+        if (list.isEmpty()) {
+            return DefaultImmutableSet.nil();
+        }
+        return new DefaultImmutableSet<>(list,
+            index == null || list.size() < HashTrie.MIN_INDEXED_SIZE ? null
+                    : index.remove(element));
     }
 
     /**
@@ -0,0 +1,427 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.util.collection;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Objects;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A persistent hash map implemented as a compressed hash-array mapped prefix trie (CHAMP). Every
+ * node consumes five bits of the hash of the keys and stores its entries and its child nodes in one
+ * array indexed by two bitmaps. Updates copy only the nodes on the path to the changed entry, all
+ * other nodes are shared with the original trie, such that lookups and updates take effectively
+ * constant time.
+ * <p>
+ * The trie does not define an iteration order. It is used as an index by
+ * {@link DefaultImmutableMap} and {@link DefaultImmutableSet}, which keep their entries in
+ * insertion order and look them up in the trie once they have {@link #MIN_INDEXED_SIZE} entries.
+ * Keys may be {@code null} and are compared with {@link Object#equals(Object)}.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+final class HashTrie<K extends @Nullable Object, V extends @Nullable Object>
+        implements Serializable {
+    private static final long serialVersionUID = 3960457342087375318L;
+
+    /**
+     * The size from which on maps and sets are indexed by a trie. Smaller ones are searched
+     * linearly, which is faster for a few entries and saves the memory of the trie.
+     */
+    static final int MIN_INDEXED_SIZE = 8;
+
+    /** the number of hash bits consumed by each level of the trie */
+    private static final int BITS = 5;
+
+    /** the marker for keys which are not contained (values may be {@code null}) */
+    private static final Object NOT_FOUND = new Object();
+
+    @SuppressWarnings("rawtypes")
+    private static final HashTrie EMPTY = new HashTrie<>(BitmapNode.EMPTY, 0);
+
+    /** the root of the trie, never null */
+    private final Node root;
+
+    /** the number of entries */
+    private final int size;
+
+    private HashTrie(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /** @return the empty trie */
+    @SuppressWarnings("unchecked")
+    static <K extends @Nullable Object, V extends @Nullable Object> HashTrie<K, V> empty() {
+        return (HashTrie<K, V>) EMPTY;
+    }
+
+    /**
+     * Creates a trie which maps every element of the given iterable to itself.
+     *
+     * @param elements the elements
+     * @return the trie
+     */
+    static <T extends @Nullable Object> HashTrie<T, T> of(Iterable<T> elements) {
+        HashTrie<T, T> result = empty();
+        for (T element : elements) {
+            result = result.put(element, element);
+        }
+        return result;
+    }
+
+    private static int hash(@Nullable Object key) {
+        int h = Objects.hashCode(key);
+        // spread the higher bits, identity hash codes vary mostly in those
+        return h ^ (h >>> 16);
+    }
+
+    private static int bit(int hash, int shift) {
+        return 1 << ((hash >>> shift) & 31);
+    }
+
+    /** @return the number of entries */
+    int size() {
+        return size;
+    }
+
+    /**
+     * @param key the key
+     * @return the value mapped by the key, {@code null} if it is not contained
+     */
+    @SuppressWarnings("unchecked")
+    @Nullable
+    V get(K key) {
+        Object value = root.get(key, hash(key), 0);
+        return value == NOT_FOUND ? null : (V) value;
+    }
+
+    /**
+     * @param key the key
+     * @return whether the trie contains the key
+     */
+    boolean containsKey(K key) {
+        return root.get(key, hash(key), 0) != NOT_FOUND;
+    }
+
+    /**
+     * @param key the key
+     * @param value the value
+     * @return a trie which maps the key to the value and contains the other entries of this trie
+     *         (this trie if it already maps the key to the value)
+     */
+    HashTrie<K, V> put(K key, V value) {
+        boolean[] added = new boolean[1];
+        Node newRoot = root.put(key, value, hash(key), 0, added);
+        return newRoot == root ? this : new HashTrie<>(newRoot, added[0] ? size + 1 : size);
+    }
+
+    /**
+     * @param key the key
+     * @return a trie which contains the entries of this trie except the one of the key (this trie
+     *         if it does not contain the key)
+     */
+    HashTrie<K, V> remove(K key) {
+        Node newRoot = root.remove(key, hash(key), 0);
+        if (newRoot == root) {
+            return this;
+        }
+        return newRoot == null ? empty() : new HashTrie<>(newRoot, size - 1);
+    }
+
+    /** a node of the trie */
+    private abstract static class Node implements Serializable {
+        private static final long serialVersionUID = -1592465183497437284L;
+
+        /** @return the value of the key or {@link #NOT_FOUND} */
+        abstract Object get(@Nullable Object key, int hash, int shift);
+
+        /** @return the updated node, this node if nothing has changed */
+        abstract Node put(@Nullable Object key, @Nullable Object value, int hash, int shift,
+                boolean[] added);
+
+        /** @return the updated node, this node if the key is not contained, null if empty */
+        abstract @Nullable Node remove(@Nullable Object key, int hash, int shift);
+
+        /** @return whether the node consists of a single entry and can be inlined */
+        abstract boolean isSingleton();
+
+        /** only for singletons */
+        abstract Object singleKey();
+
+        /** only for singletons */
+        abstract Object singleValue();
+    }
+
+    /**
+     * An inner node: The keys and values of the entries are stored at the front of the array, the
+     * child nodes at its end in reverse order.
+     */
+    private static final class BitmapNode extends Node {
+        private static final long serialVersionUID = 7394510932760251803L;
+
+        static final BitmapNode EMPTY = new BitmapNode(0, 0, new Object[0]);
+
+        /** the positions of the entries */
+        private final int dataMap;
+        /** the positions of the child nodes */
+        private final int nodeMap;
+        private final Object[] array;
+
+        BitmapNode(int dataMap, int nodeMap, Object[] array) {
+            this.dataMap = dataMap;
+            this.nodeMap = nodeMap;
+            this.array = array;
+        }
+
+        private int dataIndex(int bit) {
+            return 2 * Integer.bitCount(dataMap & (bit - 1));
+        }
+
+        private int nodeIndex(int bit) {
+            return array.length - 1 - Integer.bitCount(nodeMap & (bit - 1));
+        }
+
+        @Override
+        Object get(@Nullable Object key, int hash, int shift) {
+            int bit = bit(hash, shift);
+            if ((dataMap & bit) != 0) {
+                int i = dataIndex(bit);
+                return Objects.equals(array[i], key) ? array[i + 1] : NOT_FOUND;
+            }
+            if ((nodeMap & bit) != 0) {
+                return ((Node) array[nodeIndex(bit)]).get(key, hash, shift + BITS);
+            }
+            return NOT_FOUND;
+        }
+
+        @Override
+        Node put(@Nullable Object key, @Nullable Object value, int hash, int shift,
+                boolean[] added) {
+            int bit = bit(hash, shift);
+            if ((dataMap & bit) != 0) {
+                int i = dataIndex(bit);
+                Object other = array[i];
+                if (Objects.equals(other, key)) {
+                    if (array[i + 1] == value) {
+                        return this;
+                    }
+                    Object[] copy = array.clone();
+                    copy[i + 1] = value;
+                    return new BitmapNode(dataMap, nodeMap, copy);
+                }
+                added[0] = true;
+                Node child =
+                    merge(other, array[i + 1], hash(other), key, value, hash, shift + BITS);
+                return migrateToNode(bit, i, child);
+            }
+            if ((nodeMap & bit) != 0) {
+                int i = nodeIndex(bit);
+                Node child = (Node) array[i];
+                Node newChild = child.put(key, value, hash, shift + BITS, added);
+                if (newChild == child) {
+                    return this;
+                }
+                Object[] copy = array.clone();
+                copy[i] = newChild;
+                return new BitmapNode(dataMap, nodeMap, copy);
+            }
+            added[0] = true;
+            int i = dataIndex(bit);
+            Object[] copy = new Object[array.length + 2];
+            System.arraycopy(array, 0, copy, 0, i);
+            copy[i] = key;
+            copy[i + 1] = value;
+            System.arraycopy(array, i, copy, i + 2, array.length - i);
+            return new BitmapNode(dataMap | bit, nodeMap, copy);
+        }
+
+        @Override
+        @Nullable
+        Node remove(@Nullable Object key, int hash, int shift) {
+            int bit = bit(hash, shift);
+            if ((dataMap & bit) != 0) {
+                int i = dataIndex(bit);
+                if (!Objects.equals(array[i], key)) {
+                    return this;
+                }
+                if (array.length == 2) {
+                    return null;
+                }
+                Object[] copy = new Object[array.length - 2];
+                System.arraycopy(array, 0, copy, 0, i);
+                System.arraycopy(array, i + 2, copy, i, array.length - i - 2);
+                return new BitmapNode(dataMap & ~bit, nodeMap, copy);
+            }
+            if ((nodeMap & bit) != 0) {
+                int i = nodeIndex(bit);
+                Node child = (Node) array[i];
+                Node newChild = child.remove(key, hash, shift + BITS);
+                if (newChild == child) {
+                    return this;
+                }
+                if (newChild == null) {
+                    if (array.length == 1) {
+                        return null;
+                    }
+                    Object[] copy = new Object[array.length - 1];
+                    System.arraycopy(array, 0, copy, 0, i);
+                    System.arraycopy(array, i + 1, copy, i, array.length - i - 1);
+                    return new BitmapNode(dataMap, nodeMap & ~bit, copy);
+                }
+                if (newChild.isSingleton()) {
+                    // keep the trie compact: inline the remaining entry of the child
+                    return migrateToData(bit, i, newChild.singleKey(), newChild.singleValue());
+                }
+                Object[] copy = array.clone();
+                copy[i] = newChild;
+                return new BitmapNode(dataMap, nodeMap, copy);
+            }
+            return this;
+        }
+
+        /** replaces the entry at data index i by the child node */
+        private Node migrateToNode(int bit, int i, Node child) {
+            Object[] copy = new Object[array.length - 1];
+            int newNodeIndex = array.length - 2 - Integer.bitCount(nodeMap & (bit - 1));
+            System.arraycopy(array, 0, copy, 0, i);
+            System.arraycopy(array, i + 2, copy, i, newNodeIndex - i);
+            copy[newNodeIndex] = child;
+            System.arraycopy(array, newNodeIndex + 2, copy, newNodeIndex + 1,
+                array.length - newNodeIndex - 2);
+            return new BitmapNode(dataMap & ~bit, nodeMap | bit, copy);
+        }
+
+        /** replaces the child node at node index i by an entry */
+        private Node migrateToData(int bit, int i, Object key, Object value) {
+            Object[] copy = new Object[array.length + 1];
+            int newDataIndex = dataIndex(bit);
+            System.arraycopy(array, 0, copy, 0, newDataIndex);
+            copy[newDataIndex] = key;
+            copy[newDataIndex + 1] = value;
+            System.arraycopy(array, newDataIndex, copy, newDataIndex + 2, i - newDataIndex);
+            System.arraycopy(array, i + 1, copy, i + 2, array.length - i - 1);
+            return new BitmapNode(dataMap | bit, nodeMap & ~bit, copy);
+        }
+
+        @Override
+        boolean isSingleton() {
+            return nodeMap == 0 && array.length == 2;
+        }
+
+        @Override
+        Object singleKey() {
+            return array[0];
+        }
+
+        @Override
+        Object singleValue() {
+            return array[1];
+        }
+    }
+
+    /** a leaf holding the entries of keys with the same hash */
+    private static final class CollisionNode extends Node {
+        private static final long serialVersionUID = -4301836716281059526L;
+
+        private final int hash;
+        /** the keys and values, alternating */
+        private final Object[] array;
+
+        CollisionNode(int hash, Object[] array) {
+            this.hash = hash;
+            this.array = array;
+        }
+
+        private int find(@Nullable Object key) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (Objects.equals(array[i], key)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        Object get(@Nullable Object key, int hash, int shift) {
+            int i = hash == this.hash ? find(key) : -1;
+            return i < 0 ? NOT_FOUND : array[i + 1];
+        }
+
+        @Override
+        Node put(@Nullable Object key, @Nullable Object value, int hash, int shift,
+                boolean[] added) {
+            if (hash != this.hash) {
+                return new BitmapNode(0, bit(this.hash, shift), new Object[] { this }).put(key,
+                    value, hash, shift, added);
+            }
+            int i = find(key);
+            if (i >= 0) {
+                if (array[i + 1] == value) {
+                    return this;
+                }
+                Object[] copy = array.clone();
+                copy[i + 1] = value;
+                return new CollisionNode(hash, copy);
+            }
+            added[0] = true;
+            Object[] copy = Arrays.copyOf(array, array.length + 2);
+            copy[array.length] = key;
+            copy[array.length + 1] = value;
+            return new CollisionNode(hash, copy);
+        }
+
+        @Override
+        Node remove(@Nullable Object key, int hash, int shift) {
+            int i = hash == this.hash ? find(key) : -1;
+            if (i < 0) {
+                return this;
+            }
+            if (array.length == 4) {
+                int other = i == 0 ? 2 : 0;
+                return new BitmapNode(bit(hash, shift), 0,
+                    new Object[] { array[other], array[other + 1] });
+            }
+            Object[] copy = new Object[array.length - 2];
+            System.arraycopy(array, 0, copy, 0, i);
+            System.arraycopy(array, i + 2, copy, i, array.length - i - 2);
+            return new CollisionNode(hash, copy);
+        }
+
+        @Override
+        boolean isSingleton() {
+            return false;
+        }
+
+        @Override
+        Object singleKey() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        Object singleValue() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /** creates the node holding two entries whose hashes agree on the levels above */
+    private static Node merge(@Nullable Object key1, @Nullable Object value1, int hash1,
+            @Nullable Object key2, @Nullable Object value2, int hash2, int shift) {
+        if (hash1 == hash2) {
+            return new CollisionNode(hash1, new Object[] { key1, value1, key2, value2 });
+        }
+        int bit1 = bit(hash1, shift);
+        int bit2 = bit(hash2, shift);
+        if (bit1 == bit2) {
+            return new BitmapNode(0, bit1,
+                new Object[] { merge(key1, value1, hash1, key2, value2, hash2, shift + BITS) });
+        }
+        return new BitmapNode(bit1 | bit2, 0, Integer.compareUnsigned(bit1, bit2) < 0
+                ? new Object[] { key1, value1, key2, value2 }
+                : new Object[] { key2, value2, key1, value1 });
+    }
+}
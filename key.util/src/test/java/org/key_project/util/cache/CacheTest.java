@@ -0,0 +1,173 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.util.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheTest {
+
+    @ParameterizedTest
+    @EnumSource(CachePolicy.class)
+    void putIfAbsentKeepsFirstValue(CachePolicy policy) {
+        Cache<String, String> cache = policy.create(100);
+        String first = new String("a");
+        String second = new String("a");
+        assertSame(first, cache.putIfAbsent("a", first));
+        assertSame(first, cache.putIfAbsent("a", second));
+        assertSame(first, cache.get("a"));
+        assertNull(cache.get("b"));
+
+        CacheStatistics stats = cache.getStatistics();
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(1, stats.size());
+    }
+
+    @ParameterizedTest
+    @EnumSource(CachePolicy.class)
+    void sizeIsBounded(CachePolicy policy) {
+        Cache<Integer, Integer> cache = policy.create(64);
+        for (int i = 0; i < 1000; i++) {
+            cache.put(i, i);
+        }
+        assertTrue(cache.size() <= 64);
+        assertEquals(1000 - cache.size(), cache.getStatistics().evictions());
+
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
+
+    @ParameterizedTest
+    @EnumSource(CachePolicy.class)
+    void concurrentInterning(CachePolicy policy) throws InterruptedException {
+        Cache<Integer, Integer> cache = policy.create(10000);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 5000; i++) {
+                    Integer cached = cache.get(i);
+                    if (cached == null) {
+                        cache.putIfAbsent(i, i);
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(cache.size() <= 10000);
+        assertEquals(8 * 5000,
+            cache.getStatistics().hits() + cache.getStatistics().misses());
+    }
+
+    @ParameterizedTest
+    @EnumSource(CachePolicy.class)
+    void weightIsBounded(CachePolicy policy) {
+        Cache<Integer, String> cache = policy.create(1000, String::length);
+        for (int i = 0; i < 1000; i++) {
+            cache.put(i, "0123456789");
+        }
+        assertTrue(cache.size() <= 100, "the cache holds " + cache.size() + " entries");
+        assertTrue(cache.size() > 0);
+    }
+
+    @Test
+    void lruKeepsTheMostRecentWeighedEntries() {
+        Cache<Integer, String> cache = new ConcurrentLRUCache<>(1000, String::length);
+        for (int i = 0; i < 1000; i++) {
+            cache.put(i, "0123456789");
+        }
+        assertNotNull(cache.get(999));
+    }
+
+    /**
+     * creates a single segment TinyLFU cache of weight 100 whose main region holds the keys
+     * <code>0..98</code> of weight 1, in this order
+     */
+    private static Cache<String, Integer> fullTinyLfuCache() {
+        Cache<String, Integer> cache = new WTinyLfuCache<>(100, 1, v -> v);
+        for (int i = 0; i < 99; i++) {
+            cache.put(Integer.toString(i), 1);
+        }
+        return cache;
+    }
+
+    @Test
+    void heavyCandidateMustBeatEveryVictim() {
+        Cache<String, Integer> cache = fullTinyLfuCache();
+        // the eldest entry is cold, but the candidate would evict the 19 hot entries after it
+        for (int i = 1; i < 20; i++) {
+            for (int j = 0; j < 5; j++) {
+                cache.get(Integer.toString(i));
+            }
+        }
+        cache.get("heavy");
+        cache.get("heavy");
+        cache.put("heavy", 20);
+        // the window only holds one unit of weight, the candidate is moved on to the main region
+        assertNull(cache.get("heavy"));
+        for (int i = 0; i < 20; i++) {
+            assertNotNull(cache.get(Integer.toString(i)));
+        }
+    }
+
+    @Test
+    void heavyCandidateEvictsEnoughVictims() {
+        Cache<String, Integer> cache = fullTinyLfuCache();
+        for (int j = 0; j < 3; j++) {
+            cache.get("heavy");
+        }
+        cache.put("heavy", 20);
+        assertNotNull(cache.get("heavy"));
+        assertEquals(80, cache.size());
+        assertEquals(20, cache.getStatistics().evictions());
+        assertNull(cache.get("19"));
+        assertNotNull(cache.get("20"));
+    }
+
+    /**
+     * interleaves accesses to 500 frequently used keys with a scan of keys used only once
+     *
+     * @return the number of frequently used keys still cached at the end
+     */
+    private static int hotEntriesAfterScan(Cache<Integer, Integer> cache) {
+        int next = 1000;
+        for (int i = 0; i < 100000; i++) {
+            int hot = i % 500;
+            if (cache.get(hot) == null) {
+                cache.put(hot, hot);
+            }
+            for (int j = 0; j < 4; j++) {
+                int once = next++;
+                if (cache.get(once) == null) {
+                    cache.put(once, once);
+                }
+            }
+        }
+        int hits = 0;
+        for (int i = 0; i < 500; i++) {
+            if (cache.get(i) != null) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    @Test
+    void frequentEntriesSurviveScan() {
+        int lru = hotEntriesAfterScan(CachePolicy.LRU.create(1000));
+        int tinyLfu = hotEntriesAfterScan(CachePolicy.TINY_LFU.create(1000));
+        assertTrue(tinyLfu > 400, "only " + tinyLfu + " frequently used entries survived");
+        assertTrue(tinyLfu > lru);
+    }
+}
@@ -0,0 +1,110 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.util.collection;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestHashTrie {
+
+    /** a key with a chosen hash code, to provoke collisions */
+    private record Key(int hash, int id) {
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static Object randomKey(Random random) {
+        if (random.nextInt(4) == 0) {
+            return new Key(random.nextInt(4) << random.nextInt(31), random.nextInt(3));
+        }
+        return random.nextInt(500);
+    }
+
+    @Test
+    public void testAgainstHashMap() {
+        Random random = new Random(42);
+        HashTrie<Object, Object> trie = HashTrie.empty();
+        Map<Object, Object> expected = new HashMap<>();
+        for (int i = 0; i < 20000; i++) {
+            Object key = randomKey(random);
+            if (random.nextInt(3) < 2) {
+                Object value = random.nextInt(5);
+                trie = trie.put(key, value);
+                expected.put(key, value);
+            } else {
+                trie = trie.remove(key);
+                expected.remove(key);
+            }
+            assertEquals(expected.size(), trie.size());
+            Object query = randomKey(random);
+            assertEquals(expected.containsKey(query), trie.containsKey(query));
+            assertEquals(expected.get(query), trie.get(query));
+        }
+        for (Map.Entry<Object, Object> e : expected.entrySet()) {
+            assertEquals(e.getValue(), trie.get(e.getKey()));
+        }
+    }
+
+    @Test
+    public void testPersistence() {
+        HashTrie<Integer, String> trie = HashTrie.empty();
+        for (int i = 0; i < 100; i++) {
+            trie = trie.put(i, "v" + i);
+        }
+        HashTrie<Integer, String> updated = trie.put(5, "w").remove(6);
+        assertEquals("v5", trie.get(5));
+        assertEquals("v6", trie.get(6));
+        assertEquals("w", updated.get(5));
+        assertFalse(updated.containsKey(6));
+        assertEquals(99, updated.size());
+        assertSame(trie, trie.put(7, trie.get(7)));
+        assertSame(trie, trie.remove(1000));
+    }
+
+    @Test
+    public void testLargeMapKeepsInsertionOrder() {
+        ImmutableMap<Integer, Integer> map = DefaultImmutableMap.nilMap();
+        for (int i = 0; i < 50; i++) {
+            map = map.put(i, i);
+        }
+        map = map.put(10, 100).remove(20);
+        assertEquals(49, map.size());
+        assertEquals(100, map.get(10));
+        assertNull(map.get(20));
+        Iterator<Integer> keys = map.keyIterator();
+        assertEquals(10, keys.next());
+        assertEquals(49, keys.next());
+    }
+
+    @Test
+    public void testLargeSet() {
+        Random random = new Random(7);
+        ImmutableSet<Object> set = DefaultImmutableSet.nil();
+        Set<Object> expected = new HashSet<>();
+        for (int i = 0; i < 5000; i++) {
+            Object element = randomKey(random);
+            if (random.nextInt(3) < 2) {
+                set = set.add(element);
+                expected.add(element);
+            } else {
+                set = set.remove(element);
+                expected.remove(element);
+            }
+            assertEquals(expected.size(), set.size());
+            Object query = randomKey(random);
+            assertEquals(expected.contains(query), set.contains(query));
+        }
+        assertEquals(expected, set.toSet());
+    }
+}
@@ -3,6 +3,9 @@
  * SPDX-License-Identifier: GPL-2.0-only */
 package de.uka.ilkd.key.gui.plugins.caching;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -34,14 +37,19 @@ import de.uka.ilkd.key.proof.ProofEvent;
 import de.uka.ilkd.key.proof.RuleAppListener;
 import de.uka.ilkd.key.proof.event.ProofDisposedEvent;
 import de.uka.ilkd.key.proof.event.ProofDisposedListener;
+import de.uka.ilkd.key.proof.io.ProofSaver;
+import de.uka.ilkd.key.proof.io.event.ProofSaverEvent;
+import de.uka.ilkd.key.proof.io.event.ProofSaverListener;
 import de.uka.ilkd.key.proof.reference.ClosedBy;
 import de.uka.ilkd.key.proof.reference.CopyReferenceResolver;
+import de.uka.ilkd.key.proof.reference.ProofCache;
 import de.uka.ilkd.key.proof.reference.ReferenceSearcher;
 import de.uka.ilkd.key.proof.replay.CopyingProofReplayer;
 import de.uka.ilkd.key.prover.ProverTaskListener;
 import de.uka.ilkd.key.prover.TaskFinishedInfo;
 import de.uka.ilkd.key.prover.TaskStartedInfo;
 import de.uka.ilkd.key.prover.impl.ApplyStrategy;
+import de.uka.ilkd.key.settings.PathConfig;
 
 import org.key_project.util.collection.ImmutableList;
 
@@ -62,9 +70,15 @@ public class CachingExtension
         implements KeYGuiExtension, KeYGuiExtension.Startup, KeYGuiExtension.ContextMenu,
         KeYGuiExtension.StatusLine, KeYGuiExtension.Settings, KeYGuiExtension.Toolbar,
         KeYGuiExtension.MainMenu,
-        KeYSelectionListener, RuleAppListener, ProofDisposedListener, ProverTaskListener {
+        KeYSelectionListener, RuleAppListener, ProofDisposedListener, ProverTaskListener,
+        ProofSaverListener {
     private static final Logger LOGGER = LoggerFactory.getLogger(CachingExtension.class);
 
+    /**
+     * Name of the directory of the persistent proof cache, relative to the KeY configuration.
+     */
+    private static final String PROOF_CACHE_DIR = "proofCache";
+
     /**
      * The mediator.
      */
@@ -82,6 +96,10 @@ public class CachingExtension
     private ReferenceSearchButton referenceSearchButton;
     private CachingToggleAction toggleAction = null;
     private CachingPruneHandler cachingPruneHandler = null;
+    /**
+     * The persistent proof cache, created on first use.
+     */
+    private ProofCache persistentCache = null;
 
     private void initActions(MainWindow mainWindow) {
         if (toggleAction == null) {
@@ -118,6 +136,30 @@ public class CachingExtension
         return toggleAction.isSelected();
     }
 
+    /**
+     * @return the persistent proof cache, or null if it is disabled or cannot be opened
+     */
+    private ProofCache getPersistentCache() {
+        if (!CachingSettingsProvider.getCachingSettings().getPersistent()) {
+            if (persistentCache != null) {
+                // release the proofs loaded from the cache
+                persistentCache.dispose();
+                persistentCache = null;
+            }
+            return null;
+        }
+        if (persistentCache == null) {
+            try {
+                persistentCache =
+                    new ProofCache(Paths.get(PathConfig.getKeyConfigDir(), PROOF_CACHE_DIR));
+            } catch (IOException e) {
+                LOGGER.warn("Failed to open the persistent proof cache", e);
+                CachingSettingsProvider.getCachingSettings().setPersistent(false);
+            }
+        }
+        return persistentCache;
+    }
+
     @Override
     public void selectedProofChanged(KeYSelectionEvent e) {
         Proof p = e.getSource().getSelectedProof();
@@ -163,6 +205,10 @@ public class CachingExtension
             try {
                 c = ReferenceSearcher.findPreviousProof(mediator.getCurrentlyOpenedProofs(),
                     goal.node());
+                ProofCache cache = getPersistentCache();
+                if (c == null && cache != null) {
+                    c = cache.findCachedProof(goal.node());
+                }
             } catch (Exception exception) {
                 LOGGER.warn("error during reference search ", exception);
             }
@@ -183,6 +229,7 @@ public class CachingExtension
         this.mediator = mediator;
         mediator.addKeYSelectionListener(this);
         mediator.getUI().addProverTaskListener(this);
+        ProofSaver.addProofSaverListener(this);
     }
 
     @Override
@@ -200,6 +247,19 @@ public class CachingExtension
 
     }
 
+    @Override
+    public void proofSaved(ProofSaverEvent e) {
+        ProofCache cache = getPersistentCache();
+        if (cache == null || e.getErrorMsg() != null || !e.getSource().isSaveProofSteps()) {
+            return;
+        }
+        try {
+            cache.record(e.getSource().getProof(), new File(e.getFilename()));
+        } catch (IOException exception) {
+            LOGGER.warn("Failed to record the proof in the persistent cache", exception);
+        }
+    }
+
     @Override
     public @NonNull List<Action> getContextActions(@NonNull KeYMediator mediator,
             @NonNull ContextMenuKind kind, @NonNull Object underlyingObject) {
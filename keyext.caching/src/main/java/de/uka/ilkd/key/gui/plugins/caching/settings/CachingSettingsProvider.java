@@ -37,6 +37,11 @@ public class CachingSettingsProvider extends SettingsPanel implements SettingsPr
      */
     private static final String STRATEGY_SEARCH =
         "Automatically search for references in auto mode";
+    /**
+     * Label for the persistent cache option.
+     */
+    private static final String PERSISTENT =
+        "Store saved proofs in a persistent cache and search it in auto mode";
     /**
      * Label for second option.
      */
@@ -52,6 +57,10 @@ public class CachingSettingsProvider extends SettingsPanel implements SettingsPr
      * Checkbox for first option.
      */
     private final JCheckBox strategySearch;
+    /**
+     * Checkbox for the persistent cache option.
+     */
+    private final JCheckBox persistent;
     /**
      * Combobox for second option (dispose behaviour).
      */
@@ -71,6 +80,10 @@ public class CachingSettingsProvider extends SettingsPanel implements SettingsPr
 
         strategySearch =
             addCheckBox(STRATEGY_SEARCH, "", true, emptyValidator());
+        persistent = addCheckBox(PERSISTENT, """
+                Closed branches of saved proofs are recorded in the proof cache directory of the
+                 KeY configuration, so that they can be referenced by later KeY sessions.""",
+            false, emptyValidator());
         disposeOption = addComboBox(DISPOSE_TITLE, """
                 When a referenced proof is disposed, this is what happens to
                  all cached branches that reference it.""",
@@ -100,6 +113,7 @@ public class CachingSettingsProvider extends SettingsPanel implements SettingsPr
     public JPanel getPanel(MainWindow window) {
         ProofCachingSettings ss = getCachingSettings();
         strategySearch.setSelected(ss.getEnabled());
+        persistent.setSelected(ss.getPersistent());
         disposeOption.setSelectedItem(ss.getDispose());
         pruneOption.setSelectedItem(ss.getPrune());
         return this;
@@ -109,6 +123,7 @@ public class CachingSettingsProvider extends SettingsPanel implements SettingsPr
     public void applySettings(MainWindow window) {
         ProofCachingSettings ss = getCachingSettings();
         ss.setEnabled(strategySearch.isEnabled());
+        ss.setPersistent(persistent.isSelected());
         ss.setDispose(disposeOption.getSelectedItem().toString());
         ss.setPrune(pruneOption.getSelectedItem().toString());
     }
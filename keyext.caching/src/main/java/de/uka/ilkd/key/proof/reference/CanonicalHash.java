@@ -0,0 +1,77 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof.reference;
+
+import de.uka.ilkd.key.logic.SequentFormula;
+import de.uka.ilkd.key.logic.Term;
+import de.uka.ilkd.key.logic.op.QuantifiableVariable;
+
+import org.key_project.util.EqualsModProofIrrelevancy;
+
+/**
+ * Computes 64 bit hash codes of formulas which, unlike
+ * {@link EqualsModProofIrrelevancy#hashCodeModProofIrrelevancy()}, do not depend on object
+ * identities and are therefore identical in different KeY processes.
+ * <p>
+ * The hash of a term only depends on the names and arities of its operators and the names of its
+ * bound variables. Formulas which are equal modulo proof irrelevancy thus have the same hash. Java
+ * blocks and term labels are ignored, which only makes the hash coarser.
+ */
+public final class CanonicalHash {
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private CanonicalHash() {
+    }
+
+    /**
+     * @param sf a sequent formula
+     * @return the canonical hash of its formula
+     */
+    public static long of(SequentFormula sf) {
+        return of(sf.formula());
+    }
+
+    /**
+     * @param term a term
+     * @return the canonical hash of the term
+     */
+    public static long of(Term term) {
+        long h = of(term.op().name().toString());
+        h = combine(h, term.arity());
+        for (QuantifiableVariable qv : term.boundVars()) {
+            h = combine(h, of(qv.name().toString()));
+        }
+        for (int i = 0; i < term.arity(); i++) {
+            h = combine(h, of(term.sub(i)));
+        }
+        return finish(h);
+    }
+
+    /**
+     * @param s a string
+     * @return the 64 bit FNV-1a hash of the characters of the string
+     */
+    public static long of(String s) {
+        long h = FNV_OFFSET;
+        for (int i = 0; i < s.length(); i++) {
+            h ^= s.charAt(i);
+            h *= FNV_PRIME;
+        }
+        return h;
+    }
+
+    private static long combine(long h, long value) {
+        return h * 31 + value;
+    }
+
+    /**
+     * final mixing step of SplitMix64, spreads the bits of the combined values
+     */
+    private static long finish(long h) {
+        h = (h ^ (h >>> 30)) * 0xbf58476d1ce4e5b9L;
+        h = (h ^ (h >>> 27)) * 0x94d049bb133111ebL;
+        return h ^ (h >>> 31);
+    }
+}
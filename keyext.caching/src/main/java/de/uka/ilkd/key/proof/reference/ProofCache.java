@@ -0,0 +1,533 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof.reference;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.logic.Semisequent;
+import de.uka.ilkd.key.logic.SequentFormula;
+import de.uka.ilkd.key.proof.Node;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.proof.io.ProblemLoaderException;
+
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A persistent index of the closed branches of saved proofs, used to close goals by reference to
+ * proofs which are not loaded in the current KeY process.
+ * <p>
+ * Each closed branch is stored with the {@link CanonicalHash}es of the formulas of its first
+ * sequent. Entries are indexed by the hash of one of their formulas, so that a lookup only
+ * considers entries sharing at least one formula with the new goal; its cost depends on the size
+ * of the new sequent but not on the number of cached proofs. A candidate found by hash is only
+ * returned after loading its proof and checking the sequents like {@link ReferenceSearcher} does.
+ * <p>
+ * The index is an append-only text file in the cache directory, so that several KeY processes can
+ * share it. Entries referring to a proof file which has changed since they were recorded (detected
+ * by a SHA-256 digest of the file) are ignored and removed when the index is compacted.
+ */
+public class ProofCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProofCache.class);
+
+    /** the name of the index file in the cache directory */
+    public static final String INDEX_FILE = "index";
+
+    /** the first line of the index file */
+    private static final String HEADER = "# KeY proof cache v1";
+
+    /**
+     * Loads the proofs referenced by cache entries.
+     */
+    @FunctionalInterface
+    public interface ProofLoader {
+        /**
+         * @param file a saved proof
+         * @return the loaded proof, or null if the file does not contain a proof
+         * @throws ProblemLoaderException if the proof cannot be loaded
+         */
+        @Nullable
+        Proof load(File file) throws ProblemLoaderException;
+    }
+
+    /**
+     * A closed branch of a saved proof.
+     *
+     * @param proofFile absolute path of the proof file
+     * @param digest SHA-256 digest of the proof file when the entry was recorded
+     * @param nodePath location of the first node of the branch, see {@link #pathOf(Node)}
+     * @param choices hash of the taclet options of the proof
+     * @param antecedent hashes of the antecedent formulas
+     * @param succedent hashes of the succedent formulas
+     * @param userTaclets hashes of the taclets defined in the proof file
+     */
+    record Entry(String proofFile, String digest, String nodePath, long choices,
+            long[] antecedent, long[] succedent, long[] userTaclets) {
+    }
+
+    private final Path indexFile;
+    private final ProofLoader loader;
+
+    /** entries indexed by the hash of their first succedent formula */
+    private final Map<Long, List<Entry>> succedentIndex = new HashMap<>();
+    /** entries without succedent, indexed by the hash of their first antecedent formula */
+    private final Map<Long, List<Entry>> antecedentIndex = new HashMap<>();
+    /** entries with an empty sequent */
+    private final List<Entry> emptyEntries = new ArrayList<>();
+
+    /** current digests of the proof files, computed once per process */
+    private final Map<String, Optional<String>> digests = new HashMap<>();
+    /** the proofs referenced by cache entries, indexed by their files */
+    private final Map<String, Proof> loadedProofs = new HashMap<>();
+    /** the proofs loaded by {@link #loader}, which are disposed by this cache */
+    private final Set<Proof> ownedProofs = new HashSet<>();
+    /** hashes of the taclets available in the proofs searching the cache */
+    private final Map<Proof, Set<Long>> availableTaclets = new WeakHashMap<>();
+
+    /**
+     * Creates a cache in the given directory, which is created if necessary, and reads its index.
+     * Referenced proofs are loaded in a new {@link KeYEnvironment} each.
+     *
+     * @param directory the cache directory
+     * @throws IOException if the index cannot be read
+     */
+    public ProofCache(Path directory) throws IOException {
+        this(directory, ProofCache::loadInEnvironment);
+    }
+
+    /**
+     * Creates a cache in the given directory, which is created if necessary, and reads its index.
+     *
+     * @param directory the cache directory
+     * @param loader loads the proofs referenced by cache entries
+     * @throws IOException if the index cannot be read
+     */
+    public ProofCache(Path directory, ProofLoader loader) throws IOException {
+        Files.createDirectories(directory);
+        this.indexFile = directory.resolve(INDEX_FILE);
+        this.loader = loader;
+        load();
+    }
+
+    /**
+     * Loads a proof in a new {@link KeYEnvironment}. The environment only holds the loaded proof, so
+     * it is released by disposing the proof; it is disposed right away if the file does not
+     * contain a proof.
+     */
+    private static @Nullable Proof loadInEnvironment(File file) throws ProblemLoaderException {
+        final KeYEnvironment<?> env = KeYEnvironment.load(file);
+        final Proof proof = env.getLoadedProof();
+        if (proof == null) {
+            env.dispose();
+        }
+        return proof;
+    }
+
+    /**
+     * Disposes the proofs which have been loaded by this cache. Proofs closed by reference to one
+     * of them are handled by their proof disposed listeners (e.g., the steps are copied).
+     */
+    public synchronized void dispose() {
+        loadedProofs.clear();
+        final List<Proof> owned = new ArrayList<>(ownedProofs);
+        ownedProofs.clear();
+        owned.forEach(ProofCache::disposeProof);
+    }
+
+    private static void disposeProof(Proof proof) {
+        if (!proof.isDisposed()) {
+            proof.dispose();
+        }
+    }
+
+    /**
+     * forgets the loaded proof of a file, disposing it if it has been loaded by this cache
+     */
+    private void release(String proofFile) {
+        final Proof proof = loadedProofs.remove(proofFile);
+        if (proof != null && ownedProofs.remove(proof)) {
+            disposeProof(proof);
+        }
+    }
+
+    /**
+     * @return the number of valid entries
+     */
+    public synchronized int size() {
+        int result = emptyEntries.size();
+        for (List<Entry> l : succedentIndex.values()) {
+            result += l.size();
+        }
+        for (List<Entry> l : antecedentIndex.values()) {
+            result += l.size();
+        }
+        return result;
+    }
+
+    /**
+     * Records the closed branches of a proof which has just been saved to or loaded from the given
+     * file. Branches which are not suitable for closing by reference are skipped, as are proofs
+     * containing goals which are themselves closed by reference.
+     *
+     * @param proof the proof
+     * @param file the file containing the proof
+     * @throws IOException if the file cannot be read or the index cannot be written
+     */
+    public synchronized void record(Proof proof, File file) throws IOException {
+        if (proof.closedGoals().stream().anyMatch(g -> g.node().lookup(ClosedBy.class) != null)) {
+            return;
+        }
+        final String path = file.getAbsolutePath();
+        final String digest = digest(file.toPath());
+        digests.put(path, Optional.of(digest));
+        removeEntries(path);
+
+        final long choices = choicesHash(proof);
+        final long[] userTaclets = ReferenceSearcher.userDefinedTaclets(proof).stream()
+                .mapToLong(CanonicalHash::of).toArray();
+        final List<Entry> entries = new ArrayList<>();
+        for (Node n : ReferenceSearcher.closedBranches(proof)) {
+            if (!ReferenceSearcher.suitableForCloseByReference(n)) {
+                continue;
+            }
+            entries.add(new Entry(path, digest, pathOf(n), choices,
+                hashes(n.sequent().antecedent()), hashes(n.sequent().succedent()), userTaclets));
+        }
+        entries.forEach(this::index);
+        loadedProofs.put(path, proof);
+        append(entries);
+    }
+
+    /**
+     * Searches the cache for a closed branch which can be used to close the given node.
+     *
+     * @param newNode an open goal
+     * @return a reference, or null if none was found
+     */
+    public synchronized @Nullable ClosedBy findCachedProof(Node newNode) {
+        if (!ReferenceSearcher.suitableForCloseByReference(newNode)) {
+            return null;
+        }
+        final Proof proof = newNode.proof();
+        final Set<Long> ante = hashSet(newNode.sequent().antecedent());
+        final Set<Long> succ = hashSet(newNode.sequent().succedent());
+        final long choices = choicesHash(proof);
+
+        final List<Entry> candidates = new ArrayList<>(emptyEntries);
+        for (long h : succ) {
+            candidates.addAll(succedentIndex.getOrDefault(h, List.of()));
+        }
+        for (long h : ante) {
+            candidates.addAll(antecedentIndex.getOrDefault(h, List.of()));
+        }
+        for (Entry e : candidates) {
+            if (e.choices() != choices
+                    || !containsAll(ante, e.antecedent()) || !containsAll(succ, e.succedent())
+                    || !containsAll(availableTaclets(proof), e.userTaclets())
+                    || !isUpToDate(e)) {
+                continue;
+            }
+            final Proof reference = loadProof(e.proofFile());
+            if (reference == null || reference == proof
+                    || !ReferenceSearcher.compatible(reference, proof)) {
+                continue;
+            }
+            final Node n = resolve(reference, e.nodePath());
+            if (n != null && n.isClosed()
+                    && ReferenceSearcher.containedIn(newNode.sequent(), n.sequent())) {
+                return new ClosedBy(reference, n, new HashSet<>());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Describes the location of a node independently of serial numbers, which may differ after
+     * reloading a proof: the depth of the node, followed by the indices of the children taken at
+     * all branching nodes on the way from the root, e.g., <code>42/0.1</code>.
+     *
+     * @param node a node
+     * @return the location of the node
+     */
+    static String pathOf(Node node) {
+        final Deque<Integer> branches = new ArrayDeque<>();
+        int depth = 0;
+        for (Node n = node; n.parent() != null; n = n.parent()) {
+            depth++;
+            if (n.parent().childrenCount() > 1) {
+                branches.push(n.parent().getChildNr(n));
+            }
+        }
+        final StringJoiner sj = new StringJoiner(".", depth + "/", "");
+        branches.forEach(i -> sj.add(i.toString()));
+        return sj.toString();
+    }
+
+    /**
+     * @param proof a proof
+     * @param path a location computed by {@link #pathOf(Node)}
+     * @return the node at the location, or null if the proof has no such node
+     */
+    static @Nullable Node resolve(Proof proof, String path) {
+        final int slash = path.indexOf('/');
+        final int depth = Integer.parseInt(path.substring(0, slash));
+        final String[] branches =
+            slash + 1 < path.length() ? path.substring(slash + 1).split("\\.") : new String[0];
+        Node n = proof.root();
+        int next = 0;
+        for (int i = 0; i < depth; i++) {
+            if (n.childrenCount() == 1) {
+                n = n.child(0);
+            } else if (n.childrenCount() > 1 && next < branches.length) {
+                final int child = Integer.parseInt(branches[next++]);
+                if (child >= n.childrenCount()) {
+                    return null;
+                }
+                n = n.child(child);
+            } else {
+                return null;
+            }
+        }
+        return n;
+    }
+
+    private static long choicesHash(Proof proof) {
+        return CanonicalHash.of(
+            new TreeMap<>(proof.getSettings().getChoiceSettings().getDefaultChoices()).toString());
+    }
+
+    private static long[] hashes(Semisequent semisequent) {
+        final long[] result = new long[semisequent.size()];
+        int i = 0;
+        for (SequentFormula sf : semisequent) {
+            result[i++] = CanonicalHash.of(sf);
+        }
+        return result;
+    }
+
+    private static Set<Long> hashSet(Semisequent semisequent) {
+        final Set<Long> result = new HashSet<>();
+        for (SequentFormula sf : semisequent) {
+            result.add(CanonicalHash.of(sf));
+        }
+        return result;
+    }
+
+    private static boolean containsAll(Set<Long> set, long[] hashes) {
+        for (long h : hashes) {
+            if (!set.contains(h)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Set<Long> availableTaclets(Proof proof) {
+        return availableTaclets.computeIfAbsent(proof, p -> {
+            final Set<Long> result = new HashSet<>();
+            ReferenceSearcher.allTaclets(p).forEach(t -> result.add(CanonicalHash.of(t)));
+            return result;
+        });
+    }
+
+    private void index(Entry e) {
+        if (e.succedent().length > 0) {
+            succedentIndex.computeIfAbsent(e.succedent()[0], k -> new ArrayList<>()).add(e);
+        } else if (e.antecedent().length > 0) {
+            antecedentIndex.computeIfAbsent(e.antecedent()[0], k -> new ArrayList<>()).add(e);
+        } else {
+            emptyEntries.add(e);
+        }
+    }
+
+    private void removeEntries(String proofFile) {
+        succedentIndex.values().forEach(l -> l.removeIf(e -> e.proofFile().equals(proofFile)));
+        antecedentIndex.values().forEach(l -> l.removeIf(e -> e.proofFile().equals(proofFile)));
+        emptyEntries.removeIf(e -> e.proofFile().equals(proofFile));
+        release(proofFile);
+    }
+
+    /**
+     * checks whether the proof file of an entry still has the recorded content
+     */
+    private boolean isUpToDate(Entry e) {
+        final Optional<String> current = digests.computeIfAbsent(e.proofFile(), f -> {
+            try {
+                return Optional.of(digest(Path.of(f)));
+            } catch (IOException ex) {
+                return Optional.empty();
+            }
+        });
+        if (current.isPresent() && current.get().equals(e.digest())) {
+            return true;
+        }
+        removeEntries(e.proofFile());
+        return false;
+    }
+
+    private @Nullable Proof loadProof(String proofFile) {
+        Proof result = loadedProofs.get(proofFile);
+        if (result != null && !result.isDisposed()) {
+            return result;
+        }
+        if (result != null) {
+            ownedProofs.remove(result);
+        }
+        try {
+            result = loader.load(new File(proofFile));
+        } catch (ProblemLoaderException | RuntimeException e) {
+            LOGGER.warn("Failed to load cached proof {}", proofFile, e);
+            result = null;
+        }
+        if (result == null) {
+            removeEntries(proofFile);
+            return null;
+        }
+        loadedProofs.put(proofFile, result);
+        ownedProofs.add(result);
+        return result;
+    }
+
+    private static String digest(Path file) throws IOException {
+        final MessageDigest md;
+        try {
+            md = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file), md)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(md.digest());
+    }
+
+    // ------------------------------------------------------------------ persistence
+
+    /**
+     * reads the index file; entries of proof files which changed in the meantime are dropped, and
+     * the file is rewritten if at least half of its entries are obsolete
+     */
+    private void load() throws IOException {
+        if (!Files.exists(indexFile)) {
+            return;
+        }
+        final Map<String, Entry> entries = new LinkedHashMap<>();
+        int lines = 0;
+        try (BufferedReader in = Files.newBufferedReader(indexFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                lines++;
+                final Entry e = parse(line);
+                if (e == null) {
+                    LOGGER.warn("Ignoring malformed proof cache entry: {}", line);
+                    continue;
+                }
+                // later entries of the same branch supersede earlier ones
+                entries.put(e.proofFile() + '\t' + e.nodePath(), e);
+            }
+        }
+        for (Entry e : entries.values()) {
+            if (isUpToDate(e)) {
+                index(e);
+            }
+        }
+        if (lines > 0 && 2 * size() <= lines) {
+            compact();
+        }
+    }
+
+    private void append(List<Entry> entries) throws IOException {
+        if (entries.isEmpty()) {
+            return;
+        }
+        writeLocked(false, entries);
+    }
+
+    private void compact() throws IOException {
+        final List<Entry> all = new ArrayList<>(emptyEntries);
+        succedentIndex.values().forEach(all::addAll);
+        antecedentIndex.values().forEach(all::addAll);
+        writeLocked(true, all);
+    }
+
+    /**
+     * writes entries to the index file while holding a lock on it, so that several processes may
+     * share the cache
+     */
+    private void writeLocked(boolean truncate, List<Entry> entries) throws IOException {
+        try (FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE);
+                FileLock ignored = channel.lock()) {
+            if (truncate) {
+                channel.truncate(0);
+            }
+            channel.position(channel.size());
+            final Writer out = Channels.newWriter(channel, StandardCharsets.UTF_8);
+            if (channel.size() == 0) {
+                out.write(HEADER + "\n");
+            }
+            for (Entry e : entries) {
+                out.write(format(e));
+                out.write('\n');
+            }
+            out.flush();
+        }
+    }
+
+    static String format(Entry e) {
+        return String.join("\t", e.proofFile(), e.digest(), e.nodePath(),
+            Long.toHexString(e.choices()), format(e.antecedent()), format(e.succedent()),
+            format(e.userTaclets()));
+    }
+
+    private static String format(long[] hashes) {
+        final StringJoiner sj = new StringJoiner(",");
+        for (long h : hashes) {
+            sj.add(Long.toHexString(h));
+        }
+        return sj.toString();
+    }
+
+    static @Nullable Entry parse(String line) {
+        final String[] fields = line.split("\t", -1);
+        if (fields.length != 7) {
+            return null;
+        }
+        try {
+            return new Entry(fields[0], fields[1], fields[2], Long.parseUnsignedLong(fields[3], 16),
+                parseHashes(fields[4]), parseHashes(fields[5]), parseHashes(fields[6]));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static long[] parseHashes(String field) {
+        if (field.isEmpty()) {
+            return new long[0];
+        }
+        return Arrays.stream(field.split(",")).mapToLong(h -> Long.parseUnsignedLong(h, 16))
+                .toArray();
+    }
+}
@@ -13,7 +13,6 @@ import de.uka.ilkd.key.logic.SequentFormula;
 import de.uka.ilkd.key.logic.Term;
 import de.uka.ilkd.key.proof.Node;
 import de.uka.ilkd.key.proof.Proof;
-import de.uka.ilkd.key.rule.NoPosTacletApp;
 import de.uka.ilkd.key.rule.merge.CloseAfterMerge;
 
 import org.key_project.slicing.DependencyTracker;
@@ -47,43 +46,9 @@ public final class ReferenceSearcher {
             if (p == newNode.proof()) {
                 continue; // doesn't make sense to cache in the same proof
             }
-            // conservative check: all user-defined rules in a previous proof
-            // have to also be available in the new proof
-            var proofFile = p.getProofFile() != null ? p.getProofFile().toString() : "////";
-            var tacletIndex = p.allGoals().head().ruleAppIndex().tacletIndex();
-            var newTacletIndex = newNode.proof().allGoals().head().ruleAppIndex().tacletIndex();
-            Set<NoPosTacletApp> newTaclets = newTacletIndex.allNoPosTacletApps();
-            var tacletsOk = true;
-            for (var taclet : tacletIndex.allNoPosTacletApps().stream()
-                    .filter(x -> x.taclet().getOrigin() != null
-                            && x.taclet().getOrigin().contains(proofFile))
-                    .toList()) {
-                if (newTaclets.stream().noneMatch(newTaclet -> Objects
-                        .equals(taclet.taclet().toString(), newTaclet.taclet().toString()))) {
-                    tacletsOk = false;
-                    break;
-                }
-            }
-            if (!tacletsOk) {
-                continue;
-            }
-
-            // only search in compatible proofs
-            if (!p.getSettings().getChoiceSettings()
-                    .equals(newNode.proof().getSettings().getChoiceSettings())) {
+            if (!compatible(p, newNode.proof())) {
                 continue;
             }
-            Set<Node> checkedNodes = new HashSet<>();
-            Queue<Node> nodesToCheck = p.closedGoals().stream().map(goal -> {
-                // first, find the initial node in this branch
-                Node n = goal.node();
-                if (n.parent() != null
-                        && n.parent().getAppliedRuleApp().rule() == CloseAfterMerge.INSTANCE) {
-                    // cannot reference this kind of branch
-                    return null;
-                }
-                return n;
-            }).filter(Objects::nonNull).collect(Collectors.toCollection(ArrayDeque::new));
             var depTracker = p.lookup(DependencyTracker.class);
             AnalysisResults results = null;
             // only try to get analysis results if it is a pure proof
@@ -95,31 +60,14 @@ public final class ReferenceSearcher {
                     // if the analysis for some reason fails, we simply proceed as usual
                 }
             }
-            while (!nodesToCheck.isEmpty()) {
+            for (Node n : closedBranches(p)) {
                 // for each node, check that the sequent in the reference is
                 // a subset of the new sequent
-                Node n = nodesToCheck.remove();
-                if (checkedNodes.contains(n) || !n.isClosed()) {
-                    continue;
-                }
-                checkedNodes.add(n);
-
-                // find the first node in the branch
-                while (n.parent() != null && n.parent().childrenCount() == 1) {
-                    n = n.parent();
-                }
-                if (n.parent() != null) {
-                    nodesToCheck.add(n.parent());
-                }
                 Sequent seq = n.sequent();
                 if (results != null) {
                     seq = results.reduceSequent(n);
                 }
-                Semisequent ante = seq.antecedent();
-                Semisequent succ = seq.succedent();
-                Semisequent anteNew = newNode.sequent().antecedent();
-                Semisequent succNew = newNode.sequent().succedent();
-                if (!containedIn(anteNew, ante) || !containedIn(succNew, succ)) {
+                if (!containedIn(newNode.sequent(), seq)) {
                     continue;
                 }
                 Set<Node> toSkip = new HashSet<>();
@@ -138,6 +86,111 @@ public final class ReferenceSearcher {
         return null;
     }
 
+    /**
+     * Check whether closed branches of a previous proof may be used to close goals of a new proof.
+     * This is the case if both proofs use the same taclet options and all user-defined rules of the
+     * previous proof are also available in the new proof.
+     *
+     * @param previous the previous proof
+     * @param current the new proof
+     * @return whether the proofs are compatible
+     */
+    static boolean compatible(Proof previous, Proof current) {
+        // only search in compatible proofs
+        if (!previous.getSettings().getChoiceSettings()
+                .equals(current.getSettings().getChoiceSettings())) {
+            return false;
+        }
+        // conservative check: all user-defined rules in a previous proof
+        // have to also be available in the new proof
+        Set<String> newTaclets = null;
+        for (String taclet : userDefinedTaclets(previous)) {
+            if (newTaclets == null) {
+                newTaclets = allTaclets(current);
+            }
+            if (!newTaclets.contains(taclet)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param proof a proof
+     * @return the string representations of the taclets defined in the file of the proof
+     */
+    static List<String> userDefinedTaclets(Proof proof) {
+        var proofFile = proof.getProofFile() != null ? proof.getProofFile().toString() : "////";
+        var tacletIndex = proof.allGoals().head().ruleAppIndex().tacletIndex();
+        return tacletIndex.allNoPosTacletApps().stream()
+                .filter(x -> x.taclet().getOrigin() != null
+                        && x.taclet().getOrigin().contains(proofFile))
+                .map(x -> x.taclet().toString())
+                .toList();
+    }
+
+    /**
+     * @param proof a proof
+     * @return the string representations of all taclets available in the proof
+     */
+    static Set<String> allTaclets(Proof proof) {
+        var tacletIndex = proof.allGoals().head().ruleAppIndex().tacletIndex();
+        return tacletIndex.allNoPosTacletApps().stream().map(x -> x.taclet().toString())
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Collects the first nodes of all closed branches of a proof, i.e., the closed subtrees which
+     * may be referenced. Branches following a {@link CloseAfterMerge} are excluded. The nodes are
+     * ordered from the leaves towards the root.
+     *
+     * @param p a proof
+     * @return the first nodes of the closed branches
+     */
+    static List<Node> closedBranches(Proof p) {
+        List<Node> result = new ArrayList<>();
+        Set<Node> checkedNodes = new HashSet<>();
+        Queue<Node> nodesToCheck = p.closedGoals().stream().map(goal -> {
+            // first, find the initial node in this branch
+            Node n = goal.node();
+            if (n.parent() != null
+                    && n.parent().getAppliedRuleApp().rule() == CloseAfterMerge.INSTANCE) {
+                // cannot reference this kind of branch
+                return null;
+            }
+            return n;
+        }).filter(Objects::nonNull).collect(Collectors.toCollection(ArrayDeque::new));
+        while (!nodesToCheck.isEmpty()) {
+            Node n = nodesToCheck.remove();
+            if (checkedNodes.contains(n) || !n.isClosed()) {
+                continue;
+            }
+            checkedNodes.add(n);
+
+            // find the first node in the branch
+            while (n.parent() != null && n.parent().childrenCount() == 1) {
+                n = n.parent();
+            }
+            if (n.parent() != null) {
+                nodesToCheck.add(n.parent());
+            }
+            result.add(n);
+        }
+        return result;
+    }
+
+    /**
+     * Check whether the sequent of a reference is contained in a new sequent.
+     *
+     * @param newSequent the new sequent
+     * @param reference the sequent of the reference
+     * @return whether all formulas of the reference are present in the new sequent
+     */
+    static boolean containedIn(Sequent newSequent, Sequent reference) {
+        return containedIn(newSequent.antecedent(), reference.antecedent())
+                && containedIn(newSequent.succedent(), reference.succedent());
+    }
+
     /**
      * Check whether all formulas in {@code subset} are conatined in {@code superset}.
      *
@@ -0,0 +1,114 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof.reference;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.proof.Node;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.settings.GeneralSettings;
+
+import org.key_project.util.helper.FindResources;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestProofCache {
+    private static final File testCaseDirectory = FindResources.getTestCasesDirectory();
+
+    @Test
+    void nodePathsSurviveReloading() throws Exception {
+        KeYEnvironment<?> env = KeYEnvironment.load(new File(testCaseDirectory,
+            "../../../../../key.ui/examples/heap/verifyThis15_1_RelaxedPrefix/relax.proof"));
+        Proof p = env.getLoadedProof();
+        p.breadthFirstSearch(p.root(), (proof, node) -> assertSame(node,
+            ProofCache.resolve(proof, ProofCache.pathOf(node))));
+        assertNull(ProofCache.resolve(p, "100000/"));
+        p.dispose();
+    }
+
+    @Test
+    void findsReferenceInNewProcess(@TempDir Path tmp) throws Exception {
+        GeneralSettings.noPruningClosed = false;
+        Path file = tmp.resolve("proofWithRule.proof");
+        Files.copy(new File(testCaseDirectory, "proofCaching/proofWithRule.proof").toPath(), file);
+        Path cacheDir = tmp.resolve("cache");
+
+        Proof recorded = KeYEnvironment.load(file.toFile()).getLoadedProof();
+        new ProofCache(cacheDir).record(recorded, file.toFile());
+        recorded.dispose();
+
+        // a new cache instance reads the index like a new KeY process would
+        List<File> loaded = new ArrayList<>();
+        ProofCache cache = new ProofCache(cacheDir, f -> {
+            loaded.add(f);
+            return KeYEnvironment.load(f).getLoadedProof();
+        });
+        assertTrue(cache.size() > 0);
+
+        Proof p = KeYEnvironment.load(file.toFile()).getLoadedProof();
+        p.pruneProof(p.root());
+        Node root = p.root();
+        ClosedBy c = cache.findCachedProof(root);
+        assertNotNull(c);
+        assertNotSame(p, c.proof());
+        assertTrue(c.node().isClosed());
+        assertEquals(List.of(file.toFile().getAbsoluteFile()), loaded);
+
+        // the referenced proof is only loaded once
+        assertNotNull(cache.findCachedProof(root));
+        assertEquals(1, loaded.size());
+
+        // entries of modified proof files are dropped
+        Files.writeString(file, "\n", StandardOpenOption.APPEND);
+        ProofCache reopened = new ProofCache(cacheDir);
+        assertEquals(0, reopened.size());
+        assertNull(reopened.findCachedProof(root));
+
+        // the proofs loaded by the cache are disposed with it
+        cache.dispose();
+        assertTrue(c.proof().isDisposed());
+        assertFalse(p.isDisposed());
+
+        GeneralSettings.noPruningClosed = true;
+        p.dispose();
+    }
+
+    @Test
+    void recordedProofsAreNotDisposed(@TempDir Path tmp) throws Exception {
+        Path file = tmp.resolve("proofWithRule.proof");
+        Files.copy(new File(testCaseDirectory, "proofCaching/proofWithRule.proof").toPath(), file);
+
+        Proof recorded = KeYEnvironment.load(file.toFile()).getLoadedProof();
+        ProofCache cache = new ProofCache(tmp.resolve("cache"));
+        cache.record(recorded, file.toFile());
+        cache.dispose();
+        assertFalse(recorded.isDisposed());
+        recorded.dispose();
+    }
+
+    @Test
+    void entryFormatRoundTrip() {
+        ProofCache.Entry e = new ProofCache.Entry("/a\\b.proof", "00ff", "12/0.1", -5L,
+            new long[] { 1, -1 }, new long[0], new long[] { Long.MIN_VALUE });
+        ProofCache.Entry parsed = ProofCache.parse(ProofCache.format(e));
+        assertNotNull(parsed);
+        assertEquals(e.proofFile(), parsed.proofFile());
+        assertEquals(e.digest(), parsed.digest());
+        assertEquals(e.nodePath(), parsed.nodePath());
+        assertEquals(e.choices(), parsed.choices());
+        assertArrayEquals(e.antecedent(), parsed.antecedent());
+        assertArrayEquals(e.succedent(), parsed.succedent());
+        assertArrayEquals(e.userTaclets(), parsed.userTaclets());
+        assertNull(ProofCache.parse("not an entry"));
+    }
+}
@@ -32,6 +32,9 @@ import org.key_project.proofmanagement.merge.ProofBundleMerger;
  * --explicit (implies --auto) stores automatically found proofs explicitly as files
  * --report generate html report, needs the target filename as parameter
  * --missing check for contracts that have no proof
+ * --incremental reuse the replay results of proofs whose inputs did not change since the last
+ * run, needs the path of the cache file as parameter
+ * --parallel replay the proofs using the given number of threads
  * checks that are always enabled:
  * - check for duplicate proofs of the same contracts
  * individually and independently trigger different checks
@@ -85,6 +88,9 @@ public final class Main {
         CL_CHECK.addOption("--dependency", null, STRINGS.getString("check_dependency_desc"));
         CL_CHECK.addOption("--missing", null, STRINGS.getString("check_missing_desc"));
         CL_CHECK.addOption("--replay", null, STRINGS.getString("check_replay_desc"));
+        CL_CHECK.addOption("--incremental", "cache_path",
+            STRINGS.getString("check_incremental_desc"));
+        CL_CHECK.addOption("--parallel", "threads", STRINGS.getString("check_parallel_desc"));
         // check.addOption("--auto", null, STRINGS.getString("check_auto_desc"));
         // check.addOption("--explicit", null, STRINGS.getString("check_explicit_desc"));
         CL_CHECK.addOption("--report", "out_path", STRINGS.getString("check_report_desc"));
@@ -100,6 +106,9 @@ public final class Main {
         CL_MERGE_CHECK.addOption("--dependency", null, STRINGS.getString("check_dependency_desc"));
         CL_MERGE_CHECK.addOption("--missing", null, STRINGS.getString("check_missing_desc"));
         CL_MERGE_CHECK.addOption("--replay", null, STRINGS.getString("check_replay_desc"));
+        CL_MERGE_CHECK.addOption("--incremental", "cache_path",
+            STRINGS.getString("check_incremental_desc"));
+        CL_MERGE_CHECK.addOption("--parallel", "threads", STRINGS.getString("check_parallel_desc"));
         // CL_MERGE_CHECK.addOption("--auto", null, STRINGS.getString("check_auto_desc"));
         // CL_MERGE_CHECK.addOption("--explicit", null, STRINGS.getString("check_explicit_desc"));
         CL_MERGE_CHECK.addOption("--report", "out_path", STRINGS.getString("check_report_desc"));
@@ -162,12 +171,36 @@ public final class Main {
      */
     public static void check(boolean missing, boolean settings, boolean replay, boolean dependency,
             Path bundlePath, Path reportPath) {
+        check(missing, settings, replay, dependency, bundlePath, reportPath, null, 1);
+    }
+
+    /**
+     * The check subcommand applies the selected checks to the proof bundle and generates an HTML
+     * report if desired. If a cache path is given, proofs are only replayed if their inputs
+     * (proof file, Java sources, contracts, taclets) changed since the last run with the same
+     * cache (see {@link ReplayCache}). The proofs are replayed by the given number of threads.
+     *
+     * @param missing checks if there are any unproven contracts in the bundle
+     * @param settings checks if the settings for the proofs are compatible
+     * @param replay checks whether the proofs in the bundle are replayable
+     * @param dependency checks for unsound dependencies between contracts and proofs
+     * @param bundlePath the path of the bundle (directory or zip file)
+     * @param reportPath the output path for the HTML report (if selected)
+     * @param cachePath the path of the replay cache file (null disables incremental checking)
+     * @param replayThreads the number of threads used to replay the proofs
+     */
+    public static void check(boolean missing, boolean settings, boolean replay, boolean dependency,
+            Path bundlePath, Path reportPath, Path cachePath, int replayThreads) {
 
         // we accumulate results in this variable
         CheckerData globalResult = new CheckerData(LogLevel.DEBUG);
+        globalResult.setReplayThreads(replayThreads);
         try (ProofBundleHandler pbh = ProofBundleHandler.createBundleHandler(bundlePath)) {
 
             globalResult.setPbh(pbh);
+            if (cachePath != null) {
+                globalResult.setReplayCache(new ReplayCache(cachePath));
+            }
 
             // add file tree to result
             globalResult.setFileTree(pbh.getFileTree());
@@ -184,6 +217,9 @@ public final class Main {
             if (dependency) {
                 new DependencyChecker().check(pbh, globalResult);
             }
+            if (globalResult.getReplayCache() != null) {
+                saveReplayCache(globalResult);
+            }
             globalResult.print("All checks done!");
             globalResult.print("Global result: " + globalResult.getGlobalState());
 
@@ -203,6 +239,17 @@ public final class Main {
         } catch (Throwable e) {
             System.err.println("Error creating the report: ");
             e.printStackTrace();
+        } finally {
+            KeYFacade.releaseWorkerProfiles(globalResult);
+        }
+    }
+
+    private static void saveReplayCache(CheckerData globalResult) {
+        try {
+            globalResult.getReplayCache().save();
+        } catch (IOException e) {
+            globalResult.print(LogLevel.WARNING, "Could not save the replay cache: "
+                + e.getMessage());
         }
     }
 
@@ -215,7 +262,8 @@ public final class Main {
         }
     }
 
-    // check [--settings] [--dependency] [--missing] [--replay] [--report <out_path>] <bundle_path>
+    // check [--settings] [--dependency] [--missing] [--replay] [--incremental <cache_path>]
+    // [--parallel <threads>] [--report <out_path>] <bundle_path>
     private static void check(CommandLine commandLine) {
         List<String> arguments = commandLine.getArguments();
         if (arguments.size() != 1) {
@@ -229,11 +277,27 @@ public final class Main {
             reportPath = Paths.get(outFileName).toAbsolutePath();
         }
 
+        Path cachePath = null;
+        if (commandLine.isSet("--incremental")) {
+            String cacheFileName = commandLine.getString("--incremental", "");
+            cachePath = Paths.get(cacheFileName).toAbsolutePath();
+        }
+
+        int replayThreads = 1;
+        if (commandLine.isSet("--parallel")) {
+            try {
+                replayThreads = Math.max(1, commandLine.getInteger("--parallel", 1));
+            } catch (CommandLineException e) {
+                commandLine.printUsage(System.out);
+                return;
+            }
+        }
+
         String pathStr = arguments.get(0);
         Path bundlePath = Paths.get(pathStr);
         check(commandLine.isSet("--missing"), commandLine.isSet("--settings"),
             commandLine.isSet("--replay"), commandLine.isSet("--dependency"),
-            bundlePath, reportPath);
+            bundlePath, reportPath, cachePath, replayThreads);
     }
 
     // merge [--force] [--check "<check_args>"] <bundle1> <bundle2> ... <output>
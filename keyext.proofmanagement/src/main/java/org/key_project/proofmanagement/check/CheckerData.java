@@ -19,6 +19,7 @@ import java.util.TreeSet;
 import de.uka.ilkd.key.proof.Proof;
 import de.uka.ilkd.key.proof.init.KeYUserProblemFile;
 import de.uka.ilkd.key.proof.init.ProblemInitializer;
+import de.uka.ilkd.key.proof.init.Profile;
 import de.uka.ilkd.key.proof.io.AbstractProblemLoader;
 import de.uka.ilkd.key.proof.io.IntermediatePresentationProofFileParser;
 import de.uka.ilkd.key.settings.ChoiceSettings;
@@ -62,6 +63,22 @@ public final class CheckerData implements Logger {
 
     private DependencyGraph dependencyGraph;
 
+    ////////////////////////////////// verdicts of previous runs (incremental mode)
+
+    /** cache of replay verdicts, null if incremental checking is disabled */
+    private ReplayCache replayCache;
+
+    ////////////////////////////////// parallel replay
+
+    /** number of threads used to replay the proofs */
+    private int replayThreads = 1;
+
+    /**
+     * the profile instances of the replay workers (with and without permissions), released at the
+     * end of the run (see {@link KeYFacade#releaseWorkerProfiles(CheckerData)})
+     */
+    private final Map<Boolean, List<Profile>> workerProfiles = new HashMap<>();
+
     ////////////////////////////////// results from missing proofs checker
 
     public Set<Contract> getContractsWithoutProof() {
@@ -271,6 +288,15 @@ public final class CheckerData implements Logger {
         public DependencyState dependencyState = DependencyState.UNKNOWN;
         public ProofState proofState = ProofState.UNKNOWN;
 
+        /** indicates that the replay state has been taken from the {@link ReplayCache} */
+        public boolean replayCached = false;
+
+        /**
+         * the replay worker the proof is assigned to, or -1 for the default profile
+         * (see {@link KeYFacade#ensureProofsLoaded(CheckerData)})
+         */
+        public int worker = -1;
+
         public boolean replaySuccess() {
             return replayState == ReplayState.SUCCESS;
         }
@@ -320,7 +346,7 @@ public final class CheckerData implements Logger {
     }
 
     @Override
-    public void print(LogLevel level, String message) {
+    public synchronized void print(LogLevel level, String message) {
         // suppress message if level is smaller than current log level
         if (level.compareTo(minLogLevel) >= 0) {
             // for multiline strings, every line should have correct prefix
@@ -511,4 +537,24 @@ public final class CheckerData implements Logger {
     public void setDependencyGraph(DependencyGraph dependencyGraph) {
         this.dependencyGraph = dependencyGraph;
     }
+
+    public ReplayCache getReplayCache() {
+        return replayCache;
+    }
+
+    public void setReplayCache(ReplayCache replayCache) {
+        this.replayCache = replayCache;
+    }
+
+    public int getReplayThreads() {
+        return replayThreads;
+    }
+
+    public void setReplayThreads(int replayThreads) {
+        this.replayThreads = replayThreads;
+    }
+
+    public Map<Boolean, List<Profile>> getWorkerProfiles() {
+        return workerProfiles;
+    }
 }
@@ -5,11 +5,22 @@ package org.key_project.proofmanagement.check;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.ServiceLoader;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 import de.uka.ilkd.key.control.DefaultUserInterfaceControl;
@@ -40,6 +51,7 @@ import de.uka.ilkd.key.util.ProgressMonitor;
 
 import org.key_project.proofmanagement.check.dependency.DependencyGraph;
 import org.key_project.proofmanagement.check.dependency.DependencyGraphBuilder;
+import org.key_project.proofmanagement.io.BufferedLogger;
 import org.key_project.proofmanagement.io.LogLevel;
 import org.key_project.proofmanagement.io.Logger;
 import org.key_project.proofmanagement.io.ProofBundleHandler;
@@ -74,6 +86,10 @@ public final class KeYFacade {
      * Ensures that the given proof files are loaded and the ASTs are stored inside the
      * CheckerData object. Does not replay the proofs! Proofs that already have been loaded
      * are not reloaded.
+     * <br>
+     * If more than one replay thread is configured, each proof is loaded by the replay worker it
+     * is assigned to, using the profile instance of that worker (see
+     * {@link #workerProfile(CheckerData, int, Profile)}).
      *
      * @param data the CheckerData object to store the result
      * @throws ProofManagementException
@@ -81,23 +97,46 @@ public final class KeYFacade {
     public static void ensureProofsLoaded(CheckerData data) throws ProofManagementException {
         List<Path> proofPaths = data.getProofPaths();
         try {
-            // for each proof: parse and construct intermediate AST
-            Iterator<Path> iterator = proofPaths.iterator();
-            // for (Path proofPath : proofPaths) {
-            while (iterator.hasNext()) {
-                Path proofPath = iterator.next();
+            Map<Path, Integer> workers = data.getReplayThreads() > 1
+                    ? assignWorkers(proofPaths, data.getReplayThreads())
+                    : Map.of();
+
+            // proofs to load, grouped by the worker they are assigned to
+            Map<Integer, List<CheckerData.ProofEntry>> groups = new LinkedHashMap<>();
+            for (Path proofPath : proofPaths) {
                 CheckerData.ProofEntry line = ensureProofEntryExists(proofPath, data);
                 // only load every line once
                 if (line.loadingState == CheckerData.LoadingState.UNKNOWN) {
-                    if (!loadProofTree(proofPath, line, data)) {
-                        // remove invalid line (e.g. from taclet proof)
-                        data.getProofEntries().remove(line);
-                        // TODO: code quality (hidden side effect):
-                        // modifies given list of paths to check
-                        iterator.remove();
+                    line.proofFile = proofPath;
+                    line.worker = workers.getOrDefault(proofPath, -1);
+                    groups.computeIfAbsent(line.worker, w -> new ArrayList<>()).add(line);
+                }
+            }
+
+            if (groups.size() <= 1) {
+                for (List<CheckerData.ProofEntry> group : groups.values()) {
+                    for (CheckerData.ProofEntry line : group) {
+                        loadProofTree(line, data, data);
                     }
                 }
+            } else {
+                loadInParallel(groups.values(), data);
+            }
+
+            // remove the entries whose proof has not been loaded
+            Iterator<Path> iterator = proofPaths.iterator();
+            while (iterator.hasNext()) {
+                CheckerData.ProofEntry line = findProofLine(iterator.next(), data);
+                if (line != null && line.loadingState == CheckerData.LoadingState.UNKNOWN) {
+                    // remove invalid line (e.g. from taclet proof)
+                    data.getProofEntries().remove(line);
+                    // TODO: code quality (hidden side effect):
+                    // modifies given list of paths to check
+                    iterator.remove();
+                }
             }
+        } catch (ProofManagementException e) {
+            throw e;
         } catch (Exception e) {
             // TODO: exception handling: better not throw exceptions, but print to log and continue
             throw new ProofManagementException(
@@ -105,6 +144,129 @@ public final class KeYFacade {
         }
     }
 
+    /**
+     * Loads the proofs of each group by a thread of its own. The messages concerning a proof are
+     * printed together when it is loaded.
+     *
+     * @param groups the proofs to load, grouped by the worker they are assigned to
+     * @param data the CheckerData object to store the result
+     * @throws ProofManagementException if a proof could not be loaded
+     */
+    private static void loadInParallel(Collection<List<CheckerData.ProofEntry>> groups,
+            CheckerData data) throws ProofManagementException {
+        data.print(LogLevel.INFO, "Loading proofs using " + groups.size() + " threads ...");
+        ExecutorService pool = Executors.newFixedThreadPool(groups.size());
+        try {
+            List<Future<Void>> results = new ArrayList<>();
+            for (List<CheckerData.ProofEntry> group : groups) {
+                results.add(pool.submit(() -> {
+                    BufferedLogger logger = new BufferedLogger();
+                    try {
+                        for (CheckerData.ProofEntry line : group) {
+                            loadProofTree(line, data, logger);
+                            logger.flushTo(data);
+                        }
+                    } finally {
+                        logger.flushTo(data);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<Void> result : results) {
+                result.get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ProofManagementException pme) {
+                throw pme;
+            }
+            throw new ProofManagementException(
+                "Could not load proof! " + System.lineSeparator() + e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProofManagementException("Loading interrupted!");
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Distributes the proofs to the given number of replay workers, using the size of the proof
+     * files as estimation for the replay time: The largest proofs are assigned first, each to the
+     * worker with the least work so far.
+     */
+    private static Map<Path, Integer> assignWorkers(List<Path> proofPaths, int threads)
+            throws IOException {
+        Map<Path, Long> sizes = new HashMap<>();
+        for (Path p : proofPaths) {
+            sizes.put(p, Files.size(p));
+        }
+        long[] load = new long[threads];
+        Map<Path, Integer> result = new HashMap<>();
+        proofPaths.stream()
+                .sorted(Comparator.comparing(sizes::get, Comparator.reverseOrder()))
+                .forEach(p -> {
+                    int min = 0;
+                    for (int i = 1; i < threads; i++) {
+                        if (load[i] < load[min]) {
+                            min = i;
+                        }
+                    }
+                    load[min] += sizes.get(p);
+                    result.put(p, min);
+                });
+        return result;
+    }
+
+    /**
+     * Returns the profile to load a proof for the given replay worker with. Each worker uses its
+     * own instance of the profile, since some rules (in particular the
+     * {@link OneStepSimplifier}) are stored in the profile and keep state of the proof they are
+     * currently applied to. The instances are kept in the given CheckerData object, such that the
+     * taclet base parsed for them (see {@link ProblemInitializer#prepare(EnvInput)}) is shared by
+     * the checkers of a run, until it is released by {@link #releaseWorkerProfiles(CheckerData)}.
+     *
+     * @param data the CheckerData object of the current run
+     * @param worker the index of the worker
+     * @param profile the profile requested by the proof file
+     * @return the profile instance of the worker
+     */
+    private static Profile workerProfile(CheckerData data, int worker, Profile profile) {
+        if (profile.getClass() != JavaProfile.class) {
+            // other profiles can not be instantiated here, proofs using them share the instance
+            // and are replayed sequentially (see ensureProofsReplayed)
+            return profile;
+        }
+        boolean perms = ((JavaProfile) profile).withPermissions();
+        Map<Boolean, List<Profile>> workerProfiles = data.getWorkerProfiles();
+        synchronized (workerProfiles) {
+            List<Profile> profiles =
+                workerProfiles.computeIfAbsent(perms, p -> new ArrayList<>());
+            while (profiles.size() <= worker) {
+                profiles.add(JavaProfile.createInstance(perms));
+            }
+            return profiles.get(worker);
+        }
+    }
+
+    /**
+     * Releases the profile instances of the replay workers of a run together with the taclet
+     * bases parsed for them. Proofs loaded before remain usable, but later checks parse the taclet
+     * base again.
+     *
+     * @param data the CheckerData object of the finished run
+     */
+    public static void releaseWorkerProfiles(CheckerData data) {
+        Map<Boolean, List<Profile>> workerProfiles = data.getWorkerProfiles();
+        synchronized (workerProfiles) {
+            for (List<Profile> profiles : workerProfiles.values()) {
+                for (Profile profile : profiles) {
+                    ProblemInitializer.releaseBaseConfig(profile);
+                }
+            }
+            workerProfiles.clear();
+        }
+    }
+
     private static CheckerData.ProofEntry ensureProofEntryExists(Path proofPath, CheckerData data) {
         CheckerData.ProofEntry line = findProofLine(proofPath, data);
         if (line == null) {
@@ -123,17 +285,37 @@ public final class KeYFacade {
         return null;
     }
 
-    private static boolean loadProofTree(Path path, CheckerData.ProofEntry line, Logger logger)
-            throws Exception {
+    /**
+     * Loads the proof of the given entry. If it is a taclet proof, the loading state of the entry
+     * remains unknown.
+     *
+     * @param line the entry whose proof file is loaded
+     * @param data the CheckerData object of the current run
+     * @param logger the logger to print the messages to
+     * @throws ProofManagementException if the proof could not be loaded
+     */
+    private static void loadProofTree(CheckerData.ProofEntry line, CheckerData data,
+            Logger logger) throws ProofManagementException {
+        try {
+            loadProofTree(line.proofFile, line, data, logger);
+        } catch (ProofManagementException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ProofManagementException(
+                "Could not load proof! " + System.lineSeparator() + e);
+        }
+    }
+
+    private static void loadProofTree(Path path, CheckerData.ProofEntry line, CheckerData data,
+            Logger logger) throws Exception {
 
         logger.print(LogLevel.DEBUG, "Loading proof from " + path);
-        line.proofFile = path;
-        Proof[] proofs = loadProofFile(path, line);
+        Proof[] proofs = loadProofFile(path, line, data);
 
         // TODO: ignore taclet proofs
         if (proofs == null || proofs.length == 0) {
             logger.print(LogLevel.DEBUG, "Ignoring taclet proof from " + path);
-            return false;
+            return;
         }
 
         // TODO: what if poContainer contains multiple proofs?
@@ -152,11 +334,10 @@ public final class KeYFacade {
 
         line.loadingState = CheckerData.LoadingState.SUCCESS;
         logger.print(LogLevel.DEBUG, "... loading done!");
-        return true;
     }
 
-    private static Proof[] loadProofFile(Path path, CheckerData.ProofEntry line)
-            throws Exception {
+    private static Proof[] loadProofFile(Path path, CheckerData.ProofEntry line,
+            CheckerData data) throws Exception {
         Profile profile = AbstractProfile.getDefaultProfile();
 
         // TODO: FileRepo/InitConfig/ProblemInitializer reuse possible?
@@ -174,6 +355,9 @@ public final class KeYFacade {
         /////////////////// createEnvInput
         // TODO: do we need this?
         profile = keyFile.getProfile() == null ? profile : keyFile.getProfile();
+        if (line.worker >= 0) {
+            profile = workerProfile(data, line.worker, profile);
+        }
 
         ProblemInitializer pi = new ProblemInitializer(control, new Services(profile),
             new DefaultUserInterfaceControl());
@@ -290,6 +474,11 @@ public final class KeYFacade {
      * stored
      * inside the given CheckerData object. Proofs for which a replay has already been tried are not
      * replayed again.
+     * <br>
+     * If more than one replay thread is configured, the proofs are replayed in parallel. Proofs
+     * loaded with the same profile instance are replayed sequentially by the same worker (see
+     * {@link #workerProfile(CheckerData, int, Profile)}). The messages concerning a proof are
+     * printed together when its replay is finished.
      *
      * @param data the CheckerData object to store the result
      * @throws ProofManagementException
@@ -298,28 +487,116 @@ public final class KeYFacade {
         List<Path> proofPaths = data.getProofPaths();
         ensureProofsLoaded(data);
 
+        ReplayCache cache = data.getReplayCache();
+        if (cache != null) {
+            // the applied contracts are part of the inputs of a proof
+            ensureDependencyGraphBuilt(data);
+        }
+
+        // proofs to replay, grouped by the profile they have been loaded with
+        Map<Profile, List<CheckerData.ProofEntry>> groups = new LinkedHashMap<>();
         for (CheckerData.ProofEntry line : data.getProofEntries()) {
             // skip replay for proofs if not requested
             if (proofPaths.contains(line.proofFile)) {
                 // skip proofs that have already been replayed
                 if (line.replayState == CheckerData.ReplayState.UNKNOWN) {
                     Proof proof = line.proof;
-                    EnvInput envInput = line.envInput;
-
                     if (proof != null) {
-                        OneStepSimplifier.refreshOSS(proof);
-                        try {
-                            // store result in CheckerData
-                            line.replayResult = replayProof(line, envInput, data);
-                        } catch (ProofInputException e) {
-                            throw new ProofManagementException(
-                                "Could not replay proof from " + envInput
-                                    + System.lineSeparator() + e);
+                        if (cache != null && restoreVerdict(cache, line, data)) {
+                            continue;
                         }
+                        groups.computeIfAbsent(proof.getServices().getProfile(),
+                            p -> new ArrayList<>()).add(line);
                     }
                 }
             }
         }
+
+        int threads = Math.min(data.getReplayThreads(), groups.size());
+        if (threads <= 1) {
+            for (List<CheckerData.ProofEntry> group : groups.values()) {
+                for (CheckerData.ProofEntry line : group) {
+                    replayEntry(line, cache, data, data);
+                }
+            }
+            return;
+        }
+
+        data.print(LogLevel.INFO, "Replaying proofs using " + threads + " threads ...");
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Void>> results = new ArrayList<>();
+            for (List<CheckerData.ProofEntry> group : groups.values()) {
+                results.add(pool.submit(() -> {
+                    BufferedLogger logger = new BufferedLogger();
+                    try {
+                        for (CheckerData.ProofEntry line : group) {
+                            replayEntry(line, cache, data, logger);
+                            logger.flushTo(data);
+                        }
+                    } finally {
+                        logger.flushTo(data);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<Void> result : results) {
+                result.get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ProofManagementException pme) {
+                throw pme;
+            }
+            throw new ProofManagementException("Error during parallel replay"
+                + System.lineSeparator() + e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProofManagementException("Replay interrupted!");
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void replayEntry(CheckerData.ProofEntry line, ReplayCache cache,
+            CheckerData data, Logger logger) throws ProofManagementException {
+        EnvInput envInput = line.envInput;
+        OneStepSimplifier.refreshOSS(line.proof);
+        try {
+            // store result in CheckerData
+            line.replayResult = replayProof(line, envInput, logger);
+        } catch (ProofInputException e) {
+            throw new ProofManagementException(
+                "Could not replay proof from " + envInput + System.lineSeparator() + e);
+        }
+        if (cache != null) {
+            storeVerdict(cache, line, data, logger);
+        }
+    }
+
+    private static boolean restoreVerdict(ReplayCache cache, CheckerData.ProofEntry line,
+            CheckerData data) {
+        try {
+            if (cache.restore(line, data)) {
+                data.print(LogLevel.INFO, "Inputs of proof " + line.proof.name()
+                    + " unchanged, reusing replay result: " + line.replayState + " ("
+                    + line.proofState + ")");
+                return true;
+            }
+        } catch (IOException e) {
+            data.print(LogLevel.WARNING, "Could not compute inputs of proof "
+                + line.proof.name() + ", replaying it: " + e.getMessage());
+        }
+        return false;
+    }
+
+    private static void storeVerdict(ReplayCache cache, CheckerData.ProofEntry line,
+            CheckerData data, Logger logger) {
+        try {
+            cache.store(line, data);
+        } catch (IOException e) {
+            logger.print(LogLevel.WARNING, "Could not store replay result of proof "
+                + line.proof.name() + ": " + e.getMessage());
+        }
     }
 
     private static ReplayResult replayProof(CheckerData.ProofEntry line, EnvInput envInput,
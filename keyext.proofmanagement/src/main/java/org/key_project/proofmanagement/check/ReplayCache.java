@@ -0,0 +1,446 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.proofmanagement.check;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import de.uka.ilkd.key.java.JavaInfo;
+import de.uka.ilkd.key.java.ProgramElement;
+import de.uka.ilkd.key.java.Services;
+import de.uka.ilkd.key.java.abstraction.ArrayType;
+import de.uka.ilkd.key.java.abstraction.KeYJavaType;
+import de.uka.ilkd.key.java.declaration.TypeDeclaration;
+import de.uka.ilkd.key.java.reference.TypeReference;
+import de.uka.ilkd.key.java.visitor.JavaASTCollector;
+import de.uka.ilkd.key.proof.JavaModel;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.rule.Taclet;
+import de.uka.ilkd.key.speclang.Contract;
+
+import org.key_project.proofmanagement.check.dependency.DependencyGraph;
+import org.key_project.proofmanagement.check.dependency.DependencyNode;
+
+/**
+ * Stores the replay verdicts of a previous check run, such that proofs whose inputs did not
+ * change since then do not have to be replayed again.
+ * <br>
+ * The inputs of a proof are summarized by a SHA-256 hash over
+ * <ul>
+ * <li>the proof file itself (including user defined taclets),</li>
+ * <li>the proven contract,</li>
+ * <li>all contracts applied in the proof (taken from the {@link DependencyGraph}),</li>
+ * <li>the Java sources of the bundle the proof depends on and all entries of its classpath and
+ * bootclasspath,</li>
+ * <li>the taclet options and the taclets of the rule base active for the proof.</li>
+ * </ul>
+ * The sources a proof depends on are the files declaring the types of the proven and the applied
+ * contracts, and transitively the files declaring the types referenced in them or subtypes of
+ * them (the proof may have inlined any of their methods). Hence, a change to a source file only
+ * invalidates the verdicts of the proofs that may depend on it. If the proven contract has no
+ * type declared in the bundle, all sources of the bundle are hashed instead.
+ * <br>
+ * The cache is stored as a properties file mapping the bundle relative path of each proof to its
+ * input hash and verdict.
+ */
+public class ReplayCache {
+    /** the file the cache is loaded from and saved to */
+    private final Path file;
+
+    /**
+     * the verdicts of the previous run (and the new ones, after they have been stored),
+     * synchronized since proofs may be replayed in parallel
+     */
+    private final Properties verdicts = new Properties();
+
+    /** the hash of the rule base is computed only once per taclet options */
+    private final Map<Map<String, String>, byte[]> ruleBaseHashes = new ConcurrentHashMap<>();
+
+    /** the hash of the classpath and bootclasspath is computed only once per Java model */
+    private final Map<List<String>, byte[]> libraryHashes = new ConcurrentHashMap<>();
+
+    /** the hash of all sources of the bundle is computed only once per model directory */
+    private final Map<String, byte[]> bundleHashes = new ConcurrentHashMap<>();
+
+    /** the hashes of the single source files, shared by the proofs depending on them */
+    private final Map<Path, byte[]> fileHashes = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new cache and loads the stored verdicts from the given file (if existing).
+     *
+     * @param file the file to load from/save to
+     * @throws IOException if the file exists but can not be read
+     */
+    public ReplayCache(Path file) throws IOException {
+        this.file = file;
+        if (Files.exists(file)) {
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                verdicts.load(reader);
+            }
+        }
+    }
+
+    /**
+     * Writes the verdicts back to the cache file.
+     *
+     * @throws IOException if the file can not be written
+     */
+    public void save() throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            verdicts.store(writer, "KeY proof management replay cache");
+        }
+    }
+
+    /**
+     * Sets the replay and proof state of the given entry to the cached verdict if the inputs of
+     * the proof did not change since the verdict was stored.
+     *
+     * @param entry the proof entry (has to be loaded already)
+     * @param data the CheckerData object containing the dependency graph
+     * @return true iff a valid verdict was found
+     * @throws IOException if one of the inputs can not be read
+     */
+    public boolean restore(CheckerData.ProofEntry entry, CheckerData data) throws IOException {
+        String cached = verdicts.getProperty(key(entry, data));
+        if (cached == null) {
+            return false;
+        }
+        String[] parts = cached.split(" ");
+        if (parts.length != 3 || !parts[0].equals(inputHash(entry, data))) {
+            return false;
+        }
+        try {
+            entry.replayState = CheckerData.ReplayState.valueOf(parts[1]);
+            entry.proofState = CheckerData.ProofState.valueOf(parts[2]);
+        } catch (IllegalArgumentException e) {
+            // corrupt entry, replay again
+            return false;
+        }
+        entry.replayCached = true;
+        return true;
+    }
+
+    /**
+     * Stores the replay and proof state of the given (replayed) entry.
+     *
+     * @param entry the proof entry
+     * @param data the CheckerData object containing the dependency graph
+     * @throws IOException if one of the inputs can not be read
+     */
+    public void store(CheckerData.ProofEntry entry, CheckerData data) throws IOException {
+        verdicts.setProperty(key(entry, data),
+            inputHash(entry, data) + " " + entry.replayState.name() + " "
+                + entry.proofState.name());
+    }
+
+    private static String key(CheckerData.ProofEntry entry, CheckerData data) {
+        // use '/' as separator to make the cache independent of the platform
+        return data.getPbh().relativize(entry.proofFile).toString().replace('\\', '/');
+    }
+
+    private String inputHash(CheckerData.ProofEntry entry, CheckerData data) throws IOException {
+        MessageDigest md = newDigest();
+        Proof proof = entry.proof;
+        Services services = proof.getServices();
+
+        update(md, "proof");
+        try (InputStream in = Files.newInputStream(entry.proofFile)) {
+            digest(md, in);
+        }
+
+        update(md, "contract");
+        addContract(md, entry.contract, services);
+
+        // contracts applied in the proof, sorted by name to get a deterministic hash
+        List<Contract> applied = new ArrayList<>();
+        DependencyNode node = data.getDependencyGraph().getNodeByName(proof.name().toString());
+        if (node != null) {
+            List<DependencyNode> deps = node.getDependencies().keySet().stream()
+                    .filter(n -> n.getContract() != null)
+                    .sorted(Comparator.comparing(n -> n.getContract().getName()))
+                    .toList();
+            for (DependencyNode dep : deps) {
+                String name = dep.getContract().getName();
+                update(md, "dependency " + name);
+                Contract contract =
+                    services.getSpecificationRepository().getContractByName(name);
+                contract = contract != null ? contract : dep.getContract();
+                addContract(md, contract, services);
+                applied.add(contract);
+            }
+        }
+
+        update(md, "sources");
+        md.update(sourceHash(entry.contract, applied, services));
+
+        update(md, "rules");
+        md.update(ruleBaseHash(proof));
+        return HexFormat.of().formatHex(md.digest());
+    }
+
+    private static void addContract(MessageDigest md, Contract contract, Services services) {
+        update(md, contract.getPlainText(services));
+    }
+
+    /**
+     * Computes the hash of the Java sources the proof of the given contract depends on and of the
+     * classpath and bootclasspath entries of its Java model.
+     *
+     * @param contract the proven contract
+     * @param applied the contracts applied in the proof
+     * @param services the services of the proof
+     */
+    private byte[] sourceHash(Contract contract, List<Contract> applied, Services services)
+            throws IOException {
+        JavaModel model = services.getJavaModel();
+        if (model == null || model.isEmpty()) {
+            return new byte[0];
+        }
+        MessageDigest md = newDigest();
+        md.update(libraryHash(model));
+
+        Path modelDir = Path.of(model.getModelDir()).toAbsolutePath().normalize();
+        Set<Path> files = dependentSources(contract, applied, services, modelDir);
+        if (files.isEmpty()) {
+            // fallback: the proof may depend on any source of the bundle
+            update(md, "src");
+            md.update(bundleHash(modelDir));
+            return md.digest();
+        }
+        update(md, "dependent src");
+        for (Path p : files) {
+            update(md, relative(modelDir, p));
+            md.update(fileHash(p));
+        }
+        return md.digest();
+    }
+
+    /**
+     * Collects the source files (below the model directory) declaring the types of the given
+     * contracts, and transitively the types referenced in them and their subtypes.
+     *
+     * @return the files sorted by their path, empty if the proven contract has no type declared
+     *         in the bundle
+     */
+    private static Set<Path> dependentSources(Contract contract, List<Contract> applied,
+            Services services, Path modelDir) {
+        Set<Path> files = new TreeSet<>(Comparator.comparing(p -> relative(modelDir, p)));
+        if (contract == null || sourceFile(contract.getKJT(), modelDir) == null) {
+            return files;
+        }
+        JavaInfo javaInfo = services.getJavaInfo();
+        Deque<KeYJavaType> todo = new ArrayDeque<>();
+        todo.push(contract.getKJT());
+        for (Contract c : applied) {
+            todo.push(c.getKJT());
+        }
+        Set<KeYJavaType> visited = new HashSet<>();
+        while (!todo.isEmpty()) {
+            KeYJavaType kjt = todo.pop();
+            if (kjt == null || !visited.add(kjt)) {
+                continue;
+            }
+            if (kjt.getJavaType() instanceof ArrayType at) {
+                todo.push(at.getBaseType().getKeYJavaType());
+                continue;
+            }
+            Path file = sourceFile(kjt, modelDir);
+            if (file == null) {
+                // library type, covered by the hash of the classpath
+                continue;
+            }
+            files.add(file);
+            JavaASTCollector collector =
+                new JavaASTCollector((TypeDeclaration) kjt.getJavaType(), TypeReference.class);
+            collector.start();
+            for (ProgramElement ref : collector.getNodes()) {
+                todo.push(((TypeReference) ref).getKeYJavaType());
+            }
+            for (KeYJavaType sub : javaInfo.getAllSubtypes(kjt)) {
+                todo.push(sub);
+            }
+        }
+        return files;
+    }
+
+    /**
+     * @return the file declaring the given type, or null if it is not declared in a source file
+     *         below the model directory
+     */
+    private static Path sourceFile(KeYJavaType kjt, Path modelDir) {
+        if (!(kjt.getJavaType() instanceof TypeDeclaration td)) {
+            return null;
+        }
+        Optional<URI> uri = td.getPositionInfo().getURI();
+        if (uri.isEmpty() || !"file".equals(uri.get().getScheme())) {
+            return null;
+        }
+        Path file = Path.of(uri.get()).toAbsolutePath().normalize();
+        return file.startsWith(modelDir) ? file : null;
+    }
+
+    private byte[] fileHash(Path file) throws IOException {
+        byte[] hash = fileHashes.get(file);
+        if (hash == null) {
+            MessageDigest md = newDigest();
+            try (InputStream in = Files.newInputStream(file)) {
+                digest(md, in);
+            }
+            hash = md.digest();
+            fileHashes.put(file, hash);
+        }
+        return hash;
+    }
+
+    /**
+     * Computes the hash of all Java sources in the model directory.
+     */
+    private byte[] bundleHash(Path modelDir) throws IOException {
+        String key = modelDir.toString();
+        byte[] hash = bundleHashes.get(key);
+        if (hash == null) {
+            MessageDigest md = newDigest();
+            addFiles(md, modelDir, p -> p.endsWith(".java"));
+            hash = md.digest();
+            bundleHashes.put(key, hash);
+        }
+        return hash;
+    }
+
+    /**
+     * Computes the hash of the classpath and bootclasspath entries of the given Java model.
+     */
+    private byte[] libraryHash(JavaModel model) throws IOException {
+        List<String> key = Arrays.asList(model.getClassPath(), model.getBootClassPath());
+        byte[] hash = libraryHashes.get(key);
+        if (hash == null) {
+            // computed outside of computeIfAbsent, since reading the files may fail; concurrent
+            // computations of the same hash are harmless
+            MessageDigest md = newDigest();
+            List<File> classPath = model.getClassPathEntries();
+            if (classPath != null) {
+                for (File entry : classPath) {
+                    update(md, "classpath");
+                    addFiles(md, entry.toPath(),
+                        p -> p.endsWith(".java") || p.endsWith(".class"));
+                }
+            }
+            if (model.getBootClassPath() != null) {
+                update(md, "bootclasspath");
+                addFiles(md, Path.of(model.getBootClassPath()), p -> p.endsWith(".java"));
+            }
+            hash = md.digest();
+            libraryHashes.put(key, hash);
+        }
+        return hash;
+    }
+
+    /**
+     * Adds the given file or the files with matching names below the given directory to the
+     * digest. Only the paths relative to the given root are hashed, since zip bundles are
+     * extracted to a new temporary directory for each run.
+     */
+    private static void addFiles(MessageDigest md, Path root, Predicate<String> filter)
+            throws IOException {
+        if (Files.isRegularFile(root)) {
+            // e.g. a jar file on the classpath
+            try (InputStream in = Files.newInputStream(root)) {
+                digest(md, in);
+            }
+            return;
+        }
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        List<Path> files;
+        try (Stream<Path> s = Files.walk(root)) {
+            files = s.filter(Files::isRegularFile)
+                    .filter(p -> filter.test(p.getFileName().toString()))
+                    .sorted(Comparator.comparing(p -> relative(root, p)))
+                    .toList();
+        }
+        for (Path p : files) {
+            update(md, relative(root, p));
+            try (InputStream in = Files.newInputStream(p)) {
+                digest(md, in);
+            }
+        }
+    }
+
+    private static String relative(Path root, Path p) {
+        return root.relativize(p).toString().replace('\\', '/');
+    }
+
+    /**
+     * Computes the hash of the taclet options and the taclets of the rule base. User defined
+     * taclets are already covered by the hash of the proof file.
+     */
+    private byte[] ruleBaseHash(Proof proof) {
+        Map<String, String> choices =
+            new TreeMap<>(proof.getSettings().getChoiceSettings().getDefaultChoices());
+        return ruleBaseHashes.computeIfAbsent(choices, c -> {
+            MessageDigest md = newDigest();
+            update(md, c.toString());
+            String proofFile = String.valueOf(proof.getProofFile());
+            proof.getInitConfig().activatedTaclets().stream()
+                    .filter(t -> t.getOrigin() == null || !t.getOrigin().contains(proofFile))
+                    .sorted(Comparator.comparing(t -> t.name().toString()))
+                    .map(Taclet::toString)
+                    .forEach(s -> update(md, s));
+            return md.digest();
+        });
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void update(MessageDigest md, String s) {
+        md.update(s.getBytes(StandardCharsets.UTF_8));
+        // separator, to avoid collisions of concatenated strings
+        md.update((byte) 0);
+    }
+
+    private static void digest(MessageDigest md, InputStream in) throws IOException {
+        try (DigestInputStream din = new DigestInputStream(in, md)) {
+            din.transferTo(OutputStream.nullOutputStream());
+        }
+    }
+}
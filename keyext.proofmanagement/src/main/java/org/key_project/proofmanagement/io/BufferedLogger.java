@@ -0,0 +1,45 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.proofmanagement.io;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A logger that collects messages to forward them to another logger later. This is used by
+ * checkers running in parallel, such that all messages concerning a single proof are printed
+ * together.
+ */
+public class BufferedLogger implements Logger {
+    /** a buffered message */
+    private record Message(LogLevel level, String message) {
+    }
+
+    /** the messages printed since the last flush */
+    private final List<Message> messages = new ArrayList<>();
+
+    @Override
+    public void print(String message) {
+        print(LogLevel.DEFAULT, message);
+    }
+
+    @Override
+    public void print(LogLevel logLevel, String message) {
+        messages.add(new Message(logLevel, message));
+    }
+
+    /**
+     * Forwards all buffered messages to the given logger and clears the buffer.
+     *
+     * @param target the logger to forward the messages to
+     */
+    public void flushTo(Logger target) {
+        synchronized (target) {
+            for (Message m : messages) {
+                target.print(m.level(), m.message());
+            }
+        }
+        messages.clear();
+    }
+}
@@ -0,0 +1,65 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.proofmanagement.check;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import de.uka.ilkd.key.proof.init.Profile;
+
+import org.key_project.proofmanagement.io.LogLevel;
+import org.key_project.proofmanagement.io.ProofBundleHandler;
+import org.key_project.util.helper.FindResources;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParallelReplayTest {
+    private static final File testCaseDirectory = FindResources.getTestCasesDirectory();
+
+    @Test
+    void parallelReplayMatchesSequentialReplay() throws Exception {
+        Path bundle = new File(testCaseDirectory, "parallelReplay").toPath();
+
+        Map<String, String> sequential = replay(bundle, 1);
+        Map<String, String> parallel = replay(bundle, 2);
+        assertEquals(2, sequential.size());
+        assertEquals(sequential, parallel);
+        // a second parallel run loads the released taclet bases again
+        assertEquals(sequential, replay(bundle, 2));
+    }
+
+    /**
+     * Replays the proofs of the given bundle using the given number of threads.
+     *
+     * @return the replay and proof state and the number of nodes of each proof, by file name
+     */
+    private static Map<String, String> replay(Path bundle, int threads) throws Exception {
+        CheckerData data = new CheckerData(LogLevel.DEBUG);
+        data.setReplayThreads(threads);
+        try (ProofBundleHandler pbh = ProofBundleHandler.createBundleHandler(bundle)) {
+            data.setPbh(pbh);
+            new ReplayChecker().check(pbh, data);
+        } finally {
+            KeYFacade.releaseWorkerProfiles(data);
+        }
+        assertTrue(data.getWorkerProfiles().isEmpty());
+        Set<Profile> profiles = new HashSet<>();
+        Map<String, String> result = new TreeMap<>();
+        for (CheckerData.ProofEntry entry : data.getProofEntries()) {
+            assertTrue(entry.replaySuccess(), entry.proofFile + " could not be replayed");
+            profiles.add(entry.proof.getServices().getProfile());
+            result.put(entry.proofFile.getFileName().toString(), entry.replayState + " "
+                + entry.proofState + " " + entry.proof.countNodes());
+        }
+        // each worker has loaded its proofs with a profile instance of its own
+        assertEquals(Math.min(threads, result.size()), profiles.size());
+        return result;
+    }
+}
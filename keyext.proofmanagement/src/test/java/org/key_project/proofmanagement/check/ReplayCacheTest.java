@@ -0,0 +1,86 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.proofmanagement.check;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.key_project.proofmanagement.io.LogLevel;
+import org.key_project.proofmanagement.io.ProofBundleHandler;
+import org.key_project.util.helper.FindResources;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReplayCacheTest {
+    private static final File testCaseDirectory = FindResources.getTestCasesDirectory();
+
+    @TempDir
+    Path tmp;
+
+    @Test
+    void changedCalleeInvalidatesVerdict() throws Exception {
+        Path bundle = copyBundle();
+        Path cache = tmp.resolve("replay.cache");
+
+        CheckerData.ProofEntry first = check(bundle, cache);
+        assertFalse(first.replayCached);
+        assertTrue(first.replaySuccess());
+
+        // nothing changed: the verdict is reused
+        CheckerData.ProofEntry second = check(bundle, cache);
+        assertTrue(second.replayCached);
+        assertEquals(first.replayState, second.replayState);
+        assertEquals(first.proofState, second.proofState);
+
+        // the proof does not depend on the unrelated class: the verdict is still reused
+        Path unrelated = bundle.resolve("src/Unrelated.java");
+        Files.writeString(unrelated,
+            Files.readString(unrelated).replace("return 2;", "return 3;"));
+        CheckerData.ProofEntry third = check(bundle, cache);
+        assertTrue(third.replayCached);
+
+        // the callee is neither the proven method nor covered by an applied contract, but
+        // referenced by the proven method
+        Path callee = bundle.resolve("src/Callee.java");
+        Files.writeString(callee, Files.readString(callee).replace("return 1;", "return 2;"));
+        CheckerData.ProofEntry fourth = check(bundle, cache);
+        assertFalse(fourth.replayCached);
+    }
+
+    private Path copyBundle() throws IOException {
+        Path source = new File(testCaseDirectory, "replayCache").toPath();
+        Path target = tmp.resolve("bundle");
+        try (Stream<Path> files = Files.walk(source)) {
+            for (Path p : files.toList()) {
+                Files.copy(p, target.resolve(source.relativize(p).toString()));
+            }
+        }
+        return target;
+    }
+
+    /**
+     * Runs the replay check on the given bundle using the given cache file.
+     *
+     * @return the entry of the single proof of the bundle
+     */
+    private static CheckerData.ProofEntry check(Path bundle, Path cache) throws Exception {
+        CheckerData data = new CheckerData(LogLevel.DEBUG);
+        try (ProofBundleHandler pbh = ProofBundleHandler.createBundleHandler(bundle)) {
+            data.setPbh(pbh);
+            data.setReplayCache(new ReplayCache(cache));
+            new ReplayChecker().check(pbh, data);
+            data.getReplayCache().save();
+        }
+        List<CheckerData.ProofEntry> entries = data.getProofEntries();
+        assertEquals(1, entries.size());
+        return entries.get(0);
+    }
+}
@@ -0,0 +1,8 @@
+public class Callee {
+    /*@ public normal_behavior
+      @ ensures \result == 1;
+      @*/
+    public static int one() {
+        return 1;
+    }
+}
@@ -0,0 +1,5 @@
+public class Callee {
+    public static int one() {
+        return 1;
+    }
+}
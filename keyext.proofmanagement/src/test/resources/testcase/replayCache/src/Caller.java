@@ -0,0 +1,8 @@
+public class Caller {
+    /*@ normal_behavior
+      @ ensures \result == 1;
+      @*/
+    public int m() {
+        return Callee.one();
+    }
+}
@@ -0,0 +1,5 @@
+public class Unrelated {
+    public static int two() {
+        return 2;
+    }
+}